@@ -528,6 +528,28 @@ public class LoggingScript extends WrapperScript {
 		return super.findImpliedEquality(x, y);
 	}
 
+	@Override
+	public void minimize(final Term objective) throws SMTLIBException, UnsupportedOperationException {
+		mPw.print("(minimize ");
+		mTermPrinter.append(mPw, formatTerm(objective));
+		mPw.println(")");
+		super.minimize(objective);
+	}
+
+	@Override
+	public void maximize(final Term objective) throws SMTLIBException, UnsupportedOperationException {
+		mPw.print("(maximize ");
+		mTermPrinter.append(mPw, formatTerm(objective));
+		mPw.println(")");
+		super.maximize(objective);
+	}
+
+	@Override
+	public Objectives getObjectives() throws SMTLIBException, UnsupportedOperationException {
+		mPw.println("(get-objectives)");
+		return super.getObjectives();
+	}
+
 	@Override
 	public QuotedObject echo(final QuotedObject msg) {
 		mPw.print("(echo ");
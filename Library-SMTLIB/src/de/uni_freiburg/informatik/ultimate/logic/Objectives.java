@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.logic;
+
+/**
+ * Class used as a response to get-objectives. It contains for every objective added by minimize or maximize the
+ * optimal value found by the last check-sat.
+ *
+ * The optimum is not always attained by a model. If the objective is unbounded, the value is an infinity. If the
+ * optimum is only approached by models, e.g., the minimum of {@code x} subject to {@code x > 0}, the value is the
+ * infimum plus or minus an infinitesimal epsilon.
+ */
+public class Objectives {
+	/**
+	 * The objective terms.
+	 */
+	private final Term[] mObjectives;
+	/**
+	 * The optimal values, or null if the objective is unbounded.
+	 */
+	private final Term[] mValues;
+	/**
+	 * The coefficient of epsilon for the optimal values. For unbounded objectives this is the sign of the infinity.
+	 */
+	private final int[] mEpsilons;
+
+	/**
+	 * Construct a new response.
+	 *
+	 * @param objectives
+	 *            The objective terms.
+	 * @param values
+	 *            The optimal values; null entries represent unbounded objectives.
+	 * @param epsilons
+	 *            The coefficient of epsilon in the optimal values, or the sign of infinity for unbounded objectives.
+	 */
+	public Objectives(final Term[] objectives, final Term[] values, final int[] epsilons) {
+		assert objectives.length == values.length && objectives.length == epsilons.length;
+		mObjectives = objectives;
+		mValues = values;
+		mEpsilons = epsilons;
+	}
+
+	/**
+	 * Get the number of objectives.
+	 */
+	public int size() {
+		return mObjectives.length;
+	}
+
+	public Term getObjective(final int i) {
+		return mObjectives[i];
+	}
+
+	/**
+	 * Get the optimal value of an objective.
+	 *
+	 * @return the value, or null if the objective is unbounded.
+	 */
+	public Term getValue(final int i) {
+		return mValues[i];
+	}
+
+	/**
+	 * Get the coefficient of epsilon in the optimal value of an objective. This is 0 if the optimum is attained. For
+	 * unbounded objectives, it is the sign of the infinity.
+	 */
+	public int getEpsilon(final int i) {
+		return mEpsilons[i];
+	}
+
+	public boolean isUnbounded(final int i) {
+		return mValues[i] == null;
+	}
+
+	@Override
+	public String toString() {
+		final PrintTerm pt = new PrintTerm();
+		final StringBuilder sb = new StringBuilder();
+		sb.append("(objectives");
+		for (int i = 0; i < mObjectives.length; i++) {
+			sb.append(" (");
+			pt.append(sb, mObjectives[i]);
+			sb.append(' ');
+			if (mValues[i] == null) {
+				sb.append(mEpsilons[i] > 0 ? "oo" : "(- oo)");
+			} else if (mEpsilons[i] == 0) {
+				pt.append(sb, mValues[i]);
+			} else {
+				sb.append(mEpsilons[i] > 0 ? "(+ " : "(- ");
+				pt.append(sb, mValues[i]);
+				sb.append(" epsilon)");
+			}
+			sb.append(')');
+		}
+		sb.append(')');
+		return sb.toString();
+	}
+}
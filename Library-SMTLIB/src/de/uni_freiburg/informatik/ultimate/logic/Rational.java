@@ -563,6 +563,29 @@ public class Rational implements Comparable<Rational> {
 	 * @return the result of the computation.
 	 */
 	public Rational addmul(final Rational fac1,final Rational fac2) {
+		if (!(this instanceof BigRational) && !(fac1 instanceof BigRational)
+				&& !(fac2 instanceof BigRational)
+				&& mDenom != 0 && fac1.mDenom != 0 && fac2.mDenom != 0) {
+			/* fast path: compute the result in long arithmetic without
+			 * creating the intermediate product.  The product of two ints
+			 * always fits into a long, the rest is checked for overflow.
+			 */
+			final long prodnum = (long) fac1.mNum * fac2.mNum;
+			final long proddenom = (long) fac1.mDenom * fac2.mDenom;
+			try {
+				final long gcd = gcd(mDenom, proddenom);
+				final long denomgcd = mDenom / gcd;
+				final long newnum = Math.addExact(
+						Math.multiplyExact(mNum, proddenom / gcd),
+						Math.multiplyExact(prodnum, denomgcd));
+				final long newdenom = Math.multiplyExact(denomgcd, proddenom);
+				if (newnum != Long.MIN_VALUE) {
+					return valueOf(newnum, newdenom);
+				}
+			} catch (final ArithmeticException overflow) {
+				/* use big integers below */
+			}
+		}
 		return add(fac1.mul(fac2));
 	}
 
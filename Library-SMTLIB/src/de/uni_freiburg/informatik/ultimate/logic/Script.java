@@ -668,6 +668,43 @@ public interface Script {
 	 * @return Array of length 3 or array of length 0 if no equality is implied.
 	 */
 	public Term[] findImpliedEquality(Term[] x, Term[] y);
+	/**
+	 * Add an objective that should be minimized.  The following check-sat
+	 * commands return a model where the objective has its minimal value.
+	 * Multiple objectives are optimized in lexicographic order.  The objective
+	 * is removed when the assertion stack level it was added in is popped.
+	 * This function is not specified in the SMTLIB standard.  The default
+	 * implementation does not support objectives.
+	 * @param objective A numeric term.
+	 * @throws SMTLIBException If the term is not numeric.
+	 * @throws UnsupportedOperationException If the operation is unsupported.
+	 */
+	public default void minimize(Term objective)
+		throws SMTLIBException, UnsupportedOperationException {
+		throw new UnsupportedOperationException();
+	}
+	/**
+	 * Add an objective that should be maximized.
+	 * @see #minimize(Term)
+	 * @param objective A numeric term.
+	 * @throws SMTLIBException If the term is not numeric.
+	 * @throws UnsupportedOperationException If the operation is unsupported.
+	 */
+	public default void maximize(Term objective)
+		throws SMTLIBException, UnsupportedOperationException {
+		throw new UnsupportedOperationException();
+	}
+	/**
+	 * Get the optimal values of the objectives found by the last check-sat.
+	 * This function is not specified in the SMTLIB standard.
+	 * @return The values of all objectives.
+	 * @throws SMTLIBException If the last check-sat did not return sat.
+	 * @throws UnsupportedOperationException If the operation is unsupported.
+	 */
+	public default Objectives getObjectives()
+		throws SMTLIBException, UnsupportedOperationException {
+		throw new UnsupportedOperationException();
+	}
 	/**
 	 * Echo a message on the regular output channel of the solver.  Although
 	 * this function is not specified in the SMTLIB standard, we do not expect
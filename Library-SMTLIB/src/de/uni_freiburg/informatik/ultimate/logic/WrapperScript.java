@@ -358,6 +358,21 @@ public abstract class WrapperScript implements Script {
 		return mScript.findImpliedEquality(x, y);
 	}
 
+	@Override
+	public void minimize(final Term objective) throws SMTLIBException, UnsupportedOperationException {
+		mScript.minimize(objective);
+	}
+
+	@Override
+	public void maximize(final Term objective) throws SMTLIBException, UnsupportedOperationException {
+		mScript.maximize(objective);
+	}
+
+	@Override
+	public Objectives getObjectives() throws SMTLIBException, UnsupportedOperationException {
+		return mScript.getObjectives();
+	}
+
 	@Override
 	public QuotedObject echo(final QuotedObject msg) {
 		return mScript.echo(msg);
@@ -176,6 +176,29 @@ public final class RationalTest {
 		}
 	}
 
+	@Test
+	public void testAddMul() {
+		for (int i = 0; i < RATIONALS.length; i++) {
+			for (int j = 0; j < RATIONALS.length; j++) {
+				for (int k = 0; k < RATIONALS.length; k++) {
+					Assert.assertEquals(RATIONALS[i].add(RATIONALS[j].mul(RATIONALS[k])),
+							RATIONALS[i].addmul(RATIONALS[j], RATIONALS[k]));
+				}
+			}
+		}
+		// results that do not fit into an int or overflow a long in the intermediate computation
+		final Rational maxint = Rational.valueOf(Integer.MAX_VALUE, 1);
+		final Rational minint = Rational.valueOf(Integer.MIN_VALUE, 1);
+		Assert.assertEquals(Rational.valueOf(new BigInteger("4611686018427387904"), BigInteger.ONE),
+				Rational.ZERO.addmul(minint, minint));
+		Assert.assertEquals(Rational.valueOf(new BigInteger("-4611686018427387904"), BigInteger.ONE),
+				minint.addmul(minint, maxint));
+		Assert.assertEquals(Rational.valueOf(new BigInteger("9903520300447984150353281024"), maxint.numerator()),
+				MEDIUM2.addmul(maxint, maxint));
+		Assert.assertEquals(Rational.valueOf(BigInteger.ONE, new BigInteger("4611686014132420609")),
+				Rational.ZERO.addmul(MEDIUM2, MEDIUM2));
+	}
+
 	@Test
 	public void testDiverse() {
 		for (int i = 0; i < RATIONALS.length; i++) {
@@ -53,10 +53,84 @@ public interface Config {
 	public final static double ATOM_ACTIVITY_FACTOR = 1.1;
 	/// Activity factor for clauses
 	public final static double CLS_ACTIVITY_FACTOR = 1.01;
+	/// Learned clauses with at most this LBD are kept forever (tiered database)
+	public final static int CLAUSE_TIER_CORE_LBD = 2;
+	/// Learned clauses with at most this LBD are kept while used (tiered database)
+	public final static int CLAUSE_TIER_MID_LBD = 6;
+	/// Conflicts before the first reduction of the tiered clause database
+	public final static int CLAUSE_REDUCE_FIRST = 2000;
+	/// Increment of the interval between reductions of the tiered clause database
+	public final static int CLAUSE_REDUCE_INCREMENT = 300;
+	/// Percentage of local tier clauses removed on reduction
+	public final static int CLAUSE_REDUCE_FRACTION = 50;
+	/// Conflicts between two inprocessing rounds (multiplied with the number of rounds)
+	public final static int INPROCESS_INTERVAL = 5000;
+	/// Maximal number of clauses vivified in one inprocessing round
+	public final static int INPROCESS_VIVIFY_CLAUSES = 500;
+	/// Maximal number of literals checked by subsumption in one inprocessing round
+	public final static long INPROCESS_SUBSUME_STEPS = 2000000;
+	/// Maximal number of clauses of a variable that is eliminated
+	public final static int INPROCESS_ELIM_OCCURRENCES = 16;
+	/// Maximal size of a resolvent added by variable elimination
+	public final static int INPROCESS_ELIM_CLAUSE_SIZE = 20;
+	/// Learned clauses with at most this LBD are shared with parallel solvers (unit and binary clauses always are)
+	public final static int SHARE_CLAUSE_LBD = 3;
+	/// Number of candidate atoms checked by lookahead when generating cubes
+	public final static int CUBE_CANDIDATES = 16;
+	/// Minimal number of tableaux rows for which the floating point simplex is tried first
+	public final static int FLOAT_SIMPLEX_MIN_ROWS = 16;
+	/// Maximal number of pivot steps of the floating point simplex per tableaux row
+	public final static int FLOAT_SIMPLEX_PIVOTS_PER_ROW = 4;
+	/// Minimal number of tableaux rows for which the revised simplex is used
+	public final static int REVISED_SIMPLEX_MIN_ROWS = 16;
+	/// Maximal number of pivot steps of the revised simplex per tableaux row
+	public final static int REVISED_SIMPLEX_PIVOTS_PER_ROW = 4;
+	/// Number of basis changes after which the revised simplex refactorizes the basis
+	public final static int REVISED_SIMPLEX_REFACTOR = 64;
+	/// Weight of the latest result in the success rates of the adaptive integer scheduler
+	public final static double INT_SCHEDULER_DECAY = 0.2;
+	/// The adaptive integer scheduler uses the least recently used technique every n-th time
+	public final static int INT_SCHEDULER_EXPLORE = 8;
+	/// Fall back to branching after this many Gomory cuts in a row that did not reduce the non-integral variables
+	public final static int INT_SCHEDULER_MAX_GOMORY = 4;
+	/// Restore the simplex basis of the push when popping an assertion stack level
+	public final static boolean LA_WARM_START = true;
+	/// Number of explanation clauses of propagated arithmetic literals that are kept for reuse
+	public final static int LA_EXPLANATION_CACHE_SIZE = 256;
+	/// Only throttle bound propagation on variables that propagated at least this many literals
+	public final static int LA_THROTTLE_MIN_PROPAGATIONS = 64;
+	/// Throttle bound propagation on a variable if less than one in n propagated literals was explained
+	public final static int LA_THROTTLE_RATIO = 64;
+	/// Retry bound propagation on a throttled variable after skipping it this many times
+	public final static int LA_THROTTLE_RETRY = 64;
+	/// Reset the devex reference framework when a weight exceeds this value
+	public final static double DEVEX_RESET_WEIGHT = 1e6;
+	/// Reject Gomory cuts with a coefficient whose numerator or denominator has more bits
+	public final static int GOMORY_MAX_COEFF_BITS = 16;
+	/// Maximal number of improving check-sat calls for a real objective in a logic with integers
+	public final static int OPTIMIZE_MAX_STEPS = 1000;
 	/// Backtrack as far as possible
 	public final static boolean DEEP_BACKTRACK = true;
+	/// Backtrack only the conflict level if the backjump would skip more than this many decide levels
+	public final static int CHRONO_BACKTRACK_DISTANCE = 100;
+	/// Reuse the propagations undone by a backjump when their explanations become unit again
+	public final static boolean TRAIL_SAVING = true;
 	/// When to restart
 	public final static int RESTART_FACTOR = 500;
+	/// Weight of a new LBD in the fast moving average (glucose restarts)
+	public final static double RESTART_EMA_FAST = 0.03;
+	/// Weight of a new LBD in the slow moving average (glucose restarts)
+	public final static double RESTART_EMA_SLOW = 1e-5;
+	/// Restart if the fast LBD average exceeds the slow one by this factor
+	public final static double RESTART_MARGIN = 1.1;
+	/// Minimal number of conflicts between two glucose restarts
+	public final static int RESTART_MIN_CONFLICTS = 2;
+	/// Weight of a new trail size in the moving average (restart blocking)
+	public final static double RESTART_EMA_TRAIL = 1.0 / 5000;
+	/// Block a restart if the trail exceeds its average by this factor
+	public final static double RESTART_BLOCK_MARGIN = 1.4;
+	/// Number of conflicts before restarts are blocked
+	public final static int RESTART_BLOCK_MIN_CONFLICTS = 10000;
 	/// The default random seed
 	// Currently delays random splits until the 10000th split...
 	public final static long RANDOM_SEED = 11350294L;
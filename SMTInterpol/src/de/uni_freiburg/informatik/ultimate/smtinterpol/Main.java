@@ -27,6 +27,7 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.aiger.AIGERFrontEnd;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dimacs.DIMACSParser;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.muses.MusEnumerationScript;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.option.OptionMap;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.portfolio.PortfolioScript;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib.SMTLIBParser;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.ErrorCallback;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
@@ -55,6 +56,7 @@ public final class Main {
 		System.err.println("  -t <num>             Set the timeout per check-sat call to <num> milliseconds.");
 		System.err.println("  -l <num>             Set the reproducible resource limit per check-sat call to <num>.");
 		System.err.println("  -r <num>             Use a different random seed.");
+		System.err.println("  -portfolio <num>     Race <num> diversified solvers on every check-sat.");
 		System.err.println("  -smt2                Parse input as SMTLIB 2 script.");
 		System.err.println("  -smt                 Parse input as SMTLIB 1 benchmark.");
 		System.err.println("  -d                   Parse input as DIMACS benchmark.");
@@ -73,6 +75,7 @@ public final class Main {
 		final OptionMap options = new OptionMap(logger, true);
 		final Deque<Option> optionList = new ArrayDeque<>();
 		boolean useRemus = false;
+		int portfolioSize = 0;
 		ErrorCallback errorCallback = null;
 		IParser parser = new SMTLIB2Parser();
 		Script solver = null;
@@ -100,6 +103,9 @@ public final class Main {
 				};
 			} else if (param[paramctr].equals("-remus")) {
 				useRemus = true;
+			} else if (param[paramctr].equals("-portfolio")
+					&& ++paramctr < param.length) {
+				portfolioSize = Integer.parseInt(param[paramctr]);
 			} else if (param[paramctr].equals("-no-success")) {
 				optionList.add(new Option(":print-success", false));
 			} else if (param[paramctr].equals("-v")) {
@@ -173,6 +179,8 @@ public final class Main {
 			solver = smtinterpol;
 			if (useRemus) {
 				solver = new MusEnumerationScript(smtinterpol);
+			} else if (portfolioSize > 1) {
+				solver = new PortfolioScript(smtinterpol, portfolioSize);
 			}
 		}
 		for (final Option opt : optionList) {
@@ -404,6 +404,7 @@ public class AIGERFrontEnd implements IParser {
 		}
 		mFilename = filename;
 		mSolver.setOption(":produce-models", Boolean.TRUE);
+		mSolver.setOption(":inprocessing", Boolean.TRUE);
 		mSolver.setLogic(Logics.CORE);
 		parse();
 		final LBool isSat = mSolver.checkSat();
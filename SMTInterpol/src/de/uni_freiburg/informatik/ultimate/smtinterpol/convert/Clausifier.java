@@ -88,6 +88,9 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.atoms.EprQuant
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.epr.util.Pair;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LASharedTerm;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.BranchPolicy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.CutPolicy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.PricingRule;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinVar;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.MutableAffineTerm;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.DestructiveEqualityReasoning.DERResult;
@@ -1125,6 +1128,9 @@ public class Clausifier {
 						mCClosure.insertReverseTrigger(isFs, ccTerm, 0,
 								new DTReverseTrigger(mDataTypeTheory, this, isFs, ccTerm));
 					}
+					mDataTypeTheory.notifyConstructor(ccTerm);
+				} else if ((fs.isSelector() || fs.getName().equals(SMTLIBConstants.IS)) && ccTerm != null) {
+					mDataTypeTheory.notifySelectorOrTester((CCAppTerm) ccTerm);
 				}
 
 			}
@@ -1511,6 +1517,12 @@ public class Clausifier {
 	private boolean mIsUnknownTermDawgsEnabled;
 	private boolean mPropagateUnknownTerms;
 	private boolean mPropagateUnknownAux;
+	private boolean mIsFloatSimplexEnabled;
+	private boolean mIsRevisedSimplexEnabled;
+	private CutPolicy mCutPolicy = CutPolicy.CUTS_FROM_PROOFS;
+	private BranchPolicy mBranchPolicy = BranchPolicy.MOST_FRACTIONAL;
+	private PricingRule mPricingRule = PricingRule.SOI;
+	private int mAckermannThreshold;
 
 	/**
 	 * Mapping from quantified subterms to their aux function application.
@@ -2319,6 +2331,7 @@ public class Clausifier {
 	private void setupCClosure() {
 		if (mCClosure == null) {
 			mCClosure = new CClosure(this);
+			mCClosure.setAckermannThreshold(mAckermannThreshold);
 			mEngine.addTheory(mCClosure);
 			/*
 			 * If we do not setup the cclosure at the root level, we remove it with the corresponding pop since the
@@ -2339,6 +2352,13 @@ public class Clausifier {
 	private void setupLinArithmetic() {
 		if (mLASolver == null) {
 			mLASolver = new LinArSolve(this);
+			if (mIsRevisedSimplexEnabled) {
+				mLASolver.enableRevisedSimplex();
+			} else if (mIsFloatSimplexEnabled) {
+				mLASolver.enableFloatSimplex();
+			}
+			mLASolver.setIntegerPolicies(mCutPolicy, mBranchPolicy);
+			mLASolver.setPricingRule(mPricingRule);
 			mEngine.addTheory(mLASolver);
 		}
 	}
@@ -2386,6 +2406,19 @@ public class Clausifier {
 		mPropagateUnknownAux = propagateUnknownAux;
 	}
 
+	public void setArithmeticOptions(final boolean isFloatSimplexEnabled, final boolean isRevisedSimplexEnabled,
+			final CutPolicy cutPolicy, final BranchPolicy branchPolicy, final PricingRule pricingRule) {
+		mIsFloatSimplexEnabled = isFloatSimplexEnabled;
+		mIsRevisedSimplexEnabled = isRevisedSimplexEnabled;
+		mCutPolicy = cutPolicy;
+		mBranchPolicy = branchPolicy;
+		mPricingRule = pricingRule;
+	}
+
+	public void setCongruenceOptions(final int ackermannThreshold) {
+		mAckermannThreshold = ackermannThreshold;
+	}
+
 	private boolean isBasicStablyInfinite(final Sort sort) {
 		assert sort == sort.getRealSort() && !sort.isSortVariable();
 		assert !sort.getSortSymbol().isDatatype() && !sort.isArraySort();
@@ -2901,6 +2934,32 @@ public class Clausifier {
 		return negated ? res.negate() : res;
 	}
 
+	/**
+	 * Create the linear arithmetic representation of a numeric term, e.g., an objective function. The term is
+	 * preprocessed like an asserted formula and the linear variables for its summands are created.
+	 *
+	 * @param term
+	 *            a ground numeric term.
+	 * @return the affine term over linear variables.
+	 */
+	public MutableAffineTerm createMutableAffineTerm(final Term term) {
+		Term tmp = mUnlet.unlet(term);
+		Term tmp2;
+		try {
+			tmp2 = mCompiler.transform(tmp);
+		} finally {
+			mCompiler.reset();
+		}
+		tmp = null;
+		mOccCounter.count(tmp2);
+		final Term simplified = mTracker.getProvedTerm(tmp2);
+		final MutableAffineTerm res =
+				createMutableAffinTerm(new Polynomial(simplified), SourceAnnotation.EMPTY_SOURCE_ANNOT);
+		run();
+		mOccCounter.reset(tmp2);
+		return res;
+	}
+
 	public EprTheory getEprTheory() {
 		return mEprTheory;
 	}
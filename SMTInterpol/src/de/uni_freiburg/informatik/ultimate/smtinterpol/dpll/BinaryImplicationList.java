@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import java.util.Arrays;
+
+/**
+ * The binary clauses containing a literal. For a binary clause {@code (a b)}, the list of {@code a} contains the
+ * entry {@code (b, clause)} and vice versa. When {@code a} is set to false, all other literals on the list of
+ * {@code a} are implied.
+ *
+ * The entries are stored in two parallel arrays, so that propagation only needs to look at the other literal and not
+ * at the clause. Entries of clauses that were removed from the clause database are removed lazily during
+ * propagation.
+ */
+final class BinaryImplicationList {
+	Literal[] mOthers;
+	Clause[] mClauses;
+	int mSize;
+
+	BinaryImplicationList() {
+		mOthers = new Literal[4];
+		mClauses = new Clause[4];
+	}
+
+	void add(final Literal other, final Clause clause) {
+		if (mSize == mOthers.length) {
+			mOthers = Arrays.copyOf(mOthers, 2 * mSize);
+			mClauses = Arrays.copyOf(mClauses, 2 * mSize);
+		}
+		mOthers[mSize] = other;
+		mClauses[mSize] = clause;
+		mSize++;
+	}
+
+	/**
+	 * Remove the entry at the given position. The last entry is moved to this position.
+	 *
+	 * @param i
+	 *            the position of the entry.
+	 */
+	void remove(final int i) {
+		mSize--;
+		mOthers[i] = mOthers[mSize];
+		mClauses[i] = mClauses[mSize];
+		mOthers[mSize] = null;
+		mClauses[mSize] = null;
+	}
+
+	int size() {
+		return mSize;
+	}
+}
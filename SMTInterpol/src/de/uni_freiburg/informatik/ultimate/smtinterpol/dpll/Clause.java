@@ -53,6 +53,12 @@ public class Clause extends SimpleListable<Clause> {
 	 * the second watcher of the clause nextSecondWatch.
 	 */
 	int mNextIsSecond;
+	/**
+	 * The cached blocker literals of the first and the second watcher. A blocker is some literal of this clause,
+	 * usually the other watched literal. If it is currently true, the clause is satisfied and the watcher can be moved
+	 * to the backtrack watcher list of the blocker without looking at the literals of the clause.
+	 */
+	Literal mFirstBlocker, mSecondBlocker;
 
 	/**
 	 * A WatchList is a list of watchers. Each clause with more than one literal has
@@ -79,6 +85,10 @@ public class Clause extends SimpleListable<Clause> {
 	 * other cases it is on the mPendingWatcherList where it is reassigned to a
 	 * different list in dpllEngine.propagateClauses() when a literal is propagated
 	 * or a better list is found for this watcher.
+	 *
+	 * Every watcher additionally caches a blocker literal (see
+	 * {@link Clause#getBlocker(int)}) that is checked first when the watcher is
+	 * taken from the pending list.
 	 */
 	final static class WatchList {
 		Clause mHead;
@@ -144,6 +154,15 @@ public class Clause extends SimpleListable<Clause> {
 			return mHeadIndex;
 		}
 
+		/**
+		 * Get the blocker literal of the first watcher on this list.
+		 *
+		 * @return the blocker literal or null if none is cached.
+		 */
+		public Literal getBlocker() {
+			return mHead.getBlocker(mHeadIndex);
+		}
+
 		public Clause removeFirst() {
 			final Clause c = mHead;
 			if (mHeadIndex == 0) {
@@ -187,6 +206,20 @@ public class Clause extends SimpleListable<Clause> {
 	 * activity drops below some point the clause is removed.
 	 */
 	double mActivity;
+	/**
+	 * The literal block distance (glue) of a learned clause, i.e., the number of distinct decision levels of its
+	 * literals. It is computed when the clause is learned and updated when it is used in conflict analysis. It is
+	 * zero for all clauses that were not learned.
+	 */
+	int mLBD;
+	/**
+	 * The tier of the {@link TieredClauseDatabase} this clause belongs to, or -1 if it is not managed by it.
+	 */
+	byte mTier = -1;
+	/**
+	 * True if this clause was used in conflict analysis since the last reduction of the clause database.
+	 */
+	boolean mUsed;
 	/**
 	 * The stacklevel this clause was introduced.
 	 */
@@ -203,6 +236,33 @@ public class Clause extends SimpleListable<Clause> {
 		return mLiterals.length;
 	}
 
+	/**
+	 * Get the cached blocker literal for a watcher of this clause.
+	 *
+	 * @param index
+	 *            the index of the watcher (0 or 1).
+	 * @return the blocker literal or null if none is cached.
+	 */
+	Literal getBlocker(final int index) {
+		return index == 0 ? mFirstBlocker : mSecondBlocker;
+	}
+
+	/**
+	 * Set the cached blocker literal for a watcher of this clause.
+	 *
+	 * @param index
+	 *            the index of the watcher (0 or 1).
+	 * @param blocker
+	 *            a literal of this clause.
+	 */
+	void setBlocker(final int index, final Literal blocker) {
+		if (index == 0) {
+			mFirstBlocker = blocker;
+		} else {
+			mSecondBlocker = blocker;
+		}
+	}
+
 	public Literal getLiteral(final int i) {
 		return mLiterals[i];
 	}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+
+/**
+ * A buffer to exchange learned clauses between several DPLL engines that solve the same problem in parallel. The
+ * engines must be on the same assertion stack level.
+ *
+ * A clause is exchanged as shared terms that identify its atoms, since every engine has its own atoms and may have its
+ * own theory. Every engine maps the SMT formulas of its atoms to these terms. The buffer is a lock-free append-only
+ * list. Every engine remembers the last clause it has read; clauses that were read by all
+ * engines are garbage collected.
+ *
+ * A new exchange should be used for every check, since the clauses can depend on the assertions of the current check.
+ */
+public class ClauseExchange {
+	/**
+	 * A learned clause in the exchange buffer.
+	 */
+	static class SharedClause {
+		private static final AtomicReferenceFieldUpdater<SharedClause, SharedClause> NEXT_UPDATER =
+				AtomicReferenceFieldUpdater.newUpdater(SharedClause.class, SharedClause.class, "mNext");
+
+		/**
+		 * The engine that learned the clause.
+		 */
+		final DPLLEngine mSource;
+		/**
+		 * The shared terms of the atoms of the clause.
+		 */
+		final Term[] mAtoms;
+		/**
+		 * For every atom, whether it appears positively in the clause.
+		 */
+		final boolean[] mPositive;
+		final int mStackLevel;
+		final int mLBD;
+		volatile SharedClause mNext;
+
+		SharedClause(final DPLLEngine source, final Term[] atoms, final boolean[] positive, final int stackLevel,
+				final int lbd) {
+			mSource = source;
+			mAtoms = atoms;
+			mPositive = positive;
+			mStackLevel = stackLevel;
+			mLBD = lbd;
+		}
+
+		boolean casNext(final SharedClause next) {
+			return NEXT_UPDATER.compareAndSet(this, null, next);
+		}
+	}
+
+	/**
+	 * The sentinel at the start of the list. Engines start reading after it.
+	 */
+	private final SharedClause mHead;
+	/**
+	 * The last clause of the list, or a clause shortly before it while another thread is appending.
+	 */
+	private final AtomicReference<SharedClause> mTail;
+
+	/**
+	 * Create an empty exchange buffer.
+	 */
+	public ClauseExchange() {
+		mHead = new SharedClause(null, null, null, 0, 0);
+		mTail = new AtomicReference<>(mHead);
+	}
+
+	/**
+	 * Get the sentinel at the start of the buffer.
+	 */
+	SharedClause getHead() {
+		return mHead;
+	}
+
+	/**
+	 * Append a clause to the buffer.
+	 *
+	 * @param clause
+	 *            the new clause.
+	 */
+	void publish(final SharedClause clause) {
+		while (true) {
+			final SharedClause tail = mTail.get();
+			final SharedClause next = tail.mNext;
+			if (next != null) {
+				/* another thread is appending; help it */
+				mTail.compareAndSet(tail, next);
+			} else if (tail.casNext(clause)) {
+				mTail.compareAndSet(tail, clause);
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.Theory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.ClauseExchange.SharedClause;
+
+/**
+ * The part of the clause exchange that belongs to one DPLL engine. It publishes the short learned clauses of the
+ * engine and translates the clauses of the other engines into clauses over its own atoms.
+ *
+ * The translation is keyed by the shared term of the atoms, which the owner of the engine computes from the SMT formula
+ * of the atom. Only atoms that are equivalent to their formula are translated (see
+ * {@link DPLLAtom#isDefinedByFormula()}), so the learned clauses stay valid in every engine that has the same
+ * assertions. A clause is dropped if one of its atoms is unknown to the receiving engine.
+ */
+class ClauseSharing {
+	private final DPLLEngine mEngine;
+	private ClauseExchange mExchange;
+	/**
+	 * The theory of the SMT formulas of the atoms.
+	 */
+	private Theory mTheory;
+	/**
+	 * Maps the SMT formula of an atom to its shared term, or to null if the atom cannot be shared.
+	 */
+	private Function<Term, Term> mSharedTerm;
+	/**
+	 * The last clause of the exchange buffer that was read by this engine.
+	 */
+	private SharedClause mLastRead;
+
+	/**
+	 * The shared term of every atom that was translated. Atoms that cannot be shared are mapped to null.
+	 */
+	private final HashMap<DPLLAtom, Term> mAtomTerms = new HashMap<>();
+	/**
+	 * The atom for every indexed shared term.
+	 */
+	private final HashMap<Term, DPLLAtom> mTermAtoms = new HashMap<>();
+	/**
+	 * The number of atoms of the engine's atom list that are already in {@link #mTermAtoms}.
+	 */
+	private int mNumIndexedAtoms;
+
+	/* Statistics */
+	private int mNumExported, mNumImported, mNumDropped;
+
+	ClauseSharing(final DPLLEngine engine) {
+		mEngine = engine;
+	}
+
+	/**
+	 * Start to use a new exchange buffer.
+	 *
+	 * @param exchange
+	 *            the buffer, or null to stop sharing.
+	 * @param theory
+	 *            the theory of the SMT formulas of the atoms.
+	 * @param sharedTerm
+	 *            maps the SMT formula of an atom to its shared term, or to null if the atom cannot be shared.
+	 */
+	void setExchange(final ClauseExchange exchange, final Theory theory, final Function<Term, Term> sharedTerm) {
+		/* the shared terms may differ from the last exchange */
+		mAtomTerms.clear();
+		mTermAtoms.clear();
+		mNumIndexedAtoms = 0;
+		mExchange = exchange;
+		mTheory = theory;
+		mSharedTerm = sharedTerm;
+		mLastRead = exchange == null ? null : exchange.getHead();
+	}
+
+	boolean isActive() {
+		return mExchange != null;
+	}
+
+	/**
+	 * Get the shared term of an atom if clauses over the atom can be shared.
+	 */
+	private Term getTerm(final DPLLAtom atom) {
+		Term term = mAtomTerms.get(atom);
+		if (term == null && !mAtomTerms.containsKey(atom)) {
+			if (atom.isDefinedByFormula()) {
+				final Term formula = atom.getSMTFormula(mTheory);
+				if (formula.getFreeVars().length == 0) {
+					term = mSharedTerm.apply(formula);
+				}
+			}
+			mAtomTerms.put(atom, term);
+		}
+		return term;
+	}
+
+	/**
+	 * Publish a learned clause if it is short enough and all its atoms can be shared.
+	 *
+	 * @param clause
+	 *            the learned clause with computed LBD.
+	 */
+	void publish(final Clause clause) {
+		final int size = clause.getSize();
+		if (size > 2 && clause.mLBD > Config.SHARE_CLAUSE_LBD) {
+			return;
+		}
+		final Term[] atoms = new Term[size];
+		final boolean[] positive = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			final Literal lit = clause.getLiteral(i);
+			atoms[i] = getTerm(lit.getAtom());
+			if (atoms[i] == null) {
+				return;
+			}
+			positive[i] = lit.getSign() > 0;
+		}
+		mExchange.publish(new SharedClause(mEngine, atoms, positive, clause.mStacklevel, clause.mLBD));
+		mNumExported++;
+	}
+
+	/**
+	 * Index the atoms that were created since the last call.
+	 *
+	 * @param atomList
+	 *            the list of all atoms of the engine.
+	 */
+	private void indexAtoms(final List<DPLLAtom> atomList) {
+		for (int i = mNumIndexedAtoms; i < atomList.size(); i++) {
+			final DPLLAtom atom = atomList.get(i);
+			final Term term = getTerm(atom);
+			if (term != null && !mTermAtoms.containsKey(term)) {
+				mTermAtoms.put(term, atom);
+			}
+		}
+		mNumIndexedAtoms = atomList.size();
+	}
+
+	/**
+	 * Translate the clauses that other engines published since the last call.
+	 *
+	 * @param atomList
+	 *            the list of all atoms of the engine.
+	 * @return the translated clauses with their LBD set. They still need to be added to the engine.
+	 */
+	List<Clause> receive(final List<DPLLAtom> atomList) {
+		final List<Clause> result = new ArrayList<>();
+		SharedClause shared = mLastRead.mNext;
+		if (shared == null) {
+			return result;
+		}
+		indexAtoms(atomList);
+		final HashSet<DPLLAtom> seen = new HashSet<>();
+		for (; shared != null; shared = shared.mNext) {
+			mLastRead = shared;
+			if (shared.mSource == mEngine) {
+				continue;
+			}
+			final Literal[] lits = new Literal[shared.mAtoms.length];
+			seen.clear();
+			for (int i = 0; i < lits.length; i++) {
+				final DPLLAtom atom = mTermAtoms.get(shared.mAtoms[i]);
+				if (atom == null || !mEngine.isActive(atom) || !seen.add(atom)) {
+					break;
+				}
+				lits[i] = shared.mPositive[i] ? atom : atom.negate();
+			}
+			if (seen.size() < lits.length) {
+				mNumDropped++;
+				continue;
+			}
+			final Clause clause = new Clause(lits, shared.mStackLevel);
+			clause.mLBD = shared.mLBD;
+			result.add(clause);
+			mNumImported++;
+		}
+		return result;
+	}
+
+	/**
+	 * Forget an atom that was removed from the engine.
+	 *
+	 * @param atom
+	 *            the removed atom.
+	 */
+	void removeAtom(final DPLLAtom atom) {
+		final Term term = mAtomTerms.remove(atom);
+		if (term != null && mTermAtoms.get(term) == atom) {
+			mTermAtoms.remove(term);
+		}
+	}
+
+	/**
+	 * Notify that the atom list of the engine shrank after a pop.
+	 *
+	 * @param numAtoms
+	 *            the new size of the atom list.
+	 */
+	void truncate(final int numAtoms) {
+		mNumIndexedAtoms = Math.min(mNumIndexedAtoms, numAtoms);
+	}
+
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Exported", mNumExported }, { "Imported", mNumImported },
+			{ "Dropped", mNumDropped } };
+	}
+
+	@Override
+	public String toString() {
+		return "Exported: " + mNumExported + " Imported: " + mNumImported + " Dropped: " + mNumDropped;
+	}
+}
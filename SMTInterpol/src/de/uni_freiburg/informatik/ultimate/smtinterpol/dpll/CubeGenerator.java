@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+
+/**
+ * Splits the search space of a DPLL engine into cubes for cube-and-conquer. A cube is a conjunction of literals;
+ * the disjunction of all generated cubes is implied by the clauses of the engine. The cubes can be solved
+ * independently, e.g., by check-sat-assuming on several solvers.
+ *
+ * The splitting atoms are chosen by lookahead: both polarities of the most active candidate atoms are decided on a
+ * temporary decide level and the number of literals set by propagation is measured. The atom with the largest product
+ * of the two counts is split. If one polarity of an atom leads to a conflict (a failed literal), the other polarity
+ * is added to the current cube without splitting. Cubes that lead to a conflict are dropped.
+ */
+public class CubeGenerator {
+	private final DPLLEngine mEngine;
+	/**
+	 * Decides which atoms may appear in a cube.
+	 */
+	private final Predicate<DPLLAtom> mSplittable;
+	private List<Literal[]> mCubes;
+
+	/* Statistics */
+	private int mNumRefuted, mNumFailedLiterals, mNumProbes;
+
+	/**
+	 * Create a cube generator.
+	 *
+	 * @param engine
+	 *            the engine whose clauses are split.
+	 * @param splittable
+	 *            decides which atoms can be used for splitting.
+	 */
+	public CubeGenerator(final DPLLEngine engine, final Predicate<DPLLAtom> splittable) {
+		mEngine = engine;
+		mSplittable = splittable;
+	}
+
+	/**
+	 * Generate the cubes. The engine must not be inside a check. When this returns, the engine is back on decide
+	 * level zero. If the engine was cancelled while splitting, it stays incomplete as after a cancelled check.
+	 *
+	 * @param depth
+	 *            the number of splits in every cube, i.e., there are at most 2^depth cubes.
+	 * @return the cubes, or null if the clauses are unsatisfiable by propagation. The list is empty if all cubes were
+	 *         refuted.
+	 */
+	public List<Literal[]> generate(final int depth) {
+		mEngine.clearAssumptions();
+		if (!mEngine.quickCheck()) {
+			return null;
+		}
+		mCubes = new ArrayList<>();
+		split(new ArrayList<Literal>(), depth);
+		mEngine.clearAssumptions();
+		final List<Literal[]> cubes = mCubes;
+		mCubes = null;
+		return cubes;
+	}
+
+	/**
+	 * Decide a literal on a new decide level and propagate.
+	 *
+	 * @return true if no conflict was found.
+	 */
+	private boolean decide(final Literal lit) {
+		mEngine.increaseDecideLevel();
+		Clause conflict = mEngine.setLiteral(lit);
+		if (conflict == null) {
+			conflict = mEngine.propagateInternal();
+		}
+		return conflict == null;
+	}
+
+	/**
+	 * Backtrack the literals above a stack position.
+	 *
+	 * @return true if the theories found no conflict after backtracking.
+	 */
+	private boolean backtrack(final int stackSize) {
+		mEngine.startBacktrack();
+		while (mEngine.mDPLLStack.size() > stackSize) {
+			mEngine.backtrackLiteral(mEngine.mDPLLStack.remove(mEngine.mDPLLStack.size() - 1));
+		}
+		return mEngine.finalizeBacktrack() == null;
+	}
+
+	/**
+	 * Decide a literal temporarily.
+	 *
+	 * @return the number of literals set by the decision, or -1 on a conflict.
+	 */
+	private int probe(final Literal lit) {
+		mNumProbes++;
+		final int stackSize = mEngine.mDPLLStack.size();
+		boolean consistent = decide(lit);
+		final int numSet = mEngine.mDPLLStack.size() - stackSize;
+		consistent &= backtrack(stackSize);
+		return consistent ? numSet : -1;
+	}
+
+	/**
+	 * Collect the unassigned splittable atoms with the highest activity.
+	 */
+	private List<DPLLAtom> collectCandidates() {
+		final ArrayList<DPLLAtom> candidates = new ArrayList<>();
+		for (final DPLLAtom atom : mEngine.mAtomList) {
+			if (atom.mDecideStatus == null && mEngine.isActive(atom) && mSplittable.test(atom)) {
+				candidates.add(atom);
+			}
+		}
+		candidates.sort(DPLLAtom::compareActivityTo);
+		return candidates.size() > Config.CUBE_CANDIDATES ? candidates.subList(0, Config.CUBE_CANDIDATES)
+				: candidates;
+	}
+
+	/**
+	 * Split the current cube recursively. The literals of the cube are decided in the engine.
+	 *
+	 * @param cube
+	 *            the literals of the current cube.
+	 * @param depth
+	 *            the remaining number of splits.
+	 */
+	private void split(final ArrayList<Literal> cube, final int depth) {
+		final int cubeSize = cube.size();
+		final int stackSize = mEngine.mDPLLStack.size();
+		boolean refuted = false;
+		DPLLAtom best = null;
+		if (depth > 0) {
+			search: while (!mEngine.isTerminationRequested()) {
+				best = null;
+				long bestScore = -1;
+				for (final DPLLAtom atom : collectCandidates()) {
+					final int pos = probe(atom);
+					final int neg = probe(atom.negate());
+					if (pos < 0 || neg < 0) {
+						/* failed literal: its negation holds in this cube */
+						mNumFailedLiterals++;
+						final Literal implied = pos < 0 ? atom.negate() : atom;
+						cube.add(implied);
+						refuted = pos < 0 && neg < 0 || !decide(implied);
+						if (refuted) {
+							break search;
+						}
+						continue search;
+					}
+					final long score = (long) (pos + 1) * (neg + 1);
+					if (score > bestScore) {
+						best = atom;
+						bestScore = score;
+					}
+				}
+				break;
+			}
+		}
+		if (refuted) {
+			mNumRefuted++;
+		} else if (best == null || mEngine.isTerminationRequested()) {
+			mCubes.add(cube.toArray(new Literal[cube.size()]));
+		} else {
+			final Literal first = best.getPreferredStatus();
+			for (final Literal lit : new Literal[] { first, first.negate() }) {
+				final int branchStart = mEngine.mDPLLStack.size();
+				if (decide(lit)) {
+					cube.add(lit);
+					split(cube, depth - 1);
+					cube.remove(cube.size() - 1);
+				} else {
+					mNumRefuted++;
+				}
+				if (!backtrack(branchStart)) {
+					/* the cube without the split is already inconsistent */
+					break;
+				}
+			}
+		}
+		backtrack(stackSize);
+		while (cube.size() > cubeSize) {
+			cube.remove(cube.size() - 1);
+		}
+	}
+
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Refuted", mNumRefuted }, { "Failed_Literals", mNumFailedLiterals },
+			{ "Probes", mNumProbes } };
+	}
+
+	@Override
+	public String toString() {
+		return "Refuted: " + mNumRefuted + " Failed literals: " + mNumFailedLiterals + " Probes: " + mNumProbes;
+	}
+}
@@ -18,6 +18,8 @@
  */
 package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
 
+import java.util.ArrayList;
+
 import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.logic.Theory;
@@ -67,6 +69,11 @@ public abstract class DPLLAtom extends Literal {
 	double  mActivity;
 	public Object  mExplanation;
 	Clause.WatchList mBacktrackWatchers = new Clause.WatchList();
+	/**
+	 * The true literals whose binary implications were satisfied by this atom. They are queued again for binary
+	 * propagation when this atom is backtracked. This is null if there are none.
+	 */
+	ArrayList<Literal> mBinaryBacktrackLits;
 	int mAtomQueueIndex = -1;
 	final int mAssertionstacklevel;
 	boolean mPreferredStatusIsLocked;
@@ -80,6 +87,13 @@ public abstract class DPLLAtom extends Literal {
 		mPreferredStatusIsLocked = false;
 	}
 
+	/**
+	 * Get the activity of this atom, i.e., how often it was involved in recent conflicts.
+	 */
+	public final double getActivity() {
+		return mActivity;
+	}
+
 	/**
 	 * Compares two atoms with respect to their activity. Do not override!
 	 */
@@ -169,4 +183,13 @@ public abstract class DPLLAtom extends Literal {
 	public Literal getPreferredStatus() {
 		return mLastStatus;
 	}
+
+	/**
+	 * Check if this atom is equivalent to its SMT formula. This is not the case for auxiliary atoms that are only
+	 * defined in one direction, depending on the polarity in which their formula was clausified. Only clauses over
+	 * atoms that are equivalent to their formula can be exchanged between solvers.
+	 */
+	public boolean isDefinedByFormula() {
+		return true;
+	}
 }
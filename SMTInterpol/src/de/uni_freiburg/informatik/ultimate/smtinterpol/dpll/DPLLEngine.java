@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.function.Function;
 
 import de.uni_freiburg.informatik.ultimate.logic.Assignments;
 import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
@@ -71,6 +72,57 @@ public class DPLLEngine {
 			"Sat check timed out", "Incomplete check used", "User requested cancellation" };
 	private int mCompleteness;
 
+	/**
+	 * The policy used to decide which learned clauses are removed.
+	 */
+	public static enum LearnedClausePolicy {
+		/**
+		 * Remove learned clauses whose activity dropped below a threshold.
+		 */
+		ACTIVITY,
+		/**
+		 * Keep learned clauses in tiers according to their literal block distance and periodically reduce the
+		 * local tier.
+		 */
+		TIERED
+	}
+
+	/**
+	 * The policy used to decide when to restart.
+	 */
+	public static enum RestartPolicy {
+		/**
+		 * Restart after a number of conflicts given by the Luby sequence (reluctant doubling).
+		 */
+		LUBY,
+		/**
+		 * Restart when the moving average of the recent learned clauses' LBD exceeds the long-term average.
+		 */
+		GLUCOSE,
+		/**
+		 * Like GLUCOSE, but postpone restarts while the trail is much longer than on average.
+		 */
+		GLUCOSE_BLOCKING
+	}
+
+	/**
+	 * The polarity that is tried first when deciding an atom that was never assigned before.
+	 */
+	public static enum InitialPhase {
+		/**
+		 * Decide atoms to false.
+		 */
+		NEGATIVE,
+		/**
+		 * Decide atoms to true.
+		 */
+		POSITIVE,
+		/**
+		 * Choose the polarity of every atom randomly.
+		 */
+		RANDOM
+	}
+
 	/* Incrementality */
 	/**
 	 * Number of active pushs.
@@ -79,7 +131,7 @@ public class DPLLEngine {
 	/**
 	 * The push/pop recovery data.
 	 */
-	private final ScopedArrayList<DPLLAtom> mAtomList;
+	final ScopedArrayList<DPLLAtom> mAtomList;
 	/**
 	 * List of all input clauses. This list should not contain any learned clauses!
 	 */
@@ -97,9 +149,41 @@ public class DPLLEngine {
 	private final Set<Literal> mAssumptionLiterals = new LinkedHashSet<>();
 
 	/* Statistics */
-	private int mConflicts, mDecides, mTProps, mProps;
+	private int mConflicts, mDecides, mTProps, mProps, mBinaryProps;
 	private int mNumSolvedAtoms, mNumClauses, mNumAxiomClauses;
+	private int mNumMinimizedLits, mNumStrengthenedLits, mNumSubsumedClauses;
+	private int mNumChronoBacktracks, mNumSavedTrailProps;
 	SimpleList<Clause> mLearnedClauses = new SimpleList<>();
+	/**
+	 * The tiered learned clause database. This is null if the activity based policy is used. In that case the learned
+	 * clauses are stored in mLearnedClauses.
+	 */
+	private TieredClauseDatabase mClauseDatabase;
+	/**
+	 * The inprocessor for propositional problems, or null if inprocessing is disabled.
+	 */
+	private Inprocessor mInprocessor;
+	/**
+	 * True if the inprocessor should run as soon as the engine is on decide level zero.
+	 */
+	private boolean mInprocessPending;
+	/**
+	 * Exchanges learned clauses with other engines, or null if this engine never shared clauses.
+	 */
+	private ClauseSharing mClauseSharing;
+	/**
+	 * Decides when to restart.
+	 */
+	private RestartStrategy mRestartStrategy = RestartStrategy.create(RestartPolicy.LUBY);
+	/**
+	 * The polarity of new atoms.
+	 */
+	private InitialPhase mInitialPhase = InitialPhase.NEGATIVE;
+	/**
+	 * Stamps for the decide levels used to compute the literal block distance.
+	 */
+	private int[] mLevelStamps = new int[16];
+	private int mLevelStamp;
 	private long mPropTime, mPropClauseTime, mExplainTime;
 	private long mSetTime, mCheckTime, mBacktrackTime;
 	private int mNumRandomSplits;
@@ -117,6 +201,24 @@ public class DPLLEngine {
 	 */
 	WatchList mPendingWatcherList = new WatchList();
 
+	/**
+	 * The literals that were set to true and whose negation may have binary clauses that are not yet propagated.
+	 * Literals that were backtracked in the meantime are skipped when they are taken from the queue.
+	 */
+	private final ArrayDeque<Literal> mBinaryPropQueue = new ArrayDeque<>();
+
+	/**
+	 * The propagated literals undone by the last backjump, in the order of the DPLL stack, and their explanations.
+	 * They are propagated again with the saved explanation as soon as all other literals of the explanation are false,
+	 * which saves the search for the unit clauses and the theory explanations.
+	 */
+	private final ArrayList<Literal> mSavedTrail = new ArrayList<>();
+	private final ArrayList<Clause> mSavedReasons = new ArrayList<>();
+	/**
+	 * The position of the next literal in {@link #mSavedTrail} that was not yet propagated again.
+	 */
+	private int mSavedTrailPos;
+
 	/**
 	 * The DPLL stack is the stack of all literals that are currently assigned true.
 	 * Every decided or propagated literal is added to the DPLL stack and removed on
@@ -234,7 +336,7 @@ public class DPLLEngine {
 	 * @return a conflict clause if a conflict was detected.
 	 */
 	@SuppressWarnings("unused")
-	private Clause propagateInternal() {
+	Clause propagateInternal() {
 
 		while (true) {
 			Clause conflict = propagateTheories();
@@ -327,14 +429,35 @@ public class DPLLEngine {
 			time = System.nanoTime() - mSetTime;
 		}
 
+		final int stackSize = mDPLLStack.size();
+		Clause binaryConflict = propagateSavedTrail();
+		if (binaryConflict == null) {
+			binaryConflict = propagateBinaryClauses();
+		}
+		if (binaryConflict != null || mDPLLStack.size() > stackSize) {
+			if (Config.PROFILE_TIME) {
+				mPropClauseTime += System.nanoTime() - time - mSetTime;
+			}
+			return binaryConflict;
+		}
+
 		// logger.info("new set: "+watcherSetList.size());
 		nextList: while (!mPendingWatcherList.isEmpty()) {
 			final int index = mPendingWatcherList.getIndex();
+			final Literal blocker = mPendingWatcherList.getBlocker();
 			Clause clause = mPendingWatcherList.removeFirst();
 			/* check if clause was already removed */
 			if (clause.mNext == null) {
 				continue nextList;
 			}
+			/*
+			 * If the blocker is true, the clause is satisfied. Wait on the backtrack watcher list of the blocker
+			 * without looking at the literals of the clause.
+			 */
+			if (blocker != null && blocker.mAtom.mDecideStatus == blocker) {
+				blocker.mAtom.mBacktrackWatchers.append(clause, index);
+				continue nextList;
+			}
 			final Literal[] lits = clause.mLiterals;
 			/*
 			 * For non-unit clauses we check if the watched literal is set to false. If not,
@@ -360,6 +483,7 @@ public class DPLLEngine {
 			 */
 			final Literal otherLit = lits[1 - index];
 			final DPLLAtom otherAtom = otherLit.getAtom();
+			clause.setBlocker(index, otherLit);
 			if (otherAtom.mDecideStatus == otherLit) {
 				/*
 				 * Other watcher is true, put ourself on the backtrack watcher list.
@@ -371,9 +495,18 @@ public class DPLLEngine {
 				final Literal lit = lits[i];
 				final DPLLAtom atom = lit.getAtom();
 				final Literal status = atom.mDecideStatus;
-				if (status != lit.negate()) {
+				if (status == lit) {
+					/*
+					 * The clause is satisfied by this literal. Use it as blocker and wait on its backtrack watcher
+					 * list instead of moving the watch.
+					 */
+					clause.setBlocker(index, lit);
+					atom.mBacktrackWatchers.append(clause, index);
+					continue nextList;
+				}
+				if (status == null) {
 					/* check if clause is too old to keep */
-					if (clause.mActivity < mClsScale * Config.CLAUSE_UNLEARN_ACTIVITY && status == null
+					if (mClauseDatabase == null && clause.mActivity < mClsScale * Config.CLAUSE_UNLEARN_ACTIVITY
 							&& clause.doCleanup(this)) {
 						clause.removeFromList();
 					} else {
@@ -423,6 +556,142 @@ public class DPLLEngine {
 		return null;
 	}
 
+	/**
+	 * Propagate all binary clauses whose literal was set to false. This runs before the propagation of the longer
+	 * clauses and propagates until a fixpoint is reached or a conflict is found.
+	 *
+	 * @return a conflict clause, null if no conflict was found.
+	 */
+	private Clause propagateBinaryClauses() {
+		while (!mBinaryPropQueue.isEmpty()) {
+			final Literal trueLit = mBinaryPropQueue.removeFirst();
+			if (trueLit.mAtom.mDecideStatus != trueLit) {
+				/* literal was backtracked in the meantime */
+				continue;
+			}
+			final BinaryImplicationList binaries = trueLit.negate().mBinaryClauses;
+			if (binaries == null) {
+				continue;
+			}
+			final Literal[] others = binaries.mOthers;
+			final Clause[] clauses = binaries.mClauses;
+			for (int i = 0; i < binaries.mSize; i++) {
+				final Literal other = others[i];
+				final Literal status = other.mAtom.mDecideStatus;
+				if (status == other) {
+					if (other.mAtom.mStackPosition > trueLit.mAtom.mStackPosition) {
+						/* recheck the implication when the other literal is backtracked before trueLit */
+						addBinaryBacktrackLit(other.mAtom, trueLit);
+					}
+					continue;
+				}
+				final Clause clause = clauses[i];
+				/* check if clause was already removed */
+				if (clause.mNext == null) {
+					binaries.remove(i--);
+					continue;
+				}
+				if (status == null) {
+					if (trueLit.mAtom.mDecideLevel < mCurrentDecideLevel) {
+						/* the clause is still unit if other is backtracked to a level between both literals */
+						addBinaryBacktrackLit(other.mAtom, trueLit);
+					}
+					other.mAtom.mExplanation = clause;
+					mProps++;
+					mBinaryProps++;
+					final Clause conflict = setLiteral(other);
+					if (conflict != null) {
+						/* the remaining binary clauses of trueLit are still pending */
+						mBinaryPropQueue.addFirst(trueLit);
+						return conflict;
+					}
+				} else {
+					/* both literals are false; recheck this clause after resolving the conflict */
+					mBinaryPropQueue.addFirst(trueLit);
+					return clause;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static void addBinaryBacktrackLit(final DPLLAtom atom, final Literal trueLit) {
+		if (atom.mBinaryBacktrackLits == null) {
+			atom.mBinaryBacktrackLits = new ArrayList<>();
+		}
+		atom.mBinaryBacktrackLits.add(trueLit);
+	}
+
+	/**
+	 * Propagate the literals of the saved trail whose explanations are unit again. This stops at the first literal
+	 * whose explanation is not yet unit. The saved trail is dropped if an explanation became satisfied, since the
+	 * search went elsewhere.
+	 *
+	 * @return a conflict clause, null if no conflict was found.
+	 */
+	private Clause propagateSavedTrail() {
+		while (mSavedTrailPos < mSavedTrail.size()) {
+			final Literal lit = mSavedTrail.get(mSavedTrailPos);
+			final DPLLAtom atom = lit.getAtom();
+			if (atom.mDecideStatus == lit) {
+				mSavedTrailPos++;
+				continue;
+			}
+			final Clause reason = mSavedReasons.get(mSavedTrailPos);
+			for (final Literal other : reason.mLiterals) {
+				if (other != lit) {
+					final Literal status = other.getAtom().mDecideStatus;
+					if (status == null) {
+						/* wait until the explanation is unit */
+						return null;
+					}
+					if (status == other) {
+						clearSavedTrail();
+						return null;
+					}
+				}
+			}
+			if (atom.mDecideStatus != null || !isActive(atom)) {
+				clearSavedTrail();
+				/* if the literal is false, the explanation is a conflict clause */
+				return atom.mDecideStatus != null ? reason : null;
+			}
+			mSavedTrailPos++;
+			mNumSavedTrailProps++;
+			atom.mExplanation = reason;
+			final Clause conflict = setLiteral(lit);
+			if (conflict != null) {
+				return conflict;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Save the propagated literals above a stack position before they are backtracked.
+	 *
+	 * @param stackPos
+	 *            the position of the first literal that is backtracked.
+	 */
+	private void saveTrail(final int stackPos) {
+		clearSavedTrail();
+		for (int i = stackPos; i < mDPLLStack.size(); i++) {
+			final Literal lit = mDPLLStack.get(i);
+			final Object explanation = lit.getAtom().mExplanation;
+			/* decisions are not implied and the explanation of theory propagations is not yet computed */
+			if (explanation instanceof Clause) {
+				mSavedTrail.add(lit);
+				mSavedReasons.add((Clause) explanation);
+			}
+		}
+	}
+
+	private void clearSavedTrail() {
+		mSavedTrail.clear();
+		mSavedReasons.clear();
+		mSavedTrailPos = 0;
+	}
+
 	private boolean checkConflict(final Clause conflict) {
 		for (final Literal lit : conflict.mLiterals) {
 			final DPLLAtom a = lit.getAtom();
@@ -454,6 +723,7 @@ public class DPLLEngine {
 		mAtoms.remove(atom);
 		assert !Config.EXPENSIVE_ASSERTS || checkDecideLevel();
 		mPendingWatcherList.moveAll(literal.negate().mWatchers);
+		mBinaryPropQueue.addLast(literal);
 		long time;
 		if (Config.PROFILE_TIME) {
 			time = System.nanoTime();
@@ -487,6 +757,21 @@ public class DPLLEngine {
 				/* propagate unit clause: only register watcher on "virtual" second literal. */
 				mPendingWatcherList.append(clause, 1);
 			}
+		} else if (clause.getSize() == 2) {
+			/*
+			 * Binary clauses are stored in the implication lists of both literals. If a literal is already false,
+			 * reprocess its negation to propagate or detect the conflict.
+			 */
+			final Literal lit0 = clause.mLiterals[0];
+			final Literal lit1 = clause.mLiterals[1];
+			addBinaryImplication(lit0, lit1, clause);
+			addBinaryImplication(lit1, lit0, clause);
+			if (lit0.mAtom.mDecideStatus == lit0.negate()) {
+				mBinaryPropQueue.addFirst(lit0.negate());
+			}
+			if (lit1.mAtom.mDecideStatus == lit1.negate()) {
+				mBinaryPropQueue.addFirst(lit1.negate());
+			}
 		} else {
 			/*
 			 * A clause is "watched" if it appears on either the watcherBack/SetList or the
@@ -497,6 +782,13 @@ public class DPLLEngine {
 		}
 	}
 
+	private static void addBinaryImplication(final Literal lit, final Literal other, final Clause clause) {
+		if (lit.mBinaryClauses == null) {
+			lit.mBinaryClauses = new BinaryImplicationList();
+		}
+		lit.mBinaryClauses.add(other, clause);
+	}
+
 	public void addClause(final Clause clause) {
 		mAtomScale += 1.0 - 1.0 / Config.ATOM_ACTIVITY_FACTOR;
 		clause.mActivity = Double.POSITIVE_INFINITY;
@@ -510,6 +802,140 @@ public class DPLLEngine {
 		c.removeFromList();
 	}
 
+	/**
+	 * Add an input clause that was derived by the inprocessor.
+	 *
+	 * @param clause
+	 *            the new clause.
+	 */
+	void addSimplifiedClause(final Clause clause) {
+		clause.mActivity = Double.POSITIVE_INFINITY;
+		mClauses.prepend(clause);
+		watchClause(clause);
+	}
+
+	/**
+	 * Remove all learned clauses that contain one of the given atoms.
+	 *
+	 * @param atoms
+	 *            the atoms, usually eliminated variables.
+	 */
+	void removeLearnedClauses(final Set<DPLLAtom> atoms) {
+		if (mClauseDatabase != null) {
+			mNumClauses -= mClauseDatabase.removeContaining(atoms);
+			return;
+		}
+		final Iterator<Clause> it = mLearnedClauses.iterator();
+		while (it.hasNext()) {
+			final Clause c = it.next();
+			for (final Literal lit : c.mLiterals) {
+				if (atoms.contains(lit.getAtom())) {
+					assert c.mCleanupHook == null;
+					mNumClauses--;
+					it.remove();
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove an unassigned atom from the decision queue, because it was eliminated.
+	 */
+	void deactivateAtom(final DPLLAtom atom) {
+		assert atom.mDecideStatus == null;
+		mAtoms.remove(atom);
+	}
+
+	/**
+	 * Put an eliminated atom back into the decision queue.
+	 */
+	void activateAtom(final DPLLAtom atom) {
+		if (atom.mDecideStatus == null && !mAtoms.contains(atom)) {
+			mAtoms.add(atom);
+		}
+	}
+
+	boolean isAssumptionAtom(final DPLLAtom atom) {
+		return mAssumptionLiterals.contains(atom) || mAssumptionLiterals.contains(atom.negate());
+	}
+
+	/**
+	 * Check if all input clauses contain only propositional variables or Tseitin variables, i.e., no theory is
+	 * involved in unit propagation. Atoms that are already set on decide level zero are ignored.
+	 */
+	boolean isPurePropositional() {
+		for (final Clause c : mClauses) {
+			for (final Literal lit : c.mLiterals) {
+				final DPLLAtom atom = lit.getAtom();
+				if (atom.getClass() != BooleanVarAtom.class && atom.getClass() != NamedAtom.class
+						&& atom.mDecideLevel != 0) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	public void setRestartPolicy(final RestartPolicy policy) {
+		mRestartStrategy = RestartStrategy.create(policy);
+	}
+
+	public void setInitialPhase(final InitialPhase phase) {
+		mInitialPhase = phase;
+	}
+
+	public void setInprocessing(final boolean enabled) {
+		mInprocessor = enabled ? new Inprocessor(this) : null;
+	}
+
+	/**
+	 * Exchange learned clauses with other engines that solve the same problem in parallel. Short learned clauses are
+	 * published to the exchange and the clauses of the other engines are imported on every restart. Clauses are not
+	 * shared while proofs are produced or assumptions are active.
+	 *
+	 * @param exchange
+	 *            the exchange buffer, or null to stop sharing.
+	 * @param theory
+	 *            the theory of the SMT formulas of the atoms.
+	 * @param sharedTerm
+	 *            maps the SMT formula of an atom to the term that identifies the atom in the exchange, or to null if
+	 *            the atom cannot be shared. The function is called during the search and must not modify any theory.
+	 */
+	public void setClauseExchange(final ClauseExchange exchange, final Theory theory,
+			final Function<Term, Term> sharedTerm) {
+		if (mClauseSharing == null) {
+			if (exchange == null) {
+				return;
+			}
+			mClauseSharing = new ClauseSharing(this);
+		}
+		mClauseSharing.setExchange(exchange, theory, sharedTerm);
+	}
+
+	private boolean isSharingClauses() {
+		return mClauseSharing != null && mClauseSharing.isActive() && !mPGenabled && mAssumptionLiterals.isEmpty();
+	}
+
+	/**
+	 * Add the learned clauses of the other engines.
+	 */
+	private void importSharedClauses() {
+		for (final Clause clause : mClauseSharing.receive(mAtomList)) {
+			mNumClauses++;
+			clause.mActivity = mClsScale;
+			storeLearnedClause(clause);
+		}
+	}
+
+	/**
+	 * Check if an atom takes part in the search, i.e., it is assigned or in the decision queue. Atoms eliminated by
+	 * the inprocessor are not active.
+	 */
+	boolean isActive(final DPLLAtom atom) {
+		return atom.mDecideStatus != null || mAtoms.contains(atom);
+	}
+
 	public void addFormulaClause(final Literal[] literals, final ProofNode proof) {
 		addFormulaClause(literals, proof, null);
 	}
@@ -529,13 +955,81 @@ public class DPLLEngine {
 		mAtomScale += 1.0 - 1.0 / Config.ATOM_ACTIVITY_FACTOR;
 		mNumClauses++;
 		clause.mActivity = mClsScale;// Double.POSITIVE_INFINITY;
-		if (clause.getSize() <= 2) {
-			clause.mActivity = Double.POSITIVE_INFINITY;
+		clause.mLBD = computeLBD(clause);
+		mRestartStrategy.learned(clause.mLBD);
+		if (isSharingClauses()) {
+			mClauseSharing.publish(clause);
+		}
+		storeLearnedClause(clause);
+	}
+
+	/**
+	 * Add a learned clause to the clause database and watch it.
+	 */
+	private void storeLearnedClause(final Clause clause) {
+		if (mClauseDatabase != null) {
+			mClauseDatabase.add(clause);
+		} else {
+			if (clause.getSize() <= 2) {
+				clause.mActivity = Double.POSITIVE_INFINITY;
+			}
+			mLearnedClauses.append(clause);
 		}
-		mLearnedClauses.append(clause);
 		watchClause(clause);
 	}
 
+	/**
+	 * Compute the literal block distance of a clause, i.e., the number of distinct decide levels of the assigned
+	 * literals. All unassigned literals count as one additional level, since they will be assigned on the same level
+	 * when the clause becomes unit.
+	 *
+	 * @param clause
+	 *            the clause.
+	 * @return the literal block distance.
+	 */
+	private int computeLBD(final Clause clause) {
+		if (mLevelStamps.length <= mCurrentDecideLevel) {
+			mLevelStamps = Arrays.copyOf(mLevelStamps, 2 * mCurrentDecideLevel + 1);
+		}
+		final int stamp = ++mLevelStamp;
+		boolean hasUnassigned = false;
+		int lbd = 0;
+		for (final Literal lit : clause.mLiterals) {
+			final int level = lit.getAtom().mDecideLevel;
+			if (level < 0) {
+				hasUnassigned = true;
+			} else if (mLevelStamps[level] != stamp) {
+				mLevelStamps[level] = stamp;
+				lbd++;
+			}
+		}
+		return hasUnassigned ? lbd + 1 : lbd;
+	}
+
+	/**
+	 * Bump the activity of a clause used as antecedent in conflict analysis.
+	 *
+	 * @param expl
+	 *            the antecedent clause.
+	 */
+	private void bumpClause(final Clause expl) {
+		expl.mActivity += mClsScale;
+		if (expl.mTier > TieredClauseDatabase.TIER_CORE) {
+			mClauseDatabase.clauseUsed(expl, computeLBD(expl));
+		}
+	}
+
+	/**
+	 * Select the policy used to remove learned clauses. This must be called before the first clause is learned.
+	 *
+	 * @param policy
+	 *            the new policy.
+	 */
+	public void setLearnedClausePolicy(final LearnedClausePolicy policy) {
+		assert mLearnedClauses.isEmpty() && mClauseDatabase == null;
+		mClauseDatabase = policy == LearnedClausePolicy.TIERED ? new TieredClauseDatabase() : null;
+	}
+
 	// public void addInstantiationClause(Literal[] lits) {
 	// ++num_insts;
 	// Clause clause = new Clause(lits);
@@ -593,7 +1087,13 @@ public class DPLLEngine {
 			antecedents = new ArrayList<>();
 		}
 		int expstacklevel = clause.mStacklevel;
+		/* the learned clauses used in this conflict; they may be subsumed by the new clause */
+		final ArrayList<Clause> learnedAntecedents = new ArrayList<>();
+		if (clause.mLBD > 0) {
+			learnedAntecedents.add(clause);
+		}
 		mConflicts++;
+		mRestartStrategy.conflict(mDPLLStack.size());
 		assert checkDecideLevel();
 		mAtomScale *= Config.ATOM_ACTIVITY_FACTOR;
 		mClsScale *= Config.CLS_ACTIVITY_FACTOR;
@@ -688,7 +1188,10 @@ public class DPLLEngine {
 
 			/* Do a resolution step with explanation */
 			final Clause expl = getExplanation(lit);
-			expl.mActivity += mClsScale;
+			bumpClause(expl);
+			if (expl.mLBD > 0) {
+				learnedAntecedents.add(expl);
+			}
 			// expl.usedTimes++;
 			expstacklevel = Math.max(expstacklevel, expl.mStacklevel);
 			if (isProofGenerationEnabled()) {
@@ -726,17 +1229,29 @@ public class DPLLEngine {
 		assert mCurrentDecideLevel == maxDecideLevel;
 		assert countLitsOnDecideLevel(conflict) == numLitsOnMaxDecideLevel;
 		assert numLitsOnMaxDecideLevel == 1;
+		Literal uip = null;
 		while (mCurrentDecideLevel >= maxDecideLevel) {
 			final Literal lit = mDPLLStack.remove(mDPLLStack.size() - 1);
 			assert !conflict.contains(lit.negate());
+			if (conflict.contains(lit)) {
+				uip = lit;
+			}
 			backtrackLiteral(lit);
 			assert checkDecideLevel();
 		}
 		/*
-		 * We removed at least one decision point. Try to backtrack further.
+		 * We removed at least one decision point. Try to backtrack further. If the backjump is long, backtrack
+		 * chronologically instead: the skipped levels would mostly be set again and replayed in the theories. The
+		 * learned clause is then propagated on the current level.
 		 */
 		if (Config.DEEP_BACKTRACK) {
-			findBacktrackingPoint(conflict);
+			final int assertingLevel = computeAssertingLevel(conflict);
+			if (assertingLevel > mBaseLevel
+					&& mCurrentDecideLevel - assertingLevel > Config.CHRONO_BACKTRACK_DISTANCE) {
+				mNumChronoBacktracks++;
+			} else {
+				findBacktrackingPoint(conflict);
+			}
 		}
 
 		mLogger.debug("Backtrack to %d", mDPLLStack.size());
@@ -750,7 +1265,8 @@ public class DPLLEngine {
 			if (redundancy.get(lit) == REDUNDANT && conflict.contains(lit)) {
 				/* Do a resolution step with explanation */
 				final Clause expl = getExplanation(lit);
-				expl.mActivity += mClsScale;
+				bumpClause(expl);
+				mNumMinimizedLits++;
 				// expl.usedTimes++;
 				expstacklevel = Math.max(expstacklevel, expl.mStacklevel);
 				if (isProofGenerationEnabled()) {
@@ -777,6 +1293,9 @@ public class DPLLEngine {
 			}
 		}
 		mLogger.debug("removing redundancy yields %s", conflict);
+		if (uip != null) {
+			expstacklevel = strengthenWithBinaries(uip, conflict, antecedents, expstacklevel);
+		}
 		/* add assumptions from level0 antecedents */
 		for (final Literal lit0 : level0Ants) {
 			final Clause c = getLevel0(lit0);
@@ -810,9 +1329,84 @@ public class DPLLEngine {
 		if (newlits.length == numAssumptions) {
 			mUnsatClause = resolution;
 		}
+		removeSubsumedClauses(learnedAntecedents, conflict);
 		return resolution;
 	}
 
+	/**
+	 * Remove literals from the learned clause using binary clauses containing the negated asserting literal. If the
+	 * learned clause contains {@code ~uip \/ ~b} and there is a binary clause {@code ~uip \/ b}, the literal
+	 * {@code ~b} can be removed by resolution.
+	 *
+	 * @param uip
+	 *            the unique implication point, i.e., the negation of the asserting literal.
+	 * @param conflict
+	 *            the negated literals of the learned clause.
+	 * @param antecedents
+	 *            the antecedents for the proof, or null if proofs are disabled.
+	 * @param expstacklevel
+	 *            the assertion stack level of the learned clause so far.
+	 * @return the new assertion stack level of the learned clause.
+	 */
+	private int strengthenWithBinaries(final Literal uip, final Set<Literal> conflict,
+			final List<Antecedent> antecedents, int expstacklevel) {
+		final BinaryImplicationList binaries = uip.negate().mBinaryClauses;
+		if (binaries == null) {
+			return expstacklevel;
+		}
+		for (int i = 0; i < binaries.mSize; i++) {
+			final Literal other = binaries.mOthers[i];
+			final Clause binary = binaries.mClauses[i];
+			if (other != uip && binary.mNext != null && !mAssumptionLiterals.contains(other)
+					&& conflict.remove(other)) {
+				assert other.getAtom().mDecideStatus == other;
+				mNumStrengthenedLits++;
+				expstacklevel = Math.max(expstacklevel, binary.mStacklevel);
+				if (antecedents != null) {
+					antecedents.add(new Antecedent(other, binary));
+				}
+			}
+		}
+		return expstacklevel;
+	}
+
+	/**
+	 * Remove all learned clauses used in conflict analysis that are subsumed by the newly learned clause.
+	 *
+	 * @param candidates
+	 *            the learned clauses used in conflict analysis.
+	 * @param conflict
+	 *            the negated literals of the new clause.
+	 */
+	private void removeSubsumedClauses(final List<Clause> candidates, final Set<Literal> conflict) {
+		for (final Clause c : candidates) {
+			if (c.mNext == null || c.getSize() < conflict.size()) {
+				continue;
+			}
+			int found = 0;
+			boolean isReason = false;
+			for (final Literal lit : c.mLiterals) {
+				if (conflict.contains(lit.negate())) {
+					found++;
+				}
+				isReason |= lit.getAtom().mExplanation == c;
+			}
+			/* keep clauses that still explain a literal that stays set after backtracking */
+			if (isReason) {
+				continue;
+			}
+			if (found == conflict.size() && c.doCleanup(this)) {
+				mNumSubsumedClauses++;
+				if (mClauseDatabase != null) {
+					mClauseDatabase.remove(c);
+				} else {
+					c.removeFromList();
+				}
+				mNumClauses--;
+			}
+		}
+	}
+
 	/**
 	 * Explain all conflicts currently present in the solver starting with a given
 	 * initial conflict. Returns <code>true</code> if and only if the empty clause
@@ -840,7 +1434,7 @@ public class DPLLEngine {
 		return l0.mStacklevel > sl ? l0.mStacklevel : sl;
 	}
 
-	private Clause getExplanation(final Literal lit) {
+	Clause getExplanation(final Literal lit) {
 		final Object explanation = lit.getAtom().mExplanation;
 		if (explanation instanceof ITheory) {
 			final Clause expl = ((ITheory) explanation).getUnitClause(lit);
@@ -859,10 +1453,16 @@ public class DPLLEngine {
 		final Integer FAILED = 2;
 		final Integer KEEP = 3;// NOCHECKSTYLE
 		final HashMap<Literal, Integer> status = new HashMap<>();
+		/*
+		 * An abstraction of the decide levels in the conflict. A literal on a level not in the conflict cannot be
+		 * removed, since its decision is not part of the conflict.
+		 */
+		int levelAbstraction = 0;
 		for (final Literal l : conflict) {
 			if (l.getAtom().getDecideStatus() != null) {
 				assert l.getAtom().getDecideStatus() == l;
 				status.put(l, REDUNDANT);
+				levelAbstraction |= 1 << (l.getAtom().getDecideLevel() & 31);
 			}
 		}
 		final ArrayDeque<Literal> todo = new ArrayDeque<>();
@@ -891,7 +1491,8 @@ public class DPLLEngine {
 						final Literal lneg = l.negate();
 						assert lneg.getAtom().getDecideStatus() == lneg;
 						final Integer st = status.get(lneg);
-						if (st == FAILED) {
+						if (st == FAILED || st == null
+								&& (levelAbstraction & 1 << (l.getAtom().getDecideLevel() & 31)) == 0) {
 							while (todo.size() > 1) {
 								status.put(todo.removeFirst(), FAILED);
 							}
@@ -925,13 +1526,13 @@ public class DPLLEngine {
 		return found;
 	}
 
-	private void startBacktrack() {
+	void startBacktrack() {
 		for (final ITheory t : mTheories) {
 			t.backtrackStart();
 		}
 	}
 
-	private Clause finalizeBacktrack() {
+	Clause finalizeBacktrack() {
 		for (final ITheory t : mTheories) {
 			final Clause conflict = t.backtrackComplete();
 			if (conflict != null) {
@@ -941,19 +1542,39 @@ public class DPLLEngine {
 		return null;
 	}
 
+	/**
+	 * Compute the highest decide level of the assigned literals in a conflict, i.e., the level on which the learned
+	 * clause becomes unit.
+	 */
+	private int computeAssertingLevel(final Set<Literal> conflict) {
+		int level = 0;
+		for (final Literal lit : conflict) {
+			if (lit.getAtom().mDecideStatus != null) {
+				level = Math.max(level, lit.getAtom().mDecideLevel);
+			}
+		}
+		return level;
+	}
+
 	private void findBacktrackingPoint(final Set<Literal> conflict) {
 		int i = mDPLLStack.size();
+		int backtrackPoint = i;
 		while (i > 0) {
 			final Literal lit = mDPLLStack.get(--i);
-			if (conflict.contains(lit)) {
+			if (conflict.contains(lit) || lit.getAtom().mDecideLevel <= mBaseLevel) {
+				/* never backtrack the assumptions */
 				break;
 			}
 			if (lit.getAtom().mExplanation == null) {
-				while (mDPLLStack.size() > i) {
-					backtrackLiteral(mDPLLStack.remove(mDPLLStack.size() - 1));
-				}
+				backtrackPoint = i;
 			}
 		}
+		if (Config.TRAIL_SAVING) {
+			saveTrail(backtrackPoint);
+		}
+		while (mDPLLStack.size() > backtrackPoint) {
+			backtrackLiteral(mDPLLStack.remove(mDPLLStack.size() - 1));
+		}
 	}
 
 	public void backtrackLiteral(final Literal literal) {
@@ -970,6 +1591,14 @@ public class DPLLEngine {
 			mBacktrackTime += System.nanoTime() - time;
 		}
 		mPendingWatcherList.moveAll(atom.mBacktrackWatchers);
+		if (atom.mBinaryBacktrackLits != null) {
+			for (final Literal trueLit : atom.mBinaryBacktrackLits) {
+				if (trueLit.mAtom.mDecideStatus == trueLit) {
+					mBinaryPropQueue.addLast(trueLit);
+				}
+			}
+			atom.mBinaryBacktrackLits = null;
+		}
 		if (atom.mExplanation == null) {
 			decreaseDecideLevel();
 		}
@@ -1023,25 +1652,10 @@ public class DPLLEngine {
 		return atom.getPreferredStatus();
 	}
 
-	private static final int luby_super(final int i) {
-		int power;
-
-		assert i > 0;
-		/* let 2^k be the least power of 2 >= (i+1) */
-		power = 2;
-		while (power < i + 1) {
-			power *= 2;
-		}
-		if (power == i + 1) {
-			return power / 2;
-		}
-		return luby_super(i - power / 2 + 1);
-	}
-
 	private void printStatistics() {
 		if (mLogger.isInfoEnabled()) {
-			mLogger.info("Confl: " + mConflicts + " Props: " + mProps + " Tprops: " + mTProps + " Decides: " + mDecides
-					+ " RSplits: " + mNumRandomSplits);
+			mLogger.info("Confl: " + mConflicts + " Props: " + mProps + " BinProps: " + mBinaryProps + " Tprops: "
+					+ mTProps + " Decides: " + mDecides + " RSplits: " + mNumRandomSplits);
 			if (Config.PROFILE_TIME) {
 				mLogger.info("Times: Expl: " + mExplainTime / 1000 / 1000.0// NOCHECKSTYLE
 						+ " Prop: " + mPropTime / 1000 / 1000.0// NOCHECKSTYLE
@@ -1052,6 +1666,24 @@ public class DPLLEngine {
 			}
 			mLogger.info("Atoms: " + mNumSolvedAtoms + "/" + (mAtoms.size() + mDPLLStack.size()) + " Clauses: "
 					+ mNumClauses + " Axioms: " + mNumAxiomClauses);
+			mLogger.info("Minimized: " + mNumMinimizedLits + " Strengthened: " + mNumStrengthenedLits
+					+ " Subsumed: " + mNumSubsumedClauses);
+			if (Config.DEEP_BACKTRACK) {
+				mLogger.info("Chronological backtracks: " + mNumChronoBacktracks);
+			}
+			if (Config.TRAIL_SAVING) {
+				mLogger.info("Saved trail propagations: " + mNumSavedTrailProps);
+			}
+			if (mClauseDatabase != null) {
+				mLogger.info("Learned: " + mClauseDatabase);
+			}
+			if (mInprocessor != null) {
+				mLogger.info("Inprocessing: " + mInprocessor);
+			}
+			if (mClauseSharing != null) {
+				mLogger.info("Clause sharing: " + mClauseSharing);
+			}
+			mLogger.info(mRestartStrategy.toString());
 			for (final ITheory t : mTheories) {
 				t.printStatistics(mLogger);
 			}
@@ -1120,7 +1752,7 @@ public class DPLLEngine {
 				}
 			}
 			int iteration = 1;
-			int nextRestart = Config.RESTART_FACTOR;
+			mInprocessPending = mInprocessor != null;
 			long time;
 			while (!isTerminationRequested()) {
 				Clause conflict;
@@ -1134,6 +1766,12 @@ public class DPLLEngine {
 						mPropTime += time - lastTime - mSetTime - mBacktrackTime;
 						lastTime = time - mSetTime - mBacktrackTime;
 					}
+					if (mInprocessPending && mCurrentDecideLevel == 0) {
+						mInprocessPending = false;
+						conflict = mInprocessor.run(mConflicts);
+						/* propagate the simplified clauses */
+						continue;
+					}
 					final Literal literal = chooseLiteral();
 					if (literal == null) {
 						conflict = checkConsistency();
@@ -1149,8 +1787,12 @@ public class DPLLEngine {
 								suggested = true;
 							}
 							// @assert conflict != null ==> suggested == true
-							if (!suggested && mPendingWatcherList.isEmpty() && mAtoms.isEmpty()) {
+							if (!suggested && mPendingWatcherList.isEmpty() && mBinaryPropQueue.isEmpty()
+									&& mAtoms.isEmpty()) {
 								/* We found a model */
+								if (mInprocessor != null) {
+									mInprocessor.extendModel();
+								}
 								if (mLogger.isInfoEnabled()) {
 									printStatistics();
 									mLogger.info("Hooray, we found a model:");
@@ -1212,15 +1854,22 @@ public class DPLLEngine {
 						final Clause c = it.next();
 						c.mActivity *= Double.MIN_NORMAL;
 					}
+					if (mClauseDatabase != null) {
+						mClauseDatabase.scaleActivity(Double.MIN_NORMAL);
+					}
 					mClsScale *= Double.MIN_NORMAL;
 				}
-				if (--nextRestart == 0) {
+				if (mClauseDatabase != null && mClauseDatabase.isReduceDue(mConflicts)) {
+					mNumClauses -= mClauseDatabase.reduce(this, mConflicts);
+				}
+				if (mRestartStrategy.isRestartDue()) {
 					startBacktrack();
 					final DPLLAtom next = mAtoms.peek();
 					int restartpos = -1;
+					mInprocessPending = mInprocessor != null && mBaseLevel == 0 && mInprocessor.isDue(mConflicts);
 					for (int i = mNumSolvedAtoms + mBaseLevel; i < mDPLLStack.size(); ++i) {
 						final DPLLAtom var = mDPLLStack.get(i).getAtom();
-						if (var.mExplanation == null && var.mActivity < next.mActivity) {
+						if (var.mExplanation == null && (mInprocessPending || var.mActivity < next.mActivity)) {
 							// This has been a decision
 							restartpos = i;
 							break;
@@ -1241,11 +1890,14 @@ public class DPLLEngine {
 					unlearnClauses(mPushPopLevel);
 					conflict = finalizeBacktrack();
 					assert conflict == null;
+					if (isSharingClauses()) {
+						importSharedClauses();
+					}
 					iteration++;
 					for (final ITheory t : mTheories) {
 						t.restart(iteration);
 					}
-					nextRestart = Config.RESTART_FACTOR * luby_super(iteration);
+					mRestartStrategy.restarted();
 					if (Config.PRINT_STATISTICS) {
 						mLogger.info("Restart");
 						printStatistics();
@@ -1260,6 +1912,9 @@ public class DPLLEngine {
 			setCompleteness(INCOMPLETE_MEMOUT);
 			return true;
 		} finally {
+			if (mInprocessor != null) {
+				mInprocessor.restore();
+			}
 			for (final ITheory t : mTheories) {
 				t.endCheck();
 			}
@@ -1267,6 +1922,10 @@ public class DPLLEngine {
 	}
 
 	private final void unlearnClauses(final int targetstacklevel) {
+		if (mClauseDatabase != null) {
+			mNumClauses -= mClauseDatabase.removeAbove(this, targetstacklevel);
+			return;
+		}
 		final Iterator<Clause> it = mLearnedClauses.iterator();
 		while (it.hasNext()) {
 			final Clause c = it.next();
@@ -1298,6 +1957,10 @@ public class DPLLEngine {
 	}
 
 	public void addAtom(final DPLLAtom atom) {
+		if (mInitialPhase == InitialPhase.POSITIVE
+				|| (mInitialPhase == InitialPhase.RANDOM && mRandom.nextBoolean())) {
+			atom.mLastStatus = atom;
+		}
 		mAtoms.add(atom);
 		mAtomList.add(atom);
 	}
@@ -1305,9 +1968,13 @@ public class DPLLEngine {
 	public void removeAtom(final DPLLAtom atom) {
 		assert atom.mDecideStatus == null;
 		mAtoms.remove(atom);
+		clearSavedTrail();
 		for (final ITheory t : mTheories) {
 			t.removeAtom(atom);
 		}
+		if (mClauseSharing != null) {
+			mClauseSharing.removeAtom(atom);
+		}
 	}
 
 	public void addTheory(final ITheory t) {
@@ -1355,6 +2022,16 @@ public class DPLLEngine {
 		}
 	}
 
+	/**
+	 * Forget that the last check was cancelled. A cancelled engine stays incomplete until this is called or a pop
+	 * resets it, since the termination request may have been reset before the check returned.
+	 */
+	public void resetCancelled() {
+		if (mCompleteness == INCOMPLETE_CANCELLED) {
+			mCompleteness = COMPLETE;
+		}
+	}
+
 	public String getCompletenessReason() {
 		return COMPLETENESS_STRINGS[mCompleteness];
 	}
@@ -1398,6 +2075,8 @@ public class DPLLEngine {
 			}
 		}
 		unlearnClauses(targetstacklevel);
+		/* the saved explanations may be removed clauses */
+		clearSavedTrail();
 		assert mCurrentDecideLevel == 0;
 		mNumSolvedAtoms = 0;
 		final Iterator<Clause> inputit = mClauses.iterator();
@@ -1430,6 +2109,9 @@ public class DPLLEngine {
 			mAtomList.endScope();
 			mPushPopLevel--;
 		}
+		if (mClauseSharing != null) {
+			mClauseSharing.truncate(mAtomList.size());
+		}
 		mCompleteness = COMPLETE;
 		assert mPushPopLevel == targetstacklevel;
 	}
@@ -1542,7 +2224,7 @@ public class DPLLEngine {
 		return found;
 	}
 
-	private Clause getLevel0(final Literal lit) {
+	Clause getLevel0(final Literal lit) {
 		assert lit.getAtom().mDecideLevel <= mBaseLevel;
 		final Object expl = lit.getAtom().mExplanation;
 		assert expl instanceof Clause;
@@ -1609,13 +2291,40 @@ public class DPLLEngine {
 
 	public Object getStatistics() {
 		final Object[] res = new Object[mTheories.length + 1];
-		final Object[] mystats = new Object[][] { { "Conflicts", mConflicts }, { "Propagations", mProps },
-				{ "Theory_propagations", mTProps }, { "Decides", mDecides }, { "Random_splits", mNumRandomSplits },
-				{ "Num_Atoms", mAtoms.size() + mDPLLStack.size() }, { "Solved_Atoms", mNumSolvedAtoms },
-				{ "Clauses", mNumClauses }, { "Axioms", mNumAxiomClauses },
-				{ "Times", new Object[][] { { "Explain", mExplainTime }, { "Propagation", mPropTime },
-						{ "Set", mSetTime }, { "Check", mCheckTime }, { "Backtrack", mBacktrackTime } } } };
-		res[0] = new Object[] { ":Core", mystats };
+		final ArrayList<Object[]> mystats = new ArrayList<>();
+		mystats.add(new Object[] { "Conflicts", mConflicts });
+		mystats.add(new Object[] { "Propagations", mProps });
+		mystats.add(new Object[] { "Binary_propagations", mBinaryProps });
+		mystats.add(new Object[] { "Theory_propagations", mTProps });
+		mystats.add(new Object[] { "Decides", mDecides });
+		mystats.add(new Object[] { "Random_splits", mNumRandomSplits });
+		mystats.add(new Object[] { "Num_Atoms", mAtoms.size() + mDPLLStack.size() });
+		mystats.add(new Object[] { "Solved_Atoms", mNumSolvedAtoms });
+		mystats.add(new Object[] { "Clauses", mNumClauses });
+		mystats.add(new Object[] { "Axioms", mNumAxiomClauses });
+		mystats.add(new Object[] { "Minimized_Literals", mNumMinimizedLits });
+		mystats.add(new Object[] { "Strengthened_Literals", mNumStrengthenedLits });
+		mystats.add(new Object[] { "Subsumed_Clauses", mNumSubsumedClauses });
+		if (Config.DEEP_BACKTRACK) {
+			mystats.add(new Object[] { "Chronological_Backtracks", mNumChronoBacktracks });
+		}
+		if (Config.TRAIL_SAVING) {
+			mystats.add(new Object[] { "Saved_Trail_Propagations", mNumSavedTrailProps });
+		}
+		if (mClauseDatabase != null) {
+			mystats.add(new Object[] { "Clause_Tiers", mClauseDatabase.getStatistics() });
+		}
+		if (mInprocessor != null) {
+			mystats.add(new Object[] { "Inprocessing", mInprocessor.getStatistics() });
+		}
+		if (mClauseSharing != null) {
+			mystats.add(new Object[] { "Clause_Sharing", mClauseSharing.getStatistics() });
+		}
+		mystats.add(new Object[] { "Restarts", mRestartStrategy.getStatistics() });
+		mystats.add(new Object[] { "Times", new Object[][] { { "Explain", mExplainTime },
+			{ "Propagation", mPropTime }, { "Set", mSetTime }, { "Check", mCheckTime },
+			{ "Backtrack", mBacktrackTime } } });
+		res[0] = new Object[] { ":Core", mystats.toArray(new Object[mystats.size()][]) };
 		for (int i = 1; i < res.length; ++i) {
 			res[i] = mTheories[i - 1].getStatistics();
 		}
@@ -1823,6 +2532,11 @@ public class DPLLEngine {
 	public void clearAssumptions() {
 		/* check if we need to clear any assumptions */
 		if (mCurrentDecideLevel == 0) {
+			/* an assumption may have been refuted on level 0 */
+			mAssumptionLiterals.clear();
+			if (mUnsatClause != null && mUnsatClause.getSize() > 0) {
+				mUnsatClause = null;
+			}
 			return;
 		}
 		startBacktrack();
@@ -0,0 +1,611 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ResolutionNode;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.ResolutionNode.Antecedent;
+
+/**
+ * Inprocessing for purely propositional problems. It simplifies the input clauses at decide level zero between
+ * restarts using
+ * <ul>
+ * <li>clause vivification: the negated literals of a clause are decided one by one and the clause is shortened if
+ * unit propagation finds a conflict or a true literal,</li>
+ * <li>backward subsumption and self-subsuming resolution,</li>
+ * <li>bounded variable elimination: a variable is replaced by all resolvents of its clauses, if this does not
+ * increase the number of clauses.</li>
+ * </ul>
+ *
+ * Only clauses whose atoms are all propositional variables or Tseitin variables, that are unassigned and that are
+ * not assumptions are touched. Every new clause gets a resolution proof from the clauses it was derived from. The
+ * clauses of eliminated variables are kept to extend a model to the eliminated variables and they are put back into
+ * the engine when the check ends, so that the engine can continue incrementally.
+ *
+ * Inprocessing only runs on assertion stack level zero, since the engine expects the input clauses to be ordered by
+ * their stack level.
+ */
+public class Inprocessor {
+	/**
+	 * The clauses removed when a variable was eliminated.
+	 */
+	private static class Elimination {
+		final DPLLAtom mAtom;
+		final List<Clause> mClauses;
+
+		Elimination(final DPLLAtom atom, final List<Clause> clauses) {
+			mAtom = atom;
+			mClauses = clauses;
+		}
+	}
+
+	private static final int ELIM_FAILED = 0;
+	private static final int ELIM_DONE = 1;
+	private static final int ELIM_UNIT = 2;
+
+	private final DPLLEngine mEngine;
+
+	/**
+	 * The eliminated variables in the order they were eliminated.
+	 */
+	private final ArrayList<Elimination> mEliminations = new ArrayList<>();
+	/**
+	 * The resolvents added by variable elimination. They are removed again when the eliminated clauses are restored.
+	 */
+	private final Set<Clause> mResolvents = new HashSet<>();
+	/**
+	 * Occurrence lists of the current round. Removed clauses are skipped lazily.
+	 */
+	private HashMap<Literal, ArrayList<Clause>> mOccurrences;
+
+	/**
+	 * The number of conflicts after which the next round is due.
+	 */
+	private long mNextRound;
+
+	/* Statistics */
+	private int mNumRounds, mNumVivified, mNumVivifiedLits, mNumSubsumed, mNumStrengthened, mNumEliminated,
+			mNumResolvents;
+	private long mTime;
+
+	public Inprocessor(final DPLLEngine engine) {
+		mEngine = engine;
+	}
+
+	/**
+	 * Check if a new round of inprocessing is due.
+	 *
+	 * @param numConflicts
+	 *            the total number of conflicts seen by the engine.
+	 * @return true if the next restart should go back to level zero and run {@link #run}.
+	 */
+	public boolean isDue(final long numConflicts) {
+		return numConflicts >= mNextRound;
+	}
+
+	/**
+	 * Run one round of inprocessing. The engine must be on decide level zero and all literals must be propagated.
+	 *
+	 * @param numConflicts
+	 *            the total number of conflicts seen by the engine.
+	 * @return a conflict clause if backtracking after vivification found a conflict, null otherwise.
+	 */
+	public Clause run(final long numConflicts) {
+		if (mEngine.getDecideLevel() != 0 || mEngine.getAssertionStackLevel() != 0
+				|| !mEngine.isPurePropositional()) {
+			return null;
+		}
+		mNumRounds++;
+		mNextRound = numConflicts + (long) Config.INPROCESS_INTERVAL * mNumRounds;
+		final long start = System.nanoTime();
+		try {
+			final Clause conflict = vivify();
+			if (conflict != null || mEngine.isTerminationRequested()) {
+				return conflict;
+			}
+			collectOccurrences();
+			if (subsume() && !mEngine.isTerminationRequested()) {
+				eliminate();
+			}
+			return null;
+		} finally {
+			mOccurrences = null;
+			mTime += System.nanoTime() - start;
+		}
+	}
+
+	private boolean isEligible(final Clause clause) {
+		if (clause.mNext == null || clause.getSize() < 2 || clause.mCleanupHook != null) {
+			return false;
+		}
+		for (final Literal lit : clause.mLiterals) {
+			if (!isEligible(lit.getAtom())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isEligible(final DPLLAtom atom) {
+		return atom.mDecideStatus == null && !mEngine.isAssumptionAtom(atom)
+				&& (atom.getClass() == BooleanVarAtom.class || atom.getClass() == NamedAtom.class);
+	}
+
+	private ArrayList<Clause> collectCandidates() {
+		final ArrayList<Clause> candidates = new ArrayList<>();
+		for (final Clause c : mEngine.getClauses()) {
+			if (isEligible(c)) {
+				candidates.add(c);
+			}
+		}
+		return candidates;
+	}
+
+	private void collectOccurrences() {
+		mOccurrences = new HashMap<>();
+		for (final Clause c : collectCandidates()) {
+			addOccurrences(c);
+		}
+	}
+
+	private void addOccurrences(final Clause clause) {
+		for (final Literal lit : clause.mLiterals) {
+			ArrayList<Clause> occ = mOccurrences.get(lit);
+			if (occ == null) {
+				occ = new ArrayList<>();
+				mOccurrences.put(lit, occ);
+			}
+			occ.add(clause);
+		}
+	}
+
+	/**
+	 * Get the clauses containing a literal that were not removed in the meantime.
+	 */
+	private ArrayList<Clause> getOccurrences(final Literal lit) {
+		final ArrayList<Clause> occ = mOccurrences.get(lit);
+		if (occ == null) {
+			return new ArrayList<>();
+		}
+		int j = 0;
+		for (int i = 0; i < occ.size(); i++) {
+			if (occ.get(i).mNext != null) {
+				occ.set(j++, occ.get(i));
+			}
+		}
+		occ.subList(j, occ.size()).clear();
+		return occ;
+	}
+
+	private Clause createClause(final Literal[] lits, final Clause primary, final Antecedent[] antecedents) {
+		final Clause clause = new Clause(lits, 0);
+		if (mEngine.isProofGenerationEnabled()) {
+			clause.setProof(antecedents.length == 0 ? primary.getProof() : new ResolutionNode(primary, antecedents));
+		}
+		return clause;
+	}
+
+	private static Clause copyClause(final Clause clause) {
+		final Clause copy = new Clause(clause.mLiterals.clone(), clause.mStacklevel);
+		copy.setProof(clause.getProof());
+		return copy;
+	}
+
+	/**
+	 * Vivify the longer input clauses. Each clause is removed from the engine, then its literals are set to false
+	 * one after another. If this leads to a conflict or a literal of the clause becomes true, the clause can be
+	 * replaced by the literals decided so far (plus the true literal).
+	 *
+	 * @return a conflict found when backtracking to level zero.
+	 */
+	private Clause vivify() {
+		final ArrayList<Clause> candidates = collectCandidates();
+		/* the clauses vivified last time were put to the front of the list, so start at the back */
+		Collections.reverse(candidates);
+		final int levelStart = mEngine.mDPLLStack.size();
+		int budget = Config.INPROCESS_VIVIFY_CLAUSES;
+		for (final Clause clause : candidates) {
+			if (clause.getSize() < 3 || clause.mNext == null) {
+				continue;
+			}
+			if (budget-- == 0 || mEngine.isTerminationRequested()) {
+				break;
+			}
+			mEngine.removeClause(clause);
+			Clause result = null;
+			Clause conflict = null;
+			for (final Literal lit : clause.mLiterals) {
+				final Literal status = lit.getAtom().mDecideStatus;
+				if (status == lit) {
+					/* lit is implied by the negation of the previous literals */
+					if (lit.getAtom().mExplanation == null) {
+						break;
+					}
+					result = analyze(mEngine.getExplanation(lit), lit.getAtom().mStackPosition, levelStart,
+							clause);
+					break;
+				} else if (status == null) {
+					mEngine.increaseDecideLevel();
+					conflict = mEngine.setLiteral(lit.negate());
+					if (conflict == null) {
+						conflict = mEngine.propagateInternal();
+					}
+					if (conflict != null) {
+						result = analyze(conflict, mEngine.mDPLLStack.size(), levelStart, clause);
+						break;
+					}
+				}
+			}
+			mEngine.startBacktrack();
+			while (mEngine.mDPLLStack.size() > levelStart) {
+				mEngine.backtrackLiteral(mEngine.mDPLLStack.remove(mEngine.mDPLLStack.size() - 1));
+			}
+			conflict = mEngine.finalizeBacktrack();
+			if (result == null) {
+				mEngine.addSimplifiedClause(copyClause(clause));
+			} else if (result != clause) {
+				mNumVivified++;
+				mNumVivifiedLits += clause.getSize() - result.getSize();
+				mEngine.addSimplifiedClause(result);
+			} else {
+				/* clause is subsumed by an input clause */
+				mNumVivified++;
+				mNumSubsumed++;
+			}
+			if (conflict != null) {
+				return conflict;
+			}
+			if (result != null && result.getSize() == 1) {
+				/* let the engine propagate the new unit first */
+				break;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Derive a subclause of a vivified clause by resolution with the explanations of the propagated literals.
+	 *
+	 * @param start
+	 *            the conflict clause or the explanation of the true literal.
+	 * @param stackPtr
+	 *            the position on the DPLL stack where to start resolving.
+	 * @param levelStart
+	 *            the position of the first literal set during vivification.
+	 * @param clause
+	 *            the vivified clause.
+	 * @return the new clause, the vivified clause itself if it is subsumed by an input clause, or null if no shorter
+	 *         clause was found.
+	 */
+	private Clause analyze(final Clause start, int stackPtr, final int levelStart, final Clause clause) {
+		final Set<Literal> lits = new LinkedHashSet<>(Arrays.asList(start.mLiterals));
+		final ArrayList<Antecedent> antecedents = new ArrayList<>();
+		while (stackPtr > levelStart) {
+			final Literal lit = mEngine.mDPLLStack.get(--stackPtr);
+			if (lits.contains(lit.negate()) && lit.getAtom().mExplanation != null) {
+				final Clause expl = mEngine.getExplanation(lit);
+				lits.remove(lit.negate());
+				for (final Literal l : expl.mLiterals) {
+					if (l != lit) {
+						lits.add(l);
+					}
+				}
+				antecedents.add(new Antecedent(lit, expl));
+			}
+		}
+		/* remove the literals that are false on level zero */
+		final Literal[] current = lits.toArray(new Literal[lits.size()]);
+		for (final Literal l : current) {
+			if (l.getAtom().mDecideLevel == 0) {
+				assert l.getAtom().mDecideStatus == l.negate();
+				lits.remove(l);
+				antecedents.add(new Antecedent(l.negate(), mEngine.getLevel0(l.negate())));
+			}
+		}
+		assert clause.mLiterals.length >= lits.size();
+		assert checkSubClause(lits, clause);
+		if (lits.size() == clause.getSize()) {
+			return null;
+		}
+		if (antecedents.isEmpty() && start.mLBD == 0) {
+			return clause;
+		}
+		return createClause(lits.toArray(new Literal[lits.size()]), start,
+				antecedents.toArray(new Antecedent[antecedents.size()]));
+	}
+
+	private static boolean checkSubClause(final Set<Literal> lits, final Clause clause) {
+		for (final Literal l : lits) {
+			assert clause.contains(l) : "Vivification derived a literal outside the clause";
+		}
+		return true;
+	}
+
+	/**
+	 * Remove subsumed clauses and strengthen clauses by self-subsuming resolution.
+	 *
+	 * @return true if no unit clause was found.
+	 */
+	private boolean subsume() {
+		final ArrayList<Clause> candidates = collectCandidates();
+		Collections.sort(candidates, new Comparator<Clause>() {
+			@Override
+			public int compare(final Clause c1, final Clause c2) {
+				return Integer.compare(c1.getSize(), c2.getSize());
+			}
+		});
+		final ArrayDeque<Clause> todo = new ArrayDeque<>(candidates);
+		long steps = Config.INPROCESS_SUBSUME_STEPS;
+		boolean noUnits = true;
+		while (!todo.isEmpty() && steps > 0) {
+			final Clause clause = todo.removeFirst();
+			if (clause.mNext == null) {
+				continue;
+			}
+			/* check only the clauses containing the rarest literal */
+			Literal best = null;
+			int bestCount = Integer.MAX_VALUE;
+			for (final Literal lit : clause.mLiterals) {
+				final int count = getOccurrences(lit).size() + getOccurrences(lit.negate()).size();
+				if (count < bestCount) {
+					best = lit;
+					bestCount = count;
+				}
+			}
+			final Set<Literal> clauseLits = new HashSet<>(Arrays.asList(clause.mLiterals));
+			final ArrayList<Clause> others = new ArrayList<>(getOccurrences(best));
+			others.addAll(getOccurrences(best.negate()));
+			for (final Clause other : others) {
+				if (other == clause || other.mNext == null || other.getSize() < clause.getSize()) {
+					continue;
+				}
+				steps -= other.getSize();
+				int found = 0;
+				Literal pivot = null;
+				for (final Literal lit : other.mLiterals) {
+					if (clauseLits.contains(lit)) {
+						found++;
+					} else if (clauseLits.contains(lit.negate())) {
+						if (pivot != null) {
+							found = -1;
+							break;
+						}
+						pivot = lit.negate();
+					}
+				}
+				if (found < 0 || found + (pivot == null ? 0 : 1) != clause.getSize()) {
+					continue;
+				}
+				mEngine.removeClause(other);
+				if (pivot == null) {
+					mNumSubsumed++;
+				} else {
+					/* other contains ~pivot and the remaining literals of clause: resolve on pivot */
+					mNumStrengthened++;
+					final Literal[] lits = new Literal[other.getSize() - 1];
+					int i = 0;
+					for (final Literal lit : other.mLiterals) {
+						if (lit != pivot.negate()) {
+							lits[i++] = lit;
+						}
+					}
+					final Clause strengthened =
+							createClause(lits, other, new Antecedent[] { new Antecedent(pivot, clause) });
+					mEngine.addSimplifiedClause(strengthened);
+					if (lits.length == 1) {
+						noUnits = false;
+					} else {
+						addOccurrences(strengthened);
+						todo.addFirst(strengthened);
+					}
+				}
+			}
+		}
+		return noUnits;
+	}
+
+	/**
+	 * Eliminate variables whose clauses can be replaced by at most as many resolvents.
+	 */
+	private void eliminate() {
+		/* atoms of clauses that are not touched by inprocessing cannot be eliminated */
+		final Set<DPLLAtom> frozen = new HashSet<>();
+		final Set<DPLLAtom> atoms = new LinkedHashSet<>();
+		for (final Clause c : mEngine.getClauses()) {
+			final boolean eligible = isEligible(c);
+			for (final Literal lit : c.mLiterals) {
+				(eligible ? atoms : frozen).add(lit.getAtom());
+			}
+		}
+		atoms.removeAll(frozen);
+		final ArrayList<DPLLAtom> order = new ArrayList<>(atoms);
+		final HashMap<DPLLAtom, Integer> occCount = new HashMap<>();
+		for (final DPLLAtom atom : order) {
+			occCount.put(atom, getOccurrences(atom).size() + getOccurrences(atom.negate()).size());
+		}
+		Collections.sort(order, new Comparator<DPLLAtom>() {
+			@Override
+			public int compare(final DPLLAtom a1, final DPLLAtom a2) {
+				return Integer.compare(occCount.get(a1), occCount.get(a2));
+			}
+		});
+		final Set<DPLLAtom> eliminated = new HashSet<>();
+		for (final DPLLAtom atom : order) {
+			if (mEngine.isTerminationRequested()) {
+				break;
+			}
+			final int result = tryEliminate(atom);
+			if (result != ELIM_FAILED) {
+				eliminated.add(atom);
+			}
+			if (result == ELIM_UNIT) {
+				/* let the engine propagate the new unit first */
+				break;
+			}
+		}
+		if (!eliminated.isEmpty()) {
+			mEngine.removeLearnedClauses(eliminated);
+		}
+	}
+
+	/**
+	 * Try to eliminate a variable.
+	 *
+	 * @return ELIM_FAILED if the variable was not eliminated, ELIM_UNIT if a unit resolvent was added, ELIM_DONE
+	 *         otherwise.
+	 */
+	private int tryEliminate(final DPLLAtom atom) {
+		final ArrayList<Clause> pos = getOccurrences(atom);
+		final ArrayList<Clause> neg = getOccurrences(atom.negate());
+		final int numClauses = pos.size() + neg.size();
+		if (numClauses == 0 || numClauses > Config.INPROCESS_ELIM_OCCURRENCES) {
+			return ELIM_FAILED;
+		}
+		final ArrayList<Clause> resolvents = new ArrayList<>();
+		for (final Clause p : pos) {
+			for (final Clause n : neg) {
+				final Set<Literal> lits = new LinkedHashSet<>();
+				boolean tautology = false;
+				for (final Literal lit : n.mLiterals) {
+					if (lit != atom.negate()) {
+						lits.add(lit);
+					}
+				}
+				for (final Literal lit : p.mLiterals) {
+					if (lit != atom) {
+						if (lits.contains(lit.negate())) {
+							tautology = true;
+							break;
+						}
+						lits.add(lit);
+					}
+				}
+				if (tautology) {
+					continue;
+				}
+				if (lits.size() > Config.INPROCESS_ELIM_CLAUSE_SIZE || resolvents.size() == numClauses) {
+					return ELIM_FAILED;
+				}
+				resolvents.add(createClause(lits.toArray(new Literal[lits.size()]), n,
+						new Antecedent[] { new Antecedent(atom, p) }));
+			}
+		}
+		final ArrayList<Clause> removed = new ArrayList<>(pos);
+		removed.addAll(neg);
+		for (final Clause c : removed) {
+			mEngine.removeClause(c);
+		}
+		int result = ELIM_DONE;
+		for (final Clause r : resolvents) {
+			mEngine.addSimplifiedClause(r);
+			mResolvents.add(r);
+			addOccurrences(r);
+			if (r.getSize() == 1) {
+				result = ELIM_UNIT;
+			}
+		}
+		mEngine.deactivateAtom(atom);
+		mEliminations.add(new Elimination(atom, removed));
+		mNumEliminated++;
+		mNumResolvents += resolvents.size();
+		return result;
+	}
+
+	/**
+	 * Extend the current model to the eliminated variables. They are set in reverse order of elimination, such that
+	 * all clauses removed with them are satisfied. Every variable is set on a new decide level.
+	 */
+	public void extendModel() {
+		for (int i = mEliminations.size() - 1; i >= 0; i--) {
+			final Elimination elim = mEliminations.get(i);
+			final DPLLAtom atom = elim.mAtom;
+			assert atom.mDecideStatus == null;
+			Literal value = atom.negate();
+			for (final Clause c : elim.mClauses) {
+				if (!isSatisfiedWithout(c, atom)) {
+					/* only the literal of the eliminated atom can satisfy this clause */
+					value = c.contains(atom) ? atom : atom.negate();
+					break;
+				}
+			}
+			mEngine.activateAtom(atom);
+			mEngine.increaseDecideLevel();
+			final Clause conflict = mEngine.setLiteral(value);
+			assert conflict == null;
+		}
+	}
+
+	private static boolean isSatisfiedWithout(final Clause clause, final DPLLAtom atom) {
+		for (final Literal lit : clause.mLiterals) {
+			if (lit.getAtom() != atom && lit.getAtom().mDecideStatus == lit) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Put the clauses of the eliminated variables back into the engine and remove the resolvents. This is called
+	 * when the check ends, so that new clauses can use the eliminated variables again.
+	 */
+	public void restore() {
+		if (mEliminations.isEmpty()) {
+			return;
+		}
+		for (final Clause r : mResolvents) {
+			if (r.mNext != null) {
+				mEngine.removeClause(r);
+			}
+		}
+		for (final Elimination elim : mEliminations) {
+			mEngine.activateAtom(elim.mAtom);
+			for (final Clause c : elim.mClauses) {
+				if (!mResolvents.contains(c)) {
+					mEngine.addSimplifiedClause(copyClause(c));
+				}
+			}
+		}
+		mEliminations.clear();
+		mResolvents.clear();
+	}
+
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Rounds", mNumRounds }, { "Vivified", mNumVivified },
+			{ "Vivified_Literals", mNumVivifiedLits }, { "Subsumed", mNumSubsumed },
+			{ "Strengthened", mNumStrengthened }, { "Eliminated", mNumEliminated },
+			{ "Resolvents", mNumResolvents }, { "Time", mTime / 1000000 } };
+	}
+
+	@Override
+	public String toString() {
+		return "Rounds: " + mNumRounds + " Vivified: " + mNumVivified + " Subsumed: " + mNumSubsumed
+				+ " Strengthened: " + mNumStrengthened + " Eliminated: " + mNumEliminated;
+	}
+}
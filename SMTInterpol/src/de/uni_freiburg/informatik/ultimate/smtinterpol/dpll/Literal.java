@@ -26,6 +26,10 @@ public abstract class Literal implements ILiteral {
 	DPLLAtom mAtom;
 	protected Literal  mNegated;
 	Clause.WatchList mWatchers = new Clause.WatchList();
+	/**
+	 * The binary clauses containing this literal, or null if there are none.
+	 */
+	BinaryImplicationList mBinaryClauses;
 
 	private final int mHash;
 	@Override
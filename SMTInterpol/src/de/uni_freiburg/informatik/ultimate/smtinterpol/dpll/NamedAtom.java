@@ -38,4 +38,12 @@ public class NamedAtom extends DPLLAtom {
 	public Term getSMTFormula(final Theory smtTheory) {
 		return mSmtAtom;
 	}
+
+	/**
+	 * Returns false, since a named atom is a Tseitin variable that may be only defined in one direction.
+	 */
+	@Override
+	public boolean isDefinedByFormula() {
+		return false;
+	}
 }
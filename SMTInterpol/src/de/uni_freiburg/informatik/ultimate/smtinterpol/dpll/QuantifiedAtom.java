@@ -36,6 +36,10 @@ public class QuantifiedAtom extends DPLLAtom {
 		return mSmtFormula;
 	}
 	@Override
+	public boolean isDefinedByFormula() {
+		return false;
+	}
+	@Override
 	public String toString() {
 		return mName;
 	}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.RestartPolicy;
+
+/**
+ * Decides when the DPLL engine restarts. The engine reports every conflict and every learned clause and asks after
+ * each conflict whether a restart is due. How far the engine backtracks on a restart (trail reuse) is decided by the
+ * engine itself.
+ */
+public abstract class RestartStrategy {
+	/* Statistics */
+	int mNumRestarts, mNumBlocked;
+
+	/**
+	 * Create the strategy for a restart policy.
+	 *
+	 * @param policy
+	 *            the restart policy.
+	 * @return the new restart strategy.
+	 */
+	public static RestartStrategy create(final RestartPolicy policy) {
+		switch (policy) {
+		case LUBY:
+			return new Luby();
+		case GLUCOSE:
+			return new Glucose(false);
+		case GLUCOSE_BLOCKING:
+			return new Glucose(true);
+		default:
+			throw new AssertionError("Unknown restart policy " + policy);
+		}
+	}
+
+	/**
+	 * Called for every conflict before it is explained.
+	 *
+	 * @param trailSize
+	 *            the number of literals on the DPLL stack.
+	 */
+	public abstract void conflict(int trailSize);
+
+	/**
+	 * Called for every learned clause.
+	 *
+	 * @param lbd
+	 *            the literal block distance of the clause.
+	 */
+	public void learned(final int lbd) {
+		// only used by some strategies
+	}
+
+	/**
+	 * Check if the engine should restart now.
+	 */
+	public abstract boolean isRestartDue();
+
+	/**
+	 * Called after the engine restarted.
+	 */
+	public void restarted() {
+		mNumRestarts++;
+	}
+
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Restarts", mNumRestarts }, { "Blocked", mNumBlocked } };
+	}
+
+	@Override
+	public String toString() {
+		return "Restarts: " + mNumRestarts + " Blocked: " + mNumBlocked;
+	}
+
+	/**
+	 * Restart after a number of conflicts given by the Luby sequence (reluctant doubling) multiplied by
+	 * {@link Config#RESTART_FACTOR}.
+	 */
+	static class Luby extends RestartStrategy {
+		private int mIteration = 1;
+		private int mNextRestart = Config.RESTART_FACTOR;
+
+		/**
+		 * Compute the i-th element of the Luby sequence 1,1,2,1,1,2,4,1,1,2,1,1,2,4,8,...
+		 */
+		static int luby(final int i) {
+			int power;
+
+			assert i > 0;
+			/* let 2^k be the least power of 2 >= (i+1) */
+			power = 2;
+			while (power < i + 1) {
+				power *= 2;
+			}
+			if (power == i + 1) {
+				return power / 2;
+			}
+			return luby(i - power / 2 + 1);
+		}
+
+		@Override
+		public void conflict(final int trailSize) {
+			mNextRestart--;
+		}
+
+		@Override
+		public boolean isRestartDue() {
+			return mNextRestart <= 0;
+		}
+
+		@Override
+		public void restarted() {
+			super.restarted();
+			mIteration++;
+			mNextRestart = Config.RESTART_FACTOR * luby(mIteration);
+		}
+	}
+
+	/**
+	 * Restart when the literal block distance of the recently learned clauses is high compared to the long-term
+	 * average, as in Glucose. Both averages are exponential moving averages. With blocking, a restart is postponed
+	 * if the current trail is much longer than the average trail, since the solver is probably close to a model.
+	 */
+	static class Glucose extends RestartStrategy {
+		private final boolean mBlocking;
+		private final MovingAverage mFastLBD = new MovingAverage(Config.RESTART_EMA_FAST);
+		private final MovingAverage mSlowLBD = new MovingAverage(Config.RESTART_EMA_SLOW);
+		private final MovingAverage mTrail = new MovingAverage(Config.RESTART_EMA_TRAIL);
+		private long mConflicts;
+		private long mConflictsSinceRestart;
+
+		Glucose(final boolean blocking) {
+			mBlocking = blocking;
+		}
+
+		@Override
+		public void conflict(final int trailSize) {
+			mConflicts++;
+			mConflictsSinceRestart++;
+			if (mBlocking && mConflicts > Config.RESTART_BLOCK_MIN_CONFLICTS
+					&& trailSize > Config.RESTART_BLOCK_MARGIN * mTrail.getValue() && isRestartDue()) {
+				/* postpone the restart */
+				mConflictsSinceRestart = 0;
+				mNumBlocked++;
+			}
+			mTrail.update(trailSize);
+		}
+
+		@Override
+		public void learned(final int lbd) {
+			mFastLBD.update(lbd);
+			mSlowLBD.update(lbd);
+		}
+
+		@Override
+		public boolean isRestartDue() {
+			return mConflictsSinceRestart >= Config.RESTART_MIN_CONFLICTS
+					&& mFastLBD.getValue() > Config.RESTART_MARGIN * mSlowLBD.getValue();
+		}
+
+		@Override
+		public void restarted() {
+			super.restarted();
+			mConflictsSinceRestart = 0;
+		}
+
+		@Override
+		public Object[][] getStatistics() {
+			return new Object[][] { { "Restarts", mNumRestarts }, { "Blocked", mNumBlocked },
+				{ "Fast_LBD", mFastLBD.getValue() }, { "Slow_LBD", mSlowLBD.getValue() },
+				{ "Trail", mTrail.getValue() } };
+		}
+	}
+
+	/**
+	 * An exponential moving average. Until enough values are seen, the plain average is used, so that the first
+	 * values do not get a too high weight.
+	 */
+	static class MovingAverage {
+		private final double mAlpha;
+		private double mValue;
+		private long mCount;
+
+		MovingAverage(final double alpha) {
+			mAlpha = alpha;
+		}
+
+		void update(final double value) {
+			mCount++;
+			final double alpha = Math.max(mAlpha, 1.0 / mCount);
+			mValue += alpha * (value - mValue);
+		}
+
+		double getValue() {
+			return mValue;
+		}
+	}
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Set;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+
+/**
+ * A learned clause database that keeps the learned clauses in three tiers based on their literal block distance
+ * (LBD).
+ *
+ * <ul>
+ * <li>The core tier contains the clauses with a very small LBD. They are never removed (except on pop).</li>
+ * <li>The mid tier contains clauses with a moderate LBD. They are kept as long as they were used in a conflict since
+ * the last reduction. Otherwise they are demoted to the local tier.</li>
+ * <li>The local tier contains all other clauses. On every reduction the worst part of them is removed, ordered by
+ * LBD and activity.</li>
+ * </ul>
+ *
+ * Clauses are promoted to a better tier, if their LBD decreases when they are used in conflict analysis.
+ */
+public class TieredClauseDatabase {
+	static final byte TIER_CORE = 0;
+	static final byte TIER_MID = 1;
+	static final byte TIER_LOCAL = 2;
+
+	private final SimpleList<Clause>[] mTiers;
+	private final int[] mTierSizes = new int[3];
+
+	/**
+	 * The number of conflicts after which the next reduction is due.
+	 */
+	private long mNextReduce = Config.CLAUSE_REDUCE_FIRST;
+
+	/* Statistics */
+	private int mNumReductions, mNumDeleted, mNumPromoted, mNumDemoted;
+
+	@SuppressWarnings("unchecked")
+	public TieredClauseDatabase() {
+		mTiers = (SimpleList<Clause>[]) new SimpleList<?>[3];
+		for (int tier = 0; tier < mTiers.length; tier++) {
+			mTiers[tier] = new SimpleList<>();
+		}
+	}
+
+	static byte computeTier(final int lbd) {
+		return lbd <= Config.CLAUSE_TIER_CORE_LBD ? TIER_CORE
+				: lbd <= Config.CLAUSE_TIER_MID_LBD ? TIER_MID : TIER_LOCAL;
+	}
+
+	/**
+	 * Add a freshly learned clause. Its LBD must already be computed.
+	 *
+	 * @param clause
+	 *            the learned clause.
+	 */
+	public void add(final Clause clause) {
+		final byte tier = computeTier(clause.mLBD);
+		clause.mTier = tier;
+		clause.mUsed = true;
+		mTiers[tier].append(clause);
+		mTierSizes[tier]++;
+	}
+
+	/**
+	 * Notify the database that a clause was used as antecedent in conflict analysis. The clause is promoted if its
+	 * LBD improved.
+	 *
+	 * @param clause
+	 *            the antecedent clause.
+	 * @param lbd
+	 *            the LBD of the clause with respect to the current assignment.
+	 */
+	public void clauseUsed(final Clause clause, final int lbd) {
+		clause.mUsed = true;
+		if (lbd < clause.mLBD) {
+			clause.mLBD = lbd;
+			final byte tier = computeTier(lbd);
+			if (tier < clause.mTier) {
+				moveTo(clause, tier);
+				mNumPromoted++;
+			}
+		}
+	}
+
+	private void moveTo(final Clause clause, final byte tier) {
+		clause.removeFromList();
+		mTierSizes[clause.mTier]--;
+		clause.mTier = tier;
+		mTiers[tier].append(clause);
+		mTierSizes[tier]++;
+	}
+
+	/**
+	 * Remove a single clause from the database, e.g., because it is subsumed by a new clause.
+	 *
+	 * @param clause
+	 *            the clause to remove.
+	 */
+	public void remove(final Clause clause) {
+		clause.removeFromList();
+		mTierSizes[clause.mTier]--;
+		mNumDeleted++;
+	}
+
+	/**
+	 * Check if a reduction of the local tier is due.
+	 *
+	 * @param numConflicts
+	 *            the total number of conflicts seen by the engine.
+	 * @return true if {@link #reduce} should be called.
+	 */
+	public boolean isReduceDue(final long numConflicts) {
+		return numConflicts >= mNextReduce;
+	}
+
+	/**
+	 * Reduce the database. Unused mid tier clauses are demoted, then the worst part of the local tier is removed.
+	 * Clauses that are currently the reason for a propagated literal are kept.
+	 *
+	 * @param engine
+	 *            the engine, used to run the deletion hooks.
+	 * @param numConflicts
+	 *            the total number of conflicts seen by the engine.
+	 * @return the number of removed clauses.
+	 */
+	public int reduce(final DPLLEngine engine, final long numConflicts) {
+		mNumReductions++;
+		mNextReduce = numConflicts + Config.CLAUSE_REDUCE_FIRST
+				+ (long) Config.CLAUSE_REDUCE_INCREMENT * mNumReductions;
+
+		final Iterator<Clause> midIt = mTiers[TIER_MID].iterator();
+		final ArrayList<Clause> demote = new ArrayList<>();
+		while (midIt.hasNext()) {
+			final Clause c = midIt.next();
+			if (c.mUsed) {
+				c.mUsed = false;
+			} else {
+				demote.add(c);
+			}
+		}
+		for (final Clause c : demote) {
+			moveTo(c, TIER_LOCAL);
+			mNumDemoted++;
+		}
+
+		final ArrayList<Clause> candidates = new ArrayList<>(mTierSizes[TIER_LOCAL]);
+		for (final Clause c : mTiers[TIER_LOCAL]) {
+			if (c.mUsed) {
+				/* give recently used clauses one more round */
+				c.mUsed = false;
+			} else if (!isReason(c)) {
+				candidates.add(c);
+			}
+		}
+		Collections.sort(candidates, new Comparator<Clause>() {
+			@Override
+			public int compare(final Clause c1, final Clause c2) {
+				if (c1.mLBD != c2.mLBD) {
+					return c1.mLBD > c2.mLBD ? -1 : 1;
+				}
+				return Double.compare(c1.mActivity, c2.mActivity);
+			}
+		});
+		final int target = candidates.size() * Config.CLAUSE_REDUCE_FRACTION / 100;
+		int removed = 0;
+		for (int i = 0; i < candidates.size() && removed < target; i++) {
+			final Clause c = candidates.get(i);
+			if (c.doCleanup(engine)) {
+				c.removeFromList();
+				mTierSizes[TIER_LOCAL]--;
+				removed++;
+			}
+		}
+		mNumDeleted += removed;
+		return removed;
+	}
+
+	private static boolean isReason(final Clause clause) {
+		for (final Literal lit : clause.mLiterals) {
+			if (lit.getAtom().mExplanation == clause) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Remove all clauses that were learned above the given assertion stack level. This is called on pop.
+	 *
+	 * @param engine
+	 *            the engine, used to run the deletion hooks.
+	 * @param targetstacklevel
+	 *            the assertion stack level after the pop.
+	 * @return the number of removed clauses.
+	 */
+	public int removeAbove(final DPLLEngine engine, final int targetstacklevel) {
+		int removed = 0;
+		for (int tier = 0; tier < mTiers.length; tier++) {
+			final Iterator<Clause> it = mTiers[tier].iterator();
+			while (it.hasNext()) {
+				final Clause c = it.next();
+				if (c.mStacklevel > targetstacklevel && c.doCleanup(engine)) {
+					it.remove();
+					mTierSizes[tier]--;
+					removed++;
+				}
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Remove all clauses that contain one of the given atoms. This is used when variables are eliminated.
+	 *
+	 * @param atoms
+	 *            the atoms.
+	 * @return the number of removed clauses.
+	 */
+	public int removeContaining(final Set<DPLLAtom> atoms) {
+		int removed = 0;
+		for (int tier = 0; tier < mTiers.length; tier++) {
+			final Iterator<Clause> it = mTiers[tier].iterator();
+			clauseLoop: while (it.hasNext()) {
+				final Clause c = it.next();
+				for (final Literal lit : c.mLiterals) {
+					if (atoms.contains(lit.getAtom())) {
+						it.remove();
+						mTierSizes[tier]--;
+						removed++;
+						continue clauseLoop;
+					}
+				}
+			}
+		}
+		mNumDeleted += removed;
+		return removed;
+	}
+
+	/**
+	 * Scale the activity of all learned clauses. This is used to avoid overflows.
+	 *
+	 * @param factor
+	 *            the scaling factor.
+	 */
+	public void scaleActivity(final double factor) {
+		for (final SimpleList<Clause> tier : mTiers) {
+			for (final Clause c : tier) {
+				c.mActivity *= factor;
+			}
+		}
+	}
+
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Core", mTierSizes[TIER_CORE] }, { "Mid", mTierSizes[TIER_MID] },
+			{ "Local", mTierSizes[TIER_LOCAL] }, { "Reductions", mNumReductions }, { "Deleted", mNumDeleted },
+			{ "Promoted", mNumPromoted }, { "Demoted", mNumDemoted } };
+	}
+
+	@Override
+	public String toString() {
+		return "Core: " + mTierSizes[TIER_CORE] + " Mid: " + mTierSizes[TIER_MID] + " Local: "
+				+ mTierSizes[TIER_LOCAL] + " Deleted: " + mNumDeleted;
+	}
+}
@@ -55,4 +55,16 @@ public interface SMTInterpolConstants {
 	public String PROPAGATE_UNKNOWN_TERMS = ":propagate-unknown-terms";
 	public String PROPAGATE_UNKNOWN_AUX = ":propagate-unknown-aux";
 	public String SIMPLIFY_REPEATEDLY = ":simplify-repeatedly";
+	public String LEARNED_CLAUSE_POLICY = ":learned-clause-policy";
+	public String INPROCESSING = ":inprocessing";
+	public String RESTART_POLICY = ":restart-policy";
+	public String INITIAL_PHASE = ":initial-phase";
+	public String SHARE_LEARNED_CLAUSES = ":share-learned-clauses";
+	public String CUBE_DEPTH = ":cube-depth";
+	public String FLOAT_SIMPLEX = ":float-simplex";
+	public String REVISED_SIMPLEX = ":revised-simplex";
+	public String CUT_POLICY = ":cut-policy";
+	public String BRANCH_POLICY = ":branch-policy";
+	public String PRICING_RULE = ":pricing-rule";
+	public String ACKERMANN_THRESHOLD = ":ackermann-threshold";
 }
@@ -21,9 +21,15 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.option;
 import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.LogProxy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.InitialPhase;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.LearnedClausePolicy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.RestartPolicy;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.Transformations.AvailableTransformations;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol.CheckType;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol.ProofMode;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.BranchPolicy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.CutPolicy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.PricingRule;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.quant.QuantifierTheory.InstantiationMethod;
 
 /**
@@ -48,6 +54,18 @@ public class SolverOptions {
 	private final EnumOption<CheckType> mSimpCheckType;
 	private final EnumOption<ProofMode> mProofLevel;
 	private final EnumOption<InstantiationMethod> mInstantiationMethod;
+	private final EnumOption<LearnedClausePolicy> mLearnedClausePolicy;
+	private final BooleanOption mInprocessing;
+	private final EnumOption<RestartPolicy> mRestartPolicy;
+	private final EnumOption<InitialPhase> mInitialPhase;
+	private final BooleanOption mShareLearnedClauses;
+	private final LongOption mCubeDepth;
+	private final BooleanOption mFloatSimplex;
+	private final BooleanOption mRevisedSimplex;
+	private final EnumOption<CutPolicy> mCutPolicy;
+	private final EnumOption<BranchPolicy> mBranchPolicy;
+	private final EnumOption<PricingRule> mPricingRule;
+	private final LongOption mAckermannThreshold;
 	private final OptionMap mOptions;
 
 	SolverOptions(final OptionMap options, final LogProxy logger) {
@@ -84,6 +102,32 @@ public class SolverOptions {
 		mInstantiationMethod = new EnumOption<>(InstantiationMethod.E_MATCHING_CONFLICT, false,
 				InstantiationMethod.class, "Quantifier Theory: Method to instantiate quantified formulas.");
 		mProofLevel = new EnumOption<>(ProofMode.NONE, false, ProofMode.class, "Proof level.");
+		mLearnedClausePolicy = new EnumOption<>(LearnedClausePolicy.ACTIVITY, false, LearnedClausePolicy.class,
+				"Policy used to remove learned clauses.");
+		mInprocessing = new BooleanOption(false, false,
+				"Simplify purely propositional problems between restarts.");
+		mRestartPolicy = new EnumOption<>(RestartPolicy.LUBY, false, RestartPolicy.class,
+				"Policy used to decide when to restart.");
+		mInitialPhase = new EnumOption<>(InitialPhase.NEGATIVE, false, InitialPhase.class,
+				"Polarity used when deciding an atom for the first time.");
+		mShareLearnedClauses = new BooleanOption(false, true,
+				"Exchange short learned clauses between the solvers of a portfolio.");
+		mCubeDepth = new LongOption(0, true, "Split every check-sat of a portfolio into at most 2^n cubes "
+				+ "that are solved by the workers. Values <= 0 deactivate cube-and-conquer.");
+		mFloatSimplex = new BooleanOption(false, false,
+				"Search a feasible simplex basis with floating point numbers before the exact simplex runs.");
+		mRevisedSimplex = new BooleanOption(false, false,
+				"Search a feasible simplex basis with a revised simplex on an LU factorized basis. This replaces "
+				+ ":float-simplex.");
+		mCutPolicy = new EnumOption<>(CutPolicy.CUTS_FROM_PROOFS, false, CutPolicy.class,
+				"Technique used to exclude solutions that are not integral.");
+		mBranchPolicy = new EnumOption<>(BranchPolicy.MOST_FRACTIONAL, false, BranchPolicy.class,
+				"Heuristic used to select the integer variable to branch on.");
+		mPricingRule = new EnumOption<>(PricingRule.SOI, false, PricingRule.class,
+				"Rule used by the simplex to select the pivot column.");
+		mAckermannThreshold = new LongOption(0, false, "Add the Ackermann lemma for two congruent function "
+				+ "applications after their congruence was used this many times in conflicts. Values <= 0 deactivate "
+				+ "dynamic Ackermannization.");
 
 		// general standard compliant options
 		options.addOption(SMTLIBConstants.VERBOSITY, new VerbosityOption(logger));
@@ -127,6 +171,18 @@ public class SolverOptions {
 
 		// general non-standard options
 		options.addOption(SMTInterpolConstants.CHECK_TYPE, mCheckType);
+		options.addOption(SMTInterpolConstants.LEARNED_CLAUSE_POLICY, mLearnedClausePolicy);
+		options.addOption(SMTInterpolConstants.INPROCESSING, mInprocessing);
+		options.addOption(SMTInterpolConstants.RESTART_POLICY, mRestartPolicy);
+		options.addOption(SMTInterpolConstants.INITIAL_PHASE, mInitialPhase);
+		options.addOption(SMTInterpolConstants.SHARE_LEARNED_CLAUSES, mShareLearnedClauses);
+		options.addOption(SMTInterpolConstants.CUBE_DEPTH, mCubeDepth);
+		options.addOption(SMTInterpolConstants.FLOAT_SIMPLEX, mFloatSimplex);
+		options.addOption(SMTInterpolConstants.REVISED_SIMPLEX, mRevisedSimplex);
+		options.addOption(SMTInterpolConstants.CUT_POLICY, mCutPolicy);
+		options.addOption(SMTInterpolConstants.BRANCH_POLICY, mBranchPolicy);
+		options.addOption(SMTInterpolConstants.PRICING_RULE, mPricingRule);
+		options.addOption(SMTInterpolConstants.ACKERMANN_THRESHOLD, mAckermannThreshold);
 		options.addOption(SMTInterpolConstants.EPR, new BooleanOption(false, false,
 				"Assume formula is in EPR fragment. This give an error if the formula is outside EPR."));
 		options.addOption(SMTInterpolConstants.INSTANTIATION_METHOD, mInstantiationMethod);
@@ -165,6 +221,19 @@ public class SolverOptions {
 		mProofLevel = (EnumOption<ProofMode>) options.getOption(SMTInterpolConstants.PROOF_LEVEL);
 		mInstantiationMethod =
 				(EnumOption<InstantiationMethod>) options.getOption(SMTInterpolConstants.INSTANTIATION_METHOD);
+		mLearnedClausePolicy =
+				(EnumOption<LearnedClausePolicy>) options.getOption(SMTInterpolConstants.LEARNED_CLAUSE_POLICY);
+		mInprocessing = (BooleanOption) options.getOption(SMTInterpolConstants.INPROCESSING);
+		mRestartPolicy = (EnumOption<RestartPolicy>) options.getOption(SMTInterpolConstants.RESTART_POLICY);
+		mInitialPhase = (EnumOption<InitialPhase>) options.getOption(SMTInterpolConstants.INITIAL_PHASE);
+		mShareLearnedClauses = (BooleanOption) options.getOption(SMTInterpolConstants.SHARE_LEARNED_CLAUSES);
+		mCubeDepth = (LongOption) options.getOption(SMTInterpolConstants.CUBE_DEPTH);
+		mFloatSimplex = (BooleanOption) options.getOption(SMTInterpolConstants.FLOAT_SIMPLEX);
+		mRevisedSimplex = (BooleanOption) options.getOption(SMTInterpolConstants.REVISED_SIMPLEX);
+		mCutPolicy = (EnumOption<CutPolicy>) options.getOption(SMTInterpolConstants.CUT_POLICY);
+		mBranchPolicy = (EnumOption<BranchPolicy>) options.getOption(SMTInterpolConstants.BRANCH_POLICY);
+		mPricingRule = (EnumOption<PricingRule>) options.getOption(SMTInterpolConstants.PRICING_RULE);
+		mAckermannThreshold = (LongOption) options.getOption(SMTInterpolConstants.ACKERMANN_THRESHOLD);
 		mOptions = options;
 	}
 
@@ -240,4 +309,52 @@ public class SolverOptions {
 		return mInstantiationMethod.getValue();
 	}
 
+	public LearnedClausePolicy getLearnedClausePolicy() {
+		return mLearnedClausePolicy.getValue();
+	}
+
+	public boolean isInprocessing() {
+		return mInprocessing.getValue();
+	}
+
+	public RestartPolicy getRestartPolicy() {
+		return mRestartPolicy.getValue();
+	}
+
+	public InitialPhase getInitialPhase() {
+		return mInitialPhase.getValue();
+	}
+
+	public boolean isShareLearnedClauses() {
+		return mShareLearnedClauses.getValue();
+	}
+
+	public int getCubeDepth() {
+		return (int) mCubeDepth.getValue();
+	}
+
+	public boolean isFloatSimplex() {
+		return mFloatSimplex.getValue();
+	}
+
+	public boolean isRevisedSimplex() {
+		return mRevisedSimplex.getValue();
+	}
+
+	public CutPolicy getCutPolicy() {
+		return mCutPolicy.getValue();
+	}
+
+	public BranchPolicy getBranchPolicy() {
+		return mBranchPolicy.getValue();
+	}
+
+	public PricingRule getPricingRule() {
+		return mPricingRule.getValue();
+	}
+
+	public int getAckermannThreshold() {
+		return (int) mAckermannThreshold.getValue();
+	}
+
 }
@@ -0,0 +1,867 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.portfolio;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
+import de.uni_freiburg.informatik.ultimate.logic.Assignments;
+import de.uni_freiburg.informatik.ultimate.logic.DataType;
+import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbol;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Model;
+import de.uni_freiburg.informatik.ultimate.logic.Objectives;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import de.uni_freiburg.informatik.ultimate.logic.Theory;
+import de.uni_freiburg.informatik.ultimate.logic.WrapperScript;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.ClauseExchange;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.CubeGenerator;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.InitialPhase;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine.RestartPolicy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.OptionMap.CopyMode;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.TerminationRequest;
+
+/**
+ * A script that runs several diversified instances of SMTInterpol in parallel on every check-sat. When the logic is
+ * set, the workers are created with the options of the wrapped solver. The first worker uses these options unchanged,
+ * the others get a different random seed, restart policy and initial phase. The wrapped solver does not take part in
+ * the race, since it cannot be stopped when another worker wins, but it keeps all assertions and answers the commands
+ * that do not depend on a check.
+ *
+ * Every worker has its own theory, so the workers share no mutable state. Declarations, assertions and push/pop are
+ * sent to the wrapped solver and all workers; the terms are translated into the theory of the worker by a
+ * {@link TermTranslator}. On check-sat the workers race and the first worker that finds a definite answer wins; the
+ * others are cancelled through their termination request. All commands that inspect the result of the last check
+ * (models, values, proofs, unsat cores, interpolants, reason-unknown) are answered by the winner, and the terms of the
+ * answer are translated back into the theory of the wrapped solver. Terms are only translated while no worker runs.
+ *
+ * If the option :share-learned-clauses is set, the workers cooperate: they exchange short learned clauses through a
+ * {@link ClauseExchange} and import the clauses of the other workers on every restart. A learned clause is only
+ * shared if the SMT formulas of all its atoms were translated from the wrapped solver; these terms identify the atoms
+ * in the exchange.
+ *
+ * If the option :cube-depth is positive, a check is solved by cube-and-conquer instead of a race: the wrapped solver
+ * splits the problem into cubes by lookahead ({@link CubeGenerator}) and the workers solve the cubes with
+ * check-sat-assuming. The first satisfiable cube answers the check. The unsat assumptions of a refuted cube are used
+ * to drop the other cubes that contain them. Cube-and-conquer is not used while proofs, unsat cores or interpolants
+ * are produced, since they cannot be combined from the refuted cubes.
+ */
+public class PortfolioScript extends WrapperScript {
+
+	/**
+	 * The index of the wrapped solver in {@link PortfolioScript#mWinner}.
+	 */
+	private static final int PRIMARY = -1;
+
+	/**
+	 * The cubes of a cube-and-conquer check that are not yet solved, and the results of the refuted cubes. The cubes
+	 * are terms of the wrapped solver.
+	 */
+	private static class CubeQueue {
+		private final ArrayDeque<Term[]> mCubes;
+		private final Set<Term> mAssumptions;
+		/**
+		 * The cube literals that were needed to refute a cube. Every cube that contains one of these sets is
+		 * unsatisfiable.
+		 */
+		private final List<Set<Term>> mRefutations = new ArrayList<>();
+		/**
+		 * The user assumptions that were needed to refute the cubes.
+		 */
+		private final Set<Term> mUnsatAssumptions = new LinkedHashSet<>();
+		private int mNumOpen;
+		private int mNumPruned;
+		/**
+		 * The index of the worker that refuted the last cube, and of the first worker that gave up on a cube, or -1.
+		 */
+		private int mLastRefuter = -1;
+		private int mUnknownWorker = -1;
+
+		CubeQueue(final List<Term[]> cubes, final Term[] assumptions) {
+			mCubes = new ArrayDeque<>(cubes);
+			mAssumptions = new HashSet<>(Arrays.asList(assumptions));
+			mNumOpen = cubes.size();
+		}
+
+		/**
+		 * Take the next cube that is not known to be unsatisfiable.
+		 *
+		 * @return the cube, or null if there is no more cube.
+		 */
+		synchronized Term[] next() {
+			while (!mCubes.isEmpty()) {
+				final Term[] cube = mCubes.poll();
+				if (!isRefuted(cube)) {
+					return cube;
+				}
+				mNumPruned++;
+				mNumOpen--;
+			}
+			return null;
+		}
+
+		private boolean isRefuted(final Term[] cube) {
+			final List<Term> literals = Arrays.asList(cube);
+			for (final Set<Term> refutation : mRefutations) {
+				if (literals.containsAll(refutation)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Record that a cube is unsatisfiable.
+		 *
+		 * @param worker
+		 *            the index of the worker that refuted the cube.
+		 * @param cube
+		 *            the refuted cube.
+		 * @param unsatAssumptions
+		 *            the unsat assumptions of the check, or null if they are not produced.
+		 * @return true if the refutation does not depend on the cube, i.e., the problem is unsatisfiable.
+		 */
+		synchronized boolean refuted(final int worker, final Term[] cube, final Term[] unsatAssumptions) {
+			mNumOpen--;
+			mLastRefuter = worker;
+			final Set<Term> cubeLiterals = new HashSet<>(Arrays.asList(cube));
+			final Set<Term> refutation = new HashSet<>();
+			for (final Term lit : unsatAssumptions == null ? cube : unsatAssumptions) {
+				if (mAssumptions.contains(lit)) {
+					mUnsatAssumptions.add(lit);
+				} else if (cubeLiterals.contains(lit)) {
+					refutation.add(lit);
+				}
+			}
+			if (unsatAssumptions == null) {
+				mUnsatAssumptions.addAll(mAssumptions);
+			}
+			if (refutation.isEmpty()) {
+				return true;
+			}
+			mRefutations.add(refutation);
+			return false;
+		}
+
+		synchronized void unknown(final int worker) {
+			if (mUnknownWorker < 0) {
+				mUnknownWorker = worker;
+			}
+		}
+	}
+
+	/**
+	 * A model of a worker seen through the theory of the wrapped solver.
+	 */
+	private static class TranslatedModel implements Model {
+		private final Model mModel;
+		private final TermTranslator mToWorker;
+		private final TermTranslator mFromWorker;
+
+		TranslatedModel(final Model model, final TermTranslator toWorker, final TermTranslator fromWorker) {
+			mModel = model;
+			mToWorker = toWorker;
+			mFromWorker = fromWorker;
+		}
+
+		@Override
+		public Term evaluate(final Term input) {
+			return mFromWorker.transform(mModel.evaluate(mToWorker.transform(input)));
+		}
+
+		@Override
+		public Map<Term, Term> evaluate(final Term[] input) {
+			final Map<Term, Term> result = new LinkedHashMap<>();
+			for (final Term term : input) {
+				result.put(term, evaluate(term));
+			}
+			return result;
+		}
+
+		@Override
+		public Set<FunctionSymbol> getDefinedFunctions() {
+			final Set<FunctionSymbol> result = new LinkedHashSet<>();
+			for (final FunctionSymbol fsym : mModel.getDefinedFunctions()) {
+				if (!fsym.isIntern()) {
+					result.add(mFromWorker.translate(fsym));
+				}
+			}
+			return result;
+		}
+
+		@Override
+		public Term getFunctionDefinition(final String func, final TermVariable[] args) {
+			return mFromWorker.transform(mModel.getFunctionDefinition(func, mToWorker.translate(args)));
+		}
+
+		@Override
+		public String toString() {
+			return mModel.toString();
+		}
+	}
+
+	private final SMTInterpol mPrimary;
+	private final int mNumWorkers;
+	private final List<SMTInterpol> mWorkers = new ArrayList<>();
+	/**
+	 * For every worker the translators from the theory of the wrapped solver to the theory of the worker and back.
+	 */
+	private final List<TermTranslator> mToWorker = new ArrayList<>();
+	private final List<TermTranslator> mFromWorker = new ArrayList<>();
+	private ExecutorService mExecutor;
+	/**
+	 * The index of the worker that answered the last check-sat, or {@link #PRIMARY}.
+	 */
+	private int mWinner = PRIMARY;
+	/**
+	 * Set when a worker found an answer to tell the other workers to stop.
+	 */
+	private volatile boolean mRaceDone;
+	/**
+	 * The termination request of the wrapped solver, and the termination request of the workers.
+	 */
+	private TerminationRequest mUserCancel, mWorkerCancel;
+	/**
+	 * The unsat assumptions if the last check was answered by refuting all cubes, null otherwise.
+	 */
+	private Term[] mCubeUnsatAssumptions;
+
+	/**
+	 * Create a portfolio around a solver.
+	 *
+	 * @param primary
+	 *            the solver that receives all commands. Its termination request also stops all workers.
+	 * @param numWorkers
+	 *            the number of workers. If it is one, the wrapped solver is used without copies.
+	 */
+	public PortfolioScript(final SMTInterpol primary, final int numWorkers) {
+		super(primary);
+		if (numWorkers < 1) {
+			throw new IllegalArgumentException("Portfolio needs at least one worker");
+		}
+		mPrimary = primary;
+		mNumWorkers = numWorkers;
+	}
+
+	/**
+	 * Create the options that diversify a worker from the primary solver.
+	 *
+	 * @param index
+	 *            the index of the worker, starting with 0.
+	 * @return the options for the copy constructor.
+	 */
+	private Map<String, Object> getWorkerOptions(final int index) {
+		final Map<String, Object> options = new HashMap<>();
+		if (index == 0) {
+			return options;
+		}
+		final BigInteger seed = (BigInteger) mPrimary.getOption(SMTLIBConstants.RANDOM_SEED);
+		options.put(SMTLIBConstants.RANDOM_SEED, seed.add(BigInteger.valueOf(index)));
+		final RestartPolicy[] restarts = RestartPolicy.values();
+		options.put(SMTInterpolConstants.RESTART_POLICY, restarts[index % restarts.length].name());
+		final InitialPhase[] phases = InitialPhase.values();
+		options.put(SMTInterpolConstants.INITIAL_PHASE, phases[(index / restarts.length + 1) % phases.length].name());
+		return options;
+	}
+
+	private void createWorkers() {
+		mWorkers.clear();
+		mToWorker.clear();
+		mFromWorker.clear();
+		mWinner = PRIMARY;
+		if (mNumWorkers == 1) {
+			return;
+		}
+		mUserCancel = mPrimary.getTerminationRequest();
+		mWorkerCancel = () -> mRaceDone || isUserCancelled();
+		final Logics logic = mPrimary.getTheory().getLogic();
+		for (int i = 0; i < mNumWorkers; i++) {
+			final SMTInterpol worker =
+					new SMTInterpol(mPrimary, mWorkerCancel, getWorkerOptions(i), CopyMode.CURRENT_VALUE);
+			worker.setLogic(logic);
+			final TermTranslator toWorker = new TermTranslator(worker.getTheory());
+			final TermTranslator fromWorker = new TermTranslator(mPrimary.getTheory());
+			TermTranslator.pair(toWorker, fromWorker);
+			mWorkers.add(worker);
+			mToWorker.add(toWorker);
+			mFromWorker.add(fromWorker);
+		}
+	}
+
+	private boolean isUserCancelled() {
+		return mUserCancel != null && mUserCancel.isTerminationRequested();
+	}
+
+	private void clearTranslations() {
+		for (int i = 0; i < mWorkers.size(); i++) {
+			mToWorker.get(i).clear();
+			mFromWorker.get(i).clear();
+		}
+	}
+
+	private Script getWinner() {
+		return mWinner == PRIMARY ? mPrimary : mWorkers.get(mWinner);
+	}
+
+	private Term[] toWinner(final Term[] terms) {
+		return mWinner == PRIMARY ? terms : mToWorker.get(mWinner).translate(terms);
+	}
+
+	private Term fromWinner(final Term term) {
+		return mWinner == PRIMARY ? term : mFromWorker.get(mWinner).transform(term);
+	}
+
+	private Term[] fromWinner(final Term[] terms) {
+		return mWinner == PRIMARY ? terms : mFromWorker.get(mWinner).translate(terms);
+	}
+
+	private ExecutorService getExecutor() {
+		if (mExecutor == null) {
+			mExecutor = Executors.newFixedThreadPool(mNumWorkers, runnable -> {
+				final Thread thread = new Thread(runnable, "SMTInterpol portfolio worker");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return mExecutor;
+	}
+
+	/**
+	 * Run check-sat-assuming on all workers, or use cube-and-conquer, and remember the winner.
+	 */
+	private LBool race(final Term... assumptions) {
+		mCubeUnsatAssumptions = null;
+		if (mWorkers.isEmpty()) {
+			mWinner = PRIMARY;
+			return mPrimary.checkSatAssuming(assumptions);
+		}
+		final int cubeDepth = ((BigInteger) mPrimary.getOption(SMTInterpolConstants.CUBE_DEPTH)).intValue();
+		/* a cube only has a local optimum, so objectives need the race */
+		if (cubeDepth > 0 && !isProducingProofs() && !mPrimary.hasObjectives()) {
+			final LBool result = conquer(cubeDepth, assumptions);
+			if (result != null) {
+				return result;
+			}
+		}
+		final Term[][] workerAssumptions = new Term[mWorkers.size()][];
+		for (int i = 0; i < mWorkers.size(); i++) {
+			workerAssumptions[i] = mToWorker.get(i).translate(assumptions);
+		}
+		LBool result = runWorkers(i -> () -> mWorkers.get(i).checkSatAssuming(workerAssumptions[i]));
+		if (result == null) {
+			/* All workers gave up; report the reason of the first one */
+			mWinner = 0;
+			result = LBool.UNKNOWN;
+		}
+		return result;
+	}
+
+	private boolean isProducingProofs() {
+		return (Boolean) mPrimary.getOption(SMTLIBConstants.PRODUCE_PROOFS)
+				|| (Boolean) mPrimary.getOption(SMTLIBConstants.PRODUCE_UNSAT_CORES)
+				|| (Boolean) mPrimary.getOption(SMTInterpolConstants.PRODUCE_INTERPOLANTS);
+	}
+
+	private static boolean isBooleanConstant(final Term term) {
+		return term instanceof ApplicationTerm && ((ApplicationTerm) term).getParameters().length == 0;
+	}
+
+	/**
+	 * Solve a check by cube-and-conquer. Only Boolean constants are used for splitting, since check-sat-assuming
+	 * accepts no other assumptions.
+	 *
+	 * @return the result, or null if the problem could not be split.
+	 */
+	private LBool conquer(final int depth, final Term[] assumptions) {
+		final Theory theory = mPrimary.getTheory();
+		final CubeGenerator generator = new CubeGenerator(mPrimary.getEngine(),
+				atom -> atom.isDefinedByFormula() && isBooleanConstant(atom.getSMTFormula(theory)));
+		final List<Literal[]> cubeLiterals = generator.generate(depth);
+		if (cubeLiterals == null || cubeLiterals.size() <= 1) {
+			/* nothing to split, or the workers need to find the conflict themselves */
+			return null;
+		}
+		final List<Term[]> cubes = new ArrayList<>();
+		for (final Literal[] lits : cubeLiterals) {
+			final Term[] cube = new Term[lits.length];
+			for (int i = 0; i < lits.length; i++) {
+				cube[i] = lits[i].getSMTFormula(theory);
+			}
+			cubes.add(cube);
+		}
+		/* translate all literals now; the workers only look up the cached translations */
+		for (final TermTranslator toWorker : mToWorker) {
+			toWorker.translate(assumptions);
+			for (final Term[] cube : cubes) {
+				toWorker.translate(cube);
+			}
+		}
+		final CubeQueue queue = new CubeQueue(cubes, assumptions);
+		final LBool result = runWorkers(i -> () -> solveCubes(i, queue, assumptions));
+		mPrimary.getLogger().info("Cubes: %d Pruned: %d %s", cubes.size(), queue.mNumPruned, generator);
+		if (result != null) {
+			return result;
+		}
+		if (queue.mUnknownWorker >= 0 || queue.mNumOpen > 0) {
+			mWinner = Math.max(queue.mUnknownWorker, 0);
+			return LBool.UNKNOWN;
+		}
+		mWinner = queue.mLastRefuter;
+		mCubeUnsatAssumptions = queue.mUnsatAssumptions.toArray(new Term[queue.mUnsatAssumptions.size()]);
+		return LBool.UNSAT;
+	}
+
+	/**
+	 * Solve cubes from the queue until the queue is empty or the check is answered. This runs in the thread of the
+	 * worker and only uses cached translations.
+	 *
+	 * @return SAT if a cube is satisfiable, UNSAT if the problem is unsatisfiable independently of the cubes, null
+	 *         otherwise.
+	 */
+	private LBool solveCubes(final int index, final CubeQueue queue, final Term[] assumptions) {
+		final SMTInterpol worker = mWorkers.get(index);
+		final TermTranslator toWorker = mToWorker.get(index);
+		final TermTranslator fromWorker = mFromWorker.get(index);
+		final boolean unsatAssumptions = (Boolean) worker.getOption(SMTLIBConstants.PRODUCE_UNSAT_ASSUMPTIONS);
+		Term[] cube;
+		while (!mWorkerCancel.isTerminationRequested() && (cube = queue.next()) != null) {
+			final Term[] literals = new Term[assumptions.length + cube.length];
+			for (int i = 0; i < assumptions.length; i++) {
+				literals[i] = toWorker.getCached(assumptions[i]);
+			}
+			for (int i = 0; i < cube.length; i++) {
+				literals[assumptions.length + i] = toWorker.getCached(cube[i]);
+			}
+			final LBool result = worker.checkSatAssuming(literals);
+			if (result == LBool.SAT) {
+				return result;
+			} else if (result == LBool.UNSAT) {
+				Term[] core = null;
+				if (unsatAssumptions) {
+					final Term[] workerCore = worker.getUnsatAssumptions();
+					core = new Term[workerCore.length];
+					for (int i = 0; i < core.length; i++) {
+						core[i] = fromWorker.getCached(workerCore[i]);
+					}
+				}
+				if (queue.refuted(index, cube, core)) {
+					return result;
+				}
+			} else {
+				queue.unknown(index);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Run a task on all workers in parallel. The first worker whose task returns SAT or UNSAT wins; the other workers
+	 * are cancelled through their termination request.
+	 *
+	 * @param task
+	 *            creates the task of the worker with the given index. The task returns null or UNKNOWN if it found no
+	 *            answer.
+	 * @return the answer of the winner, or null if no worker found an answer.
+	 */
+	private LBool runWorkers(final IntFunction<Callable<LBool>> task) {
+		final ExecutorCompletionService<LBool> service = new ExecutorCompletionService<>(getExecutor());
+		final Map<Future<LBool>, Integer> futures = new HashMap<>();
+		mRaceDone = false;
+		final boolean share = (Boolean) mPrimary.getOption(SMTInterpolConstants.SHARE_LEARNED_CLAUSES);
+		if (share) {
+			final ClauseExchange exchange = new ClauseExchange();
+			for (int i = 0; i < mWorkers.size(); i++) {
+				final SMTInterpol worker = mWorkers.get(i);
+				worker.getEngine().setClauseExchange(exchange, worker.getTheory(), mFromWorker.get(i)::getCached);
+			}
+		}
+		for (int i = 0; i < mWorkers.size(); i++) {
+			futures.put(service.submit(task.apply(i)), i);
+		}
+		LBool result = null;
+		Throwable failure = null;
+		boolean interrupted = false;
+		try {
+			int running = futures.size();
+			while (running > 0) {
+				Future<LBool> done;
+				try {
+					done = service.take();
+				} catch (final InterruptedException ex) {
+					/* stop the workers, but wait for them to finish */
+					interrupted = true;
+					mRaceDone = true;
+					continue;
+				}
+				running--;
+				try {
+					final LBool workerResult = done.get();
+					if (result == null && workerResult != null && workerResult != LBool.UNKNOWN) {
+						result = workerResult;
+						mWinner = futures.get(done);
+						mRaceDone = true;
+					}
+				} catch (final ExecutionException ex) {
+					if (failure == null) {
+						failure = ex.getCause();
+					}
+				} catch (final InterruptedException ex) {
+					throw new AssertionError("Future is already done", ex);
+				}
+			}
+		} finally {
+			final boolean raceCancelled = mRaceDone && !isUserCancelled();
+			mRaceDone = false;
+			for (int i = 0; i < mWorkers.size(); i++) {
+				final SMTInterpol worker = mWorkers.get(i);
+				if (share) {
+					worker.getEngine().setClauseExchange(null, null, null);
+				}
+				if (raceCancelled && i != mWinner) {
+					/* the race, not the user, stopped this worker */
+					worker.getEngine().resetCancelled();
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (result == null) {
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			} else if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void setLogic(final String logic) throws UnsupportedOperationException, SMTLIBException {
+		mPrimary.setLogic(logic);
+		createWorkers();
+	}
+
+	@Override
+	public void setLogic(final Logics logic) throws UnsupportedOperationException, SMTLIBException {
+		mPrimary.setLogic(logic);
+		createWorkers();
+	}
+
+	@Override
+	public void setOption(final String opt, final Object value) throws UnsupportedOperationException, SMTLIBException {
+		mPrimary.setOption(opt, value);
+		for (int i = 0; i < mWorkers.size(); i++) {
+			if (opt.equals(SMTLIBConstants.RANDOM_SEED) && i > 0) {
+				mWorkers.get(i).setOption(opt, getWorkerOptions(i).get(opt));
+			} else {
+				mWorkers.get(i).setOption(opt, value);
+			}
+		}
+	}
+
+	@Override
+	public void declareDatatype(final DataType datatype, final DataType.Constructor[] constrs)
+			throws SMTLIBException {
+		mPrimary.declareDatatype(datatype, constrs);
+		for (int i = 0; i < mWorkers.size(); i++) {
+			final SMTInterpol worker = mWorkers.get(i);
+			final DataType workerType = worker.datatype(datatype.getName(), 0);
+			worker.declareDatatype(workerType, translate(worker, mToWorker.get(i), constrs));
+		}
+	}
+
+	@Override
+	public void declareDatatypes(final DataType[] datatypes, final DataType.Constructor[][] constrs,
+			final Sort[][] sortParams) throws SMTLIBException {
+		mPrimary.declareDatatypes(datatypes, constrs, sortParams);
+		for (int i = 0; i < mWorkers.size(); i++) {
+			final SMTInterpol worker = mWorkers.get(i);
+			final TermTranslator toWorker = mToWorker.get(i);
+			final DataType[] workerTypes = new DataType[datatypes.length];
+			final Sort[][] workerParams = new Sort[datatypes.length][];
+			for (int j = 0; j < datatypes.length; j++) {
+				final Sort[] params = sortParams[j] == null ? new Sort[0] : sortParams[j];
+				workerTypes[j] = worker.datatype(datatypes[j].getName(), params.length);
+				final String[] names = new String[params.length];
+				for (int k = 0; k < params.length; k++) {
+					names[k] = params[k].getName();
+				}
+				workerParams[j] = worker.sortVariables(names);
+				for (int k = 0; k < params.length; k++) {
+					toWorker.mapSortVariable(params[k], workerParams[j][k]);
+				}
+			}
+			final DataType.Constructor[][] workerConstrs = new DataType.Constructor[datatypes.length][];
+			for (int j = 0; j < datatypes.length; j++) {
+				workerConstrs[j] = translate(worker, toWorker, constrs[j]);
+			}
+			worker.declareDatatypes(workerTypes, workerConstrs, workerParams);
+		}
+	}
+
+	private static DataType.Constructor[] translate(final SMTInterpol worker, final TermTranslator toWorker,
+			final DataType.Constructor[] constrs) {
+		final DataType.Constructor[] result = new DataType.Constructor[constrs.length];
+		for (int i = 0; i < constrs.length; i++) {
+			result[i] = worker.constructor(constrs[i].getName(), constrs[i].getSelectors(),
+					toWorker.translate(constrs[i].getArgumentSorts()));
+		}
+		return result;
+	}
+
+	@Override
+	public void declareSort(final String sort, final int arity) throws SMTLIBException {
+		mPrimary.declareSort(sort, arity);
+		for (final SMTInterpol worker : mWorkers) {
+			worker.declareSort(sort, arity);
+		}
+	}
+
+	@Override
+	public void declareFun(final String fun, final Sort[] paramSorts, final Sort resultSort) throws SMTLIBException {
+		mPrimary.declareFun(fun, paramSorts, resultSort);
+		for (int i = 0; i < mWorkers.size(); i++) {
+			final TermTranslator toWorker = mToWorker.get(i);
+			mWorkers.get(i).declareFun(fun, toWorker.translate(paramSorts), toWorker.translate(resultSort));
+		}
+	}
+
+	@Override
+	public void defineFun(final String fun, final TermVariable[] params, final Sort resultSort, final Term definition)
+			throws SMTLIBException {
+		mPrimary.defineFun(fun, params, resultSort, definition);
+		for (int i = 0; i < mWorkers.size(); i++) {
+			final TermTranslator toWorker = mToWorker.get(i);
+			mWorkers.get(i).defineFun(fun, toWorker.translate(params), toWorker.translate(resultSort),
+					toWorker.transform(definition));
+		}
+	}
+
+	@Override
+	public Term annotate(final Term t, final Annotation... annotations) throws SMTLIBException {
+		final Term result = mPrimary.annotate(t, annotations);
+		for (final Annotation annot : annotations) {
+			if (annot.getKey().equals(SMTLIBConstants.NAMED)) {
+				/* naming a term defines the name */
+				for (int i = 0; i < mWorkers.size(); i++) {
+					mWorkers.get(i).annotate(mToWorker.get(i).transform(t), annot);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void push(final int levels) throws SMTLIBException {
+		mPrimary.push(levels);
+		for (final SMTInterpol worker : mWorkers) {
+			worker.push(levels);
+		}
+	}
+
+	@Override
+	public void pop(final int levels) throws SMTLIBException {
+		mPrimary.pop(levels);
+		for (final SMTInterpol worker : mWorkers) {
+			worker.pop(levels);
+		}
+		clearTranslations();
+	}
+
+	@Override
+	public LBool assertTerm(final Term term) throws SMTLIBException {
+		LBool result = mPrimary.assertTerm(term);
+		for (int i = 0; i < mWorkers.size(); i++) {
+			if (mWorkers.get(i).assertTerm(mToWorker.get(i).transform(term)) == LBool.UNSAT) {
+				result = LBool.UNSAT;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void minimize(final Term objective) throws SMTLIBException, UnsupportedOperationException {
+		mPrimary.minimize(objective);
+		for (int i = 0; i < mWorkers.size(); i++) {
+			mWorkers.get(i).minimize(mToWorker.get(i).transform(objective));
+		}
+	}
+
+	@Override
+	public void maximize(final Term objective) throws SMTLIBException, UnsupportedOperationException {
+		mPrimary.maximize(objective);
+		for (int i = 0; i < mWorkers.size(); i++) {
+			mWorkers.get(i).maximize(mToWorker.get(i).transform(objective));
+		}
+	}
+
+	@Override
+	public LBool checkSat() throws SMTLIBException {
+		return race();
+	}
+
+	@Override
+	public LBool checkSatAssuming(final Term... assumptions) throws SMTLIBException {
+		return race(assumptions);
+	}
+
+	@Override
+	public FunctionSymbol getFunctionSymbol(final String constructor) {
+		return mScript.getFunctionSymbol(constructor);
+	}
+
+	@Override
+	public Term getProof() throws SMTLIBException, UnsupportedOperationException {
+		return fromWinner(getWinner().getProof());
+	}
+
+	@Override
+	public Term[] getUnsatCore() throws SMTLIBException, UnsupportedOperationException {
+		return fromWinner(getWinner().getUnsatCore());
+	}
+
+	@Override
+	public Term[] getUnsatAssumptions() throws SMTLIBException, UnsupportedOperationException {
+		if (mCubeUnsatAssumptions != null && (Boolean) mPrimary.getOption(SMTLIBConstants.PRODUCE_UNSAT_ASSUMPTIONS)) {
+			return mCubeUnsatAssumptions;
+		}
+		return fromWinner(getWinner().getUnsatAssumptions());
+	}
+
+	@Override
+	public Map<Term, Term> getValue(final Term[] terms) throws SMTLIBException, UnsupportedOperationException {
+		final Term[] winnerTerms = toWinner(terms);
+		final Map<Term, Term> values = getWinner().getValue(winnerTerms);
+		final Map<Term, Term> result = new LinkedHashMap<>();
+		for (int i = 0; i < terms.length; i++) {
+			result.put(terms[i], fromWinner(values.get(winnerTerms[i])));
+		}
+		return result;
+	}
+
+	@Override
+	public Objectives getObjectives() throws SMTLIBException, UnsupportedOperationException {
+		final Objectives objectives = getWinner().getObjectives();
+		if (mWinner == PRIMARY) {
+			return objectives;
+		}
+		final Term[] terms = new Term[objectives.size()];
+		final Term[] values = new Term[objectives.size()];
+		final int[] epsilons = new int[objectives.size()];
+		for (int i = 0; i < objectives.size(); i++) {
+			terms[i] = fromWinner(objectives.getObjective(i));
+			values[i] = objectives.isUnbounded(i) ? null : fromWinner(objectives.getValue(i));
+			epsilons[i] = objectives.getEpsilon(i);
+		}
+		return new Objectives(terms, values, epsilons);
+	}
+
+	@Override
+	public Assignments getAssignment() throws SMTLIBException, UnsupportedOperationException {
+		return getWinner().getAssignment();
+	}
+
+	@Override
+	public Object getInfo(final String info) throws UnsupportedOperationException, SMTLIBException {
+		return getWinner().getInfo(info);
+	}
+
+	@Override
+	public Term[] getInterpolants(final Term[] partition) throws SMTLIBException, UnsupportedOperationException {
+		return fromWinner(getWinner().getInterpolants(toWinner(partition)));
+	}
+
+	@Override
+	public Term[] getInterpolants(final Term[] partition, final int[] startOfSubtree)
+			throws SMTLIBException, UnsupportedOperationException {
+		return fromWinner(getWinner().getInterpolants(toWinner(partition), startOfSubtree));
+	}
+
+	@Override
+	public Term[] getInterpolants(final Term[] partition, final int[] startOfSubtree, final Term proofTree)
+			throws SMTLIBException, UnsupportedOperationException {
+		final Term winnerProof = mWinner == PRIMARY ? proofTree : mToWorker.get(mWinner).transform(proofTree);
+		return fromWinner(getWinner().getInterpolants(toWinner(partition), startOfSubtree, winnerProof));
+	}
+
+	@Override
+	public Model getModel() throws SMTLIBException, UnsupportedOperationException {
+		final Model model = getWinner().getModel();
+		if (mWinner == PRIMARY) {
+			return model;
+		}
+		return new TranslatedModel(model, mToWorker.get(mWinner), mFromWorker.get(mWinner));
+	}
+
+	@Override
+	public void reset() {
+		mPrimary.reset();
+		mWorkers.clear();
+		mToWorker.clear();
+		mFromWorker.clear();
+		mWinner = PRIMARY;
+	}
+
+	@Override
+	public void resetAssertions() {
+		mPrimary.resetAssertions();
+		for (final SMTInterpol worker : mWorkers) {
+			worker.resetAssertions();
+		}
+		clearTranslations();
+		mWinner = PRIMARY;
+	}
+
+	@Override
+	public void exit() {
+		if (mExecutor != null) {
+			mExecutor.shutdownNow();
+			mExecutor = null;
+		}
+		mPrimary.exit();
+	}
+}
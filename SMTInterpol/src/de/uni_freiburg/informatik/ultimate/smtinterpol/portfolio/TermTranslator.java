@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.portfolio;
+
+import java.util.HashMap;
+
+import de.uni_freiburg.informatik.ultimate.logic.AnnotatedTerm;
+import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.ApplicationTerm;
+import de.uni_freiburg.informatik.ultimate.logic.ConstantTerm;
+import de.uni_freiburg.informatik.ultimate.logic.DataType;
+import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbol;
+import de.uni_freiburg.informatik.ultimate.logic.LambdaTerm;
+import de.uni_freiburg.informatik.ultimate.logic.LetTerm;
+import de.uni_freiburg.informatik.ultimate.logic.MatchTerm;
+import de.uni_freiburg.informatik.ultimate.logic.NonRecursive;
+import de.uni_freiburg.informatik.ultimate.logic.QuantifiedFormula;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermTransformer;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import de.uni_freiburg.informatik.ultimate.logic.Theory;
+
+/**
+ * Translates terms of one theory into structurally equal terms of another theory. Function symbols and sorts are
+ * looked up by name in the target theory, so every declaration used by a translated term must have been repeated in
+ * the target theory. Defined sorts are expanded.
+ *
+ * The translations of closed terms are cached until {@link #clear()} is called. A translator can be paired with a
+ * translator in the opposite direction; then every translation is also entered into the cache of the inverse
+ * translator, and {@link #getCached(Term)} of the inverse finds the source of a translated term.
+ *
+ * A translator creates terms in the target theory. It must only be used by a thread that owns the target theory.
+ */
+class TermTranslator extends TermTransformer {
+	private final Theory mTarget;
+	private TermTranslator mInverse;
+	private final HashMap<Term, Term> mCache = new HashMap<>();
+	private final HashMap<Sort, Sort> mSorts = new HashMap<>();
+	private final HashMap<FunctionSymbol, FunctionSymbol> mFunctions = new HashMap<>();
+
+	/**
+	 * Create a translator.
+	 *
+	 * @param target
+	 *            the theory of the translated terms.
+	 */
+	TermTranslator(final Theory target) {
+		mTarget = target;
+	}
+
+	/**
+	 * Pair two translators between the same theories in opposite directions.
+	 */
+	static void pair(final TermTranslator forward, final TermTranslator backward) {
+		forward.mInverse = backward;
+		backward.mInverse = forward;
+	}
+
+	/**
+	 * Cache the translation of a closed term.
+	 */
+	private static class CacheResult implements NonRecursive.Walker {
+		private final Term mSource;
+
+		CacheResult(final Term source) {
+			mSource = source;
+		}
+
+		@Override
+		public void walk(final NonRecursive engine) {
+			final TermTranslator translator = (TermTranslator) engine;
+			final Term result = translator.getConverted();
+			translator.mCache.put(mSource, result);
+			if (translator.mInverse != null) {
+				translator.mInverse.mCache.put(result, mSource);
+			}
+			translator.setResult(result);
+		}
+	}
+
+	/**
+	 * Get a cached translation without creating any term.
+	 *
+	 * @return the translation, or null if the term was not translated yet.
+	 */
+	Term getCached(final Term term) {
+		return mCache.get(term);
+	}
+
+	/**
+	 * Forget all cached translations. This must be called when declarations are removed from one of the theories.
+	 */
+	void clear() {
+		mCache.clear();
+		mSorts.clear();
+		mFunctions.clear();
+	}
+
+	/**
+	 * Map a sort variable of the source theory to a sort variable of the target theory. This is needed to translate
+	 * the constructors of parametric data types.
+	 */
+	void mapSortVariable(final Sort source, final Sort target) {
+		assert source.isSortVariable() && target.isSortVariable();
+		mSorts.put(source, target);
+	}
+
+	Sort translate(final Sort sort) {
+		Sort result = mSorts.get(sort);
+		if (result == null) {
+			final Sort real = sort.getRealSort();
+			if (real.isSortVariable()) {
+				throw new SMTLIBException("Unknown sort variable " + real);
+			}
+			result = mTarget.getSort(real.getName(), real.getIndices(), translate(real.getArguments()));
+			if (result == null) {
+				throw new SMTLIBException("Unknown sort " + real);
+			}
+			mSorts.put(sort, result);
+		}
+		return result;
+	}
+
+	Sort[] translate(final Sort[] sorts) {
+		final Sort[] result = new Sort[sorts.length];
+		for (int i = 0; i < sorts.length; i++) {
+			result[i] = translate(sorts[i]);
+		}
+		return result;
+	}
+
+	FunctionSymbol translate(final FunctionSymbol fsym) {
+		FunctionSymbol result = mFunctions.get(fsym);
+		if (result == null) {
+			final Sort resultSort = fsym.isReturnOverload() ? translate(fsym.getReturnSort()) : null;
+			result = mTarget.getFunctionWithResult(fsym.getName(), fsym.getIndices(), resultSort,
+					translate(fsym.getParameterSorts()));
+			mFunctions.put(fsym, result);
+		}
+		return result;
+	}
+
+	TermVariable translate(final TermVariable var) {
+		return mTarget.createTermVariable(var.getName(), translate(var.getSort()));
+	}
+
+	TermVariable[] translate(final TermVariable[] vars) {
+		final TermVariable[] result = new TermVariable[vars.length];
+		for (int i = 0; i < vars.length; i++) {
+			result[i] = translate(vars[i]);
+		}
+		return result;
+	}
+
+	Term[] translate(final Term[] terms) {
+		final Term[] result = new Term[terms.length];
+		for (int i = 0; i < terms.length; i++) {
+			result[i] = transform(terms[i]);
+		}
+		return result;
+	}
+
+	@Override
+	protected void convert(final Term term) {
+		final Term cached = mCache.get(term);
+		if (cached != null) {
+			setResult(cached);
+			return;
+		}
+		if (term.getFreeVars().length == 0) {
+			enqueueWalker(new CacheResult(term));
+		}
+		if (term instanceof ConstantTerm) {
+			final ConstantTerm constant = (ConstantTerm) term;
+			setResult(mTarget.constant(constant.getValue(), translate(constant.getSort())));
+		} else if (term instanceof TermVariable) {
+			setResult(translate((TermVariable) term));
+		} else {
+			super.convert(term);
+		}
+	}
+
+	@Override
+	public void convertApplicationTerm(final ApplicationTerm appTerm, final Term[] newArgs) {
+		setResult(mTarget.term(translate(appTerm.getFunction()), newArgs));
+	}
+
+	@Override
+	public void postConvertLet(final LetTerm oldLet, final Term[] newValues, final Term newBody) {
+		setResult(mTarget.let(translate(oldLet.getVariables()), newValues, newBody));
+	}
+
+	@Override
+	public void postConvertLambda(final LambdaTerm old, final Term newBody) {
+		setResult(mTarget.lambda(translate(old.getVariables()), newBody));
+	}
+
+	@Override
+	public void postConvertQuantifier(final QuantifiedFormula old, final Term newBody) {
+		final TermVariable[] vars = translate(old.getVariables());
+		setResult(old.getQuantifier() == QuantifiedFormula.EXISTS ? mTarget.exists(vars, newBody)
+				: mTarget.forall(vars, newBody));
+	}
+
+	@Override
+	public void postConvertAnnotation(final AnnotatedTerm old, final Annotation[] newAnnots, final Term newBody) {
+		setResult(mTarget.annotatedTerm(newAnnots, newBody));
+	}
+
+	@Override
+	public void postConvertMatch(final MatchTerm oldMatch, final Term newDataTerm, final Term[] newCases) {
+		final TermVariable[][] oldVars = oldMatch.getVariables();
+		final TermVariable[][] vars = new TermVariable[oldVars.length][];
+		for (int i = 0; i < oldVars.length; i++) {
+			vars[i] = translate(oldVars[i]);
+		}
+		final DataType datatype = (DataType) newDataTerm.getSort().getSortSymbol();
+		final DataType.Constructor[] oldConstructors = oldMatch.getConstructors();
+		final DataType.Constructor[] constructors = new DataType.Constructor[oldConstructors.length];
+		for (int i = 0; i < oldConstructors.length; i++) {
+			if (oldConstructors[i] != null) {
+				constructors[i] = datatype.getConstructor(oldConstructors[i].getName());
+			}
+		}
+		setResult(mTarget.match(newDataTerm, vars, newCases, constructors));
+	}
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.uni_freiburg.informatik.ultimate.logic.Objectives;
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.LogProxy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.convert.Clausifier;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.convert.SMTAffineTerm;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.InfinitesimalNumber;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.MutableAffineTerm;
+
+/**
+ * Optimizes the objectives of a satisfiable check-sat in lexicographic order. Every objective is turned into a term
+ * {@code s} that is minimized. The optimizer then repeatedly checks the assertions together with the assumptions of
+ * the check-sat and a literal {@code s < v} resp. {@code s <= v} asking for a better value. The checks are incremental
+ * and keep the learned clauses.
+ *
+ * For real objectives in a logic without integers, the target of the next check is the minimum of the linear relaxation
+ * of the current model, i.e., of the asserted bounds, which {@link LinArSolve#maximize} computes with the primal
+ * simplex. Every improving model lies in a different branch, so this ends after finitely many steps. For integer
+ * objectives, the optimizer gallops down from the model value and then uses binary search. An integer objective is
+ * unbounded if the linear relaxation is unbounded. Real objectives in logics with integers fix the integer variables
+ * of the current model and take the minimum of the remaining linear relaxation.
+ *
+ * After an objective is optimized, its optimum is assumed for the following objectives. The last check is satisfiable
+ * and its model has the optimal values.
+ */
+class ObjectiveOptimizer {
+
+	/**
+	 * An objective added by minimize or maximize.
+	 */
+	static class Objective {
+		final Term mTerm;
+		final boolean mMaximize;
+
+		Objective(final Term term, final boolean maximize) {
+			mTerm = term;
+			mMaximize = maximize;
+		}
+	}
+
+	private final SMTInterpol mSolver;
+	private final LinArSolve mLASolver;
+	private final LogProxy mLogger;
+	private final boolean mHasIntegers;
+	/**
+	 * The assumptions of the check-sat followed by the optimal values of the objectives optimized so far.
+	 */
+	private final ArrayList<Literal> mAssumptions;
+	/**
+	 * The result of the last check.
+	 */
+	private LBool mStatus;
+
+	private final Term[] mObjectives;
+	private final boolean[] mMaximize;
+	private final Term[] mMinimized;
+	private final MutableAffineTerm[] mAffineTerms;
+	private final Term[] mValues;
+	private final int[] mEpsilons;
+
+	/**
+	 * The optimum of the current objective, or null if it is unbounded, and the coefficient of epsilon in it.
+	 */
+	private Rational mBest;
+	private int mBestEpsilon;
+
+	/**
+	 * Create the optimizer and the linear arithmetic representation of the objectives. This must be done before the
+	 * first check, since it may create new terms and variables.
+	 */
+	ObjectiveOptimizer(final SMTInterpol solver, final Clausifier clausifier, final List<Objective> objectives) {
+		mSolver = solver;
+		mLASolver = clausifier.getLASolver();
+		mLogger = solver.getLogger();
+		mHasIntegers = solver.getTheory().getLogic().hasIntegers();
+		mAssumptions = new ArrayList<>();
+		mObjectives = new Term[objectives.size()];
+		mMaximize = new boolean[objectives.size()];
+		mMinimized = new Term[objectives.size()];
+		mAffineTerms = new MutableAffineTerm[objectives.size()];
+		mValues = new Term[objectives.size()];
+		mEpsilons = new int[objectives.size()];
+		for (int i = 0; i < mObjectives.length; i++) {
+			final Objective obj = objectives.get(i);
+			mObjectives[i] = obj.mTerm;
+			mMaximize[i] = obj.mMaximize;
+			mMinimized[i] = obj.mMaximize ? solver.term("-", obj.mTerm) : obj.mTerm;
+			mAffineTerms[i] = clausifier.createMutableAffineTerm(mMinimized[i]);
+		}
+	}
+
+	private LBool check(final Literal query) {
+		final Literal[] lits = mAssumptions.toArray(new Literal[mAssumptions.size() + (query == null ? 0 : 1)]);
+		if (query != null) {
+			lits[lits.length - 1] = query;
+		}
+		mStatus = mSolver.checkSatLiterals(lits);
+		return mStatus;
+	}
+
+	/**
+	 * Create the literal {@code at < bound} resp. {@code at <= bound}.
+	 */
+	private Literal createBound(final MutableAffineTerm at, final Rational bound, final boolean strict) {
+		final MutableAffineTerm diff = new MutableAffineTerm();
+		diff.add(Rational.ONE, at);
+		diff.add(bound.negate());
+		return mLASolver.generateConstraint(diff, strict);
+	}
+
+	/**
+	 * Check if the linear relaxation of the current model is unbounded from below.
+	 */
+	private boolean isRelaxationUnbounded(final MutableAffineTerm at) {
+		return getRelaxationMinimum(at) == null;
+	}
+
+	/**
+	 * Compute the minimum of the linear relaxation of the current model.
+	 *
+	 * @return the minimum, or null if it is unbounded.
+	 */
+	private InfinitesimalNumber getRelaxationMinimum(final MutableAffineTerm at) {
+		final MutableAffineTerm negated = new MutableAffineTerm();
+		negated.add(Rational.MONE, at);
+		final InfinitesimalNumber max = mLASolver.maximize(negated);
+		return max.isInfinity() ? null : max.negate();
+	}
+
+	private Rational getModelValue(final Term term) {
+		final Term value = mSolver.getValue(new Term[] { term }).get(term);
+		return new SMTAffineTerm(value).getConstant();
+	}
+
+	/**
+	 * Optimize all objectives.
+	 *
+	 * @param assumptions
+	 *            the assumptions of the check-sat.
+	 * @return the result of the last check. If it is sat, {@link #getObjectives()} returns the optimal values.
+	 */
+	LBool optimize(final Literal[] assumptions) {
+		Collections.addAll(mAssumptions, assumptions);
+		if (check(null) != LBool.SAT) {
+			return mStatus;
+		}
+		for (int i = 0; i < mObjectives.length; i++) {
+			final MutableAffineTerm at = mAffineTerms[i];
+			final boolean done;
+			if (at.isConstant()) {
+				mBest = at.getConstant().mReal;
+				mBestEpsilon = 0;
+				done = true;
+			} else if (mMinimized[i].getSort().getName().equals("Int")) {
+				done = minimizeInt(mMinimized[i], at);
+			} else if (!mHasIntegers) {
+				done = minimizeReal(at);
+			} else {
+				done = minimizeMixed(mMinimized[i], at);
+			}
+			if (!done || (mStatus != LBool.SAT && check(null) != LBool.SAT)) {
+				return mStatus;
+			}
+			final boolean maximize = mMaximize[i];
+			if (mBest == null) {
+				mEpsilons[i] = maximize ? 1 : -1;
+			} else {
+				mValues[i] = (maximize ? mBest.negate() : mBest).toTerm(mObjectives[i].getSort());
+				mEpsilons[i] = maximize ? -mBestEpsilon : mBestEpsilon;
+			}
+		}
+		return mStatus;
+	}
+
+	/**
+	 * Minimize a real objective in a logic without integers. The linear relaxation of the current model is exact up to
+	 * disequalities, so its minimum is the best value in the branch of the current model.
+	 *
+	 * @return false if a check did not complete.
+	 */
+	private boolean minimizeReal(final MutableAffineTerm at) {
+		while (true) {
+			final InfinitesimalNumber min = getRelaxationMinimum(at);
+			if (min == null) {
+				mBest = null;
+				return true;
+			}
+			// ask for a model better than the minimum of this branch
+			final LBool res = check(createBound(at, min.mReal, min.mEps == 0));
+			if (res == LBool.UNSAT) {
+				mBest = min.mReal;
+				mBestEpsilon = 1;
+				if (min.mEps == 0) {
+					// disequalities may exclude the minimum
+					final Literal fixed = createBound(at, min.mReal, false);
+					if (check(fixed) == LBool.SAT) {
+						mAssumptions.add(fixed);
+						mBestEpsilon = 0;
+					}
+				}
+				return mStatus != LBool.UNKNOWN;
+			} else if (res != LBool.SAT) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Minimize an integer objective. First gallop down from the model value to find a lower bound, then search the
+	 * optimum by bisection.
+	 *
+	 * @return false if a check did not complete.
+	 */
+	private boolean minimizeInt(final Term term, final MutableAffineTerm at) {
+		Rational best = getModelValue(term);
+		Rational step = Rational.ONE;
+		// the value lower is known to be too small.
+		Rational lower = null;
+		while (lower == null) {
+			if (isRelaxationUnbounded(at)) {
+				// the relaxation of a satisfiable integer problem is only unbounded if the problem is.
+				mBest = null;
+				return true;
+			}
+			final Rational target = best.sub(step);
+			final LBool res = check(createBound(at, target, false));
+			if (res == LBool.SAT) {
+				best = getModelValue(term);
+				step = step.mul(Rational.TWO);
+			} else if (res == LBool.UNSAT) {
+				lower = target;
+			} else {
+				return false;
+			}
+		}
+		while (best.sub(lower).compareTo(Rational.ONE) > 0) {
+			final Rational mid = lower.add(best).div(Rational.TWO).floor();
+			final LBool res = check(createBound(at, mid, false));
+			if (res == LBool.SAT) {
+				best = getModelValue(term);
+			} else if (res == LBool.UNSAT) {
+				lower = mid;
+			} else {
+				return false;
+			}
+		}
+		fix(at, best);
+		return true;
+	}
+
+	/**
+	 * Minimize a real objective in a logic with integers. For every model, the integer variables are fixed to their
+	 * values and the minimum of the linear relaxation of this branch is computed as in
+	 * {@link #minimizeReal(MutableAffineTerm)}. Then the optimizer asks for a model better than this minimum, which
+	 * has a different integer assignment or lies in a different branch. If there is no optimum after
+	 * {@link Config#OPTIMIZE_MAX_STEPS} models, the result is unknown.
+	 *
+	 * @return false if a check did not complete or the step limit was reached.
+	 */
+	private boolean minimizeMixed(final Term term, final MutableAffineTerm at) {
+		for (int steps = 0; steps < Config.OPTIMIZE_MAX_STEPS; steps++) {
+			if (isRelaxationUnbounded(at)) {
+				// a satisfiable problem with rational coefficients is unbounded if its relaxation is.
+				mBest = null;
+				return true;
+			}
+			final int numAssumptions = mAssumptions.size();
+			mAssumptions.addAll(mLASolver.fixIntegerValues());
+			final LBool fixedRes = check(null);
+			mAssumptions.subList(numAssumptions, mAssumptions.size()).clear();
+			if (fixedRes != LBool.SAT) {
+				return false;
+			}
+			final InfinitesimalNumber min = getRelaxationMinimum(at);
+			if (min == null) {
+				// the real variables of this branch can move arbitrarily far.
+				mBest = null;
+				return true;
+			}
+			final LBool res = check(createBound(at, min.mReal, min.mEps == 0));
+			if (res == LBool.UNSAT) {
+				mBest = min.mReal;
+				mBestEpsilon = 1;
+				if (min.mEps == 0) {
+					final Literal fixed = createBound(at, min.mReal, false);
+					if (check(fixed) == LBool.SAT) {
+						mAssumptions.add(fixed);
+						mBestEpsilon = 0;
+					}
+				}
+				return mStatus != LBool.UNKNOWN;
+			} else if (res != LBool.SAT) {
+				return false;
+			}
+		}
+		mLogger.warn("Objective %s not optimal after %d steps", term, Config.OPTIMIZE_MAX_STEPS);
+		mStatus = LBool.UNKNOWN;
+		return false;
+	}
+
+	/**
+	 * Record an attained optimum and assume it for the remaining objectives.
+	 */
+	private void fix(final MutableAffineTerm at, final Rational best) {
+		mBest = best;
+		mBestEpsilon = 0;
+		mAssumptions.add(createBound(at, best, false));
+	}
+
+	/**
+	 * Get the optimal values computed by the last successful call of {@link #optimize(Literal[])}.
+	 */
+	Objectives getObjectives() {
+		return new Objectives(mObjectives, mValues, mEpsilons);
+	}
+}
@@ -40,6 +40,7 @@ import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbolFactory;
 import de.uni_freiburg.informatik.ultimate.logic.Logics;
 import de.uni_freiburg.informatik.ultimate.logic.Model;
 import de.uni_freiburg.informatik.ultimate.logic.NoopScript;
+import de.uni_freiburg.informatik.ultimate.logic.Objectives;
 import de.uni_freiburg.informatik.ultimate.logic.PrintTerm;
 import de.uni_freiburg.informatik.ultimate.logic.QuotedObject;
 import de.uni_freiburg.informatik.ultimate.logic.Rational;
@@ -167,6 +168,11 @@ public class SMTInterpol extends NoopScript {
 	private DPLLEngine mEngine;
 	private Clausifier mClausifier;
 	private ScopedArrayList<Term> mAssertions;
+	private final ScopedArrayList<ObjectiveOptimizer.Objective> mObjectives = new ScopedArrayList<>();
+	/**
+	 * The optimal values of the objectives found by the last check-sat.
+	 */
+	private Objectives mObjectiveValues;
 	private TerminationRequest mCancel;
 	private TimeoutHandler mTimeout;
 	private ResourceLimit mResourceLimit;
@@ -341,6 +347,36 @@ public class SMTInterpol extends NoopScript {
 		setupClausifier(getTheory().getLogic());
 	}
 
+	/**
+	 * Create a new context with the options of another context. Unlike the copy
+	 * constructor, the new context has its own theory and shares no symbols,
+	 * terms, or assertions with the other context. Hence, both contexts can be
+	 * used in different threads. The logic is not set.
+	 *
+	 * @param other
+	 *            The context whose options are copied.
+	 * @param cancel
+	 *            User termination request to poll during checks.
+	 * @param options
+	 *            The options to set after copying.
+	 * @param mode
+	 *            What to do when copying existing options.
+	 */
+	public SMTInterpol(final SMTInterpol other, final TerminationRequest cancel, final Map<String, Object> options,
+			final OptionMap.CopyMode mode) {
+		mLogger = other.mLogger;
+		mOptions = other.mOptions.copy(mode);
+		mSolverOptions = mOptions.getSolverOptions();
+		if (options != null) {
+			for (final Map.Entry<String, Object> me : options.entrySet()) {
+				setOption(me.getKey(), me.getValue());
+			}
+		}
+		mCancel = cancel;
+		mTimeout = new TimeoutHandler(mCancel);
+		mResourceLimit = new ResourceLimit(mTimeout);
+	}
+
 	/**
 	 * Set an error callback that will be notified about internal problems in the
 	 * solving process: failed model checks, proof checks, interrnal errors, etc.
@@ -366,6 +402,7 @@ public class SMTInterpol extends NoopScript {
 		if (mAssertions != null) {
 			mAssertions.clear();
 		}
+		mObjectives.clear();
 		mOptions.reset();
 		mNextQuickCheck = 1;
 		mNumAsserts = 0;
@@ -378,6 +415,7 @@ public class SMTInterpol extends NoopScript {
 		if (mAssertions != null) {
 			mAssertions.clear();
 		}
+		mObjectives.clear();
 		setupClausifier(getTheory().getLogic());
 	}
 
@@ -389,6 +427,7 @@ public class SMTInterpol extends NoopScript {
 			if (mAssertions != null) {
 				mAssertions.beginScope();
 			}
+			mObjectives.beginScope();
 			mClausifier.push();
 		}
 	}
@@ -409,6 +448,7 @@ public class SMTInterpol extends NoopScript {
 			if (mAssertions != null) {
 				mAssertions.endScope();
 			}
+			mObjectives.endScope();
 		}
 		mClausifier.pop(n);
 	}
@@ -425,8 +465,9 @@ public class SMTInterpol extends NoopScript {
 		}
 		mModel = null;
 		mAssertionStackModified = false;
-		mEngine.clearAssumptions();
-		if (assumptions != null && assumptions.length != 0) {
+		mObjectiveValues = null;
+		final Literal[] assumptionlits = new Literal[assumptions == null ? 0 : assumptions.length];
+		if (assumptionlits.length != 0) {
 			if (Config.STRONG_USAGE_CHECKS) {
 				// Check that every literal is a Boolean constant or its negation
 				for (final Term ass : assumptions) {
@@ -443,15 +484,41 @@ public class SMTInterpol extends NoopScript {
 					}
 				}
 			}
+			for (int i = 0; i < assumptions.length; ++i) {
+				assumptionlits[i] = mClausifier.getCreateLiteral(assumptions[i], new SourceAnnotation("", null));
+			}
+		}
+		if (mObjectives.isEmpty()) {
+			return checkSatLiterals(assumptionlits);
+		}
+		final ObjectiveOptimizer optimizer = new ObjectiveOptimizer(this, mClausifier, mObjectives);
+		final LBool result = optimizer.optimize(assumptionlits);
+		if (result == LBool.SAT) {
+			mObjectiveValues = optimizer.getObjectives();
+		} else if (result == LBool.UNKNOWN && mStatus == LBool.SAT) {
+			// the optimizer gave up
+			mStatus = LBool.UNKNOWN;
+			mReasonUnknown = ReasonUnknown.INCOMPLETE;
+		}
+		return result;
+	}
+
+	/**
+	 * Check satisfiability of the assertion stack under some assumptions.
+	 *
+	 * @param assumptionlits
+	 *            the literals to assume.
+	 * @return the result of the check.
+	 */
+	LBool checkSatLiterals(final Literal[] assumptionlits) {
+		mModel = null;
+		mEngine.clearAssumptions();
+		if (assumptionlits.length != 0) {
 			// Since checkSatAssuming does not first do bcp and we might have
 			// popped, we manually trigger bcp
 			if (!mEngine.quickCheck()) {
 				return LBool.UNSAT;
 			}
-			final Literal[] assumptionlits = new Literal[assumptions.length];
-			for (int i = 0; i < assumptions.length; ++i) {
-				assumptionlits[i] = mClausifier.getCreateLiteral(assumptions[i], new SourceAnnotation("", null));
-			}
 			mEngine.assume(assumptionlits);
 		}
 		final long timeout = mSolverOptions.getTimeout();
@@ -594,6 +661,10 @@ public class SMTInterpol extends NoopScript {
 		try {
 			final ProofMode proofMode = getProofMode();
 			mEngine = new DPLLEngine(mLogger, mResourceLimit);
+			mEngine.setLearnedClausePolicy(mSolverOptions.getLearnedClausePolicy());
+			mEngine.setInprocessing(mSolverOptions.isInprocessing());
+			mEngine.setRestartPolicy(mSolverOptions.getRestartPolicy());
+			mEngine.setInitialPhase(mSolverOptions.getInitialPhase());
 			mClausifier = new Clausifier(getTheory(), mEngine, proofMode);
 			// This has to be before set-logic since we need to capture
 			// initialization of CClosure.
@@ -602,6 +673,9 @@ public class SMTInterpol extends NoopScript {
 					mSolverOptions.getInstantiationMethod(), getBooleanOption(SMTInterpolConstants.UNKNOWN_TERM_DAWGS),
 					getBooleanOption(SMTInterpolConstants.PROPAGATE_UNKNOWN_TERMS),
 					getBooleanOption(SMTInterpolConstants.PROPAGATE_UNKNOWN_AUX));
+			mClausifier.setArithmeticOptions(mSolverOptions.isFloatSimplex(), mSolverOptions.isRevisedSimplex(),
+					mSolverOptions.getCutPolicy(), mSolverOptions.getBranchPolicy(), mSolverOptions.getPricingRule());
+			mClausifier.setCongruenceOptions(mSolverOptions.getAckermannThreshold());
 			mClausifier.setLogic(logic);
 			final boolean produceAssignments = getBooleanOption(SMTLIBConstants.PRODUCE_ASSIGNMENTS);
 			mClausifier.setAssignmentProduction(produceAssignments);
@@ -1337,6 +1411,52 @@ public class SMTInterpol extends NoopScript {
 		return new Term[] { at, bt, ct };
 	}
 
+	@Override
+	public void minimize(final Term objective) throws SMTLIBException {
+		addObjective(objective, false);
+	}
+
+	@Override
+	public void maximize(final Term objective) throws SMTLIBException {
+		addObjective(objective, true);
+	}
+
+	private void addObjective(final Term objective, final boolean maximize) throws SMTLIBException {
+		if (mEngine == null) {
+			throw new SMTLIBException("No logic set!");
+		}
+		if (mClausifier.getLASolver() == null) {
+			throw new UnsupportedOperationException("Objectives need linear arithmetic");
+		}
+		if (!objective.getSort().isNumericSort()) {
+			throw new SMTLIBException("Objectives must be numeric");
+		}
+		if (objective.getSort().getTheory() != getTheory()) {
+			throw new SMTLIBException("Objective created with incompatible theory");
+		}
+		modifyAssertionStack();
+		mObjectives.add(new ObjectiveOptimizer.Objective(objective, maximize));
+	}
+
+	/**
+	 * Check if the assertion stack contains objectives.
+	 */
+	public boolean hasObjectives() {
+		return !mObjectives.isEmpty();
+	}
+
+	@Override
+	public Objectives getObjectives() throws SMTLIBException {
+		if (mEngine == null) {
+			throw new SMTLIBException("No logic set!");
+		}
+		checkAssertionStackModified();
+		if (mObjectiveValues == null) {
+			throw new SMTLIBException("No objectives optimized by the last check-sat");
+		}
+		return mObjectiveValues;
+	}
+
 	@Override
 	public void declareFun(final String fun, final Sort[] paramSorts, final Sort resultSort) throws SMTLIBException {
 		final Sort realSort = resultSort.getRealSort();
@@ -20,6 +20,7 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -65,6 +66,12 @@ import de.uni_freiburg.informatik.ultimate.util.HashUtils;
  * </p>
  *
  * <p>
+ * The weak equivalent graph only depends on the congruence classes of the arrays and of the select and store indices.
+ * It is kept when the congruence closure merges or separates other classes, e.g., the values of selects, and only the
+ * propagated lemmas are recomputed. The candidates for these lemmas are kept in an index keyed by the select index.
+ * </p>
+ *
+ * <p>
  * The produced lemmas will always contain the equalities in a canonical form, namely the propagated equality is on the
  * select terms, for which the equality was propagated and the index disequality is on the index of the first select
  * term with the index of the store term.
@@ -205,6 +212,7 @@ public class ArrayTheory implements ITheory {
 						assert (getArrayFromSelect(select).getRepresentative() == mTerm);
 						assert (select != null);
 						mSelects.put(select.mArg.getRepresentative(), select);
+						mIndexTerms.add(select.mArg);
 					}
 				}
 			}
@@ -391,7 +399,7 @@ public class ArrayTheory implements ITheory {
 		 * @param store
 		 *            The store term that caused this edge
 		 * @param propLemmas
-		 *            A collection where propagated array lemmas are added to by this method.
+		 *            A collection where the array lemma candidates are added to by this method.
 		 */
 		public void mergeWith(final ArrayNode storeNode, final CCAppTerm store, final Collection<ArrayLemma> propLemmas) {
 			assert mPrimaryEdge == null && storeNode.mPrimaryEdge == null;
@@ -409,9 +417,7 @@ public class ArrayTheory implements ITheory {
 				} else {
 					final CCTerm const1 = getValueFromConst(mConstTerm);
 					final CCTerm const2 = getValueFromConst(storeNode.mConstTerm);
-					if (const1.getRepresentative() != const2.getRepresentative()) {
-						propLemmas.add(new ArrayLemma(RuleKind.CONST_WEAKEQ, const1, const2));
-					}
+					propLemmas.add(new ArrayLemma(RuleKind.CONST_WEAKEQ, const1, const2));
 				}
 			} else if (storeNode.mConstTerm != null) {
 				mergeConstSelects.putAll(mSelects);
@@ -433,10 +439,8 @@ public class ArrayTheory implements ITheory {
 						storeNode.mSelects.put(index, select);
 					} else {
 						mergeConstSelects.remove(index);
-						if (select.getRepresentative() != otherSelect.getRepresentative()) {
-							// add propagated equality
-							propLemmas.add(new ArrayLemma(RuleKind.READ_OVER_WEAKEQ, select, otherSelect));
-						}
+						// add propagated equality
+						propLemmas.add(new ArrayLemma(RuleKind.READ_OVER_WEAKEQ, select, otherSelect));
 					}
 				}
 			}
@@ -451,9 +455,7 @@ public class ArrayTheory implements ITheory {
 					if (constNode.getWeakIRepresentative(index) == storeNode) {
 						// do not keep select, we will merge it with the constant value
 						storeNode.mSelects.remove(index);
-						if (select.getRepresentative() != const1.getRepresentative()) {
-							propLemmas.add(new ArrayLemma(RuleKind.READ_CONST_WEAKEQ, select, const1));
-						}
+						propLemmas.add(new ArrayLemma(RuleKind.READ_CONST_WEAKEQ, select, const1));
 					}
 				}
 			}
@@ -469,7 +471,7 @@ public class ArrayTheory implements ITheory {
 		 * @param store
 		 *            The store term that caused this edge
 		 * @param propEqualities
-		 *            A collection where propagated array lemmas are added to by this method.
+		 *            A collection where the array lemma candidates are added to by this method.
 		 */
 		public void mergeSecondary(final ArrayNode storeNode, final CCAppTerm store, final Collection<ArrayLemma> propEqualities) {
 			assert storeNode.mPrimaryEdge == null;
@@ -488,9 +490,7 @@ public class ArrayTheory implements ITheory {
 				if (otherSelect == null) {
 					storeNode.mSelects.put(storeIndex, select);
 				} else {
-					if (select.getRepresentative() != otherSelect.getRepresentative()) {
-						propEqualities.add(new ArrayLemma(RuleKind.READ_OVER_WEAKEQ, select, otherSelect));
-					}
+					propEqualities.add(new ArrayLemma(RuleKind.READ_OVER_WEAKEQ, select, otherSelect));
 				}
 				mSelects = Collections.emptyMap();
 			}
@@ -502,7 +502,7 @@ public class ArrayTheory implements ITheory {
 					// do not keep select, we will merge it with the constant value
 					final CCAppTerm select = storeNode.mSelects.remove(storeIndex);
 					final CCTerm const1 = getValueFromConst(storeNode.mConstTerm);
-					if (select != null && select.getRepresentative() != const1.getRepresentative()) {
+					if (select != null) {
 						propEqualities.add(new ArrayLemma(RuleKind.READ_CONST_WEAKEQ, select, const1));
 					}
 				}
@@ -579,6 +579,10 @@ public class ArrayTheory implements ITheory {
 	private static class ArrayLemma {
 		RuleKind mRule;
 		SymmetricPair<CCTerm> mPropagatedEq;
+		/**
+		 * The equality literals of the lemma on the current weak equivalent graph, or null if not yet computed.
+		 */
+		List<CCEquality> mLiterals;
 		Set<CCEquality> mUndecidedLits;
 
 		public ArrayLemma(final RuleKind rule, final CCTerm lhs, final CCTerm rhs) {
@@ -622,7 +626,30 @@ public class ArrayTheory implements ITheory {
 	private final ScopedLinkedHashSet<CCAppTerm> mDiffs = new ScopedLinkedHashSet<>();
 	private final ScopedLinkedHashSet<CCAppTerm> mConsts = new ScopedLinkedHashSet<>();
 
+	/**
+	 * The lemmas whose equality does not hold yet, together with their undecided literals.
+	 */
 	private final ArrayDeque<ArrayLemma> mPropClauses = new ArrayDeque<>();
+	/**
+	 * True if mPropClauses is up to date with the current weak equivalent graph and the current assignment.
+	 */
+	private boolean mPropClausesValid = false;
+	/**
+	 * The lemma candidates of the current weak equivalent graph. The key is the representative of the select index,
+	 * or null for lemmas between two constant arrays. A candidate is propagated if the sides of its equality are in
+	 * different congruence classes.
+	 */
+	private final LinkedHashMap<CCTerm, ArrayList<ArrayLemma>> mLemmaCandidates = new LinkedHashMap<>();
+	/**
+	 * The select and store indices of the current weak equivalent graph. A merge of their congruence classes changes
+	 * the graph.
+	 */
+	private final HashSet<CCTerm> mIndexTerms = new HashSet<>();
+	/**
+	 * The terms on both sides of the equalities of the lemma candidates. Only a merge of their congruence classes
+	 * changes the lemmas to propagate.
+	 */
+	private final HashSet<CCTerm> mLemmaTerms = new HashSet<>();
 
 	private final LogProxy mLogger;
 
@@ -650,6 +677,7 @@ public class ArrayTheory implements ITheory {
 	private int mNumInstsSelect = 0;
 	private int mNumInstsEq = 0;
 	private int mNumBuildWeakEQ = 0;
+	private int mNumKeepWeakEQ = 0;
 	private int mNumAddStores = 0;
 	private int mNumMerges = 0;
 	private int mNumModuloEdges = 0;
@@ -662,6 +690,7 @@ public class ArrayTheory implements ITheory {
 		mClausifier = clausifier;
 		mCClosure = cclosure;
 		mLogger = mCClosure.getLogger();
+		mCClosure.mArrayTheory = this;
 	}
 
 	@Override
@@ -677,26 +706,54 @@ public class ArrayTheory implements ITheory {
 
 	@Override
 	public Clause setLiteral(final Literal literal) {
-		if (literal instanceof CCEquality) {
-			cleanCaches();
-		} else {
-			for (final ArrayLemma lemma : mPropClauses) {
-				if (lemma.mUndecidedLits.remove(literal.negate()) && lemma.mUndecidedLits.isEmpty()) {
-					return explainPropagation(lemma);
+		if (!mPropClausesValid || !(literal.getAtom() instanceof CCEquality)) {
+			return null;
+		}
+		final CCEquality eq = (CCEquality) literal.getAtom();
+		ArrayLemma conflict = null;
+		for (final CCTerm key : getLemmaKeys(eq)) {
+			final ArrayList<ArrayLemma> candidates = mLemmaCandidates.get(key);
+			if (candidates == null) {
+				continue;
+			}
+			for (final ArrayLemma lemma : candidates) {
+				if (lemma.mUndecidedLits != null && lemma.mUndecidedLits.remove(eq)) {
+					if (literal == eq) {
+						// the lemma is satisfied.
+						invalidatePropClauses();
+						return null;
+					}
+					if (conflict == null && lemma.mUndecidedLits.isEmpty()) {
+						conflict = lemma;
+					}
 				}
 			}
 		}
-		return null;
+		return conflict == null ? null : explainPropagation(conflict);
 	}
 
 	@Override
 	public void backtrackLiteral(final Literal literal) {
-		cleanCaches();
+		if (!mPropClausesValid || !(literal.getAtom() instanceof CCEquality)) {
+			return;
+		}
+		final CCEquality eq = (CCEquality) literal.getAtom();
+		for (final CCTerm key : getLemmaKeys(eq)) {
+			final ArrayList<ArrayLemma> candidates = mLemmaCandidates.get(key);
+			if (candidates == null) {
+				continue;
+			}
+			for (final ArrayLemma lemma : candidates) {
+				if (lemma.mUndecidedLits != null && lemma.mLiterals.contains(eq)) {
+					lemma.mUndecidedLits.add(eq);
+				}
+			}
+		}
 	}
 
 	@Override
 	public Clause checkpoint() {
-		if (mCongRoots == null && buildWeakEq()) {
+		if (!mPropClausesValid && computePropClauses()) {
 			for (final ArrayLemma lemma : mPropClauses) {
 				if (lemma.mUndecidedLits.isEmpty()) {
 					return explainPropagation(lemma);
@@ -741,8 +798,8 @@ public class ArrayTheory implements ITheory {
 	@Override
 	public Clause getUnitClause(final Literal literal) {
 		assert literal instanceof CCEquality;
-		if (mCongRoots == null) {
-			buildWeakEq();
+		if (!mPropClausesValid) {
+			computePropClauses();
 		}
 		for (final ArrayLemma lemma : mPropClauses) {
 			final Set<CCEquality> lits = lemma.mUndecidedLits;
@@ -797,6 +854,9 @@ public class ArrayTheory implements ITheory {
 		if (logger.isInfoEnabled()) {
 			logger.info("Array: #Arrays: %d, #BuildWeakEQ: %d, #ModEdges: %d, " + "#addStores: %d, #merges: %d",
 					mArrays.size(), mNumBuildWeakEQ, mNumModuloEdges, mNumAddStores, mNumMerges);
+			if (mNumKeepWeakEQ > 0) {
+				logger.info("Array: #KeepWeakEQ: %d", mNumKeepWeakEQ);
+			}
 			logger.info("Insts: ReadOverWeakEQ: %d, WeakeqExt: %d", mNumInstsSelect, mNumInstsEq);
 			logger.info("Time: BuildWeakEq: %d.%03d ms, BuildWeakEqi: %d.%03d ms",
 					mTimeBuildWeakEq / 1000000, mTimeBuildWeakEq / 1000 % 1000,
@@ -840,12 +900,12 @@ public class ArrayTheory implements ITheory {
 
 	@Override
 	public void backtrackAll() {
-		mPropClauses.clear();
+		invalidatePropClauses();
 	}
 
 	@Override
 	public void backtrackStart() {
-		mPropClauses.clear();
+		// the lemmas are updated by backtrackLiteral and by the undone merges.
 	}
 
 	@Override
@@ -883,18 +943,23 @@ public class ArrayTheory implements ITheory {
 		mStores.endScope();
 		mConsts.endScope();
 		mDiffs.endScope();
+		cleanCaches();
 	}
 
 	@Override
 	public Object[] getStatistics() {
-		return new Object[] { ":Array",
-				new Object[][] { { "NumArrays", mArrays.size() }, { "BuildWeakEQ", mNumBuildWeakEQ },
+		final ArrayList<Object[]> stats = new ArrayList<>();
+		stats.addAll(Arrays.asList(new Object[][] { { "NumArrays", mArrays.size() }, { "BuildWeakEQ", mNumBuildWeakEQ },
 						{ "AddStores", mNumAddStores }, { "Merges", mNumMerges }, { "ModuloEdges", mNumModuloEdges },
 						{ "ReadOverWeakeq", mNumInstsSelect }, { "WeakeqExt", mNumInstsEq },
 						{ "Times",
 								new Object[][] { { "BuildWeakEq", mTimeBuildWeakEq },
 										{ "BuildWeakEqi", mTimeBuildWeakEqi }, { "Propagation", mTimePropagation },
-										{ "Explanations", mTimeExplanations } } } } };
+										{ "Explanations", mTimeExplanations } } } }));
+		if (mNumKeepWeakEQ > 0) {
+			stats.add(new Object[] { "KeepWeakEQ", mNumKeepWeakEQ });
+		}
+		return new Object[] { ":Array", stats.toArray(new Object[stats.size()][]) };
 	}
 
 	public void fillInModel(final ModelBuilder builder, final List<CCTerm> ccArrayTerms) {
@@ -1134,26 +1199,22 @@ public class ArrayTheory implements ITheory {
 		throw new AssertionError("Constant term not found for " + value);
 	}
 
-	private void setConst(final CCAppTerm term) {
+	private void setConst(final CCAppTerm term, final Collection<ArrayLemma> candidates) {
 		final CCTerm const1 = getValueFromConst(term);
 		final CCTerm rep = term.getRepresentative();
 		final ArrayNode node = mCongRoots.get(rep);
 		if (node.mConstTerm != null) {
 			final CCTerm const2 = getValueFromConst(node.mConstTerm);
-			if (const1.getRepresentative() != const2.getRepresentative()) {
-				mPropClauses.add(new ArrayLemma(RuleKind.CONST_WEAKEQ, const1, const2));
-			}
+			candidates.add(new ArrayLemma(RuleKind.CONST_WEAKEQ, const1, const2));
 		} else {
 			node.mConstTerm = term;
 			for (final CCAppTerm select : node.mSelects.values()) {
-				if (select.getRepresentative() != const1.getRepresentative()) {
-					mPropClauses.add(new ArrayLemma(RuleKind.READ_CONST_WEAKEQ, select, const1));
-				}
+				candidates.add(new ArrayLemma(RuleKind.READ_CONST_WEAKEQ, select, const1));
 			}
 		}
 	}
 
-	private void merge(final CCAppTerm store) {
+	private void merge(final CCAppTerm store, final Collection<ArrayLemma> candidates) {
 		final CCTerm array = getArrayFromStore(store);
 		final ArrayNode arrayNode = mCongRoots.get(array.getRepresentative());
 		final ArrayNode storeNode = mCongRoots.get(store.getRepresentative());
@@ -1175,7 +1236,7 @@ public class ArrayTheory implements ITheory {
 				mLogger.debug("  PrimaryEdge");
 			}
 			// Combine the arrayNode and storeNode.
-			arrayNode.mergeWith(storeNode, store, mPropClauses);
+			arrayNode.mergeWith(storeNode, store, candidates);
 		} else {
 			// This means that storeNode and arrayNode are weak equivalent.
 			// Otherwise arrayNode would have stayed its representative.
@@ -1196,7 +1257,7 @@ public class ArrayTheory implements ITheory {
 					if (mLogger.isDebugEnabled()) {
 						mLogger.debug("  SecondaryEdge: [" + index + "] " + node + " to " + storeNode);
 					}
-					node.mergeSecondary(storeNode, store, mPropClauses);
+					node.mergeSecondary(storeNode, store, candidates);
 				}
 				node = node.mPrimaryEdge;
 			}
@@ -1324,89 +1385,126 @@ public class ArrayTheory implements ITheory {
 		cursor1.collect(index, cursor2, storeIndices);
 	}
 
+	/**
+	 * Get the key of a lemma in the lemma candidates.
+	 */
+	private static CCTerm getLemmaKey(final ArrayLemma lemma) {
+		if (lemma.getRule() == RuleKind.CONST_WEAKEQ) {
+			return null;
+		}
+		return getIndexFromSelect((CCAppTerm) lemma.getEquality().getFirst()).getRepresentative();
+	}
+
+	/**
+	 * Get the keys of the lemma candidates that may contain an equality literal. The literal is either an index
+	 * equality, or an equality on a select, or an equality on the values of constant arrays.
+	 */
+	private static CCTerm[] getLemmaKeys(final CCEquality eq) {
+		final CCTerm lhs = eq.getLhs();
+		final CCTerm rhs = eq.getRhs();
+		return new CCTerm[] { null, lhs.getRepresentative(), rhs.getRepresentative(),
+			isSelectTerm(lhs) ? getIndexFromSelect((CCAppTerm) lhs).getRepresentative() : null,
+			isSelectTerm(rhs) ? getIndexFromSelect((CCAppTerm) rhs).getRepresentative() : null };
+	}
+
+	/**
+	 * Compute the lemmas that need to be propagated from the lemma candidates of the current weak equivalent graph.
+	 * These are the candidates whose equality does not hold.
+	 */
 	private void createPropagatedClauses() {
-		for (final ArrayLemma lemma : mPropClauses) {
-			final CCTerm lhs = lemma.getEquality().getFirst();
-			final CCTerm rhs = lemma.getEquality().getSecond();
-			assert lhs.getRepresentative() != rhs.getRepresentative();
-			switch (lemma.getRule()) {
-			case READ_OVER_WEAKEQ: {
-				final CCAppTerm select1 = (CCAppTerm) lhs;
-				final CCAppTerm select2 = (CCAppTerm) rhs;
-				final CCTerm index1 = getIndexFromSelect(select1);
-				final CCTerm array1 = getArrayFromSelect(select1);
-				final CCTerm array2 = getArrayFromSelect(select2);
-				final Set<CCTerm> storeIndices = new LinkedHashSet<>();
-				computeStoreIndices(index1.getRepresentative(), array1, array2, storeIndices);
-				final Set<CCEquality> propClause = new LinkedHashSet<>();
-				for (final CCTerm idx : storeIndices) {
-					assert index1.getRepresentative() != idx.getRepresentative();
-					final CCEquality lit = getCClosure().createEquality(index1, idx, false);
-					if (lit != null) {
-						assert lit.getDecideStatus() != lit;
-						if (lit.getDecideStatus() == null) {
-							propClause.add(lit);
-						}
-					}
-				}
-				final CCEquality lit = getCClosure().createEquality(select1, select2, false);
-				if (lit != null) {
-					assert lit.getDecideStatus() != lit;
-					if (lit.getDecideStatus() == null) {
-						propClause.add(lit);
-					}
+		mPropClauses.clear();
+		for (final ArrayList<ArrayLemma> candidates : mLemmaCandidates.values()) {
+			for (final ArrayLemma lemma : candidates) {
+				final CCTerm lhs = lemma.getEquality().getFirst();
+				final CCTerm rhs = lemma.getEquality().getSecond();
+				if (lhs.getRepresentative() == rhs.getRepresentative()) {
+					lemma.mUndecidedLits = null;
+				} else {
+					computeUndecidedLits(lemma);
+					mPropClauses.add(lemma);
 				}
-				lemma.mUndecidedLits = propClause;
-				break;
 			}
-			case CONST_WEAKEQ: {
-				final CCEquality lit = getCClosure().createEquality(lhs, rhs, false);
-				assert lit == null || lit.getDecideStatus() != lit;
-				final Set<CCEquality> propClause = new LinkedHashSet<>();
-				if (lit != null && lit.getDecideStatus() == null) {
-					propClause.add(lit);
-				}
-				lemma.mUndecidedLits = propClause;
-				break;
+		}
+		mPropClausesValid = true;
+	}
+
+	private void computeUndecidedLits(final ArrayLemma lemma) {
+		if (lemma.mLiterals == null) {
+			lemma.mLiterals = computeLiterals(lemma);
+		}
+		final Set<CCEquality> propClause = new LinkedHashSet<>();
+		for (final CCEquality lit : lemma.mLiterals) {
+			assert lit.getDecideStatus() != lit;
+			if (lit.getDecideStatus() == null) {
+				propClause.add(lit);
 			}
-			case READ_CONST_WEAKEQ: {
-				final CCAppTerm select1 = (CCAppTerm) lhs;
-				final CCTerm index1 = getIndexFromSelect(select1);
-				final CCTerm array1 = getArrayFromSelect(select1);
-				final CCTerm array2 = findConst(rhs);
-				final Set<CCTerm> storeIndices = new LinkedHashSet<>();
-				computeStoreIndices(index1.getRepresentative(), array1, array2, storeIndices);
-				final Set<CCEquality> propClause = new LinkedHashSet<>();
-				for (final CCTerm idx : storeIndices) {
-					assert index1.getRepresentative() != idx.getRepresentative();
-					final CCEquality lit = getCClosure().createEquality(index1, idx, false);
-					if (lit != null) {
-						assert lit.getDecideStatus() != lit;
-						if (lit.getDecideStatus() == null) {
-							propClause.add(lit);
-						}
-					}
-				}
-				final CCEquality lit = getCClosure().createEquality(lhs, rhs, false);
+		}
+		lemma.mUndecidedLits = propClause;
+	}
+
+	/**
+	 * Compute the equality literals of a lemma, i.e., the index equalities on the weak path between the arrays and the
+	 * propagated equality. They only depend on the weak equivalent graph.
+	 */
+	private List<CCEquality> computeLiterals(final ArrayLemma lemma) {
+		final CCTerm lhs = lemma.getEquality().getFirst();
+		final CCTerm rhs = lemma.getEquality().getSecond();
+		final List<CCEquality> literals = new ArrayList<>();
+		if (lemma.getRule() != RuleKind.CONST_WEAKEQ) {
+			final CCAppTerm select1 = (CCAppTerm) lhs;
+			final CCTerm index1 = getIndexFromSelect(select1);
+			final CCTerm array1 = getArrayFromSelect(select1);
+			final CCTerm array2;
+			if (lemma.getRule() == RuleKind.READ_OVER_WEAKEQ) {
+				array2 = getArrayFromSelect((CCAppTerm) rhs);
+			} else if (lemma.getRule() == RuleKind.READ_CONST_WEAKEQ) {
+				array2 = findConst(rhs);
+			} else {
+				throw new AssertionError("Unknown Array Rule: " + lemma.getRule());
+			}
+			final Set<CCTerm> storeIndices = new LinkedHashSet<>();
+			computeStoreIndices(index1.getRepresentative(), array1, array2, storeIndices);
+			for (final CCTerm idx : storeIndices) {
+				assert index1.getRepresentative() != idx.getRepresentative();
+				final CCEquality lit = getCClosure().createEquality(index1, idx, false);
 				if (lit != null) {
-					assert lit.getDecideStatus() != lit;
-					if (lit.getDecideStatus() == null) {
-						propClause.add(lit);
-					}
+					literals.add(lit);
 				}
-				lemma.mUndecidedLits = propClause;
-				break;
-			}
-			default:
-				throw new AssertionError("Unknown Array Rule: " + lemma.getRule());
 			}
 		}
+		final CCEquality lit = getCClosure().createEquality(lhs, rhs, false);
+		if (lit != null) {
+			literals.add(lit);
+		}
+		return literals;
 	}
 
-	private boolean buildWeakEq() {
-		mNumBuildWeakEQ++;
+	/**
+	 * Compute the lemmas to propagate, and build the weak equivalent graph first if it is not valid.
+	 *
+	 * @return true if there is a lemma to propagate.
+	 */
+	private boolean computePropClauses() {
 		final long startTime = System.nanoTime();
+		if (mCongRoots == null) {
+			buildWeakEq();
+		} else {
+			mNumKeepWeakEQ++;
+		}
+		createPropagatedClauses();
+		mTimeBuildWeakEq += (System.nanoTime() - startTime);
+		return !mPropClauses.isEmpty();
+	}
+
+	/**
+	 * Build the weak equivalent graph and the lemma candidates.
+	 */
+	private void buildWeakEq() {
+		mNumBuildWeakEQ++;
 		mCongRoots = new LinkedHashMap<>();
+		mLemmaCandidates.clear();
+		mIndexTerms.clear();
+		mLemmaTerms.clear();
 		for (final CCTerm array : mArrays) {
 			final CCTerm rep = array.getRepresentative();
 			if (!mCongRoots.containsKey(rep)) {
@@ -1415,17 +1513,25 @@ public class ArrayTheory implements ITheory {
 				mCongRoots.put(rep, node);
 			}
 		}
+		final ArrayList<ArrayLemma> candidates = new ArrayList<>();
 		for (final CCAppTerm term : mConsts) {
-			setConst(term);
+			setConst(term, candidates);
 		}
 		for (final CCAppTerm store : mStores) {
-			merge(store);
+			mIndexTerms.add(getIndexFromStore(store));
+			merge(store, candidates);
+		}
+		for (final ArrayLemma lemma : candidates) {
+			mLemmaTerms.add(lemma.getEquality().getFirst());
+			mLemmaTerms.add(lemma.getEquality().getSecond());
+			final CCTerm key = getLemmaKey(lemma);
+			ArrayList<ArrayLemma> list = mLemmaCandidates.get(key);
+			if (list == null) {
+				list = new ArrayList<>();
+				mLemmaCandidates.put(key, list);
+			}
+			list.add(lemma);
 		}
-
-		createPropagatedClauses();
-
-		mTimeBuildWeakEq += (System.nanoTime() - startTime);
-		return !mPropClauses.isEmpty();
 	}
 
 	/**
@@ -1433,10 +1539,19 @@ public class ArrayTheory implements ITheory {
 	 * const arrays in the same weak equivalance class.
 	 */
 	private void makeConstReps() {
+		if (mConsts.isEmpty()) {
+			return;
+		}
 		for (final CCTerm term : mConsts) {
 			final ArrayNode node = mCongRoots.get(term.getRepresentative());
 			node.makeWeakRepresentative();
 		}
+		// the weak paths may change, so the literals of the lemmas have to be recomputed.
+		for (final ArrayList<ArrayLemma> candidates : mLemmaCandidates.values()) {
+			for (final ArrayLemma lemma : candidates) {
+				lemma.mLiterals = null;
+			}
+		}
 	}
 
 	/**
@@ -1553,7 +1668,58 @@ public class ArrayTheory implements ITheory {
 
 	public void cleanCaches() {
 		mCongRoots = null;
+		mLemmaCandidates.clear();
+		invalidatePropClauses();
+	}
+
+	/**
+	 * Forget the lemmas to propagate, but keep the weak equivalent graph.
+	 */
+	private void invalidatePropClauses() {
 		mPropClauses.clear();
+		mPropClausesValid = false;
+	}
+
+	/**
+	 * Called by the congruence closure when a class is merged into another class. This invalidates the weak
+	 * equivalent graph if the class contains arrays, or if it contains a select or store index, whose representative
+	 * changes. It invalidates the lemmas to propagate if the class contains a term of a lemma candidate.
+	 *
+	 * @param oldRep
+	 *            the representative of the merged class that is not the representative of the union.
+	 */
+	void notifyMerge(final CCTerm oldRep) {
+		if (mCongRoots == null) {
+			return;
+		}
+		final Term flatTerm = oldRep.getFlatTerm();
+		if (flatTerm == null) {
+			// partial function application; these only merge if their arguments merge.
+			return;
+		}
+		if (flatTerm.getSort().isArraySort()) {
+			cleanCaches();
+			return;
+		}
+		for (final CCTerm member : oldRep.mMembers) {
+			if (mIndexTerms.contains(member)) {
+				cleanCaches();
+				return;
+			}
+			if (mLemmaTerms.contains(member)) {
+				invalidatePropClauses();
+			}
+		}
+	}
+
+	/**
+	 * Called by the congruence closure when a merge is undone.
+	 *
+	 * @param oldRep
+	 *            the representative of the class that was split off.
+	 */
+	void notifyUndoMerge(final CCTerm oldRep) {
+		notifyMerge(oldRep);
 	}
 
 	public CCTerm getWeakRep(final CCTerm array) {
@@ -49,9 +49,9 @@ public class CCAppTerm extends CCTerm {
 	}
 
 	public CCAppTerm(final boolean isFunc, final int parentPos, final CCTerm func, final CCTerm arg,
-			final CClosure engine, final boolean isFromQuant) {
+			final CClosure engine, final boolean isFromQuant, final int id) {
 		super(isFunc, parentPos, HashUtils.hashJenkins(func.hashCode(), arg),
-				(!isFromQuant ? 0 : Math.max(func.mAge, arg.mAge + 1)));
+				(!isFromQuant ? 0 : Math.max(func.mAge, arg.mAge + 1)), id);
 		mFunc = func;
 		mArg = arg;
 		mLeftParInfo = new Parent();
@@ -23,8 +23,8 @@ import de.uni_freiburg.informatik.ultimate.logic.FunctionSymbol;
 public class CCBaseTerm extends CCTerm {
 	Object mSymbol;
 
-	public CCBaseTerm(final boolean isFunc, final int parentPos, final Object symb) {
-		super(isFunc, parentPos, symb.hashCode(), 0);
+	public CCBaseTerm(final boolean isFunc, final int parentPos, final Object symb, final int id) {
+		super(isFunc, parentPos, symb.hashCode(), 0, id);
 		mSymbol = symb;
 	}
 
@@ -110,6 +110,12 @@ public abstract class CCTerm extends SimpleListable<CCTerm> {
 
 	final int mAge;
 
+	/**
+	 * The number of this term. The numbers are dense and are reused for new terms after the term was removed. They
+	 * identify the representatives in the signature table.
+	 */
+	final int mId;
+
 	static class TermPairMergeInfo {
 		CCTermPairHash.Info.Entry mInfo;
 		TermPairMergeInfo mNext;
@@ -134,7 +140,7 @@ public abstract class CCTerm extends SimpleListable<CCTerm> {
 	boolean mIsFunc;
 	int mParentPosition;
 
-	protected CCTerm(final boolean isFunc, final int parentPos, final int hash, final int age) {
+	protected CCTerm(final boolean isFunc, final int parentPos, final int hash, final int age, final int id) {
 		mIsFunc = isFunc;
 		mCCPars = null;
 		if (isFunc) {
@@ -149,6 +155,7 @@ public abstract class CCTerm extends SimpleListable<CCTerm> {
 		assert invariant();
 		mHashCode = hash;
 		mAge = age;
+		mId = id;
 	}
 
 	public boolean isFunc() {
@@ -427,7 +434,7 @@ public abstract class CCTerm extends SimpleListable<CCTerm> {
 		if (sharedTermConflict || diseq != null) {
 			final Clause conflict = sharedTermConflict
 					? engine.computeCycle(src.mSharedTerm, dest.mSharedTerm)
-					: engine.computeCycle(diseq);
+					: engine.computeConflictCycle(diseq);
 			lhs.mEqualEdge = null;
 			lhs.mOldRep = null;
 			src.mReasonLiteral = null;
@@ -437,7 +444,7 @@ public abstract class CCTerm extends SimpleListable<CCTerm> {
 		long time;
 
 		src.mMergeTime = engine.getMergeDepth();
-		engine.recordMerge(lhs);
+		engine.recordMerge(lhs, dest);
 		engine.getLogger().debug("M %s %s", this, lhs);
 
 		if (Config.PROFILE_TIME) {
@@ -521,26 +528,14 @@ public abstract class CCTerm extends SimpleListable<CCTerm> {
 			if (srcParentInfo != null) {
 				assert(srcParentInfo.mFuncSymbNr == destParentInfo.mFuncSymbNr);
 				assert srcParentInfo.mReverseTriggers.isEmpty();
-				tloop: for (final CCAppTerm.Parent t1 : srcParentInfo.mCCParents) {
-					if (t1.isMarked()) {
-							continue;
-						}
-					final CCAppTerm t = t1.getData();
-					for (final CCAppTerm.Parent u1 : destParentInfo.mCCParents) {
-						if (u1.isMarked()) {
-							continue;
-						}
-						engine.incCcCount();
-						if (t.mArg.mRepStar == u1.getData().mArg.mRepStar) {
-							engine.addPendingCongruence(t, u1.getData());
-							continue tloop;
-						}
-					}
-				}
+				engine.findCongruences(srcParentInfo.mCCParents);
 				destParentInfo.mCCParents.joinList(srcParentInfo.mCCParents);
 			}
 		} else {
 			CCParentInfo srcParentInfo = src.mCCPars.mNext;
+			for (CCParentInfo info = srcParentInfo; info != null; info = info.mNext) {
+				engine.findCongruences(info.mCCParents);
+			}
 			CCParentInfo destParentInfo = dest.mCCPars.mNext;
 			while (srcParentInfo != null && destParentInfo != null) {
 				if (srcParentInfo.mFuncSymbNr < destParentInfo.mFuncSymbNr) {
@@ -549,22 +544,6 @@ public abstract class CCTerm extends SimpleListable<CCTerm> {
 					destParentInfo = destParentInfo.mNext;
 				} else {
 					assert(srcParentInfo.mFuncSymbNr == destParentInfo.mFuncSymbNr);
-					tloop: for (final CCAppTerm.Parent t1 : srcParentInfo.mCCParents) {
-						if (t1.isMarked()) {
-								continue;
-							}
-						final CCAppTerm t = t1.getData();
-						for (final CCAppTerm.Parent u1 : destParentInfo.mCCParents) {
-							if (u1.isMarked()) {
-								continue;
-							}
-							engine.incCcCount();
-							if (t.mFunc.mRepStar == u1.getData().mFunc.mRepStar) {
-								engine.addPendingCongruence(t, u1.getData());
-								continue tloop;
-							}
-						}
-					}
 					// E-Matching
 					if (!srcParentInfo.mReverseTriggers.isEmpty()) {
 						for (final CCAppTerm.Parent parent : destParentInfo.mCCParents) {
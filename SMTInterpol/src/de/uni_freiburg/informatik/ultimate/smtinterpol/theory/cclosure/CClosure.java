@@ -20,9 +20,11 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -115,6 +117,11 @@ public class CClosure implements ITheory {
 	 * too late on the wrong decision level. We need to recheck after any backtrack, if they are still congruent.
 	 */
 	ArrayQueue<SymmetricPair<CCAppTerm>> mRecheckOnBacktrackCongs = new ArrayQueue<>();
+	/**
+	 * The signature table that maps the representatives of function and argument to an application term with this
+	 * signature. It is used to find congruent terms when a congruence class is merged.
+	 */
+	final SignatureTable mSignatureTable = new SignatureTable(this);
 
 	/**
 	 * A mapping from function symbol or string (the latter only for {@code select/@diff/store}) to the corresponding
@@ -162,8 +169,39 @@ public class CClosure implements ITheory {
 	 */
 	final ArrayDeque<SymmetricPair<CCAppTerm>> mPendingCongruences = new ArrayDeque<>();
 
+	/**
+	 * The array theory that is notified about merges, or null if the logic has no arrays.
+	 */
+	ArrayTheory mArrayTheory;
+	/**
+	 * The data type theory that is notified about merges, or null if the logic has no data types.
+	 */
+	DataTypeTheory mDataTypeTheory;
+
+	/**
+	 * The explanations of equalities that were computed for conflicts and propagations and whose edges are still in
+	 * the equality graph.
+	 */
+	final ExplanationCache mExplanationCache = new ExplanationCache();
+
+	/**
+	 * The number of times the congruence of two function applications must be used in conflict explanations before
+	 * their Ackermann lemma is added as clause. Values {@code <= 0} disable dynamic Ackermannization.
+	 */
+	private int mAckermannThreshold;
+	/**
+	 * For each pair of congruent function applications the number of explanations that used their congruence.
+	 */
+	private final ScopedHashMap<SymmetricPair<CCAppTerm>, Integer> mCongruenceUses = new ScopedHashMap<>();
+	/**
+	 * The pairs of function applications that reached the threshold. Their Ackermann lemmas are added on the next
+	 * checkpoint.
+	 */
+	private final ArrayList<SymmetricPair<CCAppTerm>> mPendingAckermannPairs = new ArrayList<>();
+
 	private long mInvertEdgeTime, mEqTime, mCcTime, mSetRepTime;
 	private long mCcCount, mMergeCount;
+	private long mNumAckermannLemmas;
 
 	public CClosure(final Clausifier clausifier) {
 		mClausifier = clausifier;
@@ -182,7 +220,7 @@ public class CClosure implements ITheory {
 	}
 
 	public CCTerm createAnonTerm(final Term term) {
-		final CCTerm ccTerm = new CCBaseTerm(false, mNumFunctionPositions, term);
+		final CCTerm ccTerm = new CCBaseTerm(false, mNumFunctionPositions, term, mAllTerms.size());
 		mAllTerms.add(ccTerm);
 		mAnonTerms.put(term, ccTerm);
 		return ccTerm;
@@ -299,7 +337,7 @@ public class CClosure implements ITheory {
 			}
 		}
 		final CCAppTerm term = new CCAppTerm(isFunc, isFunc ? func.mParentPosition + 1 : 0, func, arg, this,
-				source.isFromQuantTheory());
+				source.isFromQuantTheory(), mAllTerms.size());
 		if (!isFunc) {
 			if (term.getAge() > 0) {
 				getLogger().debug("Create new AppTerm %s of age %d", term, term.getAge());
@@ -307,7 +345,14 @@ public class CClosure implements ITheory {
 		}
 		mAllTerms.add(term);
 		term.addParentInfo(this);
-		final CCAppTerm congruentTerm = findCongruentAppTerm(func, arg);
+		CCAppTerm congruentTerm = mSignatureTable.insertNew(term, getMergeDepth());
+		if (congruentTerm != null) {
+			/*
+			 * The signature table knows only one of the congruent terms. Use the one that became congruent first, so
+			 * that the congruence survives backtracking as long as possible.
+			 */
+			congruentTerm = findCongruentAppTerm(func, arg);
+		}
 		getLogger().debug("createAppTerm %s congruent: %s", term, congruentTerm);
 		if (congruentTerm != null) {
 			// Here, we do not have the resulting term in the equivalence class
@@ -355,7 +400,8 @@ public class CClosure implements ITheory {
 	public CCTerm getFuncTerm(final FunctionSymbol sym) {
 		CCBaseTerm term = mSymbolicTerms.get(sym);
 		if (term == null) {
-			term = new CCBaseTerm(sym.getParameterSorts().length > 0, mNumFunctionPositions, sym);
+			term = new CCBaseTerm(sym.getParameterSorts().length > 0, mNumFunctionPositions, sym,
+					mAllTerms.size());
 			mAllTerms.add(term);
 			mNumFunctionPositions += sym.getParameterSorts().length;
 			mSymbolicTerms.put(sym, term);
@@ -864,9 +910,16 @@ public class CClosure implements ITheory {
 	 * CCTerm.mergeInternal.
 	 *
 	 * @param oldRep the old representative (of the smaller class) that was merged.
+	 * @param newRep the representative of the class it is merged into.
 	 */
-	void recordMerge(final CCTerm oldRep) {
+	void recordMerge(final CCTerm oldRep, final CCTerm newRep) {
 		mUndoStack.push(new MergeUndoInfo(oldRep));
+		if (mArrayTheory != null) {
+			mArrayTheory.notifyMerge(oldRep.mRepStar);
+		}
+		if (mDataTypeTheory != null) {
+			mDataTypeTheory.notifyMerge(oldRep.mRepStar, newRep);
+		}
 	}
 
 	/**
@@ -898,7 +951,7 @@ public class CClosure implements ITheory {
 
 			/* Check for conflict */
 			if (left == right) {
-				final Clause conflict = computeCycle(eq);
+				final Clause conflict = computeConflictCycle(eq);
 				if (conflict != null) {
 					return conflict;
 				}
@@ -962,15 +1015,29 @@ public class CClosure implements ITheory {
 		destInfo.mDiseq = null;
 	}
 
-	public Clause computeCycle(final CCEquality eq) {
-		final CongruencePath congPath = new CongruencePath(this);
+	/**
+	 * Explain a propagated equality or compute the conflict of a disequality between two congruent terms.
+	 *
+	 * @param isConflict
+	 *            true for a conflict. Only conflicts count the congruences for dynamic Ackermannization.
+	 */
+	private Clause computeCycle(final CCEquality eq, final boolean isConflict) {
+		final CongruencePath congPath = new CongruencePath(this, isConflict);
 		final Clause res = congPath.computeCycle(eq, isProofGenerationEnabled());
 		assert (res.getSize() != 2 || res.getLiteral(0).negate() != res.getLiteral(1));
 		return res;
 	}
 
+	public Clause computeCycle(final CCEquality eq) {
+		return computeCycle(eq, false);
+	}
+
+	Clause computeConflictCycle(final CCEquality eq) {
+		return computeCycle(eq, true);
+	}
+
 	public Clause computeCycle(final CCTerm lconstant, final CCTerm rconstant) {
-		final CongruencePath congPath = new CongruencePath(this);
+		final CongruencePath congPath = new CongruencePath(this, true);
 		return congPath.computeCycle(lconstant, rconstant, isProofGenerationEnabled());
 	}
 
@@ -1043,9 +1110,100 @@ public class CClosure implements ITheory {
 
 	@Override
 	public Clause checkpoint() {
+		if (!mPendingAckermannPairs.isEmpty()) {
+			addAckermannLemmas();
+		}
 		return buildCongruence();
 	}
 
+	/**
+	 * Enable dynamic Ackermannization. It is only used if proof production is disabled, since the lemmas are added
+	 * as input clauses.
+	 *
+	 * @param threshold
+	 *            the number of conflict explanations that must use a congruence before its Ackermann lemma is added.
+	 *            Values {@code <= 0} disable dynamic Ackermannization.
+	 */
+	public void setAckermannThreshold(final int threshold) {
+		mAckermannThreshold = threshold;
+	}
+
+	boolean isAckermannEnabled() {
+		return mAckermannThreshold > 0 && !isProofGenerationEnabled();
+	}
+
+	/**
+	 * Count that the congruence of two function applications was used in a conflict explanation. If this happened
+	 * often enough, their Ackermann lemma is added on the next checkpoint.
+	 */
+	void countCongruenceUse(final CCAppTerm app1, final CCAppTerm app2) {
+		final SymmetricPair<CCAppTerm> pair = new SymmetricPair<>(app1, app2);
+		final Integer uses = mCongruenceUses.get(pair);
+		final int newUses = uses == null ? 1 : uses + 1;
+		mCongruenceUses.put(pair, newUses);
+		if (newUses == mAckermannThreshold) {
+			mPendingAckermannPairs.add(pair);
+		}
+	}
+
+	long getNumAckermannLemmas() {
+		return mNumAckermannLemmas;
+	}
+
+	private void addAckermannLemmas() {
+		for (final SymmetricPair<CCAppTerm> pair : mPendingAckermannPairs) {
+			final Literal[] lemma = createAckermannLemma(pair.getFirst(), pair.getSecond());
+			if (lemma != null) {
+				getLogger().debug("Ackermann lemma %s", Arrays.toString(lemma));
+				mNumAckermannLemmas++;
+				getEngine().addFormulaClause(lemma, null);
+			}
+		}
+		mPendingAckermannPairs.clear();
+	}
+
+	/**
+	 * Create the Ackermann lemma {@code (a1 != b1 or ... or an != bn or f(a1,...,an) = f(b1,...,bn))} for two
+	 * applications of the same uninterpreted function.
+	 *
+	 * @return the literals of the lemma, or null if the applications are not applications of an uninterpreted function
+	 *         or the lemma is trivially true.
+	 */
+	private Literal[] createAckermannLemma(final CCAppTerm app1, final CCAppTerm app2) {
+		CCTerm func = app1;
+		while (func instanceof CCAppTerm) {
+			func = ((CCAppTerm) func).mFunc;
+		}
+		final CCBaseTerm base = (CCBaseTerm) func;
+		if (!base.isFunctionSymbol() || base.getFunctionSymbol().isInterpreted()
+				|| base.getFunctionSymbol().isConstructor() || base.getFunctionSymbol().isSelector()) {
+			return null;
+		}
+		final LinkedHashSet<Literal> lemma = new LinkedHashSet<>();
+		final CCEquality appEq = createEquality(app1, app2, false);
+		if (appEq == null) {
+			return null;
+		}
+		lemma.add(appEq);
+		CCAppTerm t1 = app1;
+		CCAppTerm t2 = app2;
+		while (true) {
+			if (t1.mArg != t2.mArg) {
+				final CCEquality argEq = createEquality(t1.mArg, t2.mArg, false);
+				if (argEq == null) {
+					return null;
+				}
+				lemma.add(argEq.negate());
+			}
+			if (t1.mFunc == t2.mFunc) {
+				break;
+			}
+			t1 = (CCAppTerm) t1.mFunc;
+			t2 = (CCAppTerm) t2.mFunc;
+		}
+		return lemma.toArray(new Literal[lemma.size()]);
+	}
+
 	public CCEquality createEquality(final CCTerm t1, final CCTerm t2, final boolean createLAEquality) {
 		assert t1 != t2;
 		final EqualityProxy ep = mClausifier.createEqualityProxy(t1.getFlatTerm(), t2.getFlatTerm(), null);
@@ -1089,6 +1247,10 @@ public class CClosure implements ITheory {
 				continue;
 			}
 			final CCAppTerm a1 = (CCAppTerm) t1;
+			if (!a1.mLeftParInfo.isMarked() && !mSignatureTable.hasValidEntry(a1)) {
+				getLogger().fatal("Missing signature: " + t1);
+				return false;
+			}
 			skip = true;
 			for (final CCTerm t2 : mAllTerms) {
 				// don't check symmetric cases: skip all terms in the inner loop up to and including the term t1.
@@ -1116,6 +1278,13 @@ public class CClosure implements ITheory {
 	public void printStatistics(final LogProxy logger) {
 		logger.info("CCTimes: iE " + mInvertEdgeTime + " eq " + mEqTime + " cc " + mCcTime + " setRep " + mSetRepTime);
 		logger.info("Merges: " + mMergeCount + ", cc:" + mCcCount);
+		if (mExplanationCache.getNumComputed() > 0) {
+			logger.info("Explanations: computed " + mExplanationCache.getNumComputed() + " cached "
+					+ mExplanationCache.getNumHits());
+		}
+		if (isAckermannEnabled()) {
+			logger.info("Ackermann: lemmas " + mNumAckermannLemmas + " congruence pairs " + mCongruenceUses.size());
+		}
 	}
 
 	@Override
@@ -1189,6 +1358,7 @@ public class CClosure implements ITheory {
 		 */
 		mRecheckOnBacktrackLits = newRecheckOnBacktrackLits;
 
+		mSignatureTable.reinsertLateTerms();
 		/*
 		 * Recheck congruences and propagate them.
 		 */
@@ -1223,6 +1393,28 @@ public class CClosure implements ITheory {
 		// Nothing to do
 	}
 
+	/**
+	 * Look up the parents of a congruence class whose signature changed by a merge in the signature table. Every parent
+	 * that has the same signature as another application term is added as pending congruence.
+	 *
+	 * @param parents
+	 *            the parent list of the class that was merged into another class.
+	 */
+	void findCongruences(final SimpleList<Parent> parents) {
+		final int depth = getMergeDepth();
+		for (final Parent parent : parents) {
+			if (parent.isMarked()) {
+				continue;
+			}
+			mCcCount++;
+			final CCAppTerm app = parent.getData();
+			final CCAppTerm congruent = mSignatureTable.insert(app, depth);
+			if (congruent != null) {
+				addPendingCongruence(app, congruent);
+			}
+		}
+	}
+
 	void addPendingCongruence(final CCAppTerm first, final CCAppTerm second) {
 		assert (first.mLeftParInfo.inList() && second.mLeftParInfo.inList());
 		assert (first.mRightParInfo.inList() && second.mRightParInfo.inList());
@@ -1262,13 +1454,25 @@ public class CClosure implements ITheory {
 			final UndoInfo top = mUndoStack.pop();
 			if (top instanceof MergeUndoInfo) {
 				final CCTerm oldRep = ((MergeUndoInfo) top).getOldRep();
-				oldRep.mRepStar.invertEqualEdges(this);
+				final CCTerm newRep = oldRep.mRepStar;
+				newRep.invertEqualEdges(this);
 				oldRep.undoMerge(this, oldRep.mEqualEdge);
+				if (mArrayTheory != null) {
+					mArrayTheory.notifyUndoMerge(oldRep.mRepStar);
+				}
+				if (mDataTypeTheory != null) {
+					mDataTypeTheory.notifyUndoMerge(oldRep.mRepStar, newRep);
+				}
 			} else {
 				final CCEquality diseq = ((SepUndoInfo) top).getDiseq();
 				undoSep(diseq);
 			}
 		}
+		mExplanationCache.backtrack(todepth);
+		mSignatureTable.backtrack(todepth);
+		if (mDataTypeTheory != null) {
+			mDataTypeTheory.backtrackMerges(todepth);
+		}
 	}
 
 	public int getStackDepth() {
@@ -1334,6 +1538,7 @@ public class CClosure implements ITheory {
 		}
 		if (t instanceof CCAppTerm) {
 			final CCAppTerm at = (CCAppTerm) t;
+			mSignatureTable.remove(at);
 			at.unlinkParentInfos();
 		}
 	}
@@ -1342,6 +1547,7 @@ public class CClosure implements ITheory {
 	public void backtrackAll() {
 		assert mDecideLevelToUndoStackSize.isEmpty();
 		backtrackStack(0);
+		mSignatureTable.reinsertLateTerms();
 		mPendingLits.clear();
 		mRecheckOnBacktrackCongs.clear();
 		mRecheckOnBacktrackLits.clear();
@@ -1361,21 +1567,34 @@ public class CClosure implements ITheory {
 		}
 		mAllTerms.endScope();
 		mSymbolicTerms.endScope();
+		mCongruenceUses.endScope();
+		mPendingAckermannPairs.clear();
 	}
 
 	@Override
 	public void push() {
 		mSymbolicTerms.beginScope();
 		mAllTerms.beginScope();
+		mCongruenceUses.beginScope();
 		mNumFunctionPositionsStack.add(mNumFunctionPositions);
 	}
 
 	@Override
 	public Object[] getStatistics() {
-		return new Object[] { ":CC",
-				new Object[][] { { "Merges", mMergeCount }, { "Closure", mCcCount },
-						{ "Times", new Object[][] { { "Invert", mInvertEdgeTime }, { "Eq", mEqTime },
-								{ "Closure", mCcTime }, { "SetRep", mSetRepTime } } } } };
+		final ArrayList<Object[]> stats = new ArrayList<>();
+		stats.addAll(Arrays.asList(new Object[][] { { "Merges", mMergeCount }, { "Closure", mCcCount },
+				{ "Times", new Object[][] { { "Invert", mInvertEdgeTime }, { "Eq", mEqTime },
+						{ "Closure", mCcTime }, { "SetRep", mSetRepTime } } } }));
+		if (mExplanationCache.getNumComputed() > 0) {
+			stats.add(new Object[] { "Explanations",
+					new Object[][] { { "Computed", mExplanationCache.getNumComputed() },
+							{ "Cached", mExplanationCache.getNumHits() } } });
+		}
+		if (isAckermannEnabled()) {
+			stats.add(new Object[] { "Ackermann", new Object[][] { { "Lemmas", mNumAckermannLemmas },
+					{ "CongruencePairs", mCongruenceUses.size() } } });
+		}
+		return new Object[] { ":CC", stats.toArray(new Object[stats.size()][]) };
 	}
 
 	public void fillInModel(final Model model, final Theory t, final SharedTermEvaluator ste,
@@ -1401,10 +1620,6 @@ public class CClosure implements ITheory {
 		mSetRepTime += time;
 	}
 
-	void incCcCount() {
-		++mCcCount;
-	}
-
 	void incMergeCount() {
 		++mMergeCount;
 	}
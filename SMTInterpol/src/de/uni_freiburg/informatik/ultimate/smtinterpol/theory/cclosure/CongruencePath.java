@@ -20,9 +20,13 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Clause;
@@ -36,6 +40,9 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.util.SymmetricPair;
  * connect two equivalent CCTerm.  It also computes the required
  * congruences.  All literals are collected and if proof production
  * is enabled, also the paths are collected and remembered.
+ * Without proof production, the paths are explained by the
+ * {@link ExplanationCache} of the CClosure, which remembers them until
+ * backtracking removes one of their edges.
  *
  *
  * @author hoenicke
@@ -106,10 +113,28 @@ public class CongruencePath {
 	final ArrayDeque<SubPath> mAllPaths;
 	final ArrayDeque<SymmetricPair<CCTerm>> mTodo;
 	final Set<Literal> mAllLiterals;
+	/**
+	 * The pairs whose explanation was already added to mAllLiterals. This is only used without proof production.
+	 */
+	final HashSet<SymmetricPair<CCTerm>> mExplained;
+	/**
+	 * The merge time of the newest edge on the path found last by {@link #findCongruenceEnds}.
+	 */
+	private int mPathMergeTime;
+	/**
+	 * True if the path explains a conflict. Only conflicts count the congruences for dynamic Ackermannization.
+	 */
+	private final boolean mIsConflict;
 
 	public CongruencePath(final CClosure closure) {
+		this(closure, false);
+	}
+
+	public CongruencePath(final CClosure closure, final boolean isConflict) {
 		mClosure = closure;
+		mIsConflict = isConflict;
 		mVisited = new HashMap<>();
+		mExplained = new HashSet<>();
 		mAllLiterals = new LinkedHashSet<>();
 		mTodo = new ArrayDeque<>();
 		mAllPaths = new ArrayDeque<>();
@@ -148,10 +173,10 @@ public class CongruencePath {
 	 * @param start one of the function application terms.
 	 * @param end the other function application term.
 	 */
-	private void computeCCPath(CCAppTerm start, CCAppTerm end) {
+	private void computeCCPath(CCAppTerm start, CCAppTerm end, final Deque<SymmetricPair<CCTerm>> todo) {
 		while (true) {
 			/* Compute path and interpolation info for func and arg */
-			mTodo.addFirst(new SymmetricPair<>(start.mArg, end.mArg));
+			todo.addFirst(new SymmetricPair<>(start.mArg, end.mArg));
 
 			/*
 			 * We do not have explicit edges between partial function applications. Hence start.func and end.func must
@@ -185,7 +210,8 @@ public class CongruencePath {
 	 * @return the sub path from t to end, if proof production is enabled.
 	 *   Without proof production, this returns null.
 	 */
-	private SubPath computePathTo(CCTerm t, final CCTerm end) {
+	private SubPath computePathTo(CCTerm t, final CCTerm end, final Collection<Literal> literals,
+			final Deque<SymmetricPair<CCTerm>> todo, final List<CCAppTerm> congruences) {
 		final SubPath path =
 				new SubPath(t, mClosure.isProofGenerationEnabled());
 		CCTerm startCongruence = t;
@@ -196,12 +222,16 @@ public class CongruencePath {
 					 * Compute the paths for the func and arg parts and merge into the
 					 * interpolation info.
 					 */
-					computeCCPath((CCAppTerm) startCongruence, (CCAppTerm) t);
+					computeCCPath((CCAppTerm) startCongruence, (CCAppTerm) t, todo);
 					path.addEntry(t, null);
+					if (congruences != null) {
+						congruences.add((CCAppTerm) startCongruence);
+						congruences.add((CCAppTerm) t);
+					}
 				}
 				/* Add the equality literal to conflict set */
 				path.addEntry(t.mEqualEdge, t.mOldRep.mReasonLiteral);
-				mAllLiterals.add(t.mOldRep.mReasonLiteral);
+				literals.add(t.mOldRep.mReasonLiteral);
 				startCongruence = t.mEqualEdge;
 			}
 			t = t.mEqualEdge;
@@ -238,6 +268,28 @@ public class CongruencePath {
 			return mVisited.get(key);
 		}
 
+		final CCTerm[] ends = findCongruenceEnds(left, right);
+		final SubPath path = computePathTo(left, ends[0], mAllLiterals, mTodo, null);
+		if (ends[0] != ends[1]) {
+			computeCCPath((CCAppTerm) ends[0], (CCAppTerm) ends[1], mTodo);
+			path.addEntry(ends[1], null);
+		}
+		final SubPath pathBack = computePathTo(right, ends[1], mAllLiterals, mTodo, null);
+		path.addSubPath(pathBack);
+		mVisited.put(key, path);
+		return path;
+	}
+
+	/**
+	 * Find the path between two different terms in the same congruence class. The path consists of a path from left to
+	 * a term llWithReason, an optional congruence between llWithReason and rrWithReason, and a path from rrWithReason
+	 * to right. Both paths end with an equality literal. This also sets {@link #mPathMergeTime} to the merge time of
+	 * the newest edge on the path.
+	 *
+	 * @return the array containing llWithReason and rrWithReason.
+	 */
+	private CCTerm[] findCongruenceEnds(final CCTerm left, final CCTerm right) {
+		int mergeTime = -1;
 		int leftDepth = computeDepth(left);
 		int rightDepth = computeDepth(right);
 		CCTerm ll = left;
@@ -247,6 +299,7 @@ public class CongruencePath {
 			if (ll.mOldRep.mReasonLiteral != null) {
 				llWithReason = ll.mEqualEdge;
 			}
+			mergeTime = Math.max(mergeTime, ll.mOldRep.mMergeTime);
 			ll = ll.mEqualEdge;
 			leftDepth--;
 		}
@@ -254,6 +307,7 @@ public class CongruencePath {
 			if (rr.mOldRep.mReasonLiteral != null) {
 				rrWithReason = rr.mEqualEdge;
 			}
+			mergeTime = Math.max(mergeTime, rr.mOldRep.mMergeTime);
 			rr = rr.mEqualEdge;
 			rightDepth--;
 		}
@@ -264,19 +318,103 @@ public class CongruencePath {
 			if (rr.mOldRep.mReasonLiteral != null) {
 				rrWithReason = rr.mEqualEdge;
 			}
+			mergeTime = Math.max(mergeTime, Math.max(ll.mOldRep.mMergeTime, rr.mOldRep.mMergeTime));
 			ll = ll.mEqualEdge;
 			rr = rr.mEqualEdge;
 		}
 		assert (ll != null);
-		final SubPath path = computePathTo(left, llWithReason);
-		if (llWithReason != rrWithReason) {
-			computeCCPath((CCAppTerm)llWithReason, (CCAppTerm)rrWithReason);
-			path.addEntry(rrWithReason, null);
+		mPathMergeTime = mergeTime;
+		return new CCTerm[] { llWithReason, rrWithReason };
+	}
+
+	/**
+	 * Compute the explanation of the path between two different terms in the same congruence class. It contains the
+	 * literals on the path and the argument pairs of the congruences on the path, but not their explanations.
+	 */
+	private ExplanationCache.Explanation computeExplanation(final CCTerm left, final CCTerm right) {
+		final CCTerm[] ends = findCongruenceEnds(left, right);
+		final ArrayList<Literal> literals = new ArrayList<>();
+		final ArrayDeque<SymmetricPair<CCTerm>> args = new ArrayDeque<>();
+		final ArrayList<CCAppTerm> congruences = mClosure.isAckermannEnabled() ? new ArrayList<>() : null;
+		computePathTo(left, ends[0], literals, args, congruences);
+		final int numLeftLiterals = literals.size();
+		final int numLeftArgs = args.size();
+		if (ends[0] != ends[1]) {
+			computeCCPath((CCAppTerm) ends[0], (CCAppTerm) ends[1], args);
+			if (congruences != null) {
+				congruences.add((CCAppTerm) ends[0]);
+				congruences.add((CCAppTerm) ends[1]);
+			}
+		}
+		final int numMiddleArgs = args.size() - numLeftArgs;
+		computePathTo(right, ends[1], literals, args, congruences);
+		return new ExplanationCache.Explanation(left, literals.toArray(new Literal[literals.size()]),
+				numLeftLiterals, new ArrayList<>(args), numLeftArgs, numMiddleArgs,
+				congruences == null ? null : congruences.toArray(new CCAppTerm[congruences.size()]), mPathMergeTime);
+	}
+
+	/**
+	 * Add the literals of an explanation and put the argument pairs in front of mTodo. The order is the same as if the
+	 * path was computed from left.
+	 */
+	private void addExplanation(final CCTerm left, final ExplanationCache.Explanation expl) {
+		final Literal[] literals = expl.mLiterals;
+		final ArrayList<SymmetricPair<CCTerm>> args = expl.mArgs;
+		final int numRightArgs = args.size() - expl.mNumLeftArgs - expl.mNumMiddleArgs;
+		if (left == expl.mLeft) {
+			Collections.addAll(mAllLiterals, literals);
+			for (int i = args.size() - 1; i >= 0; i--) {
+				mTodo.addFirst(args.get(i));
+			}
+		} else {
+			/* the path is reversed, i.e., its right part comes first and the congruence is swapped */
+			for (int i = expl.mNumLeftLiterals; i < literals.length; i++) {
+				mAllLiterals.add(literals[i]);
+			}
+			for (int i = 0; i < expl.mNumLeftLiterals; i++) {
+				mAllLiterals.add(literals[i]);
+			}
+			for (int i = numRightArgs - 1; i >= 0; i--) {
+				mTodo.addFirst(args.get(i));
+			}
+			for (int i = numRightArgs + expl.mNumMiddleArgs - 1; i >= numRightArgs; i--) {
+				final SymmetricPair<CCTerm> arg = args.get(i);
+				mTodo.addFirst(new SymmetricPair<>(arg.getSecond(), arg.getFirst()));
+			}
+			for (int i = args.size() - 1; i >= numRightArgs + expl.mNumMiddleArgs; i--) {
+				mTodo.addFirst(args.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Compute the literals explaining the equality of left and right without proof production. The explanations of
+	 * the paths are taken from the explanation cache of the congruence closure. A missing explanation is computed and
+	 * added to the cache, unless it uses the edge of a merge that is not yet recorded, as for the conflict of a merge.
+	 */
+	private void computeLiterals(final CCTerm left, final CCTerm right) {
+		final ExplanationCache cache = mClosure.mExplanationCache;
+		final int mergeDepth = mClosure.getMergeDepth();
+		mTodo.add(new SymmetricPair<>(left, right));
+		while (!mTodo.isEmpty()) {
+			final SymmetricPair<CCTerm> pathEnds = mTodo.removeFirst();
+			if (pathEnds.getFirst() == pathEnds.getSecond() || !mExplained.add(pathEnds)) {
+				continue;
+			}
+			ExplanationCache.Explanation expl = cache.lookup(pathEnds);
+			if (expl == null) {
+				expl = computeExplanation(pathEnds.getFirst(), pathEnds.getSecond());
+				if (expl.mMergeTime < mergeDepth) {
+					cache.put(pathEnds, expl);
+				}
+			}
+			addExplanation(pathEnds.getFirst(), expl);
+			if (mIsConflict && expl.mCongruences != null) {
+				for (int i = 0; i < expl.mCongruences.length; i += 2) {
+					mClosure.countCongruenceUse(expl.mCongruences[i], expl.mCongruences[i + 1]);
+				}
+			}
 		}
-		final SubPath pathBack = computePathTo(right, rrWithReason);
-		path.addSubPath(pathBack);
-		mVisited.put(key, path);
-		return path;
 	}
 
 	/**
@@ -299,6 +437,13 @@ public class CongruencePath {
 	 *            the right end of the congruence chain that should be evaluated.
 	 */
 	public void computePath(final CCTerm left, final CCTerm right) {
+		if (!mClosure.isProofGenerationEnabled()) {
+			if (left != right) {
+				computeLiterals(left, right);
+				mAllPaths.addFirst(new SubPath(left, false));
+			}
+			return;
+		}
 		final HashSet<SymmetricPair<CCTerm>> added = new HashSet<>();
 		mTodo.add(new SymmetricPair<>(left, right));
 		while (!mTodo.isEmpty()) {
@@ -41,6 +41,7 @@ import de.uni_freiburg.informatik.ultimate.logic.Sort;
 import de.uni_freiburg.informatik.ultimate.logic.SortSymbol;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.logic.Theory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.LogProxy;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.convert.Clausifier;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Clause;
@@ -94,10 +95,44 @@ public class DataTypeTheory implements ITheory {
 	 */
 	private final LinkedHashMap<CCEquality, DataTypeLemma> mEqualityReasons = new LinkedHashMap<>();
 
+	/**
+	 * The terms whose equivalence classes must be checked on the next checkpoint, i.e., for which the rules on testers
+	 * must be applied and whose edges in the graph of constructor and selector applications must be ordered. A class
+	 * is added whenever it is merged, one of its testers gets a truth value, or a new constructor, selector, or tester
+	 * application is created for it.
+	 */
+	private final ArrayDeque<CCTerm> mDirtyTerms = new ArrayDeque<>();
+	private final HashSet<CCTerm> mDirtySet = new HashSet<>();
+	/**
+	 * The classes that were checked together with the size of the undo stack of the congruence closure at that time.
+	 * Backtracking to that size may remove the lemmas created by the check, so the class is checked again.
+	 */
+	private final ArrayList<CCTerm> mCheckedTerms = new ArrayList<>();
+	private final ArrayList<Integer> mCheckedDepths = new ArrayList<>();
+	/**
+	 * True if all classes must be checked on the next checkpoint. This is needed after pop, since the order is
+	 * cleared.
+	 */
+	private boolean mCheckAllClasses;
+	/**
+	 * The topological order of the equivalence classes. Every edge goes from a lower to a higher position, unless the
+	 * source of the edge is in mDirtyTerms.
+	 */
+	private final TopologicalOrder mOrder = new TopologicalOrder();
+	/**
+	 * The cache for {@link #getSelectorsAndTesters(CCTerm)}. It maps the representative of a class to the selector and
+	 * tester applications on that class. An entry is removed when the class is merged with another class, when this
+	 * merge is undone, and when a new selector or tester application is created for a member.
+	 */
+	private final HashMap<CCTerm, Map<FunctionSymbol, CCAppTerm>> mSelectorsAndTesters = new HashMap<>();
+
+	private long mNumChecks, mNumCycles;
+
 	public DataTypeTheory(final Clausifier clausifier, final Theory theory, final CClosure cclosure) {
 		mClausifier = clausifier;
 		mCClosure = cclosure;
 		mTheory = theory;
+		cclosure.mDataTypeTheory = this;
 	}
 
 	public void addPendingLemma(final DataTypeLemma lemma) {
@@ -202,156 +237,377 @@ public class DataTypeTheory implements ITheory {
 		if (conflict != null) {
 			return conflict;
 		}
+		final Clause dirtyConflict = checkDirtyClasses();
+		if (dirtyConflict != null) {
+			return dirtyConflict;
+		}
+		return processPendingLemmas();
+	}
 
-		// Visit all ((_ is CONS) u) terms that are true and try to apply rule 3 or 9 on
-		// them
-		final CCTerm trueCC = mClausifier.getCCTerm(mTheory.mTrue);
-		final LinkedHashMap<CCTerm, CCAppTerm> visited = new LinkedHashMap<>();
-		for (final CCTerm t : trueCC.getRepresentative().mMembers) {
-			if (t instanceof CCAppTerm && t.mFlatTerm instanceof ApplicationTerm) {
-				final ApplicationTerm at = (ApplicationTerm) t.mFlatTerm;
-				final CCAppTerm trueIsApp = (CCAppTerm) t;
-				if (at.getFunction().getName() == "is") {
-					final CCTerm argRep = trueIsApp.getArg().getRepresentative();
-					if (!visited.containsKey(argRep)) {
-						visited.put(argRep, trueIsApp);
-						addConstructorLemma(trueIsApp);
-					} else {
-						/*
-						 * Rule 9:
-						 * Since a constructor can't be equal to another constructor,
-						 * there must not be multiple true is functions that test for different constructors.
-						 */
-						final CCAppTerm prevIsApp = visited.get(argRep);
-						if (prevIsApp.getFunc() != trueIsApp.getFunc()) {
-							final ArrayList<SymmetricPair<CCTerm>> reason = new ArrayList<>();
-							reason.add(new SymmetricPair<>(prevIsApp, trueCC));
-							reason.add(new SymmetricPair<>(trueIsApp, trueCC));
-							if (prevIsApp.getArg() != trueIsApp.getArg()) {
-								reason.add(new SymmetricPair<>(prevIsApp.getArg(), trueIsApp.getArg()));
-							}
-							final Term[] testers = new Term[2];
-							testers[0] = prevIsApp.mFlatTerm;
-							testers[1] = trueIsApp.mFlatTerm;
-							@SuppressWarnings("unchecked")
-							final DataTypeLemma lemma = new DataTypeLemma(RuleKind.DT_UNIQUE,
-									reason.toArray(new SymmetricPair[reason.size()]), testers);
-							mClausifier.getLogger().debug("Conflict: Rule 9");
-							return computeClause(null, lemma);
-						}
-					}
+	private void markDirty(final CCTerm term) {
+		if (mDirtySet.add(term)) {
+			mDirtyTerms.add(term);
+		}
+	}
+
+	private static boolean isTester(final CCTerm term) {
+		return term.mFlatTerm instanceof ApplicationTerm
+				&& ((ApplicationTerm) term.mFlatTerm).getFunction().getName().equals(SMTLIBConstants.IS);
+	}
+
+	/**
+	 * Called by the congruence closure before the class of src is merged into the class of dest.
+	 *
+	 * @param src
+	 *            the representative of the smaller class.
+	 * @param dest
+	 *            the representative of the class it is merged into.
+	 */
+	void notifyMerge(final CCTerm src, final CCTerm dest) {
+		final Term flatTerm = src.mFlatTerm;
+		if (flatTerm == null) {
+			return;
+		}
+		if (flatTerm.getSort().getSortSymbol().isDatatype()) {
+			mSelectorsAndTesters.remove(dest);
+			mOrder.merge(src, dest, mCClosure.getMergeDepth());
+			markDirty(dest);
+		} else if (flatTerm.getSort() == mTheory.getBooleanSort()) {
+			// the testers of one class get a truth value if the other class contains true or false.
+			final CCTerm trueCC = mClausifier.getCCTerm(mTheory.mTrue);
+			final CCTerm falseCC = mClausifier.getCCTerm(mTheory.mFalse);
+			final CCTerm trueRep = trueCC == null ? null : trueCC.mRepStar;
+			final CCTerm falseRep = falseCC == null ? null : falseCC.mRepStar;
+			final CCTerm other;
+			if (src == trueRep || src == falseRep) {
+				other = dest;
+			} else if (dest == trueRep || dest == falseRep) {
+				other = src;
+			} else {
+				return;
+			}
+			for (final CCTerm member : other.mMembers) {
+				if (isTester(member)) {
+					markDirty(((CCAppTerm) member).getArg());
 				}
 			}
 		}
+	}
 
-		// collect all cc-terms that have a "is" function as parent which is equal to false
-		final LinkedHashMap<CCTerm, LinkedHashSet<CCTerm>> falseIsFuns = new LinkedHashMap<>();
-		final CCTerm falseCC = mClausifier.getCCTerm(mTheory.mFalse);
-		for (final CCTerm cct : falseCC.getRepresentative().mMembers) {
-			if (cct.mFlatTerm instanceof ApplicationTerm && ((ApplicationTerm) cct.mFlatTerm).getFunction().getName().equals("is")) {
-				falseIsFuns.putIfAbsent(((CCAppTerm)cct).mArg.mRepStar, new LinkedHashSet<>());
-				falseIsFuns.get(((CCAppTerm)cct).mArg.mRepStar).add(cct);
+	/**
+	 * Called by the congruence closure after the merge of the class of src into the class of dest was undone. Both
+	 * classes are checked again, since the checks of the merged class do not hold for the parts. The positions are
+	 * restored by {@link #backtrackMerges(int)}.
+	 */
+	void notifyUndoMerge(final CCTerm src, final CCTerm dest) {
+		final Term flatTerm = src.mFlatTerm;
+		if (flatTerm != null && flatTerm.getSort().getSortSymbol().isDatatype()) {
+			mSelectorsAndTesters.remove(dest);
+			markDirty(src);
+			markDirty(dest);
+		}
+	}
+
+	/**
+	 * Called by the congruence closure after its undo stack was backtracked.
+	 *
+	 * @param depth
+	 *            the size of the undo stack after backtracking.
+	 */
+	void backtrackMerges(final int depth) {
+		for (final CCTerm moved : mOrder.backtrack(depth)) {
+			markDirty(moved);
+		}
+		int i = mCheckedTerms.size();
+		while (i > 0 && mCheckedDepths.get(i - 1) >= depth) {
+			i--;
+			markDirty(mCheckedTerms.remove(i));
+			mCheckedDepths.remove(i);
+		}
+	}
+
+	/**
+	 * Called by the clausifier when a constructor application was created.
+	 */
+	public void notifyConstructor(final CCTerm consTerm) {
+		markDirty(consTerm);
+	}
+
+	/**
+	 * Called by the clausifier when a selector or tester application was created.
+	 */
+	public void notifySelectorOrTester(final CCAppTerm appTerm) {
+		// remove the cached applications of every class that contains the argument before or after backtracking.
+		CCTerm term = appTerm.getArg();
+		while (true) {
+			mSelectorsAndTesters.remove(term);
+			if (term.mRep == term) {
+				break;
 			}
+			term = term.mRep;
 		}
+		markDirty(appTerm.getArg());
+	}
 
-		for (final CCTerm cct : falseIsFuns.keySet()) {
-			final DataType dt = (DataType) cct.mFlatTerm.getSort().getSortSymbol();
-			if (falseIsFuns.get(cct).size() >= dt.getConstructors().length) {
-				final LinkedHashMap<String, CCTerm> isIndices = new LinkedHashMap<>();
-				for (final CCTerm isFun : falseIsFuns.get(cct)) {
-					isIndices.put(((ApplicationTerm) isFun.mFlatTerm).getFunction().getIndices()[0], isFun);
+	/**
+	 * Check the classes in mDirtyTerms. For every class this applies the rules on testers and orders the edges to the
+	 * children of the class. Classes that are part of a cycle whose conflict cannot be built yet stay in mDirtyTerms.
+	 *
+	 * @return a conflict clause if one was found, or null if not.
+	 */
+	private Clause checkDirtyClasses() {
+		if (mCheckAllClasses) {
+			mCheckAllClasses = false;
+			for (final CCTerm ct : mCClosure.mAllTerms) {
+				if (ct == ct.mRep && ct.mFlatTerm != null && ct.mFlatTerm.getSort().getSortSymbol().isDatatype()) {
+					markDirty(ct);
+				}
+			}
+		}
+		final int depth = mCClosure.getMergeDepth();
+		final ArrayList<CCTerm> unresolved = new ArrayList<>();
+		Clause conflict = null;
+		CCTerm term;
+		while (conflict == null && (term = mDirtyTerms.poll()) != null) {
+			mDirtySet.remove(term);
+			final CCTerm rep = term.getRepresentative();
+			mNumChecks++;
+			conflict = checkTesters(rep);
+			if (conflict == null) {
+				final int numUnresolved = unresolved.size();
+				conflict = checkCycles(rep, unresolved);
+				if (conflict == null && unresolved.size() == numUnresolved) {
+					mCheckedTerms.add(rep);
+					mCheckedDepths.add(depth);
 				}
-				/*
-				 * Rule 6:
-				 * Every data type term must be equal to a constructor.
-				 * Thus, not all "is" functions may be false.
-				 */
-				if (isIndices.size() == dt.getConstructors().length) {
+			}
+			if (conflict != null) {
+				markDirty(rep);
+			}
+		}
+		for (final CCTerm ct : unresolved) {
+			markDirty(ct);
+		}
+		assert conflict != null || !Config.EXPENSIVE_ASSERTS || checkOrder();
+		return conflict;
+	}
+
+	/**
+	 * Check that every edge from a class that is not in mDirtyTerms goes along the topological order.
+	 */
+	private boolean checkOrder() {
+		final Set<CCTerm> dirtyClasses = new HashSet<>();
+		for (final CCTerm term : mDirtySet) {
+			dirtyClasses.add(term.getRepresentative());
+		}
+		for (final CCTerm rep : mCClosure.mAllTerms) {
+			if (rep != rep.mRep || rep.mFlatTerm == null || !rep.mFlatTerm.getSort().getSortSymbol().isDatatype()
+					|| dirtyClasses.contains(rep)) {
+				continue;
+			}
+			final List<CCTerm> children = getAllDataTypeChildren(rep, new HashMap<>());
+			if (children == null || children.isEmpty()) {
+				continue;
+			}
+			final Integer position = mOrder.getPosition(rep);
+			for (final CCTerm child : children) {
+				final Integer childPosition = mOrder.getPosition(child.getRepresentative());
+				assert position != null && childPosition != null && childPosition > position
+						: "Unordered edge " + rep + " -> " + child;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Apply the rules on testers to a class. If there is a true tester, this adds the constructor lemma (rule 3). It
+	 * returns a conflict if there are true testers for two different constructors (rule 9) or if the testers of all
+	 * constructors are false (rule 6).
+	 *
+	 * @param rep
+	 *            the representative of the class.
+	 * @return a conflict clause if one was found, or null if not.
+	 */
+	private Clause checkTesters(final CCTerm rep) {
+		final Map<FunctionSymbol, CCAppTerm> selectorsAndTesters = getSelectorsAndTesters(rep);
+		final CCTerm trueCC = mClausifier.getCCTerm(mTheory.mTrue);
+		final CCTerm falseCC = mClausifier.getCCTerm(mTheory.mFalse);
+		CCAppTerm trueTester = null;
+		int numFalseTesters = 0;
+		for (final Map.Entry<FunctionSymbol, CCAppTerm> entry : selectorsAndTesters.entrySet()) {
+			if (entry.getKey().isSelector()) {
+				continue;
+			}
+			final CCAppTerm tester = entry.getValue();
+			if (tester.mRepStar == trueCC.mRepStar) {
+				if (trueTester == null) {
+					trueTester = tester;
+				} else {
+					/*
+					 * Rule 9:
+					 * Since a constructor can't be equal to another constructor,
+					 * there must not be multiple true is functions that test for different constructors.
+					 */
 					final ArrayList<SymmetricPair<CCTerm>> reason = new ArrayList<>();
-					final Term[] testers = new Term[dt.getConstructors().length];
-					int i = 0;
-					CCTerm firstArg = null;
-					for (final Constructor consName : dt.getConstructors()) {
-						final CCTerm isFun = isIndices.get(consName.getName());
-						testers[i++] = isFun.mFlatTerm;
-						final CCTerm arg = ((CCAppTerm)isFun).mArg;
-						reason.add(new SymmetricPair<>(isFun, falseCC));
-						if (firstArg == null) {
-							firstArg = arg;
-						} else if (firstArg != arg) {
-							reason.add(new SymmetricPair<>(firstArg, arg));
-						}
+					reason.add(new SymmetricPair<>(trueTester, trueCC));
+					reason.add(new SymmetricPair<>(tester, trueCC));
+					if (trueTester.getArg() != tester.getArg()) {
+						reason.add(new SymmetricPair<>(trueTester.getArg(), tester.getArg()));
 					}
+					final Term[] testers = new Term[] { trueTester.mFlatTerm, tester.mFlatTerm };
 					@SuppressWarnings("unchecked")
-					final DataTypeLemma lemma = new DataTypeLemma(RuleKind.DT_CASES,
+					final DataTypeLemma lemma = new DataTypeLemma(RuleKind.DT_UNIQUE,
 							reason.toArray(new SymmetricPair[reason.size()]), testers);
-					mClausifier.getLogger().debug("Conflict: Rule 6");
+					mClausifier.getLogger().debug("Conflict: Rule 9");
 					return computeClause(null, lemma);
 				}
+			} else if (falseCC != null && tester.mRepStar == falseCC.mRepStar) {
+				numFalseTesters++;
 			}
 		}
+		if (trueTester != null) {
+			addConstructorLemma(trueTester);
+			return null;
+		}
 
-		return processPendingLemmas();
+		final Sort sort = rep.mFlatTerm.getSort();
+		final DataType dt = (DataType) sort.getSortSymbol();
+		if (numFalseTesters == dt.getConstructors().length) {
+			/*
+			 * Rule 6:
+			 * Every data type term must be equal to a constructor.
+			 * Thus, not all "is" functions may be false.
+			 */
+			final ArrayList<SymmetricPair<CCTerm>> reason = new ArrayList<>();
+			final Term[] testers = new Term[dt.getConstructors().length];
+			int i = 0;
+			CCTerm firstArg = null;
+			for (final Constructor cons : dt.getConstructors()) {
+				final FunctionSymbol isFs = mTheory.getFunctionWithResult(SMTLIBConstants.IS,
+						new String[] { cons.getName() }, null, sort);
+				final CCAppTerm isFun = selectorsAndTesters.get(isFs);
+				testers[i++] = isFun.mFlatTerm;
+				final CCTerm arg = isFun.getArg();
+				reason.add(new SymmetricPair<>(isFun, falseCC));
+				if (firstArg == null) {
+					firstArg = arg;
+				} else if (firstArg != arg) {
+					reason.add(new SymmetricPair<>(firstArg, arg));
+				}
+			}
+			@SuppressWarnings("unchecked")
+			final DataTypeLemma lemma = new DataTypeLemma(RuleKind.DT_CASES,
+					reason.toArray(new SymmetricPair[reason.size()]), testers);
+			mClausifier.getLogger().debug("Conflict: Rule 6");
+			return computeClause(null, lemma);
+		}
+		return null;
 	}
 
-	private Clause checkDTCycles() {
-		// check for cycles (Rule7)
-		/*
-		 * Rule 7:
-		 * Constructor arguments must not contain the constructor term itself, so we need to check
-		 * if there is any cycle in the equality graph.
-		 * To do this, we do a depth-first-search over the graph, noting terms (visitedOnPath) already visited
-		 * to detect a cycle.
-		 */
+	/**
+	 * Check the edges from a class to its children in the topological order. If an edge goes against the order, this
+	 * searches the classes between both ends that are reachable from the child. If the search finds the class again,
+	 * there is a cycle (rule 7); otherwise the classes are reordered.
+	 *
+	 * @param rep
+	 *            the representative of the class.
+	 * @param unresolved
+	 *            the list to which rep is added if it is on a cycle whose conflict cannot be built yet.
+	 * @return a conflict clause if one was found, or null if not.
+	 */
+	private Clause checkCycles(final CCTerm rep, final List<CCTerm> unresolved) {
+		final Map<CCTerm, CCAppTerm> trueTesters = new HashMap<>();
+		final List<CCTerm> children = getAllDataTypeChildren(rep, trueTesters);
+		if (children == null || children.isEmpty()) {
+			return null;
+		}
+		final int depth = mCClosure.getMergeDepth();
+		if (mOrder.getPosition(rep) == null) {
+			mOrder.addFirst(rep, depth);
+		}
+		for (final CCTerm child : children) {
+			final CCTerm childRep = child.getRepresentative();
+			if (childRep != rep) {
+				final Integer childPosition = mOrder.getPosition(childRep);
+				if (childPosition == null) {
+					mOrder.addLast(childRep, depth);
+					continue;
+				}
+				if (childPosition > mOrder.getPosition(rep)) {
+					continue;
+				}
+			}
+			final Clause conflict = searchCycle(rep, child, trueTesters);
+			if (conflict != null) {
+				return conflict;
+			}
+			if (childRep == rep || mOrder.getPosition(childRep) < mOrder.getPosition(rep)) {
+				// there is a cycle, but we need to create a tester first.
+				unresolved.add(rep);
+				return null;
+			}
+		}
+		return null;
+	}
 
+	/**
+	 * Search for a cycle through an edge that goes against the topological order. This is a depth-first search from
+	 * the child that only visits classes before the parent in the order. If it finds the parent, it builds the cycle
+	 * conflict. Otherwise the visited classes are moved behind the parent.
+	 *
+	 * @param rep
+	 *            the representative of the parent class.
+	 * @param child
+	 *            the child of the parent class.
+	 * @return a conflict clause for the cycle, or null if there is no cycle or its conflict cannot be built yet.
+	 */
+	private Clause searchCycle(final CCTerm rep, final CCTerm child, final Map<CCTerm, CCAppTerm> trueTesters) {
+		// Remember the current path.
+		final Deque<CCTerm> path = new ArrayDeque<>();
+		path.push(rep);
+		if (child.getRepresentative() == rep) {
+			mNumCycles++;
+			return buildCycleConflict(child, path, trueTesters);
+		}
+		final int upper = mOrder.getPosition(rep);
+		final int lower = mOrder.getPosition(child.getRepresentative());
 		// Remember the representatives of all visited terms in this set to avoid
 		// searching the same sub tree more than once.
 		final Set<CCTerm> visited = new HashSet<>();
-
-		// Remember the current path.
-		final Deque<CCTerm> path = new ArrayDeque<>();
-		// Remember the representatives of all nodes on the current path.
-		final Set<CCTerm> visitedOnPath = new HashSet<>();
 		final Deque<CCTerm> todo = new ArrayDeque<>();
-		final Map<CCTerm, CCAppTerm> trueTesters = new HashMap<>();
-
-		for (final CCTerm start : mCClosure.mAllTerms) {
-			if (start.mFlatTerm != null && start.mFlatTerm.getSort().getSortSymbol().isDatatype()) {
-				todo.push(start);
-
-				while (!todo.isEmpty()) {
-					final CCTerm ct = todo.pop();
-					final CCTerm rep = ct.getRepresentative();
-
-					if (visited.contains(rep)) {
-						if (path.peek() == ct) {
-							path.pop();
-							visitedOnPath.remove(rep);
-						} else {
-							assert !visitedOnPath.contains(rep);
-						}
-						continue;
-					}
-
-					final List<CCTerm> children = getAllDataTypeChildren(rep, trueTesters);
-
-					if (!children.isEmpty()) {
-						path.push(ct);
-						visitedOnPath.add(rep);
-						todo.push(ct);
-
-						for (final CCTerm c : children) {
-							if (visitedOnPath.contains(c.getRepresentative())) {
-								// one of the children is already on the path so we found a cycle
-								return buildCycleConflict(c, path, trueTesters);
-							}
-							todo.push(c);
-						}
-					}
-					visited.add(rep);
+		todo.push(child);
+		while (!todo.isEmpty()) {
+			final CCTerm ct = todo.pop();
+			final CCTerm ctRep = ct.getRepresentative();
+			if (visited.contains(ctRep)) {
+				if (path.peek() == ct) {
+					path.pop();
+				}
+				continue;
+			}
+			visited.add(ctRep);
+			path.push(ct);
+			todo.push(ct);
+			final List<CCTerm> children = getAllDataTypeChildren(ctRep, trueTesters);
+			if (children == null) {
+				// the class is not checked yet and its check will report the conflicting testers.
+				continue;
+			}
+			for (final CCTerm c : children) {
+				final CCTerm cRep = c.getRepresentative();
+				if (cRep == rep) {
+					// the child reaches the parent, so we found a cycle
+					mNumCycles++;
+					return buildCycleConflict(c, path, trueTesters);
+				}
+				// classes without a position are not checked yet; their check orders their edges.
+				final Integer position = mOrder.getPosition(cRep);
+				if (position != null && position < upper && !visited.contains(cRep)) {
+					todo.push(c);
 				}
 			}
 		}
+		mOrder.reorder(lower, upper, visited, mCClosure.getMergeDepth());
 		return null;
 	}
 
@@ -369,7 +625,7 @@ public class DataTypeTheory implements ITheory {
 			createIsApplications(ct);
 		}
 
-		final Clause conflict = checkDTCycles();
+		final Clause conflict = checkDirtyClasses();
 		if (conflict != null) {
 			return conflict;
 		}
@@ -467,13 +723,18 @@ public class DataTypeTheory implements ITheory {
 	/**
 	 * Return all select or is applications for a given ccTerm and return them as a
 	 * map. This takes the congruence class into account and returns all function
-	 * applications of any member of the class, but at most one per function symbol.
+	 * applications of any member of the class, but at most one per function symbol. The map is cached until the class
+	 * changes and must not be modified.
 	 *
 	 * @param ccTerm The term whose applications should be searched. Must be the
 	 *               representative of its class.
 	 */
 	private Map<FunctionSymbol, CCAppTerm> getSelectorsAndTesters(final CCTerm ccTerm) {
 		assert ccTerm == ccTerm.getRepresentative();
+		final Map<FunctionSymbol, CCAppTerm> cached = mSelectorsAndTesters.get(ccTerm);
+		if (cached != null) {
+			return cached;
+		}
 		final LinkedHashMap<FunctionSymbol, CCAppTerm> map = new LinkedHashMap<>();
 		CCParentInfo pInfo = ccTerm.mCCPars;
 		while (pInfo != null) {
@@ -490,6 +751,7 @@ public class DataTypeTheory implements ITheory {
 			}
 			pInfo = pInfo.mNext;
 		}
+		mSelectorsAndTesters.put(ccTerm, map);
 		return map;
 	}
 
@@ -503,9 +765,8 @@ public class DataTypeTheory implements ITheory {
 	 * @param ccTerm   The representative of the equality class.
 	 * @param children An empty list, which will be filled with children if there
 	 *                 are any.
-	 * @return The constructor term which is equal to rep, if there is none, it
-	 *         returns a true "is" function for this equality class, if there is
-	 *         also none, it returns null.
+	 * @return The children, or null if the class has true "is" functions for
+	 *         two different constructors.
 	 */
 	private List<CCTerm> getAllDataTypeChildren(final CCTerm ccTerm, final Map<CCTerm, CCAppTerm> trueTesters) {
 		final ArrayList<CCTerm> children = new ArrayList<>();
@@ -543,7 +804,10 @@ public class DataTypeTheory implements ITheory {
 				// func is a tester
 				final CCAppTerm tester = entry.getValue();
 				if (tester.getRepresentative() == trueRep) {
-					assert trueTester == null;
+					if (trueTester != null) {
+						// the class has two constructors; this is a conflict (rule 9) found by checkTesters.
+						return null;
+					}
 					trueTester = func;
 					trueTesters.put(rep, tester);
 				} else {
@@ -621,7 +885,10 @@ public class DataTypeTheory implements ITheory {
 					mClausifier.createCCTerm(isTerm, SourceAnnotation.EMPTY_SOURCE_ANNOT);
 					return null;
 				}
-				assert trueTester.getRepresentative() == trueCC.getRepresentative();
+				if (trueTester.getRepresentative() != trueCC.getRepresentative()) {
+					// the tester is not decided yet.
+					return null;
+				}
 				reason.add(new SymmetricPair<>(trueTester, trueCC));
 			}
 
@@ -682,6 +949,10 @@ public class DataTypeTheory implements ITheory {
 
 	@Override
 	public void printStatistics(final LogProxy logger) {
+		if (logger.isInfoEnabled()) {
+			logger.info("DT: checks: %d, cycles: %d, reorders: %d, moved: %d", mNumChecks, mNumCycles,
+					mOrder.getNumReorders(), mOrder.getNumMoved());
+		}
 	}
 
 	@Override
@@ -799,12 +1070,20 @@ public class DataTypeTheory implements ITheory {
 		mPendingLemmas.clear();
 		mPendingEqualities.clear();
 		mRecheckOnBacktrack.endScope();
+		mDirtyTerms.clear();
+		mDirtySet.clear();
+		mCheckedTerms.clear();
+		mCheckedDepths.clear();
+		mSelectorsAndTesters.clear();
+		mOrder.clear();
+		mCheckAllClasses = true;
 		recheckTrigger();
 	}
 
 	@Override
 	public Object[] getStatistics() {
-		return new Object[] { ":DT" };
+		return new Object[] { ":DT", new Object[][] { { "Checks", mNumChecks }, { "Cycles", mNumCycles },
+				{ "Reorders", mOrder.getNumReorders() }, { "Moved", mOrder.getNumMoved() } } };
 	}
 
 	/**
@@ -859,7 +1138,7 @@ public class DataTypeTheory implements ITheory {
 		for (int i = 0; i < constr.getArgumentSorts().length; i++) {
 			if (mClausifier.isStablyInfinite(constr.getArgumentSorts()[i].mapSort(dataTypeSort.getArguments()))) {
 				final FunctionSymbol selector = mTheory.getFunction(constr.getSelectors()[i], dataTypeSort);
-				if (mCClosure.getAllFuncAppsForArg(selector, ccterm, 0).isEmpty()) {
+				if (!getSelectorsAndTesters(ccterm.getRepresentative()).containsKey(selector)) {
 					return true;
 				}
 			}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.SymmetricPair;
+
+/**
+ * Remembers the explanations of equalities between two terms in the equality graph. An explanation consists of the
+ * equality literals on the path between the terms and the argument pairs of the congruences on the path. The argument
+ * pairs are explained by their own explanations, so together they form a proof forest of the equality.
+ *
+ * The path between two terms in the equality graph stays the same until one of its edges is removed by backtracking.
+ * Every explanation therefore remembers the merge time of the newest edge on its path. Backtracking the undo stack of
+ * the congruence closure to some depth removes the explanations whose merge time is not below that depth.
+ *
+ * The cache is only used if proof production is disabled, since proofs need the paths and not only the literals.
+ */
+class ExplanationCache {
+	/**
+	 * The explanation of the path from mLeft to the other term. The path goes from mLeft to the first term with a
+	 * literal edge, then over an optional congruence, and then to the other term. The literals are stored in the order
+	 * of the path and the argument pairs of the congruences in the order in which they are explained.
+	 */
+	static class Explanation {
+		final CCTerm mLeft;
+		/**
+		 * The literals on the path. The first mNumLeftLiterals are on the part before the congruence.
+		 */
+		final Literal[] mLiterals;
+		final int mNumLeftLiterals;
+		/**
+		 * The argument pairs of the congruences on the path. The pairs of the part after the middle congruence come
+		 * first, then the mNumMiddleArgs pairs of the middle congruence, then the mNumLeftArgs pairs of the part
+		 * before.
+		 */
+		final ArrayList<SymmetricPair<CCTerm>> mArgs;
+		final int mNumLeftArgs;
+		final int mNumMiddleArgs;
+		/**
+		 * The pairs of congruent function applications on the path, stored one after the other, or null if they are
+		 * not needed for dynamic Ackermannization.
+		 */
+		final CCAppTerm[] mCongruences;
+		/**
+		 * The merge time of the newest edge on the path.
+		 */
+		final int mMergeTime;
+
+		Explanation(final CCTerm left, final Literal[] literals, final int numLeftLiterals,
+				final ArrayList<SymmetricPair<CCTerm>> args, final int numLeftArgs, final int numMiddleArgs,
+				final CCAppTerm[] congruences, final int mergeTime) {
+			mLeft = left;
+			mLiterals = literals;
+			mNumLeftLiterals = numLeftLiterals;
+			mArgs = args;
+			mNumLeftArgs = numLeftArgs;
+			mNumMiddleArgs = numMiddleArgs;
+			mCongruences = congruences;
+			mMergeTime = mergeTime;
+		}
+	}
+
+	private final HashMap<SymmetricPair<CCTerm>, Explanation> mExplanations = new HashMap<>();
+	/**
+	 * For each merge time the list of explained pairs whose newest edge has this merge time, or null if there is no
+	 * such pair.
+	 */
+	private final ArrayList<ArrayList<SymmetricPair<CCTerm>>> mPairsByMergeTime = new ArrayList<>();
+
+	private long mNumHits, mNumComputed;
+
+	/**
+	 * Look up the explanation for a pair of terms and count it as a cache hit if it is cached.
+	 *
+	 * @return the explanation, or null if it is not cached.
+	 */
+	Explanation lookup(final SymmetricPair<CCTerm> pair) {
+		final Explanation expl = mExplanations.get(pair);
+		if (expl != null) {
+			mNumHits++;
+		}
+		return expl;
+	}
+
+	void put(final SymmetricPair<CCTerm> pair, final Explanation expl) {
+		assert !mExplanations.containsKey(pair);
+		mExplanations.put(pair, expl);
+		while (mPairsByMergeTime.size() <= expl.mMergeTime) {
+			mPairsByMergeTime.add(null);
+		}
+		ArrayList<SymmetricPair<CCTerm>> pairs = mPairsByMergeTime.get(expl.mMergeTime);
+		if (pairs == null) {
+			pairs = new ArrayList<>();
+			mPairsByMergeTime.set(expl.mMergeTime, pairs);
+		}
+		pairs.add(pair);
+		mNumComputed++;
+	}
+
+	/**
+	 * Remove the explanations that use an edge with a merge time of at least depth.
+	 *
+	 * @param depth
+	 *            the size of the undo stack after backtracking.
+	 */
+	void backtrack(final int depth) {
+		for (int i = mPairsByMergeTime.size() - 1; i >= depth; i--) {
+			final ArrayList<SymmetricPair<CCTerm>> pairs = mPairsByMergeTime.remove(i);
+			if (pairs != null) {
+				for (final SymmetricPair<CCTerm> pair : pairs) {
+					mExplanations.remove(pair);
+				}
+			}
+		}
+	}
+
+	long getNumHits() {
+		return mNumHits;
+	}
+
+	long getNumComputed() {
+		return mNumComputed;
+	}
+}
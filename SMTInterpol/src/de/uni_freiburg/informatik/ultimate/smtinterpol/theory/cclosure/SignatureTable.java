@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure;
+
+import java.util.Arrays;
+
+/**
+ * The signature table of the congruence closure. The signature of an application term is the pair of the ids of the
+ * representatives of its function and its argument. Two application terms are congruent if and only if they have the
+ * same signature. The table is an open-addressed hash table with linear probing that maps signatures to application
+ * terms.
+ *
+ * An entry is only valid if the signature of its term is still the key. Merges change the signature of the parents of
+ * the smaller class; the congruence closure inserts these parents with their new signature, but leaves the old entries
+ * in the table. The table keeps the invariant that for every application term whose parent infos are not marked there
+ * is a valid entry for its signature. Every change of an entry is logged together with the size of the undo stack of
+ * the congruence closure, and backtracking restores the entries.
+ *
+ * Application terms that are created while there are merges on the undo stack are inserted with their current
+ * signature. After backtracking below that point, they are inserted again with their older signature once backtracking
+ * is complete.
+ */
+class SignatureTable {
+	private static final int EMPTY = -1;
+	private static final int DELETED = -2;
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final CClosure mClosure;
+
+	/**
+	 * The ids of the function and argument representatives of each slot, or EMPTY resp. DELETED in the function part.
+	 */
+	private int[] mKeys;
+	private CCAppTerm[] mTerms;
+	/**
+	 * The number of slots that are not empty, including the deleted ones.
+	 */
+	private int mUsedSlots;
+
+	/**
+	 * The undo log. For every change it contains the key, the term that was stored before or null if there was no
+	 * entry, and the size of the undo stack when the change was made.
+	 */
+	private int[] mLogKeys;
+	private CCAppTerm[] mLogTerms;
+	private int[] mLogDepths;
+	private int mLogSize;
+
+	/**
+	 * The application terms that were inserted while the undo stack was not empty, with the size of the undo stack
+	 * when they were last inserted. The depths are ascending.
+	 */
+	private CCAppTerm[] mLateTerms;
+	private int[] mLateDepths;
+	private int mNumLateTerms;
+	/**
+	 * The index of the first late term whose depth was lowered by backtracking and that must be inserted again.
+	 */
+	private int mFirstLateTermToInsert;
+
+	SignatureTable(final CClosure closure) {
+		mClosure = closure;
+		allocate(INITIAL_CAPACITY);
+		mLogKeys = new int[2 * INITIAL_CAPACITY];
+		mLogTerms = new CCAppTerm[INITIAL_CAPACITY];
+		mLogDepths = new int[INITIAL_CAPACITY];
+		mLateTerms = new CCAppTerm[INITIAL_CAPACITY];
+		mLateDepths = new int[INITIAL_CAPACITY];
+	}
+
+	private void allocate(final int capacity) {
+		mKeys = new int[2 * capacity];
+		Arrays.fill(mKeys, EMPTY);
+		mTerms = new CCAppTerm[capacity];
+		mUsedSlots = 0;
+	}
+
+	private static int hash(final int func, final int arg) {
+		int h = func * 0x9e3779b9 + arg;
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		return h;
+	}
+
+	private static boolean hasSignature(final CCAppTerm term, final int func, final int arg) {
+		return term.mFunc.mRepStar.mId == func && term.mArg.mRepStar.mId == arg;
+	}
+
+	/**
+	 * Find the slot containing the key.
+	 *
+	 * @return the slot, or -1 if the key is not in the table.
+	 */
+	private int findSlot(final int func, final int arg) {
+		final int mask = mTerms.length - 1;
+		int slot = hash(func, arg) & mask;
+		while (mKeys[2 * slot] != EMPTY) {
+			if (mKeys[2 * slot] == func && mKeys[2 * slot + 1] == arg) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Add a new key to the table. The key must not be in the table.
+	 */
+	private void addEntry(final int func, final int arg, final CCAppTerm term) {
+		final int mask = mTerms.length - 1;
+		int slot = hash(func, arg) & mask;
+		while (mKeys[2 * slot] >= 0) {
+			slot = (slot + 1) & mask;
+		}
+		if (mKeys[2 * slot] == EMPTY) {
+			mUsedSlots++;
+		}
+		mKeys[2 * slot] = func;
+		mKeys[2 * slot + 1] = arg;
+		mTerms[slot] = term;
+		if (2 * mUsedSlots > mTerms.length) {
+			rehash();
+		}
+	}
+
+	private void rehash() {
+		final int[] oldKeys = mKeys;
+		final CCAppTerm[] oldTerms = mTerms;
+		int numEntries = 0;
+		for (final CCAppTerm term : oldTerms) {
+			if (term != null) {
+				numEntries++;
+			}
+		}
+		allocate(4 * numEntries > oldTerms.length ? 2 * oldTerms.length : oldTerms.length);
+		for (int i = 0; i < oldTerms.length; i++) {
+			if (oldTerms[i] != null) {
+				addEntry(oldKeys[2 * i], oldKeys[2 * i + 1], oldTerms[i]);
+			}
+		}
+	}
+
+	private void log(final int func, final int arg, final CCAppTerm oldTerm, final int depth) {
+		if (depth == 0) {
+			// nothing to undo
+			return;
+		}
+		if (mLogSize == mLogTerms.length) {
+			mLogKeys = Arrays.copyOf(mLogKeys, 4 * mLogSize);
+			mLogTerms = Arrays.copyOf(mLogTerms, 2 * mLogSize);
+			mLogDepths = Arrays.copyOf(mLogDepths, 2 * mLogSize);
+		}
+		mLogKeys[2 * mLogSize] = func;
+		mLogKeys[2 * mLogSize + 1] = arg;
+		mLogTerms[mLogSize] = oldTerm;
+		mLogDepths[mLogSize] = depth;
+		mLogSize++;
+	}
+
+	/**
+	 * Insert an application term with its current signature, unless there is already a valid entry for it.
+	 *
+	 * @param term
+	 *            the application term.
+	 * @param depth
+	 *            the current size of the undo stack.
+	 * @return the other application term with the same signature, or null if there is none.
+	 */
+	CCAppTerm insert(final CCAppTerm term, final int depth) {
+		final int func = term.mFunc.mRepStar.mId;
+		final int arg = term.mArg.mRepStar.mId;
+		final int slot = findSlot(func, arg);
+		if (slot < 0) {
+			log(func, arg, null, depth);
+			addEntry(func, arg, term);
+			return null;
+		}
+		final CCAppTerm old = mTerms[slot];
+		if (old == term) {
+			return null;
+		}
+		if (hasSignature(old, func, arg)) {
+			return old;
+		}
+		log(func, arg, old, depth);
+		mTerms[slot] = term;
+		return null;
+	}
+
+	/**
+	 * Insert an application term that was just created.
+	 *
+	 * @param term
+	 *            the new application term.
+	 * @param depth
+	 *            the current size of the undo stack.
+	 * @return the other application term with the same signature, or null if there is none.
+	 */
+	CCAppTerm insertNew(final CCAppTerm term, final int depth) {
+		if (depth > 0) {
+			if (mNumLateTerms == mLateTerms.length) {
+				mLateTerms = Arrays.copyOf(mLateTerms, 2 * mNumLateTerms);
+				mLateDepths = Arrays.copyOf(mLateDepths, 2 * mNumLateTerms);
+			}
+			mLateTerms[mNumLateTerms] = term;
+			mLateDepths[mNumLateTerms] = depth;
+			if (mFirstLateTermToInsert == mNumLateTerms) {
+				mFirstLateTermToInsert++;
+			}
+			mNumLateTerms++;
+		}
+		return insert(term, depth);
+	}
+
+	/**
+	 * Check if the table contains a valid entry for the current signature of an application term.
+	 */
+	boolean hasValidEntry(final CCAppTerm term) {
+		final int func = term.mFunc.mRepStar.mId;
+		final int arg = term.mArg.mRepStar.mId;
+		final int slot = findSlot(func, arg);
+		return slot >= 0 && hasSignature(mTerms[slot], func, arg);
+	}
+
+	/**
+	 * Remove the entry of an application term that is deleted. This must only be called if the undo stack is empty.
+	 */
+	void remove(final CCAppTerm term) {
+		assert mLogSize == 0 && mNumLateTerms == 0;
+		final int slot = findSlot(term.mFunc.mRepStar.mId, term.mArg.mRepStar.mId);
+		if (slot >= 0 && mTerms[slot] == term) {
+			mKeys[2 * slot] = DELETED;
+			mTerms[slot] = null;
+		}
+	}
+
+	/**
+	 * Restore the entries after the undo stack was backtracked. The application terms that were created later are
+	 * inserted again by {@link #reinsertLateTerms}.
+	 *
+	 * @param depth
+	 *            the size of the undo stack after backtracking.
+	 */
+	void backtrack(final int depth) {
+		while (mLogSize > 0 && mLogDepths[mLogSize - 1] > depth) {
+			mLogSize--;
+			final int func = mLogKeys[2 * mLogSize];
+			final int arg = mLogKeys[2 * mLogSize + 1];
+			final CCAppTerm oldTerm = mLogTerms[mLogSize];
+			mLogTerms[mLogSize] = null;
+			final int slot = findSlot(func, arg);
+			assert slot >= 0 || oldTerm != null;
+			if (oldTerm == null) {
+				mKeys[2 * slot] = DELETED;
+				mTerms[slot] = null;
+			} else if (slot < 0) {
+				addEntry(func, arg, oldTerm);
+			} else {
+				mTerms[slot] = oldTerm;
+			}
+		}
+		int i = mNumLateTerms;
+		while (i > 0 && mLateDepths[i - 1] > depth) {
+			i--;
+			mLateDepths[i] = depth;
+		}
+		mFirstLateTermToInsert = Math.min(mFirstLateTermToInsert, i);
+	}
+
+	/**
+	 * Insert the application terms again that were created after the undo stack was backtracked to. This is done once
+	 * after backtracking is complete. If such a term is congruent to another term, the congruence is added as pending
+	 * congruence.
+	 */
+	void reinsertLateTerms() {
+		final int depth = mClosure.getMergeDepth();
+		for (int i = mFirstLateTermToInsert; i < mNumLateTerms; i++) {
+			final CCAppTerm term = mLateTerms[i];
+			assert mLateDepths[i] <= depth;
+			if (!term.mLeftParInfo.isMarked()) {
+				final CCAppTerm congruent = insert(term, depth);
+				if (congruent != null) {
+					mClosure.addPendingCongruence(term, congruent);
+				}
+			}
+		}
+		if (depth == 0) {
+			Arrays.fill(mLateTerms, 0, mNumLateTerms, null);
+			mNumLateTerms = 0;
+		}
+		mFirstLateTermToInsert = mNumLateTerms;
+	}
+}
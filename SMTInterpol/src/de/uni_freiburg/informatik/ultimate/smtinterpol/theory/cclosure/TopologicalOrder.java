@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An incremental topological order of the equivalence classes in the graph of the data type theory. The nodes are the
+ * representatives of the classes and every node has a distinct integer position. The data type theory keeps the
+ * positions of a parent class smaller than the positions of its children, so a new edge only needs work if it goes
+ * against the order. In that case the positions between the two ends of the edge are reordered as in the algorithm of
+ * Marchetti-Spaccamela, Nanni and Rohnert.
+ *
+ * Every change of a position is logged together with the size of the undo stack of the congruence closure, and
+ * backtracking restores the positions.
+ */
+class TopologicalOrder {
+	private static class UndoEntry {
+		final CCTerm mTerm;
+		final Integer mOldPosition;
+		final int mDepth;
+
+		UndoEntry(final CCTerm term, final Integer oldPosition, final int depth) {
+			mTerm = term;
+			mOldPosition = oldPosition;
+			mDepth = depth;
+		}
+	}
+
+	private final HashMap<CCTerm, Integer> mPositions = new HashMap<>();
+	/**
+	 * The inverse of mPositions. It may contain stale entries for positions that are no longer used; these are
+	 * detected by looking up the position of the term.
+	 */
+	private final TreeMap<Integer, CCTerm> mTermAt = new TreeMap<>();
+	private final ArrayDeque<UndoEntry> mUndoLog = new ArrayDeque<>();
+	/**
+	 * The smallest and largest position that was given out so far.
+	 */
+	private int mLowest, mHighest;
+
+	private long mNumReorders, mNumMoved;
+
+	/**
+	 * Get the position of a class.
+	 *
+	 * @param rep
+	 *            the representative of the class.
+	 * @return the position, or null if the class has no position yet.
+	 */
+	Integer getPosition(final CCTerm rep) {
+		return mPositions.get(rep);
+	}
+
+	private void setPosition(final CCTerm term, final Integer position, final int depth) {
+		final Integer oldPosition = mPositions.get(term);
+		if (depth > 0) {
+			mUndoLog.push(new UndoEntry(term, oldPosition, depth));
+		}
+		move(term, oldPosition, position);
+	}
+
+	private void move(final CCTerm term, final Integer oldPosition, final Integer position) {
+		if (oldPosition != null && mTermAt.get(oldPosition) == term) {
+			mTermAt.remove(oldPosition);
+		}
+		if (position == null) {
+			mPositions.remove(term);
+		} else {
+			mPositions.put(term, position);
+			mTermAt.put(position, term);
+		}
+	}
+
+	/**
+	 * Give a class without position a position before all other classes.
+	 *
+	 * @return the new position.
+	 */
+	int addFirst(final CCTerm rep, final int depth) {
+		assert !mPositions.containsKey(rep);
+		final int position = --mLowest;
+		setPosition(rep, position, depth);
+		return position;
+	}
+
+	/**
+	 * Give a class without position a position after all other classes.
+	 *
+	 * @return the new position.
+	 */
+	int addLast(final CCTerm rep, final int depth) {
+		assert !mPositions.containsKey(rep);
+		final int position = ++mHighest;
+		setPosition(rep, position, depth);
+		return position;
+	}
+
+	/**
+	 * Update the positions when the class of src is merged into the class of dest. The merged class takes the larger
+	 * of both positions, so that all edges into the merged class still go along the order. The edges out of the merged
+	 * class have to be checked by the caller.
+	 */
+	void merge(final CCTerm src, final CCTerm dest, final int depth) {
+		final Integer srcPosition = mPositions.get(src);
+		if (srcPosition == null) {
+			return;
+		}
+		final Integer destPosition = mPositions.get(dest);
+		setPosition(src, null, depth);
+		if (destPosition == null || destPosition < srcPosition) {
+			setPosition(dest, srcPosition, depth);
+		}
+	}
+
+	/**
+	 * Reorder the classes between two positions. The classes in the forward set are moved behind all other classes in
+	 * this range. The relative order within both parts is kept.
+	 *
+	 * @param lower
+	 *            the position of the target of the edge that goes against the order.
+	 * @param upper
+	 *            the position of the source of the edge that goes against the order.
+	 * @param forward
+	 *            the classes between lower and upper that are reachable from the target of the edge. Classes without
+	 *            a position are ignored.
+	 */
+	void reorder(final int lower, final int upper, final Set<CCTerm> forward, final int depth) {
+		final ArrayList<Integer> positions = new ArrayList<>();
+		final ArrayList<CCTerm> before = new ArrayList<>();
+		final ArrayList<CCTerm> after = new ArrayList<>();
+		final ArrayList<Integer> stale = new ArrayList<>();
+		for (final Map.Entry<Integer, CCTerm> entry : mTermAt.subMap(lower, true, upper, true).entrySet()) {
+			final CCTerm term = entry.getValue();
+			if (!entry.getKey().equals(mPositions.get(term))) {
+				stale.add(entry.getKey());
+				continue;
+			}
+			positions.add(entry.getKey());
+			if (forward.contains(term)) {
+				after.add(term);
+			} else {
+				before.add(term);
+			}
+		}
+		for (final Integer position : stale) {
+			mTermAt.remove(position);
+		}
+		before.addAll(after);
+		for (int i = 0; i < positions.size(); i++) {
+			final CCTerm term = before.get(i);
+			if (!positions.get(i).equals(mPositions.get(term))) {
+				setPosition(term, positions.get(i), depth);
+				mNumMoved++;
+			}
+		}
+		mNumReorders++;
+	}
+
+	/**
+	 * Restore the positions after the undo stack was backtracked.
+	 *
+	 * @param depth
+	 *            the size of the undo stack after backtracking.
+	 * @return the classes whose position was restored. Their edges may no longer go along the order.
+	 */
+	Set<CCTerm> backtrack(final int depth) {
+		final Set<CCTerm> restored = new LinkedHashSet<>();
+		while (!mUndoLog.isEmpty() && mUndoLog.peek().mDepth > depth) {
+			final UndoEntry entry = mUndoLog.pop();
+			move(entry.mTerm, mPositions.get(entry.mTerm), entry.mOldPosition);
+			restored.add(entry.mTerm);
+		}
+		return restored;
+	}
+
+	void clear() {
+		mPositions.clear();
+		mTermAt.clear();
+		mUndoLog.clear();
+	}
+
+	long getNumReorders() {
+		return mNumReorders;
+	}
+
+	long getNumMoved() {
+		return mNumMoved;
+	}
+}
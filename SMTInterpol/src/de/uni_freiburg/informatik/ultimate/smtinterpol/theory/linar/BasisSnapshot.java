@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.util.BitSet;
+
+/**
+ * A snapshot of the simplex basis and the values of the non-basic variables, taken when an assertion stack level is
+ * pushed. After the level is popped, the solver can return to this basis instead of continuing from the basis the
+ * popped assertions left behind. Since the following check usually has almost the same constraints as the check
+ * before the push, this saves most of the pivoting.
+ */
+class BasisSnapshot {
+	/**
+	 * The number of variables at the time of the snapshot. Only these survive the pop.
+	 */
+	private final int mNumVars;
+	/**
+	 * The matrix positions of the basic variables.
+	 */
+	private final BitSet mBasics;
+	/**
+	 * The values of the non-basic variables, indexed by matrix position; null for basic variables.
+	 */
+	private final ExactInfinitesimalNumber[] mValues;
+
+	/**
+	 * Take a snapshot of the current basis.
+	 */
+	public BasisSnapshot(final LinArSolve solver) {
+		mNumVars = solver.mLinvars.size();
+		mBasics = new BitSet(mNumVars);
+		mValues = new ExactInfinitesimalNumber[mNumVars];
+		for (final LinVar var : solver.mLinvars) {
+			if (var.mBasic) {
+				mBasics.set(var.mMatrixpos);
+			} else {
+				mValues[var.mMatrixpos] = var.getValue();
+			}
+		}
+	}
+
+	/**
+	 * Restore the basis and the values. This must only be called after the variables created since the snapshot were
+	 * removed.
+	 *
+	 * @return the number of pivot steps.
+	 */
+	public int restore(final LinArSolve solver) {
+		assert solver.mLinvars.size() == mNumVars;
+		int pivots = 0;
+		for (int col = mBasics.nextSetBit(0); col >= 0; col = mBasics.nextSetBit(col + 1)) {
+			final LinVar var = solver.mLinvars.get(col);
+			if (var.mBasic) {
+				continue;
+			}
+			// find a basic variable in the column that was non-basic in the snapshot.
+			final BitSet rows = solver.mDependentRows.get(col);
+			for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+				if (!mBasics.get(row)) {
+					solver.pivot(row, col);
+					pivots++;
+					break;
+				}
+			}
+		}
+		for (final LinVar var : solver.mLinvars) {
+			if (var.mBasic) {
+				continue;
+			}
+			ExactInfinitesimalNumber value = mValues[var.mMatrixpos];
+			if (value == null) {
+				// the variable was basic in the snapshot, but we found no row to pivot it back.
+				value = var.getValue();
+			}
+			// the bounds may have changed since the snapshot.
+			if (value.compareTo(var.getUpperBound()) > 0) {
+				value = new ExactInfinitesimalNumber(var.getUpperBound());
+			} else if (value.compareTo(var.getLowerBound()) < 0) {
+				value = new ExactInfinitesimalNumber(var.getLowerBound());
+			}
+			if (!value.equals(var.getValue())) {
+				solver.updateVariableValue(var, value);
+			}
+		}
+		return pivots;
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.util.HashMap;
+import java.util.List;
+
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.BranchPolicy;
+
+/**
+ * Selects the integer variable to branch on. All selectors prefer the variable with the highest score and break ties
+ * by the distance of the value to the next integer.
+ */
+abstract class BranchSelector {
+
+	/**
+	 * Create the selector for a branch policy.
+	 *
+	 * @param policy
+	 *            the branch policy.
+	 * @return the new branch selector.
+	 */
+	public static BranchSelector create(final BranchPolicy policy) {
+		switch (policy) {
+		case MOST_FRACTIONAL:
+			return new MostFractional();
+		case PSEUDO_COST:
+			return new PseudoCost();
+		case ACTIVITY:
+			return new Activity();
+		default:
+			throw new AssertionError("Unknown branch policy " + policy);
+		}
+	}
+
+	/**
+	 * Compute the distance of the value of a variable to the next integer.
+	 *
+	 * @return a number between 0 and 0.5. It is 0 only if the value is integral up to epsilons.
+	 */
+	static double distance(final LinVar var) {
+		final Rational value = var.getValue().getRealValue();
+		final double frac = ShadowSimplex.toDouble(value.sub(value.floor()));
+		return Math.min(frac, 1 - frac);
+	}
+
+	/**
+	 * Compute the score of a variable. Variables with a higher score are preferred.
+	 */
+	abstract double score(LinVar var);
+
+	/**
+	 * Select the variable to branch on.
+	 *
+	 * @param fractional
+	 *            the non-empty list of integer variables whose value is not integral.
+	 * @return the selected variable.
+	 */
+	public LinVar select(final List<LinVar> fractional) {
+		LinVar best = null;
+		double bestScore = 0;
+		double bestDistance = 0;
+		for (final LinVar var : fractional) {
+			final double score = score(var);
+			final double distance = distance(var);
+			if (best == null || score > bestScore || (score == bestScore && distance > bestDistance)) {
+				best = var;
+				bestScore = score;
+				bestDistance = distance;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Called after the solver branched on a variable.
+	 *
+	 * @param var
+	 *            the branch variable.
+	 * @param numFractional
+	 *            the number of non-integral variables before branching.
+	 */
+	public void branched(final LinVar var, final int numFractional) {
+		// only used by some selectors
+	}
+
+	/**
+	 * Called when the solver checks integrality the next time after a branch.
+	 *
+	 * @param numFractional
+	 *            the number of non-integral variables now.
+	 */
+	public void feedback(final int numFractional) {
+		// only used by some selectors
+	}
+
+	/**
+	 * Called when a variable is removed by a pop. The selector must forget everything it stored for this variable.
+	 *
+	 * @param var
+	 *            the removed variable.
+	 */
+	public void removeVar(final LinVar var) {
+		// only used by some selectors
+	}
+
+	/**
+	 * Branch on the variable that is farthest from an integer.
+	 */
+	static class MostFractional extends BranchSelector {
+		@Override
+		double score(final LinVar var) {
+			return distance(var);
+		}
+	}
+
+	/**
+	 * Branch on the variable for which branching removed the most non-integral variables. Since the solver has no
+	 * objective function, the gain of a branch is the decrease of the number of non-integral variables until the next
+	 * integrality check. The pseudo cost of a variable is the average gain of its branches; variables that were never
+	 * branched on use the average over all branches.
+	 */
+	static class PseudoCost extends BranchSelector {
+		/**
+		 * Number of branches and sum of gains for each variable.
+		 */
+		private final HashMap<LinVar, double[]> mCosts = new HashMap<>();
+		private double mTotalGain;
+		private int mTotalBranches;
+		private LinVar mLastVar;
+		private int mLastFractional;
+
+		@Override
+		double score(final LinVar var) {
+			final double[] cost = mCosts.get(var);
+			final double gain;
+			if (cost != null) {
+				gain = cost[1] / cost[0];
+			} else {
+				gain = mTotalBranches == 0 ? 0 : mTotalGain / mTotalBranches;
+			}
+			return (1 + Math.max(gain, 0)) * distance(var);
+		}
+
+		@Override
+		public void branched(final LinVar var, final int numFractional) {
+			mLastVar = var;
+			mLastFractional = numFractional;
+		}
+
+		@Override
+		public void feedback(final int numFractional) {
+			if (mLastVar == null) {
+				return;
+			}
+			final int gain = mLastFractional - numFractional;
+			double[] cost = mCosts.get(mLastVar);
+			if (cost == null) {
+				cost = new double[2];
+				mCosts.put(mLastVar, cost);
+			}
+			cost[0]++;
+			cost[1] += gain;
+			mTotalBranches++;
+			mTotalGain += gain;
+			mLastVar = null;
+		}
+
+		@Override
+		public void removeVar(final LinVar var) {
+			mCosts.remove(var);
+			if (mLastVar == var) {
+				mLastVar = null;
+			}
+		}
+	}
+
+	/**
+	 * Branch on the variable whose bound constraints have the highest activity in the DPLL engine.
+	 */
+	static class Activity extends BranchSelector {
+		@Override
+		double score(final LinVar var) {
+			double activity = 0;
+			for (final BoundConstraint bc : var.mConstraints.values()) {
+				activity = Math.max(activity, bc.getActivity());
+			}
+			return activity;
+		}
+	}
+}
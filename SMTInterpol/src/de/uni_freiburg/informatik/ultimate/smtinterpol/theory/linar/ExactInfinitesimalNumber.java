@@ -90,6 +90,12 @@ public class ExactInfinitesimalNumber implements Comparable<ExactInfinitesimalNu
 	public ExactInfinitesimalNumber add(final ExactInfinitesimalNumber other) {
 		return new ExactInfinitesimalNumber(mReal.add(other.mReal), mEps.add(other.mEps));
 	}
+	/**
+	 * Computes <code>this + fac1*fac2</code> without creating the intermediate product.
+	 */
+	public ExactInfinitesimalNumber addmul(final ExactInfinitesimalNumber fac1, final Rational fac2) {
+		return new ExactInfinitesimalNumber(mReal.addmul(fac1.mReal, fac2), mEps.addmul(fac1.mEps, fac2));
+	}
 	public ExactInfinitesimalNumber sub(final ExactInfinitesimalNumber other) {
 		return new ExactInfinitesimalNumber(mReal.sub(other.mReal), mEps.sub(other.mEps));
 	}
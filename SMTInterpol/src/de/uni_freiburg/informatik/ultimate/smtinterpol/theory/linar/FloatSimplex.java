@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+
+/**
+ * A floating point shadow of the simplex tableaux that guesses a feasible basis before the exact pivoter runs. The
+ * shadow tableaux is a double precision copy of the exact tableaux that is pivoted like the exact tableaux.
+ *
+ * The shadow is kept between checks and only rebuilt when the exact tableaux changed, i.e., when the exact pivoter had
+ * to pivot or variables were added or removed.
+ */
+public class FloatSimplex extends ShadowSimplex {
+	/** The number of variables in the shadow; -1 if the shadow must be rebuilt. */
+	private int mNumVars = -1;
+	/** The pivot counter of the solver when the shadow was last in sync with the exact tableaux. */
+	private int mSyncedPivots;
+	/**
+	 * The rows of the shadow tableaux indexed by the matrix position of the basic variable. Row b describes
+	 * {@code b = sum mRowCoeffs[b][i] * mRowCols[b][i]}. The entries of column variables are null.
+	 */
+	private int[][] mRowCols;
+	private double[][] mRowCoeffs;
+	/** For every column variable the set of rows containing it. The entries of basic variables are null. */
+	private BitSet[] mColumnRows;
+	/** Dense scratch row used when substituting a row into another. */
+	private double[] mScratch;
+
+	public FloatSimplex(final LinArSolve solver) {
+		super(solver, "FloatSimplex", Config.FLOAT_SIMPLEX_MIN_ROWS, Config.FLOAT_SIMPLEX_PIVOTS_PER_ROW);
+	}
+
+	@Override
+	public void invalidate() {
+		mNumVars = -1;
+	}
+
+	@Override
+	boolean prepare() {
+		if (mNumVars == mSolver.mLinvars.size() && mSyncedPivots == mSolver.mNumPivots) {
+			return true;
+		}
+		return rebuild();
+	}
+
+	/**
+	 * Copy the exact tableaux into the shadow.
+	 *
+	 * @return false if a coefficient cannot be represented as double.
+	 */
+	private boolean rebuild() {
+		final int numVars = mSolver.mLinvars.size();
+		mRowCols = new int[numVars][];
+		mRowCoeffs = new double[numVars][];
+		mColumnRows = new BitSet[numVars];
+		mValue = new double[numVars];
+		mLower = new double[numVars];
+		mUpper = new double[numVars];
+		mAtBound = new byte[numVars];
+		mScratch = new double[numVars];
+		for (int col = 0; col < numVars; col++) {
+			if (mSolver.mTableaux.get(col) == null) {
+				mColumnRows[col] = new BitSet();
+			}
+		}
+		for (int rowVar = 0; rowVar < numVars; rowVar++) {
+			final TableauxRow row = mSolver.mTableaux.get(rowVar);
+			if (row == null) {
+				continue;
+			}
+			final double head = -row.getRawCoeff(0).doubleValue();
+			final int[] cols = new int[row.size() - 1];
+			final double[] coeffs = new double[row.size() - 1];
+			for (int i = 1; i < row.size(); i++) {
+				cols[i - 1] = row.getRawIndex(i);
+				coeffs[i - 1] = row.getRawCoeff(i).doubleValue() / head;
+				if (!Double.isFinite(coeffs[i - 1]) || coeffs[i - 1] == 0) {
+					return false;
+				}
+				mColumnRows[cols[i - 1]].set(rowVar);
+			}
+			mRowCols[rowVar] = cols;
+			mRowCoeffs[rowVar] = coeffs;
+		}
+		mNumVars = numVars;
+		return true;
+	}
+
+	private double getCoeff(final int rowVar, final int col) {
+		final int[] cols = mRowCols[rowVar];
+		for (int i = 0; i < cols.length; i++) {
+			if (cols[i] == col) {
+				return mRowCoeffs[rowVar][i];
+			}
+		}
+		return 0;
+	}
+
+	@Override
+	boolean isBasic(final int var) {
+		return mRowCols[var] != null;
+	}
+
+	/**
+	 * Pivot a basic variable against a column variable in the shadow tableaux.
+	 */
+	private void exchange(final int rowVar, final int col) {
+		final int[] cols = mRowCols[rowVar];
+		final double[] coeffs = mRowCoeffs[rowVar];
+		final double pivotCoeff = getCoeff(rowVar, col);
+		/* solve the row for col: col = 1/a * rowVar - sum c_j/a * x_j */
+		final int[] newCols = new int[cols.length];
+		final double[] newCoeffs = new double[cols.length];
+		newCols[0] = rowVar;
+		newCoeffs[0] = 1 / pivotCoeff;
+		int k = 1;
+		for (int i = 0; i < cols.length; i++) {
+			if (cols[i] != col) {
+				newCols[k] = cols[i];
+				newCoeffs[k] = -coeffs[i] / pivotCoeff;
+				mColumnRows[cols[i]].clear(rowVar);
+				mColumnRows[cols[i]].set(col);
+				k++;
+			}
+		}
+		final BitSet dependent = mColumnRows[col];
+		dependent.clear(rowVar);
+		mColumnRows[col] = null;
+		mRowCols[rowVar] = null;
+		mRowCoeffs[rowVar] = null;
+		mRowCols[col] = newCols;
+		mRowCoeffs[col] = newCoeffs;
+		mColumnRows[rowVar] = new BitSet();
+		mColumnRows[rowVar].set(col);
+		/* substitute col in all other rows */
+		for (int other = dependent.nextSetBit(0); other >= 0; other = dependent.nextSetBit(other + 1)) {
+			substitute(other, col);
+		}
+	}
+
+	/**
+	 * Replace the column variable col in a row by its new row.
+	 */
+	private void substitute(final int rowVar, final int col) {
+		final int[] cols = mRowCols[rowVar];
+		final double[] coeffs = mRowCoeffs[rowVar];
+		final int[] colRow = mRowCols[col];
+		final double[] colCoeffs = mRowCoeffs[col];
+		double factor = 0;
+		int size = 0;
+		final int[] merged = new int[cols.length + colRow.length];
+		for (int i = 0; i < cols.length; i++) {
+			if (cols[i] == col) {
+				factor = coeffs[i];
+			} else {
+				mScratch[cols[i]] = coeffs[i];
+				merged[size++] = cols[i];
+			}
+		}
+		for (int i = 0; i < colRow.length; i++) {
+			final int c = colRow[i];
+			if (mScratch[c] == 0) {
+				merged[size++] = c;
+			}
+			mScratch[c] += factor * colCoeffs[i];
+		}
+		int newSize = 0;
+		final int[] newCols = new int[size];
+		final double[] newCoeffs = new double[size];
+		for (int i = 0; i < size; i++) {
+			final int c = merged[i];
+			final double coeff = mScratch[c];
+			mScratch[c] = 0;
+			if (Math.abs(coeff) >= DROP_TOLERANCE) {
+				newCols[newSize] = c;
+				newCoeffs[newSize] = coeff;
+				newSize++;
+				mColumnRows[c].set(rowVar);
+			} else {
+				mColumnRows[c].clear(rowVar);
+			}
+		}
+		mRowCols[rowVar] = Arrays.copyOf(newCols, newSize);
+		mRowCoeffs[rowVar] = Arrays.copyOf(newCoeffs, newSize);
+	}
+
+	/**
+	 * Change the value of a column variable and update the basic variables depending on it.
+	 */
+	private void updateValue(final int col, final double diff) {
+		mValue[col] += diff;
+		final BitSet rows = mColumnRows[col];
+		for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+			mValue[row] += getCoeff(row, col) * diff;
+		}
+	}
+
+	@Override
+	boolean pivot(final int rowVar, final int dir, final boolean bland) {
+		final int[] cols = mRowCols[rowVar];
+		final double[] coeffs = mRowCoeffs[rowVar];
+		int col = -1;
+		double pivotCoeff = 0;
+		for (int i = 0; i < cols.length; i++) {
+			final double coeff = coeffs[i];
+			final int c = cols[i];
+			if (Math.abs(coeff) < PIVOT_TOLERANCE
+					|| (col >= 0 && (bland ? c > col : Math.abs(coeff) <= Math.abs(pivotCoeff)))) {
+				continue;
+			}
+			if (canRepair(c, coeff, dir)) {
+				col = c;
+				pivotCoeff = coeff;
+			}
+		}
+		if (col < 0) {
+			return false;
+		}
+		final double target = dir < 0 ? mLower[rowVar] : mUpper[rowVar];
+		updateValue(col, (target - mValue[rowVar]) / pivotCoeff);
+		mValue[rowVar] = target;
+		exchange(rowVar, col);
+		return true;
+	}
+
+	@Override
+	void synced() {
+		mSyncedPivots = mSolver.mNumPivots;
+	}
+}
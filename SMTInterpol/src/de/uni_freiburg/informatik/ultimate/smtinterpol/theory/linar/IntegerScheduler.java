@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.util.List;
+
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.BranchPolicy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.CutPolicy;
+
+/**
+ * Decides how the linear arithmetic solver gets rid of a solution that satisfies all constraints over the reals but
+ * assigns a non-integral value to an integer variable. The techniques are cuts from proofs ({@link CutCreator}),
+ * Gomory mixed integer cuts derived from a tableaux row, and branching on a single variable. All of them only suggest
+ * a literal to the DPLL engine, which decides it.
+ *
+ * With the adaptive policy the scheduler keeps for every technique a moving average of its success rate. A technique
+ * is successful if the next integrality check finds fewer non-integral variables. The scheduler uses the technique
+ * with the best success rate, but every {@link Config#INT_SCHEDULER_EXPLORE}-th time it tries the least recently used
+ * one.
+ */
+class IntegerScheduler {
+	private static final int CUTS_FROM_PROOFS = 0;
+	private static final int GOMORY = 1;
+	private static final int BRANCH = 2;
+	private static final String[] NAMES = { "CutsFromProofs", "Gomory", "Branch" };
+
+	private final LinArSolve mSolver;
+	private final CutPolicy mPolicy;
+	private final BranchSelector mSelector;
+
+	private final double[] mSuccessRate = { 0.5, 0.5, 0.5 };
+	private final long[] mLastUsed = new long[3];
+	private int mLastTechnique = -1;
+	private int mLastFractional;
+	private long mCalls;
+	/**
+	 * The number of Gomory cuts in a row that were not successful.
+	 */
+	private int mFailedGomory;
+
+	/* Statistics */
+	private final int[] mNumUsed = new int[3];
+	private final int[] mNumSuccess = new int[3];
+
+	public IntegerScheduler(final LinArSolve solver, final CutPolicy policy, final BranchPolicy branchPolicy) {
+		mSolver = solver;
+		mPolicy = policy;
+		mSelector = BranchSelector.create(branchPolicy);
+	}
+
+	/**
+	 * Record the result of the last technique.
+	 *
+	 * @param numFractional
+	 *            the number of integer variables whose value is currently not integral.
+	 */
+	public void feedback(final int numFractional) {
+		if (mLastTechnique < 0) {
+			return;
+		}
+		final boolean success = numFractional < mLastFractional;
+		if (success) {
+			mNumSuccess[mLastTechnique]++;
+		}
+		if (mLastTechnique == GOMORY) {
+			mFailedGomory = success ? 0 : mFailedGomory + 1;
+		}
+		mSuccessRate[mLastTechnique] += Config.INT_SCHEDULER_DECAY
+				* ((success ? 1 : 0) - mSuccessRate[mLastTechnique]);
+		if (mLastTechnique == BRANCH) {
+			mSelector.feedback(numFractional);
+		}
+		mLastTechnique = -1;
+	}
+
+	/**
+	 * Check if the scheduler uses the default policies, i.e., it only creates cuts from proofs and branches on the most
+	 * fractional variable.
+	 */
+	public boolean isDefault() {
+		return mPolicy == CutPolicy.CUTS_FROM_PROOFS && mSelector instanceof BranchSelector.MostFractional;
+	}
+
+	/**
+	 * Forget a variable that is removed by a pop.
+	 */
+	public void removeVar(final LinVar var) {
+		mSelector.removeVar(var);
+	}
+
+	private int chooseTechnique() {
+		switch (mPolicy) {
+		case CUTS_FROM_PROOFS:
+			return CUTS_FROM_PROOFS;
+		case GOMORY:
+			return GOMORY;
+		case BRANCH:
+			return BRANCH;
+		case ADAPTIVE:
+			break;
+		default:
+			throw new AssertionError("Unknown cut policy " + mPolicy);
+		}
+		int best = 0;
+		if (mCalls % Config.INT_SCHEDULER_EXPLORE == 0) {
+			for (int i = 1; i < mLastUsed.length; i++) {
+				if (mLastUsed[i] < mLastUsed[best]) {
+					best = i;
+				}
+			}
+		} else {
+			for (int i = 1; i < mSuccessRate.length; i++) {
+				if (mSuccessRate[i] > mSuccessRate[best]) {
+					best = i;
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Suggest a literal that excludes the current non-integral solution.
+	 *
+	 * @param fractional
+	 *            the non-empty list of integer variables whose value is not integral.
+	 */
+	public void resolve(final List<LinVar> fractional) {
+		feedback(fractional.size());
+		mCalls++;
+		int technique = chooseTechnique();
+		switch (technique) {
+		case CUTS_FROM_PROOFS:
+			new CutCreator(mSolver).generateCuts();
+			break;
+		case GOMORY:
+			// repeated cuts can blow up the coefficients without making progress.
+			if (mFailedGomory >= Config.INT_SCHEDULER_MAX_GOMORY || !generateGomoryCut(fractional)) {
+				mFailedGomory = 0;
+				technique = BRANCH;
+				branch(fractional);
+			}
+			break;
+		default:
+			branch(fractional);
+			break;
+		}
+		mNumUsed[technique]++;
+		mLastUsed[technique] = mCalls;
+		mLastTechnique = technique;
+		mLastFractional = fractional.size();
+	}
+
+	private void suggest(final Literal lit, final String kind) {
+		if (mSolver.getLogger().isDebugEnabled()) {
+			mSolver.getLogger().debug(kind + " on " + lit);
+		}
+		mSolver.mSuggestions.add(lit);
+	}
+
+	/**
+	 * Branch on the variable chosen by the branch selector.
+	 */
+	private void branch(final List<LinVar> fractional) {
+		final LinVar var = mSelector.select(fractional);
+		final MutableAffineTerm mat = new MutableAffineTerm();
+		mat.add(Rational.ONE, var);
+		mat.add(var.getValue().roundToInfinitesimal().floor().negate());
+		suggest(mSolver.generateConstraint(mat, false), "branch");
+		mSelector.branched(var, fractional.size());
+		mSolver.mNumBranches++;
+	}
+
+	private static boolean isAtBound(final LinVar var, final InfinitesimalNumber bound) {
+		final ExactInfinitesimalNumber value = var.getValue();
+		return !bound.isInfinity() && bound.mEps == 0 && value.getEpsilon().signum() == 0
+				&& value.getRealValue().equals(bound.mReal);
+	}
+
+	/**
+	 * Check if all columns of the row of a basic variable are at one of their bounds.
+	 */
+	private boolean isGomoryRow(final LinVar basic) {
+		for (final MatrixEntry entry : basic.getTableauxRow(mSolver)) {
+			final LinVar col = entry.getColumn();
+			if (!isAtBound(col, col.getTightLowerBound()) && !isAtBound(col, col.getTightUpperBound())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Generate a Gomory mixed integer cut from the row of the basic integer variable with the most fractional value
+	 * whose columns are all at a bound.
+	 *
+	 * @return false if there is no suitable row.
+	 */
+	private boolean generateGomoryCut(final List<LinVar> fractional) {
+		LinVar best = null;
+		double bestDistance = 0;
+		for (final LinVar var : fractional) {
+			if (!var.mBasic || var.getValue().getEpsilon().signum() != 0) {
+				continue;
+			}
+			final double distance = BranchSelector.distance(var);
+			if (distance > bestDistance && isGomoryRow(var)) {
+				best = var;
+				bestDistance = distance;
+			}
+		}
+		if (best == null) {
+			return false;
+		}
+		final Literal cut = createGomoryCut(best);
+		if (cut == null) {
+			return false;
+		}
+		if (cut.getAtom().getDecideStatus() != null || mSolver.mProplist.contains(cut.negate())) {
+			// the solver already knows that the cut does not hold.
+			return false;
+		}
+		suggest(cut, "gomory cut");
+		mSolver.mNumGomoryCuts++;
+		return true;
+	}
+
+	/**
+	 * Create the Gomory mixed integer cut for a basic variable. Substitute each column {@code x_j} by the distance
+	 * {@code x'_j >= 0} to its current bound. Then the row reads {@code basic + sum a_j x'_j = beta}, where
+	 * {@code beta} is the current value with fractional part {@code f0}. With {@code f_j} the fractional part of
+	 * {@code a_j}, the cut is {@code sum g_j x'_j >= 1}, where {@code g_j} is {@code f_j/f0} or
+	 * {@code (1-f_j)/(1-f0)} for integer columns and {@code a_j/f0} or {@code -a_j/(1-f0)} for real columns, depending
+	 * on which is smaller resp. the sign.
+	 *
+	 * @return the literal that is true if the cut holds, or null if the cut has too large coefficients.
+	 */
+	private Literal createGomoryCut(final LinVar basic) {
+		final Rational beta = basic.getValue().getRealValue();
+		final Rational f0 = beta.sub(beta.floor());
+		final Rational oneMinusF0 = Rational.ONE.sub(f0);
+		assert f0.signum() > 0;
+		// the cut is sum coeff_j * x_j >= rhs; we build rhs - sum coeff_j * x_j <= 0.
+		final MutableAffineTerm mat = new MutableAffineTerm();
+		Rational rhs = Rational.ONE;
+		for (final MatrixEntry entry : basic.getTableauxRow(mSolver)) {
+			final LinVar col = entry.getColumn();
+			final boolean atLower = isAtBound(col, col.getTightLowerBound());
+			final Rational bound = atLower ? col.getTightLowerBound().mReal : col.getTightUpperBound().mReal;
+			final Rational coeff = entry.getSolvedCoeff();
+			final Rational abar = atLower ? coeff.negate() : coeff;
+			final Rational g;
+			if (col.isInt() && bound.isIntegral()) {
+				final Rational fj = abar.sub(abar.floor());
+				g = fj.compareTo(f0) <= 0 ? fj.div(f0) : Rational.ONE.sub(fj).div(oneMinusF0);
+			} else {
+				g = abar.signum() >= 0 ? abar.div(f0) : abar.negate().div(oneMinusF0);
+			}
+			if (g.signum() == 0) {
+				continue;
+			}
+			if (g.numerator().bitLength() > Config.GOMORY_MAX_COEFF_BITS
+					|| g.denominator().bitLength() > Config.GOMORY_MAX_COEFF_BITS) {
+				return null;
+			}
+			// x'_j is x_j - bound at a lower bound and bound - x_j at an upper bound.
+			final Rational colCoeff = atLower ? g : g.negate();
+			mat.add(colCoeff.negate(), col);
+			rhs = rhs.addmul(colCoeff, bound);
+		}
+		mat.add(rhs);
+		return mSolver.generateConstraint(mat, false);
+	}
+
+	public Object[][] getStatistics() {
+		final Object[][] stats = new Object[NAMES.length][];
+		for (int i = 0; i < NAMES.length; i++) {
+			stats[i] = new Object[] { NAMES[i], new Object[][] { { "Used", mNumUsed[i] },
+				{ "Success", mNumSuccess[i] }, { "Rate", mSuccessRate[i] } } };
+		}
+		return stats;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < NAMES.length; i++) {
+			sb.append(i == 0 ? "" : " ").append(NAMES[i]).append(": ").append(mNumSuccess[i]).append('/')
+					.append(mNumUsed[i]);
+		}
+		return sb.toString();
+	}
+}
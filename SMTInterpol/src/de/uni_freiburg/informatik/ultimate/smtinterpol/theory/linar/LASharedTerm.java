@@ -19,6 +19,7 @@
 package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
 
 import java.util.Map;
+import java.util.Map.Entry;
 
 import de.uni_freiburg.informatik.ultimate.logic.Rational;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
@@ -27,6 +28,15 @@ public class LASharedTerm {
 	private final Map<LinVar, Rational> mSummands;
 	private final Rational mOffset;
 	private final Term mSMTTerm;
+	/**
+	 * The index containing this term, null if it is not shared (anymore).
+	 */
+	SharedValueIndex mIndex;
+	/**
+	 * The value of this term when it was last indexed, and whether it may have changed since.
+	 */
+	ExactInfinitesimalNumber mValue;
+	boolean mDirty;
 
 	public LASharedTerm(final Term term, final Map<LinVar, Rational> summands, final Rational offset) {
 		mSummands = summands;
@@ -42,6 +52,17 @@ public class LASharedTerm {
 		return mOffset;
 	}
 
+	/**
+	 * Compute the value of this term from the current values of its summands.
+	 */
+	ExactInfinitesimalNumber computeValue() {
+		ExactInfinitesimalNumber value = new ExactInfinitesimalNumber(mOffset);
+		for (final Entry<LinVar, Rational> entry : mSummands.entrySet()) {
+			value = value.addmul(entry.getKey().getValue(), entry.getValue());
+		}
+		return value;
+	}
+
 	public Term getTerm() {
 		return mSMTTerm;
 	}
@@ -21,12 +21,14 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
 import java.math.BigInteger;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -89,6 +91,66 @@ import de.uni_freiburg.informatik.ultimate.util.datastructures.ScopedHashMap;
  * @author Juergen Christ, Jochen Hoenicke
  */
 public class LinArSolve implements ITheory {
+	/**
+	 * The technique used to get rid of a solution that is not integral.
+	 */
+	public static enum CutPolicy {
+		/**
+		 * Cuts from proofs that fall back to branches on the Hermite normal form.
+		 */
+		CUTS_FROM_PROOFS,
+		/**
+		 * Branch on a single integer variable.
+		 */
+		BRANCH,
+		/**
+		 * Gomory mixed integer cuts derived from a tableaux row. Branch if there is no row for a cut.
+		 */
+		GOMORY,
+		/**
+		 * Choose between the other techniques by their recent success rate.
+		 */
+		ADAPTIVE
+	}
+
+	/**
+	 * The heuristic used to select the variable to branch on.
+	 */
+	public static enum BranchPolicy {
+		/**
+		 * Choose the variable whose value is farthest from an integer.
+		 */
+		MOST_FRACTIONAL,
+		/**
+		 * Choose the variable for which branching reduced the number of non-integral variables the most.
+		 */
+		PSEUDO_COST,
+		/**
+		 * Choose the variable whose bound constraints are most active in conflicts.
+		 */
+		ACTIVITY
+	}
+
+	/**
+	 * The rule used by the sum of infeasibility pivoter to select the column to pivot.
+	 */
+	public static enum PricingRule {
+		/**
+		 * Choose the column that decreases the sum of infeasibilities the most. This needs a ratio test for every
+		 * column.
+		 */
+		SOI,
+		/**
+		 * Choose the column with the steepest gradient of the sum of infeasibilities relative to the length of its edge
+		 * in the space of all variables.
+		 */
+		STEEPEST_EDGE,
+		/**
+		 * Like steepest edge, but with approximated edge lengths relative to a reference framework.
+		 */
+		DEVEX
+	}
+
 	/** The Clausifier. */
 	final Clausifier mClausifier;
 	/**
@@ -125,6 +187,10 @@ public class LinArSolve implements ITheory {
 	int mNumPivots;
 	/** Pivot counter. */
 	int mNumPivotsBland;
+	/** Number of calls and pivot steps of the sum of infeasibility pivoter. */
+	int mNumFixOobs, mNumSOIPivots;
+	/** Number of degenerate pivot candidates, and how often they led to Bland's rule. */
+	int mNumPricingFallbacks, mNumBlandFallbacks;
 	/** Time needed for pivoting operations. */
 	long mPivotTime;
 	/** Time needed for fixOobs (including searching for pivot). */
@@ -137,9 +203,12 @@ public class LinArSolve implements ITheory {
 
 	// Statistics
 	int mNumCuts;
+	int mNumGomoryCuts;
 	int mNumBranches;
 	long mCutGenTime;
 	final ScopedArrayList<LASharedTerm> mSharedVars = new ScopedArrayList<>();
+	/** The shared terms grouped by their current value. */
+	private final SharedValueIndex mSharedIndex = new SharedValueIndex();
 
 	/** The next suggested literals */
 	final ArrayDeque<Literal> mSuggestions;
@@ -147,6 +216,15 @@ public class LinArSolve implements ITheory {
 	private long mPropBoundTime;
 	private long mPropBoundSetTime;
 	private long mBacktrackPropTime;
+	/** Number of rows whose bound propagation index was computed from scratch. */
+	private int mNumRowBoundsComputed;
+	/** Number of explanations taken from the cache and number of skipped bound propagations. */
+	private int mNumExplanationHits, mNumThrottledProps;
+	/**
+	 * The recently created explanations of propagated literals. An explanation is a theory lemma, so it can be reused
+	 * whenever the literal is propagated again for the same reasons.
+	 */
+	private final LinkedHashMap<Literal, Clause> mExplanationCache;
 	/**
 	 * The variables for which we need to recompute the composite bounds.
 	 */
@@ -154,6 +232,19 @@ public class LinArSolve implements ITheory {
 	private LinVar mConflictVar;
 	private Rational mEps;
 
+	/**
+	 * Decides how non-integral solutions are excluded.
+	 */
+	private IntegerScheduler mIntegerScheduler;
+	/**
+	 * The floating point simplex that guesses a feasible basis, or null if the exact pivoter is used alone.
+	 */
+	private ShadowSimplex mShadowSimplex;
+	/**
+	 * The rule to select the pivot column.
+	 */
+	PricingRule mPricingRule = PricingRule.SOI;
+
 	/** Are we in a check-sat? */
 	private boolean mInCheck = false;
 	/**
@@ -163,6 +254,12 @@ public class LinArSolve implements ITheory {
 	private int mHasNonLinearVar = -1;
 	/** Current number of pushes. */
 	private int mPushPopLevel = 0;
+	/**
+	 * The basis snapshot for every push. The entry is null if the basis was not feasible at the push.
+	 */
+	private final ArrayList<BasisSnapshot> mSnapshots = new ArrayList<>();
+	/** Number of pivot steps to restore a basis after a pop. */
+	private int mNumWarmStartPivots;
 
 	/**
 	 * Basic initialization.
@@ -178,6 +275,14 @@ public class LinArSolve implements ITheory {
 		mDirty = new BitSet();
 		mProplist = new ArrayDeque<>();
 		mSuggestions = new ArrayDeque<>();
+		mExplanationCache = new LinkedHashMap<Literal, Clause>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Literal, Clause> eldest) {
+				return size() > Config.LA_EXPLANATION_CACHE_SIZE;
+			}
+		};
 		mBasics = new ScopedHashMap<>();
 		mOob = new HashSet<>();
 		mNumPivots = 0;
@@ -187,6 +292,7 @@ public class LinArSolve implements ITheory {
 		mNumCuts = 0;
 		mNumBranches = 0;
 		mCutGenTime = 0;
+		mIntegerScheduler = new IntegerScheduler(this, CutPolicy.CUTS_FROM_PROOFS, BranchPolicy.MOST_FRACTIONAL);
 //		m_compositeWatchers = new HashMap<LAReason, Set<CompositeReason>>();
 	}
 
@@ -194,6 +300,41 @@ public class LinArSolve implements ITheory {
 		return mClausifier.getEngine();
 	}
 
+	/**
+	 * Let a floating point shadow of the tableaux guess a feasible basis before the exact pivoter runs. This replaces
+	 * the revised simplex.
+	 */
+	public void enableFloatSimplex() {
+		mShadowSimplex = new FloatSimplex(this);
+	}
+
+	/**
+	 * Let a revised simplex search a feasible basis before the tableaux is pivoted. This replaces the floating point
+	 * shadow of the tableaux.
+	 */
+	public void enableRevisedSimplex() {
+		mShadowSimplex = new RevisedSimplex(this);
+	}
+
+	/**
+	 * Set how non-integral solutions are excluded.
+	 *
+	 * @param cutPolicy
+	 *            the technique to use.
+	 * @param branchPolicy
+	 *            the heuristic to select the branch variable.
+	 */
+	public void setIntegerPolicies(final CutPolicy cutPolicy, final BranchPolicy branchPolicy) {
+		mIntegerScheduler = new IntegerScheduler(this, cutPolicy, branchPolicy);
+	}
+
+	/**
+	 * Set the rule to select the pivot column.
+	 */
+	public void setPricingRule(final PricingRule pricingRule) {
+		mPricingRule = pricingRule;
+	}
+
 	public LogProxy getLogger() {
 		return mClausifier.getLogger();
 	}
@@ -292,9 +433,13 @@ public class LinArSolve implements ITheory {
 			ExactInfinitesimalNumber curValue = ExactInfinitesimalNumber.ZERO;
 			for (final MatrixEntry entry : var.getTableauxRow(this)) {
 				final LinVar colVar = entry.getColumn();
-				final Rational coeff = Rational.valueOf(entry.getCoeff(), entry.getHeadCoeff().negate());
-				curValue = curValue.add(colVar.getValue().mul(coeff));
+				final Rational coeff = entry.getSolvedCoeff();
+				curValue = curValue.addmul(colVar.getValue(), coeff);
 				mDependentRows.get(colVar.mMatrixpos).set(var.mMatrixpos);
+				if (mPricingRule == PricingRule.STEEPEST_EDGE) {
+					// the new row changes the length of the column.
+					colVar.mPricingWeight = 0;
+				}
 			}
 			var.setValue(curValue);
 			assert var.checkCoeffChain(this);
@@ -336,8 +481,8 @@ public class LinArSolve implements ITheory {
 		for (final MatrixEntry entry : updateVar.getTableauxColumn(this)) {
 			final LinVar var = entry.getRow();
 			assert var.mBasic;
-			final Rational coeff = Rational.valueOf(entry.getCoeff(), entry.getHeadCoeff().negate());
-			var.addValue(diff.mul(coeff));
+			final Rational coeff = entry.getSolvedCoeff();
+			var.addMulValue(diff, coeff);
 			assert !var.getValue().getRealValue().denominator().equals(BigInteger.ZERO);
 			if (var.outOfBounds()) {
 				mOob.add(var);
@@ -370,9 +515,9 @@ public class LinArSolve implements ITheory {
 		for (final MatrixEntry entry : updateVar.getTableauxColumn(this)) {
 			final LinVar var = entry.getRow();
 			assert var.mBasic;
-			final Rational coeff = Rational.valueOf(entry.getCoeff(), entry.getHeadCoeff().negate());
+			final Rational coeff = entry.getSolvedCoeff();
 			if (changeVar) {
-				var.addValue(diff.mul(coeff));
+				var.addMulValue(diff, coeff);
 			}
 			assert !var.getValue().getRealValue().denominator().equals(BigInteger.ZERO);
 			if (var.outOfBounds()) {
@@ -382,6 +527,13 @@ public class LinArSolve implements ITheory {
 	}
 
 	public void removeReason(final LAReason reason) {
+		final LinVar var = reason.getVar();
+		final InfinitesimalNumber oldBound = reason.isUpper() ? var.getUpperBound() : var.getLowerBound();
+		removeReasonFromChain(reason);
+		updateRowBounds(var, reason.isUpper(), oldBound);
+	}
+
+	private void removeReasonFromChain(final LAReason reason) {
 		final LinVar var = reason.getVar();
 		LAReason chain;
 		if (reason.isUpper()) {
@@ -564,6 +716,67 @@ public class LinArSolve implements ITheory {
 		return fixOobs();
 	}
 
+	/**
+	 * Update the bound propagation index of all rows containing a non-basic variable after its literal bound changed.
+	 *
+	 * @param var
+	 *            the variable whose bound changed.
+	 * @param isUpper
+	 *            true if the upper bound changed.
+	 * @param oldBound
+	 *            the previous literal bound.
+	 */
+	private void updateRowBounds(final LinVar var, final boolean isUpper, final InfinitesimalNumber oldBound) {
+		if (var.mBasic) {
+			return;
+		}
+		final InfinitesimalNumber newBound = isUpper ? var.getUpperBound() : var.getLowerBound();
+		if (newBound.equals(oldBound)) {
+			return;
+		}
+		for (final MatrixEntry entry : var.getTableauxColumn(this)) {
+			final RowBounds rowBounds = entry.getRow().mRowBounds;
+			if (rowBounds != null) {
+				rowBounds.update(entry.getSolvedCoeff(), isUpper, oldBound, newBound);
+			}
+		}
+	}
+
+	/**
+	 * Get the bound propagation index for the row of a basic variable, computing it if the row changed.
+	 */
+	private RowBounds getRowBounds(final LinVar basic) {
+		assert basic.mBasic;
+		if (basic.mRowBounds == null) {
+			final RowBounds rowBounds = new RowBounds();
+			for (final MatrixEntry entry : basic.getTableauxRow(this)) {
+				final Rational coeff = entry.getSolvedCoeff();
+				final LinVar colvar = entry.getColumn();
+				rowBounds.add(coeff, true, colvar.getUpperBound(), 1);
+				rowBounds.add(coeff, false, colvar.getLowerBound(), 1);
+			}
+			basic.mRowBounds = rowBounds;
+			mNumRowBoundsComputed++;
+		}
+		return basic.mRowBounds;
+	}
+
+	/**
+	 * Check that the bound propagation index of a row is up to date. Only used in assertions.
+	 */
+	private boolean checkRowBounds(final LinVar basic) {
+		final RowBounds cached = basic.mRowBounds;
+		basic.mRowBounds = null;
+		final RowBounds fresh = getRowBounds(basic);
+		mNumRowBoundsComputed--;
+		basic.mRowBounds = cached;
+		assert cached.hasUpperBound() == fresh.hasUpperBound();
+		assert cached.hasLowerBound() == fresh.hasLowerBound();
+		assert !fresh.hasUpperBound() || cached.getUpperBound().equals(fresh.getUpperBound());
+		assert !fresh.hasLowerBound() || cached.getLowerBound().equals(fresh.getLowerBound());
+		return true;
+	}
+
 	Clause checkPendingBoundPropagations() {
 		while (!mDirty.isEmpty()) {
 			final int matrixPos = mDirty.nextSetBit(0);
@@ -577,48 +790,18 @@ public class LinArSolve implements ITheory {
 				time = System.nanoTime();
 			}
 
-			boolean hasUpper = true, hasLower = true;
-			final TableauxRow row = mTableaux.get(var.mMatrixpos);
-			final int sign = -row.getRawCoeff(0).signum();
-			for (int i = 1; i < row.size(); i++) {
-				final int coeffSign = row.getRawCoeff(i).signum();
-				final LinVar colvar = mLinvars.get(row.getRawIndex(i));
-				if (hasUpper) {
-					final InfinitesimalNumber colBound = coeffSign == sign ? colvar.getUpperBound()
-							: colvar.getLowerBound();
-					if (colBound.isInfinity()) {
-						hasUpper = false;
-					}
-				}
-				if (hasLower) {
-					final InfinitesimalNumber colBound = coeffSign == sign ? colvar.getLowerBound()
-							: colvar.getUpperBound();
-					if (colBound.isInfinity()) {
-						hasLower = false;
-					}
-				}
-			}
+			final boolean cached = var.mRowBounds != null;
+			final RowBounds rowBounds = getRowBounds(var);
+			assert !cached || checkRowBounds(var);
+			final boolean hasUpper = rowBounds.hasUpperBound();
+			final boolean hasLower = rowBounds.hasLowerBound();
 			if (Config.PROFILE_TIME) {
 				mBacktrackPropTime += System.nanoTime() - time;
 				time = System.nanoTime();
 			}
 			if (hasUpper || hasLower) {
-				InfinitesimalNumber upperBound = InfinitesimalNumber.ZERO;
-				InfinitesimalNumber lowerBound = InfinitesimalNumber.ZERO;
-				for (final MatrixEntry entry : var.getTableauxRow(this)) {
-					final Rational coeff = Rational.valueOf(entry.getCoeff(), entry.getHeadCoeff().negate());
-					final LinVar colvar = entry.getColumn();
-					if (hasUpper) {
-						final InfinitesimalNumber colBound = coeff.signum() > 0 ? colvar.getUpperBound()
-								: colvar.getLowerBound();
-						upperBound = upperBound.add(colBound.mul(coeff));
-					}
-					if (hasLower) {
-						final InfinitesimalNumber colBound = coeff.signum() > 0 ? colvar.getLowerBound()
-								: colvar.getUpperBound();
-						lowerBound = lowerBound.add(colBound.mul(coeff));
-					}
-				}
+				final InfinitesimalNumber upperBound = hasUpper ? rowBounds.getUpperBound() : null;
+				final InfinitesimalNumber lowerBound = hasLower ? rowBounds.getLowerBound() : null;
 				Clause conflict = null;
 				if (hasUpper) {
 					conflict = propagateBound(var, upperBound, true);
@@ -739,8 +922,65 @@ public class LinArSolve implements ITheory {
 		return explainer.createClause(getEngine());
 	}
 
+	/**
+	 * Check if bound constraints on a variable should be propagated. We skip the propagations on variables whose
+	 * propagated literals are hardly ever needed to explain a conflict. After skipping them for a while, we start
+	 * again from scratch.
+	 */
+	private boolean shouldPropagate(final LinVar var) {
+		if (var.mNumPropagated < Config.LA_THROTTLE_MIN_PROPAGATIONS
+				|| var.mNumExplained * Config.LA_THROTTLE_RATIO >= var.mNumPropagated) {
+			return true;
+		}
+		mNumThrottledProps++;
+		if (++var.mNumThrottled >= Config.LA_THROTTLE_RETRY) {
+			var.mNumPropagated = var.mNumExplained = var.mNumThrottled = 0;
+		}
+		return false;
+	}
+
+	/**
+	 * Check if a cached explanation explains a literal, i.e., all other literals are false. If the literal is already
+	 * set, they must have been set before it.
+	 */
+	private static boolean isUnitClause(final Clause clause, final Literal literal) {
+		final DPLLAtom atom = literal.getAtom();
+		for (int i = 0; i < clause.getSize(); i++) {
+			final Literal lit = clause.getLiteral(i);
+			if (lit == literal) {
+				continue;
+			}
+			if (lit.getAtom().getDecideStatus() != lit.negate() || (atom.getDecideStatus() == literal
+					&& lit.getAtom().getStackPosition() >= atom.getStackPosition())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public Clause getUnitClause(final Literal literal) {
+		final DPLLAtom atom = literal.getAtom();
+		if (atom instanceof CCEquality) {
+			return generateEqualityClause(literal);
+		}
+		final LinVar var =
+				atom instanceof LAEquality ? ((LAEquality) atom).getVar() : ((BoundConstraint) atom).getVar();
+		var.mNumExplained++;
+		Clause unit = mExplanationCache.get(literal);
+		if (unit != null && isUnitClause(unit, literal)) {
+			mNumExplanationHits++;
+			return unit;
+		}
+		unit = createExplanation(literal);
+		mExplanationCache.put(literal, unit);
+		return unit;
+	}
+
+	/**
+	 * Create the explanation clause for a propagated bound constraint or equality.
+	 */
+	private Clause createExplanation(final Literal literal) {
 		final DPLLAtom atom = literal.getAtom();
 		if (atom instanceof LAEquality) {
 			final LAEquality laeq = (LAEquality) atom;
@@ -777,8 +1017,6 @@ public class LinArSolve implements ITheory {
 				}
 				return createUnitClause(literal, upper != null && upper.getBound().less(bound), bound, var);
 			}
-		} else if (atom instanceof CCEquality) {
-			return generateEqualityClause(literal);
 		} else {
 			final BoundConstraint bc = (BoundConstraint) atom;
 			final LinVar var = bc.getVar();
@@ -885,6 +1123,7 @@ public class LinArSolve implements ITheory {
 		InfinitesimalNumber bound = reason.getBound();
 		final InfinitesimalNumber epsilon = var.getEpsilon();
 		LiteralReason lastLiteral = reason.getLastLiteral();
+		final InfinitesimalNumber oldLiteralBound = reason.isUpper() ? var.getUpperBound() : var.getLowerBound();
 		if (reason instanceof LiteralReason) {
 			if (reason.isUpper()) {
 				reason.getVar().mUpperLiteral = (LiteralReason) reason;
@@ -921,9 +1160,13 @@ public class LinArSolve implements ITheory {
 				mOob.add(var);
 			}
 
-			for (final BoundConstraint bc : var.mConstraints.subMap(bound, oldBound).values()) {
-				assert var.getTightUpperBound().lesseq(bc.getBound());
-				mProplist.add(bc);
+			final Collection<BoundConstraint> implied = var.mConstraints.subMap(bound, oldBound).values();
+			if (!implied.isEmpty() && shouldPropagate(var)) {
+				for (final BoundConstraint bc : implied) {
+					assert var.getTightUpperBound().lesseq(bc.getBound());
+					mProplist.add(bc);
+					var.mNumPropagated++;
+				}
 			}
 			for (final LAEquality laeq : var.mEqualities
 					.subMap(bound.add(var.getEpsilon()), oldBound.add(var.getEpsilon())).values()) {
@@ -959,14 +1202,19 @@ public class LinArSolve implements ITheory {
 				mOob.add(var);
 			}
 
-			for (final BoundConstraint bc : var.mConstraints.subMap(oldBound, bound).values()) {
-				assert bc.getInverseBound().lesseq(var.getTightLowerBound());
-				mProplist.add(bc.negate());
+			final Collection<BoundConstraint> implied = var.mConstraints.subMap(oldBound, bound).values();
+			if (!implied.isEmpty() && shouldPropagate(var)) {
+				for (final BoundConstraint bc : implied) {
+					assert bc.getInverseBound().lesseq(var.getTightLowerBound());
+					mProplist.add(bc.negate());
+					var.mNumPropagated++;
+				}
 			}
 			for (final LAEquality laeq : var.mEqualities.subMap(oldBound, bound).values()) {
 				mProplist.add(laeq.negate());
 			}
 		}
+		updateRowBounds(var, reason.isUpper(), oldLiteralBound);
 		final InfinitesimalNumber ubound = var.getTightUpperBound();
 		final InfinitesimalNumber lbound = var.getTightLowerBound();
 		if (lbound.equals(ubound)) {
@@ -1201,11 +1449,37 @@ public class LinArSolve implements ITheory {
 			logger.info("Time for bound setting    : " + mPropBoundSetTime / 1000000);
 			logger.info("Time for bound comp(back) : " + mBacktrackPropTime / 1000000);
 			logger.info("Composite::createLit: " + mCompositeCreateLit);
+			if (mNumRowBoundsComputed > 0) {
+				logger.info("Row bound indexes computed: " + mNumRowBoundsComputed);
+			}
+			if (mSharedIndex.getNumUpdates() > 0) {
+				logger.info("Shared term values recomputed: " + mSharedIndex.getNumUpdates());
+			}
+			if (Config.LA_WARM_START) {
+				logger.info("Pivots to restore a basis after pop: " + mNumWarmStartPivots);
+			}
+			if (mPricingRule != PricingRule.SOI) {
+				logger.info("Pricing %s: %d pivots in %d calls, pricing fallbacks: %d, Bland fallbacks: %d",
+						mPricingRule, mNumSOIPivots, mNumFixOobs, mNumPricingFallbacks, mNumBlandFallbacks);
+			}
+			if (mNumExplanationHits > 0) {
+				logger.info("Cached explanations used: " + mNumExplanationHits);
+			}
+			if (mNumThrottledProps > 0) {
+				logger.info("Throttled bound propagations: " + mNumThrottledProps);
+			}
 			logger.info("Number of cuts: " + mNumCuts);
+			if (!mIntegerScheduler.isDefault()) {
+				logger.info("Number of gomory cuts: " + mNumGomoryCuts);
+				logger.info("Integer scheduler: " + mIntegerScheduler);
+			}
 			logger.info("Time for cut-generation: " + mCutGenTime / 1000000);
 			logger.info("Count/Time for getUpperBound: %d / %d.%03d", mCountGetUpperBound,
 					mTimeGetUpperBound / 1000000000, mTimeGetUpperBound / 1000000 % 1000);
 			logger.info("Number of branchings: " + mNumBranches);
+			if (mShadowSimplex != null) {
+				logger.info(mShadowSimplex.getName() + ": " + mShadowSimplex);
+			}
 		}
 	}
 
@@ -1229,6 +1503,13 @@ public class LinArSolve implements ITheory {
 		}
 		assert basic.mBasic;
 		assert !nonbasic.mBasic;
+		if (mPricingRule == PricingRule.STEEPEST_EDGE) {
+			// the pivot changes exactly the columns of the pivot row.
+			for (int i = 1; i < row.size(); i++) {
+				mLinvars.get(row.getRawIndex(i)).mPricingWeight = 0;
+			}
+			basic.mPricingWeight = 0;
+		}
 		basic.mBasic = false;
 		nonbasic.mBasic = true;
 
@@ -1252,9 +1533,11 @@ public class LinArSolve implements ITheory {
 		}
 		basic.mCachedRowVars = null;
 		basic.mCachedRowCoeffs = null;
+		basic.mRowBounds = null;
 
 		mDirty.set(colMatrixPos);
 		assert nonbasic.mCachedRowCoeffs == null;
+		assert nonbasic.mRowBounds == null;
 		assert nonbasic.checkCoeffChain(this);
 
 		todo.clear(rowMatrixPos);
@@ -1266,6 +1549,7 @@ public class LinArSolve implements ITheory {
 			mTableaux.get(rowIdx).addRow(this, row);
 			rowVar.mCachedRowVars = null;
 			rowVar.mCachedRowCoeffs = null;
+			rowVar.mRowBounds = null;
 			mDirty.set(rowVar.mMatrixpos);
 			assert rowVar.checkCoeffChain(this);
 		}
@@ -1282,14 +1566,15 @@ public class LinArSolve implements ITheory {
 	 * @return Conflict clause or <code>null</code> if formula is satisfiable.
 	 */
 	private Clause ensureIntegrals() {
-		boolean isIntegral = true;
+		final List<LinVar> fractional = new ArrayList<>();
 		for (final LinVar lv : mIntVars) {
 			final ExactInfinitesimalNumber value = lv.getValue();
 			if (!value.getRealValue().isIntegral() || !value.getEpsilon().equals(Rational.ZERO)) {
-				isIntegral = false;
+				fractional.add(lv);
 			}
 		}
-		if (isIntegral) {
+		if (fractional.isEmpty()) {
+			mIntegerScheduler.feedback(0);
 			return null;
 		}
 
@@ -1305,8 +1590,7 @@ public class LinArSolve implements ITheory {
 		if (Config.PROFILE_TIME) {
 			start = System.nanoTime();
 		}
-		final CutCreator cutter = new CutCreator(this);
-		cutter.generateCuts();
+		mIntegerScheduler.resolve(fractional);
 		if (Config.PROFILE_TIME) {
 			mCutGenTime += System.nanoTime() - start;
 		}
@@ -1351,6 +1635,9 @@ public class LinArSolve implements ITheory {
 			return null;
 		}
 
+		if (mShadowSimplex != null) {
+			mShadowSimplex.fixOobs();
+		}
 		final Clause conflict = new SOIPivoter(this).fixOobs();
 		if (conflict == null) {
 			mOob.clear();
@@ -1493,12 +1780,18 @@ public class LinArSolve implements ITheory {
 		assert v.mBasic || mDependentRows.get(v.mMatrixpos).isEmpty();
 		assert v.mMatrixpos == mLinvars.size() - 1;
 		mLinvars.remove(v.mMatrixpos);
+		if (v.isInt()) {
+			mIntegerScheduler.removeVar(v);
+		}
 		if (v.mBasic) {
 			final TableauxRow row = mTableaux.get(v.mMatrixpos);
 			for (int i = 1; i < row.size(); i++) {
 				final LinVar col = mLinvars.get(row.getRawIndex(i));
 				assert (!col.mBasic);
 				mDependentRows.get(col.mMatrixpos).clear(v.mMatrixpos);
+				if (mPricingRule == PricingRule.STEEPEST_EDGE) {
+					col.mPricingWeight = 0;
+				}
 			}
 		}
 		mTableaux.remove(v.mMatrixpos);
@@ -1622,7 +1915,7 @@ public class LinArSolve implements ITheory {
 			}
 			for (final MatrixEntry it1 : mutatingLV.getTableauxColumn(this)) {
 				final LinVar basic = it1.getRow();
-				final Rational coeff = Rational.valueOf(it1.getCoeff().negate(), it1.getHeadCoeff());
+				final Rational coeff = it1.getSolvedCoeff();
 				if (!basic.isInitiallyBasic()) {
 					basicFactors.put(basic, coeff);
 				}
@@ -1640,15 +1933,12 @@ public class LinArSolve implements ITheory {
 			// Do not merge two shared variables
 			for (final LASharedTerm sharedVar : mSharedVars) {
 				Rational sharedCoeff = Rational.ZERO;
-				ExactInfinitesimalNumber sharedCurVal = new ExactInfinitesimalNumber(sharedVar.getOffset(),
-						Rational.ZERO);
+				final ExactInfinitesimalNumber sharedCurVal = mSharedIndex.getValue(sharedVar);
 				for (final Entry<LinVar, Rational> entry : sharedVar.getSummands().entrySet()) {
-					final LinVar lv = entry.getKey();
-					final Rational factor = entry.getValue();
-					if (basicFactors.containsKey(lv)) {
-						sharedCoeff = sharedCoeff.addmul(basicFactors.get(lv), factor);
+					final Rational basicFactor = basicFactors.get(entry.getKey());
+					if (basicFactor != null) {
+						sharedCoeff = sharedCoeff.addmul(basicFactor, entry.getValue());
 					}
-					sharedCurVal = sharedCurVal.add(lv.getValue().mul(factor));
 				}
 				Set<ExactInfinitesimalNumber> set = sharedPoints.get(sharedCoeff);
 				if (set == null) {
@@ -1670,30 +1960,24 @@ public class LinArSolve implements ITheory {
 	}
 
 	/**
-	 * Compute the value of each shared variable as exact infinite number.
+	 * Compute the value of each shared variable as exact infinite number. Only the
+	 * shared variables whose value changed since the last call are recomputed.
 	 *
 	 * @return A map from the value to the list of shared variables that have this
-	 *         value.
+	 *         value. The map must not be modified.
 	 */
 	Map<ExactInfinitesimalNumber, List<LASharedTerm>> getSharedCongruences() {
-		mClausifier.getLogger().debug("Shared Vars:");
-		final Map<ExactInfinitesimalNumber, List<LASharedTerm>> result = new HashMap<>();
+		final Map<ExactInfinitesimalNumber, List<LASharedTerm>> result = mSharedIndex.getClasses();
+		assert checkSharedCongruences(result);
+		return result;
+	}
+
+	private boolean checkSharedCongruences(final Map<ExactInfinitesimalNumber, List<LASharedTerm>> cong) {
 		for (final LASharedTerm shared : mSharedVars) {
-			ExactInfinitesimalNumber value = new ExactInfinitesimalNumber(shared.getOffset());
-			for (final Entry<LinVar, Rational> entry : shared.getSummands().entrySet()) {
-				final LinVar lv = entry.getKey();
-				final Rational factor = entry.getValue();
-				value = value.add(lv.getValue().mul(factor));
-			}
-			mClausifier.getLogger().debug("%s = %s", shared, value);
-			List<LASharedTerm> slot = result.get(value);
-			if (slot == null) {
-				slot = new LinkedList<>();
-				result.put(value, slot);
-			}
-			slot.add(shared);
+			final List<LASharedTerm> slot = cong.get(shared.computeValue());
+			assert slot != null && slot.contains(shared) : "Shared term " + shared + " not indexed by its value";
 		}
-		return result;
+		return true;
 	}
 
 	private Literal ensureDisequality(final LAEquality eq) {
@@ -2017,7 +2301,9 @@ public class LinArSolve implements ITheory {
 		}
 		final InfinitesimalNumber litBound = comp.isUpper() ? bc.getBound() : bc.getInverseBound();
 		if (!comp.getExactBound().equals(litBound)) {
+			final InfinitesimalNumber oldBound = comp.isUpper() ? var.getUpperBound() : var.getLowerBound();
 			insertReasonOfNewComposite(var, lit);
+			updateRowBounds(var, comp.isUpper(), oldBound);
 		}
 
 		return lit;
@@ -2026,6 +2312,7 @@ public class LinArSolve implements ITheory {
 	public void addSharedTerm(final LASharedTerm sharedTerm) {
 		assert !mSharedVars.contains(sharedTerm);
 		mSharedVars.add(sharedTerm);
+		mSharedIndex.add(sharedTerm);
 		getLogger().info("LAShare %s", sharedTerm.getTerm());
 	}
 
@@ -2067,11 +2354,23 @@ public class LinArSolve implements ITheory {
 		}
 		mPushPopLevel--;
 		mLinvars.endScope();
+		final BasisSnapshot snapshot = mSnapshots.remove(mSnapshots.size() - 1);
+		if (snapshot != null) {
+			mNumWarmStartPivots += snapshot.restore(this);
+		}
+		for (int i = mSharedVars.size() - 1; i >= mSharedVars.getLastScopeSize(); i--) {
+			mSharedIndex.remove(mSharedVars.get(i));
+		}
 		mSharedVars.endScope();
+		if (mShadowSimplex != null) {
+			mShadowSimplex.invalidate();
+		}
 		mBasics.endScope();
 		// TODO This is a bit too much but should work
 		mSuggestions.clear();
 		mProplist.clear();
+		// the cached explanations may contain removed literals
+		mExplanationCache.clear();
 		assert popPost();
 	}
 
@@ -2083,20 +2382,50 @@ public class LinArSolve implements ITheory {
 	public void push() {
 		mBasics.beginScope();
 		mSharedVars.beginScope();
+		mSnapshots.add(Config.LA_WARM_START && mOob.isEmpty() ? new BasisSnapshot(this) : null);
 		mLinvars.beginScope();
 		mPushPopLevel++;
 	}
 
 	@Override
 	public Object[] getStatistics() {
-		return new Object[] { ":LA",
-				new Object[][] { { "Pivot", mNumPivots }, { "PivotBland", mNumPivotsBland },
+		final ArrayList<Object[]> stats = new ArrayList<>();
+		stats.addAll(Arrays.asList(new Object[][] { { "Pivot", mNumPivots }, { "PivotBland", mNumPivotsBland },
 						{ "Vars", mLinvars.size() }, { "CompLits", mCompositeCreateLit }, { "Cuts", mNumCuts },
 						{ "Branches", mNumBranches }, { "GetUpperBound", mCountGetUpperBound },
 						{ "Times", new Object[][] { { "Pivot", mPivotTime / 1000000 }, { "Fix", mFixTime / 1000000 },
 								{ "BoundComp", mPropBoundTime / 1000000 }, { "BoundSet", mPropBoundSetTime / 1000000 },
 								{ "BoundBack", mBacktrackPropTime / 1000000 }, { "CutGen", mCutGenTime / 1000000 },
-								{ "GetUpperBound", mTimeGetUpperBound / 1000000 } } } } };
+								{ "GetUpperBound", mTimeGetUpperBound / 1000000 } } } }));
+		if (mNumRowBoundsComputed > 0) {
+			stats.add(new Object[] { "RowBoundsComputed", mNumRowBoundsComputed });
+		}
+		if (mSharedIndex.getNumUpdates() > 0) {
+			stats.add(new Object[] { "SharedValueUpdates", mSharedIndex.getNumUpdates() });
+		}
+		if (Config.LA_WARM_START) {
+			stats.add(new Object[] { "WarmStartPivots", mNumWarmStartPivots });
+		}
+		if (mNumExplanationHits > 0) {
+			stats.add(new Object[] { "ExplanationHits", mNumExplanationHits });
+		}
+		if (mNumThrottledProps > 0) {
+			stats.add(new Object[] { "ThrottledProps", mNumThrottledProps });
+		}
+		if (!mIntegerScheduler.isDefault()) {
+			stats.add(new Object[] { "GomoryCuts", mNumGomoryCuts });
+			stats.add(new Object[] { "IntegerScheduler", mIntegerScheduler.getStatistics() });
+		}
+		if (mPricingRule != PricingRule.SOI) {
+			stats.add(new Object[] { "Pricing", new Object[][] { { "Rule", mPricingRule.name() },
+				{ "FixOobs", mNumFixOobs },
+				{ "PivotsPerFixOobs", mNumFixOobs == 0 ? 0.0 : (double) mNumSOIPivots / mNumFixOobs },
+				{ "BlandFallbacks", mNumBlandFallbacks }, { "PricingFallbacks", mNumPricingFallbacks } } });
+		}
+		if (mShadowSimplex != null) {
+			stats.add(new Object[] { mShadowSimplex.getName(), mShadowSimplex.getStatistics() });
+		}
+		return new Object[] { ":LA", stats.toArray(new Object[stats.size()][]) };
 	}
 
 	/**
@@ -2164,4 +2493,132 @@ public class LinArSolve implements ITheory {
 		mTimeGetUpperBound += System.nanoTime() - start;
 		return bound.mul(normFactor).add(offset);
 	}
+
+	/**
+	 * Create the literals that fix every integer variable to its current value. This must only be called if the
+	 * current assignment is integral, e.g., after a satisfiable check. Assuming these literals restricts the linear
+	 * relaxation to the integer assignment of the current model.
+	 *
+	 * @return the bound literals {@code x <= v} and {@code x >= v} for every integer variable x with value v.
+	 */
+	public List<Literal> fixIntegerValues() {
+		final List<Literal> fixed = new ArrayList<>();
+		for (final LinVar var : mIntVars) {
+			if (!var.isInitiallyBasic()) {
+				final ExactInfinitesimalNumber value = var.getValue();
+				assert value.getRealValue().isIntegral() && value.getEpsilon() == Rational.ZERO;
+				fixed.add(generateConstraint(var, value.getRealValue(), false, false));
+				fixed.add(generateConstraint(var, value.getRealValue(), true, false));
+			}
+		}
+		return fixed;
+	}
+
+	/**
+	 * Compute the maximum of an affine term over the current bounds of all variables. Unlike
+	 * {@link #getUpperBound(MutableAffineTerm)} this runs the primal simplex on the tableaux. It maximizes the linear
+	 * relaxation, i.e., it ignores disequalities and integrality. This must only be called if the current assignment
+	 * satisfies all bounds, e.g., after a satisfiable check. The assignment is restored afterwards, only the basis
+	 * changes.
+	 *
+	 * @param at
+	 *            the affine term.
+	 * @return the maximum of the term, or POSITIVE_INFINITY if it is unbounded.
+	 */
+	public InfinitesimalNumber maximize(final MutableAffineTerm at) {
+		if (at.isConstant()) {
+			return at.getConstant();
+		}
+		assert mOob.isEmpty();
+		final InfinitesimalNumber offset = at.getConstant();
+		final Rational normFactor = at.getGCD();
+		final MutableAffineTerm atNormalized = new MutableAffineTerm();
+		atNormalized.add(normFactor.inverse(), at);
+		final LinVar var = generateLinVar(atNormalized.getSummands());
+
+		final ExactInfinitesimalNumber[] values = new ExactInfinitesimalNumber[mLinvars.size()];
+		for (final LinVar v : mLinvars) {
+			values[v.mMatrixpos] = v.getValue();
+		}
+		final ExactInfinitesimalNumber max = maximizeVar(var, normFactor.signum());
+		// the old assignment still satisfies every row, whatever the basis is.
+		for (final LinVar v : mLinvars) {
+			v.setValue(values[v.mMatrixpos]);
+		}
+		assert mOob.isEmpty();
+		if (max == null) {
+			return InfinitesimalNumber.POSITIVE_INFINITY;
+		}
+		final ExactInfinitesimalNumber result = max.mul(normFactor);
+		return new InfinitesimalNumber(result.getRealValue().add(offset.mReal), result.getEpsilon().signum());
+	}
+
+	/**
+	 * Check if the value of a variable can move in a direction without violating its bounds.
+	 */
+	private static boolean canMove(final LinVar var, final int dir) {
+		return dir > 0 ? var.getValue().compareTo(var.getUpperBound()) < 0
+				: var.getValue().compareTo(var.getLowerBound()) > 0;
+	}
+
+	/**
+	 * Maximize {@code dir * var} by the primal simplex with Bland's rule. This keeps all variables within their bounds.
+	 *
+	 * @return the optimal value of var, or null if it is unbounded.
+	 */
+	private ExactInfinitesimalNumber maximizeVar(final LinVar var, final int dir) {
+		while (true) {
+			// choose the entering variable and the direction it moves in
+			LinVar entering = null;
+			int enteringDir = 0;
+			if (!var.mBasic) {
+				if (canMove(var, dir)) {
+					entering = var;
+					enteringDir = dir;
+				}
+			} else {
+				for (final MatrixEntry entry : var.getTableauxRow(this)) {
+					final LinVar col = entry.getColumn();
+					final int colDir = entry.getSolvedCoeff().signum() * dir;
+					if ((entering == null || col.mMatrixpos < entering.mMatrixpos) && canMove(col, colDir)) {
+						entering = col;
+						enteringDir = colDir;
+					}
+				}
+			}
+			if (entering == null) {
+				return var.getValue();
+			}
+			// ratio test: find the variable that first reaches its bound
+			ExactInfinitesimalNumber step = null;
+			LinVar leaving = null;
+			final InfinitesimalNumber ownBound = enteringDir > 0 ? entering.getUpperBound() : entering.getLowerBound();
+			if (!ownBound.isInfinity()) {
+				step = entering.getValue().isub(ownBound).abs();
+			}
+			for (final MatrixEntry entry : entering.getTableauxColumn(this)) {
+				final LinVar basic = entry.getRow();
+				final Rational coeff = entry.getSolvedCoeff();
+				final InfinitesimalNumber bound = coeff.signum() * enteringDir > 0 ? basic.getUpperBound()
+						: basic.getLowerBound();
+				if (bound.isInfinity()) {
+					continue;
+				}
+				final ExactInfinitesimalNumber limit = basic.getValue().isub(bound).div(coeff).abs();
+				final int cmp = step == null ? -1 : limit.compareTo(step);
+				if (cmp < 0 || (cmp == 0 && leaving != null && basic.mMatrixpos < leaving.mMatrixpos)) {
+					step = limit;
+					leaving = basic;
+				}
+			}
+			if (step == null) {
+				return null;
+			}
+			updateVariableValue(entering, enteringDir > 0 ? entering.getValue().add(step)
+					: entering.getValue().sub(step));
+			if (leaving != null) {
+				pivot(leaving.mMatrixpos, entering.mMatrixpos);
+			}
+		}
+	}
 }
@@ -19,6 +19,7 @@
 package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -81,6 +82,24 @@ public class LinVar implements Comparable<LinVar> {
 
 	LinVar[] mCachedRowVars;
 	Rational[] mCachedRowCoeffs;
+	/**
+	 * The incremental bound propagation index for the row of this basic variable, null if it must be recomputed.
+	 */
+	RowBounds mRowBounds;
+	/**
+	 * The number of bound constraints propagated on this variable and the number of them that were explained. If only
+	 * few of them are explained, propagation is throttled, and mNumThrottled counts the skipped propagations.
+	 */
+	int mNumPropagated, mNumExplained, mNumThrottled;
+	/**
+	 * The weight of this variable as pivot column, i.e., the squared length of its edge for steepest edge pricing or
+	 * its reference weight for devex pricing. It is 0 if it is not known.
+	 */
+	double mPricingWeight;
+	/**
+	 * The shared terms containing this variable, null if there are none.
+	 */
+	ArrayList<LASharedTerm> mSharedTerms;
 
 	int mAssertionstacklevel;
 
@@ -288,10 +307,28 @@ public class LinVar implements Comparable<LinVar> {
 
 	public final void setValue(final ExactInfinitesimalNumber value) {
 		mCurval = value;
+		valueChanged();
 	}
 
 	public final void addValue(final ExactInfinitesimalNumber value) {
 		mCurval = mCurval.add(value);
+		valueChanged();
+	}
+
+	/**
+	 * Add {@code value * factor} to the current value.
+	 */
+	public final void addMulValue(final ExactInfinitesimalNumber value, final Rational factor) {
+		mCurval = mCurval.addmul(value, factor);
+		valueChanged();
+	}
+
+	private void valueChanged() {
+		if (mSharedTerms != null) {
+			for (final LASharedTerm shared : mSharedTerms) {
+				shared.mIndex.markDirty(shared);
+			}
+		}
 	}
 
 	private boolean checkReasonChain(LAReason reason, LiteralReason litreason) {
@@ -20,6 +20,8 @@ package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
 
 import java.math.BigInteger;
 
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+
 /**
  * This represents an entry in our sparse matrix.
  *
@@ -53,6 +55,14 @@ public class MatrixEntry {
 		return mRow.getRawCoeff(0);
 	}
 
+	/**
+	 * Get the coefficient of the column in the equation solved for the row, i.e., {@code -getCoeff()/getHeadCoeff()}.
+	 */
+	public Rational getSolvedCoeff() {
+		assert mPosition != 0;
+		return mRow.getSolvedCoeff(mPosition);
+	}
+
 	@Override
 	public String toString() {
 		if (mPosition == 0) {
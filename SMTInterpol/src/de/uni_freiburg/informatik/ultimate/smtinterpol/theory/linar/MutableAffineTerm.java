@@ -71,7 +71,18 @@ public class MutableAffineTerm {
 
 	private void addMap(final Rational c, final Map<LinVar, Rational> linterm) {
 		for (final Map.Entry<LinVar, Rational> summand : linterm.entrySet()) {
-			addSimple(c.mul(summand.getValue()), summand.getKey());
+			final LinVar term = summand.getKey();
+			final Rational oldc = mSummands.get(term);
+			if (oldc == null) {
+				mSummands.put(term, c.mul(summand.getValue()));
+			} else {
+				final Rational newc = oldc.addmul(c, summand.getValue());
+				if (newc.equals(Rational.ZERO)) {
+					mSummands.remove(term);
+				} else {
+					mSummands.put(term, newc);
+				}
+			}
 		}
 	}
 
@@ -90,7 +101,7 @@ public class MutableAffineTerm {
 	public MutableAffineTerm add(final Rational c, final MutableAffineTerm a) {
 		if (c != Rational.ZERO) {
 			addMap(c, a.mSummands);
-			mConstant = mConstant.add(a.mConstant.mul(c));
+			mConstant = mConstant.addmul(a.mConstant, c);
 		}
 		return this;
 	}
@@ -0,0 +1,520 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+
+/**
+ * A revised simplex that searches a feasible basis without an explicit tableaux. It only stores the original sparse
+ * constraint matrix, i.e., the linear combinations that define the initially basic variables, and a sparse LU
+ * factorization of the current basis. Basis changes are recorded as eta matrices in product form and the basis is
+ * refactorized after {@link Config#REVISED_SIMPLEX_REFACTOR} changes. The tableaux row of a violated basic variable
+ * and the tableaux column of the entering variable are computed on demand from the factorization. Thus, the cost of
+ * a pivot step does not depend on the fill-in of the tableaux.
+ *
+ * The computations use double precision, as the entries of the factorization grow quickly in exact rational
+ * arithmetic. Only the search of the basis avoids the exact tableaux; the exact tableaux is still pivoted to the
+ * basis found.
+ */
+public class RevisedSimplex extends ShadowSimplex {
+	/** A pivot of the factorization must be at least this fraction of the largest entry in its column. */
+	private static final double PIVOT_THRESHOLD = 0.1;
+
+	/**
+	 * An eta matrix, i.e., an identity matrix whose column at a basis position is replaced by the tableaux column of
+	 * the variable entering the basis at this position.
+	 */
+	private static class Eta {
+		final int mPos;
+		final double mPivot;
+		/** The other non-zero entries of the column as basis positions and coefficients. */
+		final int[] mIndices;
+		final double[] mCoeffs;
+
+		Eta(final int pos, final double[] column) {
+			mPos = pos;
+			mPivot = column[pos];
+			int size = 0;
+			for (int i = 0; i < column.length; i++) {
+				if (i != pos && Math.abs(column[i]) >= DROP_TOLERANCE) {
+					size++;
+				}
+			}
+			mIndices = new int[size];
+			mCoeffs = new double[size];
+			int k = 0;
+			for (int i = 0; i < column.length; i++) {
+				if (i != pos && Math.abs(column[i]) >= DROP_TOLERANCE) {
+					mIndices[k] = i;
+					mCoeffs[k] = column[i];
+					k++;
+				}
+			}
+		}
+	}
+
+	/** The number of variables in the constraint matrix; -1 if the matrix must be rebuilt. */
+	private int mNumVars = -1;
+	/** The number of rows of the constraint matrix, i.e., the number of initially basic variables. */
+	private int mNumRows;
+	/**
+	 * The rows of the constraint matrix. The row of the initially basic variable b with linear combination
+	 * {@code sum c_i * x_i} stores the equation {@code sum c_i * x_i - b = 0}.
+	 */
+	private int[][] mRowVars;
+	private double[][] mRowCoeffs;
+	/** The columns of the constraint matrix indexed by the matrix position of the variable. */
+	private int[][] mColRows;
+	private double[][] mColCoeffs;
+
+	/** The variable at every basis position. */
+	private int[] mBasisVar;
+	/** The basis position of every variable; -1 for column variables. */
+	private int[] mBasisPos;
+
+	/**
+	 * The LU factorization of the basis, null if there is none. Step k of the elimination used the constraint row
+	 * mPivotRow[k] to eliminate the basis position mPivotPos[k] from the rows mLowerRows[k], which were subtracted
+	 * mLowerCoeffs[k] times the pivot row. The rest of the pivot row is stored in mUpperPos[k] and mUpperCoeffs[k];
+	 * its first entry is the pivot.
+	 */
+	private int[] mPivotRow;
+	private int[] mPivotPos;
+	private int[][] mLowerRows;
+	private double[][] mLowerCoeffs;
+	private int[][] mUpperPos;
+	private double[][] mUpperCoeffs;
+	/** The basis changes since the last factorization. */
+	private final ArrayList<Eta> mEtas = new ArrayList<>();
+
+	/* Statistics */
+	int mNumFactorizations;
+
+	public RevisedSimplex(final LinArSolve solver) {
+		super(solver, "RevisedSimplex", Config.REVISED_SIMPLEX_MIN_ROWS, Config.REVISED_SIMPLEX_PIVOTS_PER_ROW);
+	}
+
+	/**
+	 * Forget the constraint matrix.
+	 */
+	@Override
+	public void invalidate() {
+		mNumVars = -1;
+	}
+
+	@Override
+	boolean prepare() {
+		if (mNumVars != mSolver.mLinvars.size()) {
+			rebuild();
+		}
+		return syncBasis();
+	}
+
+	@Override
+	boolean isBasic(final int var) {
+		return mBasisPos[var] >= 0;
+	}
+
+	@Override
+	void failed() {
+		/* syncBasis refactorizes if the basis of the revised simplex differs from the exact basis */
+	}
+
+	/**
+	 * Build the constraint matrix from the linear combinations of the initially basic variables.
+	 */
+	private void rebuild() {
+		final int numVars = mSolver.mLinvars.size();
+		final ArrayList<int[]> rowVars = new ArrayList<>();
+		final ArrayList<double[]> rowCoeffs = new ArrayList<>();
+		final int[] colSize = new int[numVars];
+		for (int var = 0; var < numVars; var++) {
+			final LinVar linvar = mSolver.mLinvars.get(var);
+			if (!linvar.isInitiallyBasic()) {
+				continue;
+			}
+			final Map<LinVar, BigInteger> linterm = linvar.getLinTerm();
+			final int[] vars = new int[linterm.size() + 1];
+			final double[] coeffs = new double[linterm.size() + 1];
+			vars[0] = var;
+			coeffs[0] = -1;
+			int i = 1;
+			for (final Map.Entry<LinVar, BigInteger> entry : linterm.entrySet()) {
+				vars[i] = entry.getKey().mMatrixpos;
+				coeffs[i] = entry.getValue().doubleValue();
+				i++;
+			}
+			for (final int v : vars) {
+				colSize[v]++;
+			}
+			rowVars.add(vars);
+			rowCoeffs.add(coeffs);
+		}
+		mNumRows = rowVars.size();
+		mRowVars = rowVars.toArray(new int[mNumRows][]);
+		mRowCoeffs = rowCoeffs.toArray(new double[mNumRows][]);
+		mColRows = new int[numVars][];
+		mColCoeffs = new double[numVars][];
+		for (int var = 0; var < numVars; var++) {
+			mColRows[var] = new int[colSize[var]];
+			mColCoeffs[var] = new double[colSize[var]];
+			colSize[var] = 0;
+		}
+		for (int row = 0; row < mNumRows; row++) {
+			for (int i = 0; i < mRowVars[row].length; i++) {
+				final int var = mRowVars[row][i];
+				mColRows[var][colSize[var]] = row;
+				mColCoeffs[var][colSize[var]] = mRowCoeffs[row][i];
+				colSize[var]++;
+			}
+		}
+		mBasisVar = new int[mNumRows];
+		mBasisPos = new int[numVars];
+		Arrays.fill(mBasisPos, -1);
+		mPivotRow = null;
+		mValue = new double[numVars];
+		mLower = new double[numVars];
+		mUpper = new double[numVars];
+		mAtBound = new byte[numVars];
+		mNumVars = numVars;
+	}
+
+	/**
+	 * Take the basis of the exact tableaux if it differs from the current basis.
+	 *
+	 * @return false if the basis could not be factorized.
+	 */
+	private boolean syncBasis() {
+		boolean changed = mPivotRow == null;
+		for (int var = 0; var < mNumVars && !changed; var++) {
+			changed = mSolver.mLinvars.get(var).mBasic != (mBasisPos[var] >= 0);
+		}
+		if (!changed) {
+			return true;
+		}
+		int pos = 0;
+		for (int var = 0; var < mNumVars; var++) {
+			if (mSolver.mLinvars.get(var).mBasic) {
+				if (pos == mNumRows) {
+					return false;
+				}
+				mBasisVar[pos] = var;
+				mBasisPos[var] = pos++;
+			} else {
+				mBasisPos[var] = -1;
+			}
+		}
+		return pos == mNumRows && factorize();
+	}
+
+	/**
+	 * Compute a sparse LU factorization of the basis by Gaussian elimination. The pivot is taken from the basis
+	 * column with the fewest entries and from its shortest row among the rows with a large enough entry, which keeps
+	 * the fill-in small and the factorization stable.
+	 *
+	 * @return false if the basis is singular.
+	 */
+	private boolean factorize() {
+		mNumFactorizations++;
+		mEtas.clear();
+		final int size = mNumRows;
+		final ArrayList<HashMap<Integer, Double>> rows = new ArrayList<>(size);
+		final ArrayList<HashSet<Integer>> colRows = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			rows.add(new HashMap<>());
+			colRows.add(new HashSet<>());
+		}
+		for (int pos = 0; pos < size; pos++) {
+			final int var = mBasisVar[pos];
+			for (int i = 0; i < mColRows[var].length; i++) {
+				rows.get(mColRows[var][i]).put(pos, mColCoeffs[var][i]);
+				colRows.get(pos).add(mColRows[var][i]);
+			}
+		}
+		mPivotRow = new int[size];
+		mPivotPos = new int[size];
+		mLowerRows = new int[size][];
+		mLowerCoeffs = new double[size][];
+		mUpperPos = new int[size][];
+		mUpperCoeffs = new double[size][];
+		final boolean[] done = new boolean[size];
+		for (int step = 0; step < size; step++) {
+			int pos = -1;
+			for (int p = 0; p < size; p++) {
+				if (!done[p] && (pos < 0 || colRows.get(p).size() < colRows.get(pos).size())) {
+					pos = p;
+				}
+			}
+			double maxEntry = 0;
+			for (final int r : colRows.get(pos)) {
+				maxEntry = Math.max(maxEntry, Math.abs(rows.get(r).get(pos)));
+			}
+			if (maxEntry < PIVOT_TOLERANCE) {
+				mPivotRow = null;
+				return false;
+			}
+			int row = -1;
+			for (final int r : colRows.get(pos)) {
+				if (Math.abs(rows.get(r).get(pos)) >= PIVOT_THRESHOLD * maxEntry
+						&& (row < 0 || rows.get(r).size() < rows.get(row).size()
+								|| (rows.get(r).size() == rows.get(row).size() && r < row))) {
+					row = r;
+				}
+			}
+			final HashMap<Integer, Double> pivotRow = rows.get(row);
+			final double pivot = pivotRow.get(pos);
+			final int[] upperPos = new int[pivotRow.size()];
+			final double[] upperCoeffs = new double[pivotRow.size()];
+			upperPos[0] = pos;
+			upperCoeffs[0] = pivot;
+			int k = 1;
+			for (final Map.Entry<Integer, Double> entry : pivotRow.entrySet()) {
+				final int p = entry.getKey();
+				colRows.get(p).remove(row);
+				if (p != pos) {
+					upperPos[k] = p;
+					upperCoeffs[k] = entry.getValue();
+					k++;
+				}
+			}
+			final Integer[] others = colRows.get(pos).toArray(new Integer[colRows.get(pos).size()]);
+			final int[] lowerRows = new int[others.length];
+			final double[] lowerCoeffs = new double[others.length];
+			for (int i = 0; i < others.length; i++) {
+				final int other = others[i];
+				final HashMap<Integer, Double> otherRow = rows.get(other);
+				final double factor = otherRow.get(pos) / pivot;
+				lowerRows[i] = other;
+				lowerCoeffs[i] = factor;
+				for (final Map.Entry<Integer, Double> entry : pivotRow.entrySet()) {
+					final int p = entry.getKey();
+					final double newCoeff = p == pos ? 0 : otherRow.getOrDefault(p, 0.0) - factor * entry.getValue();
+					if (Math.abs(newCoeff) < DROP_TOLERANCE) {
+						otherRow.remove(p);
+						colRows.get(p).remove(other);
+					} else {
+						otherRow.put(p, newCoeff);
+						colRows.get(p).add(other);
+					}
+				}
+			}
+			mPivotRow[step] = row;
+			mPivotPos[step] = pos;
+			mLowerRows[step] = lowerRows;
+			mLowerCoeffs[step] = lowerCoeffs;
+			mUpperPos[step] = upperPos;
+			mUpperCoeffs[step] = upperCoeffs;
+			rows.set(row, null);
+			done[pos] = true;
+		}
+		return true;
+	}
+
+	/**
+	 * Solve {@code B * x = rhs}.
+	 *
+	 * @param rhs
+	 *            the right hand side indexed by constraint row. It is overwritten.
+	 * @return x indexed by basis position.
+	 */
+	private double[] ftran(final double[] rhs) {
+		for (int step = 0; step < mNumRows; step++) {
+			final double value = rhs[mPivotRow[step]];
+			if (value != 0) {
+				for (int i = 0; i < mLowerRows[step].length; i++) {
+					rhs[mLowerRows[step][i]] -= mLowerCoeffs[step][i] * value;
+				}
+			}
+		}
+		final double[] result = new double[mNumRows];
+		for (int step = mNumRows - 1; step >= 0; step--) {
+			double value = rhs[mPivotRow[step]];
+			for (int i = 1; i < mUpperPos[step].length; i++) {
+				value -= mUpperCoeffs[step][i] * result[mUpperPos[step][i]];
+			}
+			result[mPivotPos[step]] = value / mUpperCoeffs[step][0];
+		}
+		for (final Eta eta : mEtas) {
+			final double value = result[eta.mPos] / eta.mPivot;
+			result[eta.mPos] = value;
+			if (value != 0) {
+				for (int i = 0; i < eta.mIndices.length; i++) {
+					result[eta.mIndices[i]] -= eta.mCoeffs[i] * value;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Solve {@code y * B = e_pos}, which gives the multipliers of the constraint rows that form the tableaux row of
+	 * the basic variable at a position.
+	 *
+	 * @return y indexed by constraint row.
+	 */
+	private double[] btran(final int pos) {
+		final double[] rhs = new double[mNumRows];
+		rhs[pos] = 1;
+		for (int e = mEtas.size() - 1; e >= 0; e--) {
+			final Eta eta = mEtas.get(e);
+			double value = rhs[eta.mPos];
+			for (int i = 0; i < eta.mIndices.length; i++) {
+				value -= eta.mCoeffs[i] * rhs[eta.mIndices[i]];
+			}
+			rhs[eta.mPos] = value / eta.mPivot;
+		}
+		final double[] result = new double[mNumRows];
+		for (int step = 0; step < mNumRows; step++) {
+			final double value = rhs[mPivotPos[step]] / mUpperCoeffs[step][0];
+			result[mPivotRow[step]] = value;
+			if (value != 0) {
+				for (int i = 1; i < mUpperPos[step].length; i++) {
+					rhs[mUpperPos[step][i]] -= mUpperCoeffs[step][i] * value;
+				}
+			}
+		}
+		for (int step = mNumRows - 1; step >= 0; step--) {
+			double value = result[mPivotRow[step]];
+			for (int i = 0; i < mLowerRows[step].length; i++) {
+				value -= mLowerCoeffs[step][i] * result[mLowerRows[step][i]];
+			}
+			result[mPivotRow[step]] = value;
+		}
+		return result;
+	}
+
+	/**
+	 * Compute the coefficients of the column variables in the tableaux row of a basic variable.
+	 *
+	 * @return the coefficients indexed by matrix position; the entries of basic variables are zero.
+	 */
+	private double[] tableauxRow(final int pos) {
+		final double[] multipliers = btran(pos);
+		final double[] result = new double[mNumVars];
+		for (int row = 0; row < mNumRows; row++) {
+			final double mult = multipliers[row];
+			if (Math.abs(mult) < DROP_TOLERANCE) {
+				continue;
+			}
+			for (int i = 0; i < mRowVars[row].length; i++) {
+				final int var = mRowVars[row][i];
+				if (mBasisPos[var] < 0) {
+					/* the tableaux row is basic = -sum (y * A_j) * x_j */
+					result[var] -= mult * mRowCoeffs[row][i];
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Compute the tableaux column of a variable, i.e., {@code B^-1 * A_j}. The basic variables change by the
+	 * negated column times the change of the column variable.
+	 */
+	private double[] tableauxColumn(final int var) {
+		final double[] rhs = new double[mNumRows];
+		for (int i = 0; i < mColRows[var].length; i++) {
+			rhs[mColRows[var][i]] = mColCoeffs[var][i];
+		}
+		return ftran(rhs);
+	}
+
+	/**
+	 * Recompute the values of the basic variables from the values of the column variables. This removes the
+	 * rounding errors accumulated by the updates.
+	 */
+	private void computeBasicValues() {
+		final double[] rhs = new double[mNumRows];
+		for (int var = 0; var < mNumVars; var++) {
+			if (mBasisPos[var] < 0 && mValue[var] != 0) {
+				for (int i = 0; i < mColRows[var].length; i++) {
+					rhs[mColRows[var][i]] -= mColCoeffs[var][i] * mValue[var];
+				}
+			}
+		}
+		final double[] basicValues = ftran(rhs);
+		for (int pos = 0; pos < mNumRows; pos++) {
+			mValue[mBasisVar[pos]] = basicValues[pos];
+		}
+	}
+
+	@Override
+	boolean pivot(final int rowVar, final int dir, final boolean bland) {
+		final int pos = mBasisPos[rowVar];
+		final double[] row = tableauxRow(pos);
+		int col = -1;
+		for (int var = 0; var < mNumVars; var++) {
+			final double coeff = row[var];
+			if (Math.abs(coeff) < PIVOT_TOLERANCE || (col >= 0 && Math.abs(coeff) <= Math.abs(row[col]))) {
+				continue;
+			}
+			if (canRepair(var, coeff, dir)) {
+				col = var;
+				if (bland) {
+					break;
+				}
+			}
+		}
+		if (col < 0) {
+			return false;
+		}
+		final double[] column = tableauxColumn(col);
+		if (Math.abs(column[pos]) < PIVOT_TOLERANCE) {
+			/* the row and the column do not agree; the factorization is too inaccurate */
+			return false;
+		}
+		final double target = dir < 0 ? mLower[rowVar] : mUpper[rowVar];
+		final double theta = (target - mValue[rowVar]) / row[col];
+		mValue[col] += theta;
+		for (int p = 0; p < mNumRows; p++) {
+			mValue[mBasisVar[p]] -= column[p] * theta;
+		}
+		mValue[rowVar] = target;
+		mBasisVar[pos] = col;
+		mBasisPos[col] = pos;
+		mBasisPos[rowVar] = -1;
+		if (mEtas.size() < Config.REVISED_SIMPLEX_REFACTOR) {
+			mEtas.add(new Eta(pos, column));
+			return true;
+		}
+		if (!factorize()) {
+			return false;
+		}
+		computeBasicValues();
+		return true;
+	}
+
+	@Override
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Runs", mNumRuns }, { "Feasible", mNumFeasible }, { "Pivots", mNumPivots },
+			{ "Factorizations", mNumFactorizations }, { "ExactPivots", mNumExactPivots } };
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + " Factorizations: " + mNumFactorizations;
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+
+/**
+ * Incremental bound propagation index for a single tableaux row. For the equation {@code basic = sum c_i * x_i} this
+ * keeps the sum of the finite contributions {@code c_i * bound(x_i)} to the implied upper and lower bound of the basic
+ * variable, together with the number of columns whose contribution is infinite. A change of a column bound updates
+ * these sums in constant time, so the implied bounds can be read off without walking the row.
+ *
+ * The index only uses the literal bounds ({@link LinVar#getUpperBound()}, {@link LinVar#getLowerBound()}) of the
+ * columns, since only these are used as reasons for propagated bounds. It is owned by the basic variable and dropped
+ * whenever its row changes.
+ */
+class RowBounds {
+	/**
+	 * The number of columns whose contribution to the upper resp. lower bound is infinite.
+	 */
+	private int mUpperInf, mLowerInf;
+	/**
+	 * The sum of the real parts of the finite contributions to the upper resp. lower bound.
+	 */
+	private Rational mUpperSum, mLowerSum;
+	/**
+	 * The sum of the epsilons of the finite contributions. Unlike {@link InfinitesimalNumber#add} we do not normalize
+	 * the epsilon, so that a contribution can be removed again.
+	 */
+	private int mUpperEps, mLowerEps;
+
+	public RowBounds() {
+		mUpperSum = Rational.ZERO;
+		mLowerSum = Rational.ZERO;
+	}
+
+	/**
+	 * Add or remove the contribution of a column bound.
+	 *
+	 * @param coeff
+	 *            the coefficient of the column in the row solved for the basic variable.
+	 * @param isUpper
+	 *            true if bound is the upper bound of the column.
+	 * @param bound
+	 *            the bound of the column.
+	 * @param sign
+	 *            1 to add the contribution, -1 to remove it.
+	 */
+	void add(final Rational coeff, final boolean isUpper, final InfinitesimalNumber bound, final int sign) {
+		// a positive coefficient uses the upper bound of the column for the upper bound of the row.
+		final boolean forUpper = isUpper == (coeff.signum() > 0);
+		if (bound.isInfinity()) {
+			if (forUpper) {
+				mUpperInf += sign;
+			} else {
+				mLowerInf += sign;
+			}
+		} else {
+			final Rational factor = sign > 0 ? coeff : coeff.negate();
+			if (forUpper) {
+				mUpperSum = mUpperSum.addmul(bound.mReal, factor);
+				mUpperEps += bound.mEps * factor.signum();
+			} else {
+				mLowerSum = mLowerSum.addmul(bound.mReal, factor);
+				mLowerEps += bound.mEps * factor.signum();
+			}
+		}
+	}
+
+	/**
+	 * Update the index after a column bound changed.
+	 */
+	void update(final Rational coeff, final boolean isUpper, final InfinitesimalNumber oldBound,
+			final InfinitesimalNumber newBound) {
+		add(coeff, isUpper, oldBound, -1);
+		add(coeff, isUpper, newBound, 1);
+	}
+
+	public boolean hasUpperBound() {
+		return mUpperInf == 0;
+	}
+
+	public boolean hasLowerBound() {
+		return mLowerInf == 0;
+	}
+
+	/**
+	 * Get the upper bound of the basic variable implied by the column bounds.
+	 */
+	public InfinitesimalNumber getUpperBound() {
+		assert hasUpperBound();
+		return new InfinitesimalNumber(mUpperSum, InfinitesimalNumber.normEpsilon(mUpperEps));
+	}
+
+	/**
+	 * Get the lower bound of the basic variable implied by the column bounds.
+	 */
+	public InfinitesimalNumber getLowerBound() {
+		assert hasLowerBound();
+		return new InfinitesimalNumber(mLowerSum, InfinitesimalNumber.normEpsilon(mLowerEps));
+	}
+
+	@Override
+	public String toString() {
+		return "[" + (hasLowerBound() ? getLowerBound() : "-inf") + ","
+				+ (hasUpperBound() ? getUpperBound() : "inf") + "]";
+	}
+}
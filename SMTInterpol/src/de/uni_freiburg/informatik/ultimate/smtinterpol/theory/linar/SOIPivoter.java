@@ -8,7 +8,9 @@ import java.util.SortedMap;
 import java.util.TreeMap;
 
 import de.uni_freiburg.informatik.ultimate.logic.Rational;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Clause;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.PricingRule;
 
 /**
  * The sum of infeasibility pivoter. This implements the pivoting strategy of [KBD2013]. The core idea is to optimize
@@ -54,6 +56,10 @@ public class SOIPivoter {
 	 * The limiter describing the next pivot step.
 	 */
 	FreedomLimiter mBestLimiter;
+	/**
+	 * The decrease of the SOI computed by the last line search.
+	 */
+	ExactInfinitesimalNumber mLineSearchDiff;
 
 	public SOIPivoter(final LinArSolve solver) {
 		mSolver = solver;
@@ -151,7 +157,7 @@ public class SOIPivoter {
 
 			for (final MatrixEntry me : colVar.getTableauxColumn(mSolver)) {
 				final LinVar rowVar = me.getRow();
-				final Rational weight = Rational.valueOf(me.getCoeff(), me.getHeadCoeff().negate());
+				final Rational weight = me.getSolvedCoeff();
 				final LAReason bound = weight.signum() == coeff.signum() ? rowVar.mLowerLiteral : rowVar.mUpperLiteral;
 				if (bound != null && rowVar.getValue().equals(new ExactInfinitesimalNumber(bound.getBound()))) {
 					// check if this entry would be used by Bland strategy (first column, smallest row variable)
@@ -182,116 +188,236 @@ public class SOIPivoter {
 		return true;
 	}
 
+	/**
+	 * Find the pivot candidate. With the {@link PricingRule#SOI} rule, this uses the Sum Of Infeasibility heuristic
+	 * for every column. Otherwise it prices the columns by their weights first and only computes the pivot step for
+	 * the best column. If that step does not decrease the sum of infeasibility, it falls back to the heuristic.
+	 *
+	 * @return true if there is a column that can decrease the sum of infeasibility.
+	 */
+	public boolean findPivot() {
+		if (mSolver.mPricingRule != PricingRule.SOI) {
+			final Entry<LinVar, Rational> column = priceColumn();
+			if (column == null) {
+				mBestLimiter = null;
+				return false;
+			}
+			mBestLimiter = lineSearch(column.getKey(), column.getValue());
+			if (mBestLimiter != null && mBestLimiter.mFreedom.signum() > 0) {
+				return true;
+			}
+			mSolver.mNumPricingFallbacks++;
+		}
+		return findPivotSOI();
+	}
+
+	/**
+	 * Check if a column variable is at the bound that prevents it from decreasing the SOI.
+	 */
+	private static boolean isAtSOIBound(final LinVar colVar, final Rational coeff) {
+		// for negative coeff: check if we cannot increase var to lower the soi.
+		// otherwise check if we cannot decrease var to lower the SOI.
+		return colVar.getValue().equals(coeff.signum() < 0 ? colVar.getUpperBound() : colVar.getLowerBound());
+	}
+
+	/**
+	 * Get the pricing weight of a column variable. For steepest edge this is the squared length of the edge, i.e.,
+	 * one plus the sum of the squared entries of the column.
+	 */
+	private double getPricingWeight(final LinVar colVar) {
+		if (colVar.mPricingWeight == 0) {
+			double weight = 1;
+			if (mSolver.mPricingRule == PricingRule.STEEPEST_EDGE) {
+				for (final MatrixEntry me : colVar.getTableauxColumn(mSolver)) {
+					final double entry = ShadowSimplex.toDouble(me.getSolvedCoeff());
+					weight += entry * entry;
+				}
+			}
+			colVar.mPricingWeight = weight;
+		}
+		return colVar.mPricingWeight;
+	}
+
+	/**
+	 * Find the column whose SOI coefficient is largest relative to its weight.
+	 *
+	 * @return the column and its SOI coefficient, or null if no column can decrease the SOI.
+	 */
+	private Entry<LinVar, Rational> priceColumn() {
+		Entry<LinVar, Rational> best = null;
+		double bestScore = 0;
+		for (final Entry<LinVar, Rational> entry : mSOIVar.entrySet()) {
+			final Rational coeff = entry.getValue();
+			if (coeff.signum() == 0 || isAtSOIBound(entry.getKey(), coeff)) {
+				continue;
+			}
+			final double gradient = ShadowSimplex.toDouble(coeff);
+			final double score = gradient * gradient / getPricingWeight(entry.getKey());
+			if (best == null || score > bestScore) {
+				best = entry;
+				bestScore = score;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Update the devex reference weights for a pivot step. The weight of a column in the pivot row becomes at least
+	 * the weight of the entering column scaled by the ratio of their entries.
+	 */
+	private void updateDevexWeights(final LinVar basic, final LinVar nonbasic) {
+		double pivotEntry = 0;
+		for (final MatrixEntry entry : basic.getTableauxRow(mSolver)) {
+			if (entry.getColumn() == nonbasic) {
+				pivotEntry = ShadowSimplex.toDouble(entry.getSolvedCoeff());
+				break;
+			}
+		}
+		final double enteringWeight = getPricingWeight(nonbasic);
+		for (final MatrixEntry entry : basic.getTableauxRow(mSolver)) {
+			final LinVar colVar = entry.getColumn();
+			if (colVar != nonbasic) {
+				final double ratio = ShadowSimplex.toDouble(entry.getSolvedCoeff()) / pivotEntry;
+				colVar.mPricingWeight = Math.max(getPricingWeight(colVar), ratio * ratio * enteringWeight);
+			}
+		}
+		basic.mPricingWeight = Math.max(enteringWeight / (pivotEntry * pivotEntry), 1);
+		if (basic.mPricingWeight > Config.DEVEX_RESET_WEIGHT) {
+			// the weights are too inaccurate; start a new reference framework.
+			for (final LinVar var : mSolver.mLinvars) {
+				var.mPricingWeight = 0;
+			}
+		}
+	}
+
+	/**
+	 * Pivot a basic variable with a column variable.
+	 */
+	private void pivot(final LinVar basic, final LinVar nonbasic) {
+		if (mSolver.mPricingRule == PricingRule.DEVEX) {
+			updateDevexWeights(basic, nonbasic);
+		}
+		mSolver.pivot(basic.mMatrixpos, nonbasic.mMatrixpos);
+		mSolver.mNumSOIPivots++;
+	}
+
 	/**
 	 * Find the pivot candidate using the Sum Of Infeasibility heuristic.
 	 *
 	 * @return The matrix entry describing the pivot point (row + column).
 	 */
-	public boolean findPivot() {
+	private boolean findPivotSOI() {
 		ExactInfinitesimalNumber bestDiff = new ExactInfinitesimalNumber(Rational.MONE);
 		mBestLimiter = null;
 		for (final Entry<LinVar, Rational> entry : mSOIVar.entrySet()) {
 			final LinVar colVar = entry.getKey();
 			final Rational coeff = entry.getValue();
-			if (coeff.signum() == 0) {
+			if (coeff.signum() == 0 || isAtSOIBound(colVar, coeff)) {
 				continue;
 			}
-			// for negative coeff: check if we cannot increase var to lower the soi.
-			// otherwise check if we cannot decrease var to lower the SOI.  In both cases the variable can be skipped.
-			final InfinitesimalNumber colBound = coeff.signum() < 0 ? colVar.getUpperBound() : colVar.getLowerBound();
-			if (colVar.getValue().equals(colBound)) {
-				continue;
+			final FreedomLimiter limiter = lineSearch(colVar, coeff);
+			if (limiter != null && bestDiff.compareTo(mLineSearchDiff) < 0) {
+				bestDiff = mLineSearchDiff;
+				mBestLimiter = limiter;
+				if (bestDiff.equals(mSOIValue)) {
+					mSolver.getLogger().debug("Solved it!", bestDiff);
+					return true;
+				}
 			}
+		}
+		mSolver.getLogger().debug("Best Candidate: (%s)", bestDiff);
+		return mBestLimiter != null;
+	}
 
-			// mSolver.mEngine.getLogger().debug("Column %2$s * %1$s", colVar, coeff);
+	/**
+	 * Compute how far a column variable can move in the direction that decreases the SOI until the SOI would increase
+	 * again. The decrease of the SOI is stored in mLineSearchDiff.
+	 *
+	 * @return the freedom limiter describing the pivot step, or null if the SOI never increases again. This cannot
+	 *         happen, since the SOI is never negative.
+	 */
+	private FreedomLimiter lineSearch(final LinVar colVar, final Rational coeff) {
+		final InfinitesimalNumber colBound = coeff.signum() < 0 ? colVar.getUpperBound() : colVar.getLowerBound();
+		// mSolver.mEngine.getLogger().debug("Column %2$s * %1$s", colVar, coeff);
 
-			// Check how much we can lower the soi by changing this column variable.
-			// For this collect all bounds on all variables and sort them by the time until they are hit.
-			// bounds maps from the absolute difference of the new value for the column variable to the FreedomLimiter
-			// describing which row variable+bound would be used as new limiter and the weight that tells how much the
-			// SOI gradient for this column variable would change due to the newly met bounds.
-			final SortedMap<ExactInfinitesimalNumber, FreedomLimiter> bounds = new TreeMap<>();
+		// Check how much we can lower the soi by changing this column variable.
+		// For this collect all bounds on all variables and sort them by the time until they are hit.
+		// bounds maps from the absolute difference of the new value for the column variable to the FreedomLimiter
+		// describing which row variable+bound would be used as new limiter and the weight that tells how much the
+		// SOI gradient for this column variable would change due to the newly met bounds.
+		final SortedMap<ExactInfinitesimalNumber, FreedomLimiter> bounds = new TreeMap<>();
 
-			// We also need to consider the other bound of the column variable as change point.
-			{
-				if (!colBound.isInfinity()) {
-					final ExactInfinitesimalNumber colFreedom = colVar.getValue().isub(colBound).abs();
-					bounds.put(colFreedom,
-							new FreedomLimiter(colFreedom, Rational.ONE, colBound, colVar, colVar));
-				}
+		// We also need to consider the other bound of the column variable as change point.
+		{
+			if (!colBound.isInfinity()) {
+				final ExactInfinitesimalNumber colFreedom = colVar.getValue().isub(colBound).abs();
+				bounds.put(colFreedom,
+						new FreedomLimiter(colFreedom, Rational.ONE, colBound, colVar, colVar));
 			}
-			for (final MatrixEntry me : colVar.getTableauxColumn(mSolver)) {
-				// for each variable in this column, check by how much the column variable would change if the current
-				// row variable would be used as bound. There may even be two interesting points for a row variable
-				// that is currently out of bounds: when it is satisfied and when it is no longer satisfied.
-				// weight is basically the matrix entry, i.e., the factor by which the column variable changes if the
-				// row variable changes.
-				// freedom is the amount the column variable changes if the row variable would be used as bounds.
-				final LinVar rowVar = me.getRow();
-				Rational weight = Rational.valueOf(me.getCoeff(), me.getHeadCoeff());
-				if (coeff.signum() < 0) {
-					weight = weight.negate();
-				}
-				if (rowVar.mLowerLiteral != null) {
-					final InfinitesimalNumber bound = rowVar.mLowerLiteral.getBound();
-					final ExactInfinitesimalNumber diff = rowVar.getValue().isub(bound);
-					// a difference of zero counts as negative, because it means the rowVar is in bound.
-					if (weight.signum() * (2 * diff.signum() - 1) > 0) {
-						final ExactInfinitesimalNumber freedom = diff.div(weight);
-						assert freedom.signum() >= 0;
-						final FreedomLimiter prev = bounds.get(freedom);
-						if (prev != null) {
-							prev.merge(weight, bound, rowVar);
-						} else {
-							bounds.put(freedom, new FreedomLimiter(freedom, weight, bound, rowVar, colVar));
-						}
-					}
-				}
-				if (rowVar.mUpperLiteral != null) {
-					final InfinitesimalNumber bound = rowVar.mUpperLiteral.getBound();
-					final ExactInfinitesimalNumber diff = rowVar.getValue().isub(bound);
-					// a difference of zero counts as positive, because it means the rowVar is in bound.
-					if (weight.signum() * (2 * diff.signum() + 1) > 0) {
-						final ExactInfinitesimalNumber freedom = diff.div(weight);
-						assert freedom.signum() >= 0;
-						final FreedomLimiter prev = bounds.get(freedom);
-						if (prev != null) {
-							prev.merge(weight, bound, rowVar);
-						} else {
-							bounds.put(freedom, new FreedomLimiter(freedom, weight, bound, rowVar, colVar));
-						}
+		}
+		for (final MatrixEntry me : colVar.getTableauxColumn(mSolver)) {
+			// for each variable in this column, check by how much the column variable would change if the current
+			// row variable would be used as bound. There may even be two interesting points for a row variable
+			// that is currently out of bounds: when it is satisfied and when it is no longer satisfied.
+			// weight is basically the matrix entry, i.e., the factor by which the column variable changes if the
+			// row variable changes.
+			// freedom is the amount the column variable changes if the row variable would be used as bounds.
+			final LinVar rowVar = me.getRow();
+			Rational weight = Rational.valueOf(me.getCoeff(), me.getHeadCoeff());
+			if (coeff.signum() < 0) {
+				weight = weight.negate();
+			}
+			if (rowVar.mLowerLiteral != null) {
+				final InfinitesimalNumber bound = rowVar.mLowerLiteral.getBound();
+				final ExactInfinitesimalNumber diff = rowVar.getValue().isub(bound);
+				// a difference of zero counts as negative, because it means the rowVar is in bound.
+				if (weight.signum() * (2 * diff.signum() - 1) > 0) {
+					final ExactInfinitesimalNumber freedom = diff.div(weight);
+					assert freedom.signum() >= 0;
+					final FreedomLimiter prev = bounds.get(freedom);
+					if (prev != null) {
+						prev.merge(weight, bound, rowVar);
+					} else {
+						bounds.put(freedom, new FreedomLimiter(freedom, weight, bound, rowVar, colVar));
 					}
 				}
 			}
-			// mSolver.mEngine.getLogger().debug(bounds);
-			Rational weight = coeff.abs();
-			ExactInfinitesimalNumber lastFreedom = new ExactInfinitesimalNumber(Rational.ZERO);
-			ExactInfinitesimalNumber soidiff = new ExactInfinitesimalNumber(Rational.ZERO);
-			// mSolver.mEngine.getLogger().debug("Candidates: %s + %s", colVar, bounds);
-			for (final FreedomLimiter limiter : bounds.values()) {
-				soidiff = soidiff.add(limiter.mFreedom.sub(lastFreedom).mul(weight));
-				lastFreedom = limiter.mFreedom;
-				weight = weight.sub(limiter.getWeight());
-				if (weight.signum() <= 0) {
-					// with this variable we reach pivoting point; changing the column variable further would increase
-					// the SOI again.
-					// mSolver.mEngine.getLogger().debug("Candidate: %s", limiter);
-					// mSolver.mEngine.getLogger().debug("soi diff: %s", soidiff);
-					if (bestDiff.compareTo(soidiff) < 0) {
-						bestDiff = soidiff;
-						mBestLimiter = limiter;
-						if (bestDiff.equals(mSOIValue)) {
-							mSolver.getLogger().debug("Solved it!", bestDiff);
-							return true;
-						}
+			if (rowVar.mUpperLiteral != null) {
+				final InfinitesimalNumber bound = rowVar.mUpperLiteral.getBound();
+				final ExactInfinitesimalNumber diff = rowVar.getValue().isub(bound);
+				// a difference of zero counts as positive, because it means the rowVar is in bound.
+				if (weight.signum() * (2 * diff.signum() + 1) > 0) {
+					final ExactInfinitesimalNumber freedom = diff.div(weight);
+					assert freedom.signum() >= 0;
+					final FreedomLimiter prev = bounds.get(freedom);
+					if (prev != null) {
+						prev.merge(weight, bound, rowVar);
+					} else {
+						bounds.put(freedom, new FreedomLimiter(freedom, weight, bound, rowVar, colVar));
 					}
-					break;
 				}
 			}
-			assert weight.signum() <= 0;
 		}
-		mSolver.getLogger().debug("Best Candidate: (%s)", bestDiff);
-		return mBestLimiter != null;
+		// mSolver.mEngine.getLogger().debug(bounds);
+		Rational weight = coeff.abs();
+		ExactInfinitesimalNumber lastFreedom = new ExactInfinitesimalNumber(Rational.ZERO);
+		ExactInfinitesimalNumber soidiff = new ExactInfinitesimalNumber(Rational.ZERO);
+		// mSolver.mEngine.getLogger().debug("Candidates: %s + %s", colVar, bounds);
+		for (final FreedomLimiter limiter : bounds.values()) {
+			soidiff = soidiff.add(limiter.mFreedom.sub(lastFreedom).mul(weight));
+			lastFreedom = limiter.mFreedom;
+			weight = weight.sub(limiter.getWeight());
+			if (weight.signum() <= 0) {
+				// with this variable we reach pivoting point; changing the column variable further would increase
+				// the SOI again.
+				// mSolver.mEngine.getLogger().debug("Candidate: %s", limiter);
+				// mSolver.mEngine.getLogger().debug("soi diff: %s", soidiff);
+				mLineSearchDiff = soidiff;
+				return limiter;
+			}
+		}
+		assert false : "SOI does not increase again";
+		return null;
 	}
 
 	/**
@@ -392,6 +518,7 @@ public class SOIPivoter {
 	 */
 	public Clause fixOobs() {
 		mSolver.getLogger().debug("=== fixoobs ===");
+		mSolver.mNumFixOobs++;
 		while (true) {
 			if (!computeSOI()) {
 				return null;
@@ -405,8 +532,11 @@ public class SOIPivoter {
 			}
 			// inner loop if we didn't make progress
 			int blandPivotStep = 0;
+			if (mBestLimiter.mFreedom.signum() == 0) {
+				mSolver.mNumBlandFallbacks++;
+			}
 			while (mBestLimiter.mFreedom.signum() == 0) {
-				mSolver.pivot(mBestLimiter.getRowVar().mMatrixpos, mBestLimiter.getColumnVar().mMatrixpos);
+				pivot(mBestLimiter.getRowVar(), mBestLimiter.getColumnVar());
 				mSolver.mNumPivotsBland++;
 				blandPivotStep++;
 				computeSOI();
@@ -423,7 +553,7 @@ public class SOIPivoter {
 			}
 
 			if (mBestLimiter.getRowVar() != mBestLimiter.getColumnVar()) {
-				mSolver.pivot(mBestLimiter.getRowVar().mMatrixpos, mBestLimiter.getColumnVar().mMatrixpos);
+				pivot(mBestLimiter.getRowVar(), mBestLimiter.getColumnVar());
 			}
 			mSolver.updateVariableValue(mBestLimiter.getRowVar(), new ExactInfinitesimalNumber(mBestLimiter.mBound));
 		}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+
+/**
+ * A double precision simplex that guesses a feasible basis before the exact pivoter runs. It searches a basis with
+ * the pivoting rules of [DdM2006]. If it finds a basis that satisfies all bounds up to a tolerance, the exact tableaux
+ * is pivoted to this basis and the column variables are moved to the bounds chosen by the shadow. The exact tableaux
+ * stays the reference: it is needed for the explanation of conflicts, bound propagation, cuts, and interpolation. The
+ * exact {@link SOIPivoter} runs afterwards in any case: it verifies the result and repairs it if the rounding errors
+ * led to a wrong basis.
+ *
+ * The subclasses decide how the rows of the current basis are represented.
+ *
+ * <dl>
+ * <dt>[DdM2006]</dt>
+ * <dd>B. Dutertre, L. de Moura: A fast linear-arithmetic solver for DPLL(T). CAV 2006</dd>
+ * </dl>
+ */
+public abstract class ShadowSimplex {
+	/** Values that are this close to a bound (relative to the bound) satisfy the bound. */
+	static final double FEASIBILITY_TOLERANCE = 1e-9;
+	/** Coefficients smaller than this are never used for pivoting. */
+	static final double PIVOT_TOLERANCE = 1e-9;
+	/** Coefficients smaller than this are dropped. */
+	static final double DROP_TOLERANCE = 1e-12;
+
+	final LinArSolve mSolver;
+	private final String mName;
+	private final int mMinRows;
+	private final int mPivotsPerRow;
+
+	double[] mValue, mLower, mUpper;
+	/**
+	 * The bound of a column variable after the last run: 1 for the upper bound, -1 for the lower bound, 0 if it kept
+	 * the value of the exact tableaux.
+	 */
+	byte[] mAtBound;
+
+	/* Statistics */
+	int mNumRuns, mNumFeasible, mNumPivots, mNumExactPivots;
+
+	/**
+	 * Create a shadow simplex.
+	 *
+	 * @param name
+	 *            the name used in the statistics.
+	 * @param minRows
+	 *            the minimal number of rows of the exact tableaux for which the shadow runs.
+	 * @param pivotsPerRow
+	 *            the maximal number of pivot steps of one run per row of the tableaux.
+	 */
+	ShadowSimplex(final LinArSolve solver, final String name, final int minRows, final int pivotsPerRow) {
+		mSolver = solver;
+		mName = name;
+		mMinRows = minRows;
+		mPivotsPerRow = pivotsPerRow;
+	}
+
+	static double toDouble(final Rational value) {
+		final BigInteger num = value.numerator();
+		final BigInteger denom = value.denominator();
+		if (num.bitLength() < 53 && denom.bitLength() < 53) {
+			return num.doubleValue() / denom.doubleValue();
+		}
+		return new BigDecimal(num).divide(new BigDecimal(denom), MathContext.DECIMAL64).doubleValue();
+	}
+
+	static double toDouble(final InfinitesimalNumber bound) {
+		if (bound.isInfinity()) {
+			return bound.signum() > 0 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+		}
+		return toDouble(bound.mReal);
+	}
+
+	/**
+	 * Forget the shadow of the exact tableaux.
+	 */
+	public abstract void invalidate();
+
+	/**
+	 * Bring the shadow in sync with the basis of the exact tableaux and allocate the value arrays.
+	 *
+	 * @return false if the shadow cannot represent the exact tableaux.
+	 */
+	abstract boolean prepare();
+
+	/**
+	 * Check if a variable is basic in the shadow.
+	 */
+	abstract boolean isBasic(int var);
+
+	/**
+	 * Select a column for a violated basic variable, move the basic variable to the violated bound and exchange it
+	 * with the column in the shadow basis.
+	 *
+	 * @param rowVar
+	 *            the violated basic variable.
+	 * @param dir
+	 *            -1 if the lower bound is violated, 1 if the upper bound is violated.
+	 * @param bland
+	 *            true if the column must be selected by Bland's rule, false to select the largest coefficient.
+	 * @return false if no column is suitable.
+	 */
+	abstract boolean pivot(int rowVar, int dir, boolean bland);
+
+	/**
+	 * Called when a run did not lead to a feasible basis of the exact tableaux.
+	 */
+	void failed() {
+		invalidate();
+	}
+
+	/**
+	 * Called after the exact tableaux was pivoted to the basis of the shadow.
+	 */
+	void synced() {
+	}
+
+	/**
+	 * Check if a value violates the lower bound (returns -1) or the upper bound (returns 1) of a variable.
+	 */
+	int violation(final int var) {
+		final double value = mValue[var];
+		if (value < mLower[var] - FEASIBILITY_TOLERANCE * Math.max(1, Math.abs(mLower[var]))) {
+			return -1;
+		}
+		if (value > mUpper[var] + FEASIBILITY_TOLERANCE * Math.max(1, Math.abs(mUpper[var]))) {
+			return 1;
+		}
+		return 0;
+	}
+
+	/**
+	 * Check if a column variable can move in the direction that repairs the violated row.
+	 *
+	 * @param coeff
+	 *            the coefficient of the column in the tableaux row.
+	 * @param dir
+	 *            the violation of the row variable.
+	 */
+	boolean canRepair(final int col, final double coeff, final int dir) {
+		/* the row variable must move against dir */
+		final boolean increase = (coeff > 0) == (dir < 0);
+		return increase ? mValue[col] < mUpper[col] : mValue[col] > mLower[col];
+	}
+
+	/**
+	 * Search a feasible basis. The first pivot steps repair the largest violation using the largest suitable
+	 * coefficient, which needs far fewer steps in practice. Then Bland's rule is used, which takes the smallest
+	 * violated variable and the smallest suitable column and guarantees termination.
+	 *
+	 * @param greedyPivots
+	 *            the number of pivot steps before Bland's rule is used.
+	 * @param maxPivots
+	 *            the maximal number of pivot steps.
+	 * @return true if a basis was found that satisfies all bounds up to the tolerance.
+	 */
+	private boolean solve(final int greedyPivots, final int maxPivots) {
+		final int numVars = mValue.length;
+		for (int pivots = 0; pivots < maxPivots; pivots++) {
+			final boolean bland = pivots >= greedyPivots;
+			int rowVar = -1;
+			int dir = 0;
+			double maxViolation = 0;
+			for (int var = 0; var < numVars; var++) {
+				if (isBasic(var)) {
+					final int violation = violation(var);
+					if (violation != 0) {
+						final double amount = violation < 0 ? mLower[var] - mValue[var] : mValue[var] - mUpper[var];
+						if (amount > maxViolation) {
+							rowVar = var;
+							dir = violation;
+							maxViolation = amount;
+						}
+						if (bland) {
+							break;
+						}
+					}
+				}
+			}
+			if (rowVar < 0) {
+				return true;
+			}
+			if (!pivot(rowVar, dir, bland)) {
+				/* the shadow sees a conflict; the exact pivoter has to explain it */
+				return false;
+			}
+			mAtBound[rowVar] = (byte) dir;
+			mNumPivots++;
+		}
+		return false;
+	}
+
+	/**
+	 * Run the shadow simplex and move the exact tableaux to the basis it found.
+	 */
+	public void fixOobs() {
+		int numRows = 0;
+		for (final TableauxRow row : mSolver.mTableaux) {
+			if (row != null) {
+				numRows++;
+			}
+		}
+		if (numRows < mMinRows) {
+			return;
+		}
+		if (!prepare()) {
+			invalidate();
+			return;
+		}
+		mNumRuns++;
+		final int numVars = mSolver.mLinvars.size();
+		for (int var = 0; var < numVars; var++) {
+			final LinVar linvar = mSolver.mLinvars.get(var);
+			mValue[var] = toDouble(linvar.getValue().getRealValue());
+			mLower[var] = toDouble(linvar.getLowerBound());
+			mUpper[var] = toDouble(linvar.getUpperBound());
+			mAtBound[var] = 0;
+		}
+		if (!solve(numRows, mPivotsPerRow * numRows)) {
+			failed();
+			return;
+		}
+		mNumFeasible++;
+		/* pivot the exact tableaux to the basis of the shadow */
+		for (int var = 0; var < numVars; var++) {
+			final LinVar linvar = mSolver.mLinvars.get(var);
+			if (!linvar.mBasic || isBasic(var)) {
+				continue;
+			}
+			int col = -1;
+			final TableauxRow row = mSolver.mTableaux.get(var);
+			for (int i = 1; i < row.size(); i++) {
+				final int c = row.getRawIndex(i);
+				if (isBasic(c) && (col < 0 || c < col)) {
+					col = c;
+				}
+			}
+			if (col < 0) {
+				/* the shadow basis is singular in exact arithmetic */
+				failed();
+				return;
+			}
+			mSolver.pivot(var, col);
+			mNumExactPivots++;
+			/* the column variables must stay within their bounds, even if a later pivot fails */
+			moveToBound(linvar);
+		}
+		/* move the other column variables to the bounds chosen by the shadow */
+		for (int var = 0; var < numVars; var++) {
+			final LinVar linvar = mSolver.mLinvars.get(var);
+			if (!linvar.mBasic) {
+				moveToBound(linvar);
+			}
+		}
+		synced();
+	}
+
+	private void moveToBound(final LinVar linvar) {
+		final int dir = mAtBound[linvar.mMatrixpos];
+		if (dir != 0) {
+			final InfinitesimalNumber bound = dir > 0 ? linvar.getUpperBound() : linvar.getLowerBound();
+			if (!linvar.getValue().equals(bound)) {
+				mSolver.updateVariableValue(linvar, new ExactInfinitesimalNumber(bound));
+			}
+		}
+	}
+
+	public String getName() {
+		return mName;
+	}
+
+	public Object[][] getStatistics() {
+		return new Object[][] { { "Runs", mNumRuns }, { "Feasible", mNumFeasible }, { "Pivots", mNumPivots },
+			{ "ExactPivots", mNumExactPivots } };
+	}
+
+	@Override
+	public String toString() {
+		return "Runs: " + mNumRuns + " Feasible: " + mNumFeasible + " Pivots: " + mNumPivots + " Exact pivots: "
+				+ mNumExactPivots;
+	}
+}
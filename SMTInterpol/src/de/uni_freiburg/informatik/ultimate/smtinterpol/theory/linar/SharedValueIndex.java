@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index from the current value to the shared terms that have this value. The value of a shared term is only
+ * recomputed if the value of one of its summands changed since the last query. This avoids recomputing and rehashing
+ * all shared terms in every final check.
+ */
+class SharedValueIndex {
+	/**
+	 * The shared terms grouped by their value. Only contains terms that are not dirty.
+	 */
+	private final HashMap<ExactInfinitesimalNumber, List<LASharedTerm>> mClasses = new HashMap<>();
+	/**
+	 * The shared terms whose value may have changed.
+	 */
+	private final ArrayDeque<LASharedTerm> mDirty = new ArrayDeque<>();
+
+	/* Statistics */
+	private int mNumUpdates;
+
+	/**
+	 * Add a shared term to the index.
+	 */
+	public void add(final LASharedTerm shared) {
+		assert shared.mIndex == null;
+		shared.mIndex = this;
+		for (final LinVar lv : shared.getSummands().keySet()) {
+			if (lv.mSharedTerms == null) {
+				lv.mSharedTerms = new ArrayList<>();
+			}
+			lv.mSharedTerms.add(shared);
+		}
+		markDirty(shared);
+	}
+
+	/**
+	 * Remove a shared term from the index.
+	 */
+	public void remove(final LASharedTerm shared) {
+		assert shared.mIndex == this;
+		for (final LinVar lv : shared.getSummands().keySet()) {
+			lv.mSharedTerms.remove(shared);
+		}
+		removeFromClass(shared);
+		// a dirty term stays in the queue but is skipped.
+		shared.mDirty = false;
+		shared.mIndex = null;
+	}
+
+	/**
+	 * Mark a shared term whose value may have changed.
+	 */
+	void markDirty(final LASharedTerm shared) {
+		if (!shared.mDirty) {
+			shared.mDirty = true;
+			mDirty.add(shared);
+		}
+	}
+
+	private void removeFromClass(final LASharedTerm shared) {
+		if (shared.mValue == null) {
+			return;
+		}
+		final List<LASharedTerm> slot = mClasses.get(shared.mValue);
+		slot.remove(shared);
+		if (slot.isEmpty()) {
+			mClasses.remove(shared.mValue);
+		}
+		shared.mValue = null;
+	}
+
+	private void update(final LASharedTerm shared) {
+		shared.mDirty = false;
+		final ExactInfinitesimalNumber value = shared.computeValue();
+		if (value.equals(shared.mValue)) {
+			return;
+		}
+		mNumUpdates++;
+		removeFromClass(shared);
+		shared.mValue = value;
+		List<LASharedTerm> slot = mClasses.get(value);
+		if (slot == null) {
+			slot = new ArrayList<>();
+			mClasses.put(value, slot);
+		}
+		slot.add(shared);
+	}
+
+	/**
+	 * Get the current value of a shared term.
+	 */
+	public ExactInfinitesimalNumber getValue(final LASharedTerm shared) {
+		assert shared.mIndex == this;
+		if (shared.mDirty) {
+			update(shared);
+		}
+		return shared.mValue;
+	}
+
+	/**
+	 * Get the shared terms grouped by their current value. The returned map must not be modified.
+	 *
+	 * @return A map from the value to the list of shared variables that have this value.
+	 */
+	public Map<ExactInfinitesimalNumber, List<LASharedTerm>> getClasses() {
+		while (!mDirty.isEmpty()) {
+			final LASharedTerm shared = mDirty.poll();
+			if (shared.mDirty) {
+				update(shared);
+			}
+		}
+		return mClasses;
+	}
+
+	public int getNumUpdates() {
+		return mNumUpdates;
+	}
+}
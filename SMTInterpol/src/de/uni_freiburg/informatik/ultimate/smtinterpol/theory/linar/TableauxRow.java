@@ -105,13 +105,49 @@ public class TableauxRow {
 		return entry < MARKER ? BigInteger.valueOf(entry) : mBigEntries[entry - MARKER];
 	}
 
-	private void addRowInt(final LinArSolve solver, final TableauxRow other) {
+	/**
+	 * Check if all coefficients of this row fit into a long.
+	 */
+	private boolean fitsLong() {
+		if (mBigEntries != null) {
+			for (final BigInteger big : mBigEntries) {
+				if (big.bitLength() >= 63) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private long longEntry(final int entry) {
+		return entry < MARKER ? entry : mBigEntries[entry - MARKER].longValue();
+	}
+
+	/**
+	 * Check that a result computed with {@link Math#multiplyExact} or {@link Math#addExact} can be used. The gcd
+	 * computation cannot handle Long.MIN_VALUE.
+	 */
+	private static long checkLong(final long result) {
+		if (result == Long.MIN_VALUE) {
+			throw new ArithmeticException("long overflow");
+		}
+		return result;
+	}
+
+	/**
+	 * Add the other row using long arithmetic. This must only be called if all coefficients fit into a long.
+	 *
+	 * @throws ArithmeticException
+	 *             if an intermediate result does not fit into a long. The row is unchanged in this case, but some
+	 *             dependent rows may have been updated already. This is harmless as {@link #addRowBigInt} does the
+	 *             same updates.
+	 */
+	private void addRowLong(final LinArSolve solver, final TableauxRow other) {
 		final int matrixPos = other.mEntries[0];
-		assert mBigEntries == null && other.mBigEntries == null;
-		int myFactor = -other.mEntries[1];
-		int otherFactor = findEntry(matrixPos);
+		long myFactor = -other.longEntry(other.mEntries[1]);
+		long otherFactor = longEntry(findEntry(matrixPos));
 		assert otherFactor != 0;
-		final int gcdFactor = Rational.gcd(myFactor, otherFactor);
+		final long gcdFactor = Rational.gcd(myFactor, otherFactor);
 		myFactor = myFactor / gcdFactor;
 		otherFactor = otherFactor / gcdFactor;
 
@@ -121,14 +157,15 @@ public class TableauxRow {
 		int otherIndex = 2;
 		int newIndex = 1;
 		newVars[0] = mEntries[0];
-		newCoeffs[0] = (long) mEntries[1] * myFactor;
+		newCoeffs[0] = checkLong(Math.multiplyExact(longEntry(mEntries[1]), myFactor));
 		long gcd = newCoeffs[0];
 		while (myIndex < mEntries.length || otherIndex < other.mEntries.length) {
 			if (otherIndex == other.mEntries.length
 					|| (myIndex < mEntries.length && mEntries[myIndex] < other.mEntries[otherIndex])) {
 				if (mEntries[myIndex] != matrixPos) {
 					newVars[newIndex] = mEntries[myIndex];
-					final long newCoeff = (long) mEntries[myIndex + 1] * myFactor;
+					final long newCoeff =
+							checkLong(Math.multiplyExact(longEntry(mEntries[myIndex + 1]), myFactor));
 					gcd = Rational.gcd(gcd, newCoeff);
 					newCoeffs[newIndex] = newCoeff;
 					newIndex++;
@@ -137,7 +174,8 @@ public class TableauxRow {
 			} else if (myIndex == mEntries.length || mEntries[myIndex] > other.mEntries[otherIndex]) {
 				solver.mDependentRows.get(other.mEntries[otherIndex]).set(mEntries[0]);
 				newVars[newIndex] = other.mEntries[otherIndex];
-				final long newCoeff = (long) other.mEntries[otherIndex + 1] * otherFactor;
+				final long newCoeff = checkLong(
+						Math.multiplyExact(other.longEntry(other.mEntries[otherIndex + 1]), otherFactor));
 				gcd = Rational.gcd(gcd, newCoeff);
 				newCoeffs[newIndex] = newCoeff;
 				otherIndex += 2;
@@ -145,7 +183,8 @@ public class TableauxRow {
 			} else {
 				assert mEntries[myIndex] == other.mEntries[otherIndex];
 				final long newCoeff =
-						(long) mEntries[myIndex + 1] * myFactor + (long) other.mEntries[otherIndex + 1] * otherFactor;
+						checkLong(Math.addExact(Math.multiplyExact(longEntry(mEntries[myIndex + 1]), myFactor),
+								Math.multiplyExact(other.longEntry(other.mEntries[otherIndex + 1]), otherFactor)));
 				if (newCoeff != 0) {
 					newVars[newIndex] = mEntries[myIndex];
 					gcd = Rational.gcd(gcd, newCoeff);
@@ -168,6 +207,8 @@ public class TableauxRow {
 		mEntries = result;
 		if (bigInts.size() > 0) {
 			mBigEntries = bigInts.toArray(new BigInteger[bigInts.size()]);
+		} else {
+			mBigEntries = null;
 		}
 	}
 
@@ -252,11 +293,15 @@ public class TableauxRow {
 	 *            The matrix position of the previous column variable.
 	 */
 	public void addRow(final LinArSolve solver, final TableauxRow other) {
-		if (mBigEntries == null && other.mBigEntries == null) {
-			addRowInt(solver, other);
-		} else {
-			addRowBigInt(solver, other);
+		if (fitsLong() && other.fitsLong()) {
+			try {
+				addRowLong(solver, other);
+				return;
+			} catch (final ArithmeticException overflow) {
+				/* some coefficient needs more than 63 bits */
+			}
 		}
+		addRowBigInt(solver, other);
 	}
 
 	/**
@@ -309,6 +354,19 @@ public class TableauxRow {
 		return bigEntry(mEntries[2*idx + 1]);
 	}
 
+	/**
+	 * Returns the coefficient of the column variable at the given index in the equation that is solved for the row
+	 * variable, i.e., {@code -getRawCoeff(idx) / getRawCoeff(0)}. This avoids big integers for small coefficients.
+	 */
+	Rational getSolvedCoeff(final int idx) {
+		final int coeff = mEntries[2 * idx + 1];
+		final int head = mEntries[1];
+		if (coeff < MARKER && head < MARKER) {
+			return Rational.valueOf(coeff, -(long) head);
+		}
+		return Rational.valueOf(bigEntry(coeff), bigEntry(head).negate());
+	}
+
 	int size() {
 		return mEntries.length / 2;
 	}
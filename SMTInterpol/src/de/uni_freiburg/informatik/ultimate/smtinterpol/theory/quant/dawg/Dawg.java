@@ -53,6 +53,9 @@ public class Dawg<LETTER, VALUE> {
 	final Map<LETTER, Dawg<LETTER, VALUE>> mTransitions;
 	final Dawg<LETTER, VALUE> mElseTransition;
 
+	/**
+	 * The unifier for constant Dawgs. It is shared by all solvers, so every access is synchronized on it.
+	 */
 	final static UnifyHash<Dawg<?, ?>> sUnifier = new UnifyHash<>();
 
 	/**
@@ -92,15 +95,17 @@ public class Dawg<LETTER, VALUE> {
 	public static <LETTER, VALUE> Dawg<LETTER, VALUE> createConst(int levels, final VALUE value) {
 		int hash = value.hashCode();
 		Dawg<LETTER, VALUE> constDawg = null;
-		for (Dawg<?, ?> dawg : sUnifier.iterateHashCode(hash)) {
-			if (dawg.isFinal() && dawg.mFinal.equals(value)) {
-				constDawg = (Dawg<LETTER, VALUE>) dawg;
-				break;
+		synchronized (sUnifier) {
+			for (Dawg<?, ?> dawg : sUnifier.iterateHashCode(hash)) {
+				if (dawg.isFinal() && dawg.mFinal.equals(value)) {
+					constDawg = (Dawg<LETTER, VALUE>) dawg;
+					break;
+				}
+			}
+			if (constDawg == null) {
+				constDawg = new Dawg<>(value);
+				sUnifier.put(hash, constDawg);
 			}
-		}
-		if (constDawg == null) {
-			constDawg = new Dawg<>(value);
-			sUnifier.put(hash, constDawg);
 		}
 		for (int i = 0; i < levels; i++) {
 			constDawg = constDawg.createParent();
@@ -115,10 +120,12 @@ public class Dawg<LETTER, VALUE> {
 	 * @return the created Dawg.
 	 */
 	private Dawg<LETTER, VALUE> createParent() {
-		if (mCachedParent == null) {
-			mCachedParent = new Dawg<>(Collections.emptyMap(), this);
+		synchronized (sUnifier) {
+			if (mCachedParent == null) {
+				mCachedParent = new Dawg<>(Collections.emptyMap(), this);
+			}
+			return mCachedParent;
 		}
-		return mCachedParent;
 	}
 
 	/**
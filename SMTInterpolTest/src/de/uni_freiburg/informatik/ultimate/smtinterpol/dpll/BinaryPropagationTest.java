@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Theory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+
+@RunWith(JUnit4.class)
+public class BinaryPropagationTest {
+	private final Theory mTheory = new Theory(Logics.CORE);
+	private final DPLLEngine mEngine = new DPLLEngine(new DefaultLogger(), () -> false);
+
+	private DPLLAtom createAtom(final String name) {
+		final DPLLAtom atom = new BooleanVarAtom(
+				mTheory.term(mTheory.declareFunction(name, new Sort[0], mTheory.getBooleanSort())), 0);
+		mEngine.addAtom(atom);
+		return atom;
+	}
+
+	/**
+	 * Add a binary clause whose false literal is assumed below its true literal. Backtracking the true literal must
+	 * propagate it again.
+	 */
+	@Test
+	public void testBacktrackTrueLiteral() {
+		final DPLLAtom a = createAtom("a");
+		final DPLLAtom b = createAtom("b");
+		Assert.assertTrue(mEngine.assume(new Literal[] { a.negate() }));
+		Assert.assertNull(mEngine.propagateInternal());
+		mEngine.increaseDecideLevel();
+		Assert.assertNull(mEngine.setLiteral(b));
+		Assert.assertNull(mEngine.propagateInternal());
+		final Clause clause = new Clause(new Literal[] { a, b }, 0);
+		mEngine.addClause(clause);
+		Assert.assertNull(mEngine.propagateInternal());
+
+		mEngine.flipDecisions();
+		Assert.assertNull(b.getDecideStatus());
+		Assert.assertNull(mEngine.propagateInternal());
+		Assert.assertSame(b, b.getDecideStatus());
+		Assert.assertTrue(((Clause) b.mExplanation).contains(b));
+	}
+
+	/**
+	 * Backtrack the decision levels above a level.
+	 */
+	private void backtrackToLevel(final int level) {
+		mEngine.startBacktrack();
+		while (mEngine.mDPLLStack.get(mEngine.mDPLLStack.size() - 1).getAtom().getDecideLevel() > level) {
+			mEngine.backtrackLiteral(mEngine.mDPLLStack.remove(mEngine.mDPLLStack.size() - 1));
+		}
+		Assert.assertNull(mEngine.finalizeBacktrack());
+	}
+
+	/**
+	 * Add a binary clause whose false literal is on a lower level than the current one. The literal it propagates is
+	 * set on the current level; backtracking to a level between both literals must propagate it again.
+	 */
+	@Test
+	public void testBacktrackToIntermediateLevel() {
+		final DPLLAtom a = createAtom("a");
+		final DPLLAtom b = createAtom("b");
+		final DPLLAtom c = createAtom("c");
+		mEngine.increaseDecideLevel();
+		Assert.assertNull(mEngine.setLiteral(a.negate()));
+		Assert.assertNull(mEngine.propagateInternal());
+		mEngine.increaseDecideLevel();
+		Assert.assertNull(mEngine.setLiteral(c));
+		Assert.assertNull(mEngine.propagateInternal());
+		final Clause clause = new Clause(new Literal[] { a, b }, 0);
+		mEngine.addClause(clause);
+		Assert.assertNull(mEngine.propagateInternal());
+		Assert.assertSame(b, b.getDecideStatus());
+		Assert.assertEquals(2, b.getDecideLevel());
+
+		backtrackToLevel(1);
+		Assert.assertNull(c.getDecideStatus());
+		Assert.assertNull(b.getDecideStatus());
+		Assert.assertNull(mEngine.propagateInternal());
+		Assert.assertSame(b, b.getDecideStatus());
+		Assert.assertSame(clause, b.mExplanation);
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Theory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+
+/**
+ * Tests chronological backtracking and trail saving. The conflict clause {@code (not a) or (not b)} is found after the
+ * decision b; a was decided on the first level.
+ */
+@RunWith(JUnit4.class)
+public class ChronologicalBacktrackTest {
+	private final Theory mTheory = new Theory(Logics.CORE);
+	private final DPLLEngine mEngine = new DPLLEngine(new DefaultLogger(), () -> false);
+	private int mNumAtoms;
+
+	private DPLLAtom createAtom() {
+		final String name = "p" + mNumAtoms++;
+		final DPLLAtom atom = new BooleanVarAtom(
+				mTheory.term(mTheory.declareFunction(name, new Sort[0], mTheory.getBooleanSort())), 0);
+		mEngine.addAtom(atom);
+		return atom;
+	}
+
+	private void addClause(final Literal... lits) {
+		mEngine.addClause(new Clause(lits, 0));
+	}
+
+	private void decide(final Literal lit) {
+		mEngine.increaseDecideLevel();
+		Assert.assertNull(mEngine.setLiteral(lit));
+		Assert.assertNull(mEngine.propagateInternal());
+	}
+
+	private Object getStatistic(final String key) {
+		final Object[] core = (Object[]) ((Object[]) mEngine.getStatistics())[0];
+		for (final Object[] stat : (Object[][]) core[1]) {
+			if (key.equals(stat[0])) {
+				return stat[1];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Decide a, then the given atoms, then b, which leads to a conflict.
+	 */
+	private void conflictAfter(final DPLLAtom a, final DPLLAtom b, final DPLLAtom... decisions) {
+		final DPLLAtom c = createAtom();
+		addClause(a.negate(), b.negate(), c);
+		addClause(a.negate(), b.negate(), c.negate());
+		decide(a);
+		for (final DPLLAtom d : decisions) {
+			decide(d);
+		}
+		mEngine.increaseDecideLevel();
+		Assert.assertNull(mEngine.setLiteral(b));
+		Assert.assertTrue(mEngine.propagate());
+		/* the learned clause propagates not b */
+		Assert.assertNull(mEngine.propagateInternal());
+		Assert.assertSame(a, a.getDecideStatus());
+		Assert.assertSame(b.negate(), b.getDecideStatus());
+	}
+
+	/**
+	 * A long backjump only backtracks the conflict level.
+	 */
+	@Test
+	public void testChronologicalBacktrack() {
+		final DPLLAtom a = createAtom();
+		final DPLLAtom b = createAtom();
+		final DPLLAtom[] decisions = new DPLLAtom[Config.CHRONO_BACKTRACK_DISTANCE + 1];
+		for (int i = 0; i < decisions.length; i++) {
+			decisions[i] = createAtom();
+		}
+		conflictAfter(a, b, decisions);
+		for (final DPLLAtom d : decisions) {
+			Assert.assertSame(d, d.getDecideStatus());
+		}
+		Assert.assertEquals(1, getStatistic("Chronological_Backtracks"));
+	}
+
+	/**
+	 * A short backjump backtracks to the level of a. The propagation of e on the skipped level is saved and used when d
+	 * is decided again.
+	 */
+	@Test
+	public void testTrailSaving() {
+		final DPLLAtom a = createAtom();
+		final DPLLAtom b = createAtom();
+		final DPLLAtom d = createAtom();
+		final DPLLAtom e = createAtom();
+		addClause(a.negate(), d.negate(), e);
+		conflictAfter(a, b, d);
+		Assert.assertNull(d.getDecideStatus());
+		Assert.assertNull(e.getDecideStatus());
+		Assert.assertEquals(0, getStatistic("Chronological_Backtracks"));
+		Assert.assertEquals(0, getStatistic("Saved_Trail_Propagations"));
+		decide(d);
+		Assert.assertSame(e, e.getDecideStatus());
+		Assert.assertEquals(1, getStatistic("Saved_Trail_Propagations"));
+	}
+}
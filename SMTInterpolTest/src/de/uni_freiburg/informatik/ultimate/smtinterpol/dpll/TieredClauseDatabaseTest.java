@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.dpll;
+
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.Theory;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+@RunWith(JUnit4.class)
+public class TieredClauseDatabaseTest {
+	private final Theory mTheory = new Theory(Logics.CORE);
+	private final DPLLEngine mEngine = new DPLLEngine(new DefaultLogger(), () -> false);
+	private final ArrayList<Literal> mLiterals = new ArrayList<>();
+
+	private Literal literal(final int i) {
+		while (mLiterals.size() <= i) {
+			final Term var = mTheory.term(mTheory.declareFunction("b" + mLiterals.size(), new Sort[0],
+					mTheory.getBooleanSort()));
+			mLiterals.add(new BooleanVarAtom(var, 0));
+		}
+		return mLiterals.get(i);
+	}
+
+	private Clause learn(final TieredClauseDatabase db, final int lbd) {
+		final Clause clause = new Clause(new Literal[] { literal(2 * lbd), literal(2 * lbd + 1) }, 0);
+		clause.mLBD = lbd;
+		db.add(clause);
+		return clause;
+	}
+
+	private static int getStatistic(final TieredClauseDatabase db, final String key) {
+		for (final Object[] entry : db.getStatistics()) {
+			if (entry[0].equals(key)) {
+				return (Integer) entry[1];
+			}
+		}
+		throw new AssertionError("Missing statistic " + key);
+	}
+
+	@Test
+	public void testTiers() {
+		final TieredClauseDatabase db = new TieredClauseDatabase();
+		final Clause core = learn(db, Config.CLAUSE_TIER_CORE_LBD);
+		final Clause mid = learn(db, Config.CLAUSE_TIER_MID_LBD);
+		final Clause local = learn(db, Config.CLAUSE_TIER_MID_LBD + 1);
+		Assert.assertEquals(TieredClauseDatabase.TIER_CORE, core.mTier);
+		Assert.assertEquals(TieredClauseDatabase.TIER_MID, mid.mTier);
+		Assert.assertEquals(TieredClauseDatabase.TIER_LOCAL, local.mTier);
+
+		/* a better LBD in conflict analysis promotes the clause */
+		db.clauseUsed(local, Config.CLAUSE_TIER_CORE_LBD);
+		Assert.assertEquals(TieredClauseDatabase.TIER_CORE, local.mTier);
+		Assert.assertEquals(2, getStatistic(db, "Core"));
+		Assert.assertEquals(0, getStatistic(db, "Local"));
+		Assert.assertEquals(1, getStatistic(db, "Promoted"));
+
+		/* a worse LBD never demotes the clause */
+		db.clauseUsed(mid, Config.CLAUSE_TIER_MID_LBD + 1);
+		Assert.assertEquals(TieredClauseDatabase.TIER_MID, mid.mTier);
+	}
+
+	@Test
+	public void testReduce() {
+		final TieredClauseDatabase db = new TieredClauseDatabase();
+		final Clause core = learn(db, 1);
+		final Clause mid = learn(db, Config.CLAUSE_TIER_MID_LBD);
+		final int numLocal = 10;
+		for (int i = 0; i < numLocal; i++) {
+			learn(db, Config.CLAUSE_TIER_MID_LBD + 1 + i);
+		}
+		Assert.assertFalse(db.isReduceDue(Config.CLAUSE_REDUCE_FIRST - 1));
+		Assert.assertTrue(db.isReduceDue(Config.CLAUSE_REDUCE_FIRST));
+
+		/* freshly learned clauses survive the first reduction */
+		Assert.assertEquals(0, db.reduce(mEngine, Config.CLAUSE_REDUCE_FIRST));
+		Assert.assertEquals(numLocal, getStatistic(db, "Local"));
+
+		/* the unused mid clause is demoted and the worst local clauses are removed */
+		final int removed = db.reduce(mEngine, 2 * Config.CLAUSE_REDUCE_FIRST);
+		Assert.assertEquals((numLocal + 1) * Config.CLAUSE_REDUCE_FRACTION / 100, removed);
+		Assert.assertEquals(TieredClauseDatabase.TIER_LOCAL, mid.mTier);
+		Assert.assertEquals(TieredClauseDatabase.TIER_CORE, core.mTier);
+		Assert.assertEquals(1, getStatistic(db, "Core"));
+		Assert.assertEquals(0, getStatistic(db, "Mid"));
+		Assert.assertEquals(numLocal + 1 - removed, getStatistic(db, "Local"));
+		Assert.assertEquals(1, getStatistic(db, "Demoted"));
+		Assert.assertEquals(removed, getStatistic(db, "Deleted"));
+	}
+
+	private static boolean hasStatistic(final Object stats, final String key) {
+		if (!(stats instanceof Object[])) {
+			return false;
+		}
+		final Object[] array = (Object[]) stats;
+		if (array.length > 0 && key.equals(array[0])) {
+			return true;
+		}
+		for (final Object child : array) {
+			if (hasStatistic(child, key)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static LBool solvePigeonHole(final String policy, final int holes) {
+		final SMTInterpol solver = new SMTInterpol(new DefaultLogger());
+		solver.setOption(":learned-clause-policy", policy);
+		solver.setLogic(Logics.QF_UF);
+		final Sort bool = solver.getTheory().getBooleanSort();
+		final Term[][] in = new Term[holes + 1][holes];
+		for (int p = 0; p <= holes; p++) {
+			for (int h = 0; h < holes; h++) {
+				solver.declareFun("p" + p + "h" + h, new Sort[0], bool);
+				in[p][h] = solver.term("p" + p + "h" + h);
+			}
+			solver.assertTerm(solver.term("or", in[p]));
+		}
+		for (int h = 0; h < holes; h++) {
+			for (int p1 = 0; p1 <= holes; p1++) {
+				for (int p2 = p1 + 1; p2 <= holes; p2++) {
+					solver.assertTerm(solver.term("not", solver.term("and", in[p1][h], in[p2][h])));
+				}
+			}
+		}
+		final LBool result = solver.checkSat();
+		final boolean tiered = hasStatistic(solver.getInfo(":all-statistics"), "Clause_Tiers");
+		Assert.assertEquals(policy.equals("TIERED"), tiered);
+		return result;
+	}
+
+	@Test
+	public void testPigeonHole() {
+		Assert.assertEquals(LBool.UNSAT, solvePigeonHole("TIERED", 7));
+		Assert.assertEquals(LBool.UNSAT, solvePigeonHole("ACTIVITY", 7));
+	}
+}
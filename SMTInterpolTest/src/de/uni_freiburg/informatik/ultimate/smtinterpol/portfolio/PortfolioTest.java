@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.portfolio;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Annotation;
+import de.uni_freiburg.informatik.ultimate.logic.ConstantTerm;
+import de.uni_freiburg.informatik.ultimate.logic.DataType;
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Model;
+import de.uni_freiburg.informatik.ultimate.logic.Objectives;
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+import de.uni_freiburg.informatik.ultimate.logic.ReasonUnknown;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBConstants;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.logic.TermVariable;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+@RunWith(JUnit4.class)
+public class PortfolioTest {
+
+	private PortfolioScript createSolver(final SMTInterpol primary) {
+		final PortfolioScript solver = new PortfolioScript(primary, 4);
+		solver.setOption(SMTLIBConstants.PRODUCE_MODELS, true);
+		solver.setOption(SMTLIBConstants.PRODUCE_UNSAT_CORES, true);
+		solver.setOption(SMTLIBConstants.PRODUCE_PROOFS, true);
+		return solver;
+	}
+
+	/**
+	 * Assert that n+1 pigeons sit in n holes, each hole holding at most one pigeon.
+	 */
+	private void assertPigeonHole(final PortfolioScript solver, final int holes) {
+		final Sort[] empty = new Sort[0];
+		final Sort bool = solver.sort("Bool");
+		for (int p = 0; p <= holes; p++) {
+			for (int h = 0; h < holes; h++) {
+				solver.declareFun("p" + p + "h" + h, empty, bool);
+			}
+		}
+		for (int p = 0; p <= holes; p++) {
+			final Term[] sits = new Term[holes];
+			for (int h = 0; h < holes; h++) {
+				sits[h] = solver.term("p" + p + "h" + h);
+			}
+			solver.assertTerm(solver.annotate(solver.term("or", sits), new Annotation(":named", "pigeon" + p)));
+		}
+		final ArrayList<Term> atMostOne = new ArrayList<>();
+		for (int h = 0; h < holes; h++) {
+			for (int p = 0; p <= holes; p++) {
+				for (int q = p + 1; q <= holes; q++) {
+					atMostOne.add(solver.term("not",
+							solver.term("and", solver.term("p" + p + "h" + h), solver.term("p" + q + "h" + h))));
+				}
+			}
+		}
+		solver.assertTerm(solver.term("and", atMostOne.toArray(new Term[atMostOne.size()])));
+	}
+
+	@Test
+	public void pigeonHole() {
+		final PortfolioScript solver = createSolver(new SMTInterpol(new DefaultLogger()));
+		solver.setLogic(Logics.QF_UF);
+		solver.push(1);
+		assertPigeonHole(solver, 5);
+		Assert.assertSame(LBool.UNSAT, solver.checkSat());
+		Assert.assertNotNull(solver.getProof());
+		Assert.assertTrue(solver.getUnsatCore().length > 0);
+		solver.pop(1);
+		solver.push(1);
+		solver.declareFun("x", new Sort[0], solver.sort("Bool"));
+		solver.assertTerm(solver.term("x"));
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		final Map<Term, Term> value = solver.getValue(new Term[] { solver.term("x") });
+		Assert.assertSame(solver.term("true"), value.get(solver.term("x")));
+		solver.pop(1);
+		solver.exit();
+	}
+
+	@Test
+	public void arithmetic() {
+		final PortfolioScript solver = createSolver(new SMTInterpol(new DefaultLogger()));
+		solver.setLogic(Logics.QF_LIA);
+		final Sort intSort = solver.sort("Int");
+		solver.declareFun("x", new Sort[0], intSort);
+		solver.declareFun("y", new Sort[0], intSort);
+		final Term x = solver.term("x");
+		final Term y = solver.term("y");
+		solver.assertTerm(solver.term("=", solver.term("+", solver.term("*", solver.numeral("2"), x), y),
+				solver.numeral("7")));
+		solver.assertTerm(solver.term(">", x, y));
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		final Map<Term, Term> values = solver.getValue(new Term[] { x, y });
+		final Rational xval = (Rational) ((ConstantTerm) values.get(x)).getValue();
+		final Rational yval = (Rational) ((ConstantTerm) values.get(y)).getValue();
+		Assert.assertEquals(Rational.valueOf(7, 1), xval.add(xval).add(yval));
+		Assert.assertTrue(xval.compareTo(yval) > 0);
+		solver.assertTerm(solver.term("<", x, solver.numeral("3")));
+		Assert.assertSame(LBool.UNSAT, solver.checkSat());
+		solver.exit();
+	}
+
+	@Test
+	public void objectives() {
+		final PortfolioScript solver = createSolver(new SMTInterpol(new DefaultLogger()));
+		solver.setLogic(Logics.QF_LIA);
+		solver.declareFun("x", new Sort[0], solver.sort("Int"));
+		final Term x = solver.term("x");
+		solver.assertTerm(solver.term("<=", x, solver.numeral("10")));
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		solver.push(1);
+		solver.maximize(x);
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		final Objectives objectives = solver.getObjectives();
+		Assert.assertSame(x, objectives.getObjective(0));
+		Assert.assertEquals(solver.numeral("10"), objectives.getValue(0));
+		Assert.assertEquals(solver.numeral("10"), solver.getValue(new Term[] { x }).get(x));
+		solver.pop(1);
+		solver.exit();
+	}
+
+	@Test
+	public void declarations() {
+		final PortfolioScript solver = createSolver(new SMTInterpol(new DefaultLogger()));
+		solver.setLogic(Logics.QF_UFDTLIA);
+		final Sort intSort = solver.sort("Int");
+		solver.declareSort("U", 0);
+		final Sort u = solver.sort("U");
+		final DataType list = solver.datatype("List", 0);
+		final Sort listSort = solver.sort("List");
+		solver.declareDatatype(list, new DataType.Constructor[] {
+			solver.constructor("nil", new String[0], new Sort[0]),
+			solver.constructor("cons", new String[] { "head", "tail" }, new Sort[] { intSort, listSort }) });
+		solver.declareFun("f", new Sort[] { u }, intSort);
+		solver.declareFun("a", new Sort[0], u);
+		solver.declareFun("l", new Sort[0], listSort);
+		final TermVariable x = solver.variable("x", intSort);
+		solver.defineFun("inc", new TermVariable[] { x }, intSort, solver.term("+", x, solver.numeral("1")));
+		final Term fa = solver.term("f", solver.term("a"));
+		final Term l = solver.term("l");
+		solver.assertTerm(solver.term("=", l, solver.term("cons", solver.term("inc", fa), solver.term("nil"))));
+		solver.assertTerm(solver.annotate(solver.term(">", solver.term("head", l), solver.numeral("5")),
+				new Annotation(":named", "big")));
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		final Model model = solver.getModel();
+		final Term value = model.evaluate(fa);
+		Assert.assertSame(solver.getTheory(), value.getTheory());
+		Assert.assertTrue(((Rational) ((ConstantTerm) value).getValue()).compareTo(Rational.valueOf(4, 1)) > 0);
+		Assert.assertSame(solver.term("true"), model.evaluate(solver.term("big")));
+		solver.assertTerm(solver.term("<", fa, solver.numeral("3")));
+		Assert.assertSame(LBool.UNSAT, solver.checkSat());
+		final Term[] core = solver.getUnsatCore();
+		Assert.assertArrayEquals(new Term[] { solver.term("big") }, core);
+		solver.exit();
+	}
+
+	@Test
+	public void clauseSharing() {
+		final PortfolioScript solver = new PortfolioScript(new SMTInterpol(new DefaultLogger()), 4);
+		solver.setOption(SMTInterpolConstants.SHARE_LEARNED_CLAUSES, true);
+		solver.setOption(SMTLIBConstants.PRODUCE_MODELS, true);
+		solver.setLogic(Logics.QF_UF);
+		solver.push(1);
+		assertPigeonHole(solver, 7);
+		Assert.assertSame(LBool.UNSAT, solver.checkSat());
+		solver.pop(1);
+		solver.push(1);
+		assertPigeonHole(solver, 4);
+		solver.assertTerm(solver.term("not", solver.term("p0h0")));
+		Assert.assertSame(LBool.UNSAT, solver.checkSat());
+		solver.pop(1);
+		final Sort bool = solver.sort("Bool");
+		solver.declareFun("a", new Sort[0], bool);
+		solver.declareFun("b", new Sort[0], bool);
+		solver.assertTerm(solver.term("or", solver.term("a"), solver.term("b")));
+		solver.assertTerm(solver.term("not", solver.term("a")));
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		Assert.assertSame(solver.term("true"), solver.getValue(new Term[] { solver.term("b") }).get(solver.term("b")));
+		solver.exit();
+	}
+
+	@Test
+	public void cubeAndConquer() {
+		final PortfolioScript solver = new PortfolioScript(new SMTInterpol(new DefaultLogger()), 4);
+		solver.setOption(SMTInterpolConstants.CUBE_DEPTH, 3);
+		solver.setOption(SMTLIBConstants.PRODUCE_MODELS, true);
+		solver.setOption(SMTLIBConstants.PRODUCE_UNSAT_ASSUMPTIONS, true);
+		solver.setLogic(Logics.QF_UF);
+		solver.push(1);
+		assertPigeonHole(solver, 6);
+		Assert.assertSame(LBool.UNSAT, solver.checkSat());
+		solver.pop(1);
+		final Sort bool = solver.sort("Bool");
+		final Term[] vars = new Term[6];
+		for (int i = 0; i < vars.length; i++) {
+			solver.declareFun("v" + i, new Sort[0], bool);
+			vars[i] = solver.term("v" + i);
+		}
+		for (int i = 0; i + 1 < vars.length; i++) {
+			solver.assertTerm(solver.term("=>", vars[i], vars[i + 1]));
+		}
+		solver.assertTerm(solver.term("or", vars[2], vars[4]));
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		Assert.assertSame(solver.term("true"), solver.getValue(new Term[] { vars[5] }).get(vars[5]));
+		solver.declareFun("c", new Sort[0], bool);
+		final Term c = solver.term("c");
+		final Term notLast = solver.term("not", vars[5]);
+		Assert.assertSame(LBool.UNSAT, solver.checkSatAssuming(c, notLast));
+		final Term[] unsatAssumptions = solver.getUnsatAssumptions();
+		Assert.assertArrayEquals(new Term[] { notLast }, unsatAssumptions);
+		solver.exit();
+	}
+
+	@Test
+	public void cancellation() {
+		final SMTInterpol primary = new SMTInterpol(new DefaultLogger(), () -> true);
+		final PortfolioScript solver = createSolver(primary);
+		solver.setLogic(Logics.QF_UF);
+		assertPigeonHole(solver, 6);
+		Assert.assertSame(LBool.UNKNOWN, solver.checkSat());
+		Assert.assertSame(ReasonUnknown.CANCELLED, solver.getInfo(SMTLIBConstants.REASON_UNKNOWN));
+		solver.exit();
+	}
+}
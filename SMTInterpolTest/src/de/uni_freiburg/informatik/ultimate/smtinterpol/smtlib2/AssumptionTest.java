@@ -178,4 +178,19 @@ public class AssumptionTest {
 		isSat = solver.checkSat();
 		Assert.assertSame(LBool.SAT, isSat);
 	}
+
+	/**
+	 * Test that an assumption refuted on decision level 0 does not make the following checks unsatisfiable.
+	 */
+	@Test
+	public void refutedAssumptionOnLevel0() {
+		final SMTInterpol solver = new SMTInterpol();
+		solver.setLogic(Logics.QF_UF);
+		solver.declareFun("P", Script.EMPTY_SORT_ARRAY, solver.sort("Bool"));
+		final Term p = solver.term("P");
+		solver.assertTerm(p);
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		Assert.assertSame(LBool.UNSAT, solver.checkSatAssuming(solver.term("not", p)));
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+	}
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2;
+
+import java.math.BigInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Objectives;
+import de.uni_freiburg.informatik.ultimate.logic.Rational;
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+
+@RunWith(JUnit4.class)
+public class ObjectivesTest {
+
+	private static SMTInterpol createSolver(final Logics logic, final String sort, final String... vars) {
+		final SMTInterpol solver = new SMTInterpol();
+		solver.setLogic(logic);
+		for (final String var : vars) {
+			solver.declareFun(var, Script.EMPTY_SORT_ARRAY, solver.sort(sort));
+		}
+		return solver;
+	}
+
+	@Test
+	public void lexicographicReal() {
+		final SMTInterpol solver = createSolver(Logics.QF_LRA, "Real", "x", "y");
+		final Term x = solver.term("x");
+		final Term y = solver.term("y");
+		solver.assertTerm(solver.term("<=", solver.term("+", x, y), solver.decimal("10.0")));
+		solver.assertTerm(solver.term(">=", x, solver.decimal("1.0")));
+		solver.assertTerm(solver.term("or", solver.term(">=", y, solver.decimal("3.0")),
+				solver.term("<=", y, solver.decimal("-5.0"))));
+		solver.maximize(solver.term("+", x, solver.term("*", solver.decimal("2.0"), y)));
+		solver.minimize(x);
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		final Objectives objectives = solver.getObjectives();
+		Assert.assertEquals(2, objectives.size());
+		Assert.assertEquals(solver.decimal("19.0"), objectives.getValue(0));
+		Assert.assertEquals(0, objectives.getEpsilon(0));
+		Assert.assertEquals(solver.decimal("1.0"), objectives.getValue(1));
+		// the model has the optimal values
+		Assert.assertEquals(solver.decimal("9.0"), solver.getValue(new Term[] { y }).get(y));
+	}
+
+	@Test
+	public void strictAndUnbounded() {
+		final SMTInterpol solver = createSolver(Logics.QF_LRA, "Real", "x", "y");
+		final Term x = solver.term("x");
+		final Term y = solver.term("y");
+		solver.assertTerm(solver.term(">", x, solver.decimal("0.0")));
+		solver.minimize(x);
+		solver.maximize(y);
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		final Objectives objectives = solver.getObjectives();
+		Assert.assertEquals(solver.decimal("0.0"), objectives.getValue(0));
+		Assert.assertEquals(1, objectives.getEpsilon(0));
+		Assert.assertTrue(objectives.isUnbounded(1));
+		Assert.assertEquals(1, objectives.getEpsilon(1));
+	}
+
+	@Test
+	public void integer() {
+		final SMTInterpol solver = createSolver(Logics.QF_LIA, "Int", "x", "y");
+		final Term x = solver.term("x");
+		final Term y = solver.term("y");
+		final Term zero = solver.numeral(BigInteger.ZERO);
+		solver.assertTerm(solver.term("<=", solver.term("+", solver.term("*", solver.numeral("3"), x),
+				solver.term("*", solver.numeral("5"), y)), solver.numeral("1000")));
+		solver.assertTerm(solver.term(">=", x, zero));
+		solver.assertTerm(solver.term(">=", y, zero));
+		solver.assertTerm(solver.term("distinct", solver.term("+", x, y), solver.numeral("333")));
+		solver.maximize(solver.term("+", x, y));
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		Assert.assertEquals(Rational.valueOf(332, 1).toTerm(solver.sort("Int")),
+				solver.getObjectives().getValue(0));
+	}
+
+	@Test
+	public void mixed() {
+		final SMTInterpol solver = new SMTInterpol();
+		solver.setLogic(Logics.QF_LIRA);
+		solver.declareFun("x", Script.EMPTY_SORT_ARRAY, solver.sort("Int"));
+		solver.declareFun("r", Script.EMPTY_SORT_ARRAY, solver.sort("Real"));
+		final Term x = solver.term("x");
+		final Term r = solver.term("r");
+		solver.assertTerm(solver.term("<", r, solver.term("/", solver.term("to_real", x), solver.decimal("2.0"))));
+		solver.assertTerm(solver.term("<=", x, solver.numeral("7")));
+		solver.maximize(r);
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		final Objectives objectives = solver.getObjectives();
+		Assert.assertEquals(Rational.valueOf(7, 2).toTerm(solver.sort("Real")), objectives.getValue(0));
+		Assert.assertEquals(-1, objectives.getEpsilon(0));
+		Assert.assertEquals(solver.numeral("7"), solver.getValue(new Term[] { x }).get(x));
+	}
+
+	@Test
+	public void popRemovesObjectives() {
+		final SMTInterpol solver = createSolver(Logics.QF_LIA, "Int", "x");
+		final Term x = solver.term("x");
+		solver.assertTerm(solver.term("<=", x, solver.numeral("7")));
+		solver.push(1);
+		solver.maximize(x);
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		Assert.assertEquals(solver.numeral("7"), solver.getObjectives().getValue(0));
+		solver.pop(1);
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		try {
+			solver.getObjectives();
+			Assert.fail("Objectives survived pop");
+		} catch (final SMTLIBException expected) {
+			// expected
+		}
+	}
+}
@@ -35,6 +35,7 @@ import de.uni_freiburg.informatik.ultimate.smtinterpol.convert.Clausifier;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.convert.EqualityProxy;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Clause;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.DPLLEngine;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.dpll.Literal;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.proof.SourceAnnotation;
 import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol.ProofMode;
 
@@ -230,4 +231,101 @@ public class CongruentAddTest {
 		Assert.assertSame(mFc.getRepresentative(), mFd.getRepresentative());
 		Assert.assertSame(mFa.getRepresentative(), mFb.getRepresentative());
 	}
+
+	/**
+	 * Create f(d) when it is congruent to f(c) since the decision c=d and to f(b) since the later decision b=c. The
+	 * congruence with f(c) must be used, since it does not depend on b=c.
+	 */
+	@Test
+	public void testCongruenceOnLowestLevel() {
+		mDPLL.increaseDecideLevel();
+		Assert.assertNull(mDPLL.setLiteral(mAB));
+		mDPLL.increaseDecideLevel();
+		Assert.assertNull(mDPLL.setLiteral(mCD));
+		mDPLL.increaseDecideLevel();
+		Assert.assertNull(mDPLL.setLiteral(mBC));
+		Assert.assertNull(mClosure.checkpoint());
+		Assert.assertSame(mFb.getRepresentative(), mFc.getRepresentative());
+		mFd = mClosure.createAppTerm(false, mClosure.getFuncTerm(mF), mD, mSource);
+		Assert.assertNull(mClosure.checkpoint());
+		Assert.assertSame(mFd.getRepresentative(), mFc.getRepresentative());
+		// the equality graph has the congruence edge between f(d) and f(c)
+		Assert.assertTrue(mFd.mEqualEdge == mFc || mFc.mEqualEdge == mFd);
+	}
+
+	private boolean hasStatistic(final String key) {
+		for (final Object[] stat : (Object[][]) mClosure.getStatistics()[1]) {
+			if (key.equals(stat[0])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Test
+	public void testAckermannLemma() {
+		Assert.assertFalse(hasStatistic("Ackermann"));
+		mClosure.setAckermannThreshold(1);
+		final Term f0 = mTheory.term(mF, mTerms[0].getFlatTerm());
+		final Term f1 = mTheory.term(mF, mTerms[1].getFlatTerm());
+		mClausifier.createCCTerm(f0, mSource);
+		mClausifier.createCCTerm(f1, mSource);
+		final CCEquality eqf = (CCEquality) mClausifier.createEqualityProxy(f0, f1, mSource).getLiteral(mSource);
+		mDPLL.increaseDecideLevel();
+		Clause conflict = mDPLL.setLiteral(eqf.negate());
+		Assert.assertNull(conflict);
+		mDPLL.increaseDecideLevel();
+		conflict = mDPLL.setLiteral(mEqualities[0]);
+		Assert.assertNull(conflict);
+		// the congruence f(x0) = f(x1) contradicts the disequality
+		conflict = mClosure.checkpoint();
+		Assert.assertNotNull(conflict);
+		Assert.assertEquals(0, mClosure.getNumAckermannLemmas());
+		// the congruence was used once, so its lemma is added on the next checkpoint
+		mClosure.checkpoint();
+		Assert.assertEquals(1, mClosure.getNumAckermannLemmas());
+		Assert.assertTrue(hasStatistic("Ackermann"));
+
+		// the lemma is an input clause of the engine
+		Clause lemma = null;
+		for (final Clause clause : mDPLL.getClauses()) {
+			if (clause.contains(eqf)) {
+				lemma = clause;
+			}
+		}
+		Assert.assertNotNull(lemma);
+		Assert.assertEquals(2, lemma.getSize());
+		final Literal argDiseq = lemma.getLiteral(0) == eqf ? lemma.getLiteral(1) : lemma.getLiteral(0);
+		Assert.assertEquals(mTheory.not(mEqualities[0].getSMTFormula(mTheory)), argDiseq.getSMTFormula(mTheory));
+		// the lemma is violated; after backtracking it propagates the argument disequality
+		Assert.assertTrue(mDPLL.propagate());
+		Assert.assertSame(eqf.negate(), eqf.getDecideStatus());
+		Assert.assertTrue(mDPLL.propagate());
+		Assert.assertSame(argDiseq, argDiseq.getAtom().getDecideStatus());
+		Assert.assertSame(lemma, argDiseq.getAtom().mExplanation);
+	}
+
+	@Test
+	public void testAckermannIgnoresPropagation() {
+		mClosure.setAckermannThreshold(1);
+		final Term f0 = mTheory.term(mF, mTerms[0].getFlatTerm());
+		final Term f1 = mTheory.term(mF, mTerms[1].getFlatTerm());
+		mClausifier.createCCTerm(f0, mSource);
+		mClausifier.createCCTerm(f1, mSource);
+		final CCEquality eqf = (CCEquality) mClausifier.createEqualityProxy(f0, f1, mSource).getLiteral(mSource);
+		mDPLL.increaseDecideLevel();
+		Assert.assertNull(mDPLL.setLiteral(mEqualities[0]));
+		Assert.assertNull(mClosure.checkpoint());
+		// the congruence f(x0) = f(x1) propagates the equality
+		Literal propagated;
+		do {
+			propagated = mClosure.getPropagatedLiteral();
+			Assert.assertNotNull(propagated);
+		} while (propagated != eqf);
+		final Clause explanation = mClosure.getUnitClause(eqf);
+		Assert.assertTrue(explanation.contains(eqf));
+		// explaining a propagation does not count the congruence
+		mClosure.checkpoint();
+		Assert.assertEquals(0, mClosure.getNumAckermannLemmas());
+	}
 }
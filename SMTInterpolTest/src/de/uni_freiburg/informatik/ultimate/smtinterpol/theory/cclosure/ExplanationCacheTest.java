@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.SolverTestHelpers;
+
+/**
+ * Checks the cached explanations of congruence paths. The cache is only used without proofs, so the random QF_UF
+ * problems are solved once with the cache and once with checked proofs, and the results must agree.
+ */
+@RunWith(JUnit4.class)
+public class ExplanationCacheTest {
+
+	private static final int NUM_CONSTS = 4;
+	private static final int NUM_CLAUSES = 30;
+
+	private static SMTInterpol createSolver(final boolean proofs) {
+		final SMTInterpol solver = SolverTestHelpers.createSolver(proofs);
+		solver.setLogic(Logics.QF_UF);
+		solver.declareSort("U", 0);
+		final Sort sort = solver.sort("U");
+		for (int i = 0; i < NUM_CONSTS; i++) {
+			solver.declareFun("x" + i, Script.EMPTY_SORT_ARRAY, sort);
+		}
+		solver.declareFun("f", new Sort[] { sort }, sort);
+		solver.declareFun("g", new Sort[] { sort, sort }, sort);
+		return solver;
+	}
+
+	private static Term createTerm(final SMTInterpol solver, final Random rnd, final int depth) {
+		final int kind = depth == 0 ? 0 : rnd.nextInt(3);
+		switch (kind) {
+		case 0:
+			return solver.term("x" + rnd.nextInt(NUM_CONSTS));
+		case 1:
+			return solver.term("f", createTerm(solver, rnd, depth - 1));
+		default:
+			return solver.term("g", createTerm(solver, rnd, depth - 1), createTerm(solver, rnd, depth - 1));
+		}
+	}
+
+	private static Term createLiteral(final SMTInterpol solver, final Random rnd) {
+		final Term atom = solver.term("=", createTerm(solver, rnd, 1), createTerm(solver, rnd, 1));
+		return rnd.nextInt(2) == 0 ? solver.term("not", atom) : atom;
+	}
+
+	private static void assertRandom(final SMTInterpol solver, final Random rnd, final int numClauses) {
+		for (int c = 0; c < numClauses; c++) {
+			solver.assertTerm(solver.term("or", createLiteral(solver, rnd), createLiteral(solver, rnd)));
+		}
+	}
+
+	@Test
+	public void randomProblems() {
+		int sat = 0;
+		int unsat = 0;
+		long hits = 0;
+		for (long seed = 0; seed < 10; seed++) {
+			final SMTInterpol cached = createSolver(false);
+			assertRandom(cached, new Random(seed), NUM_CLAUSES);
+			final LBool result = cached.checkSat();
+			hits += SolverTestHelpers.getCount(SolverTestHelpers.getStatistic(cached, "Explanations"), "Cached");
+			cached.exit();
+
+			final SMTInterpol proof = createSolver(true);
+			assertRandom(proof, new Random(seed), NUM_CLAUSES);
+			Assert.assertSame(result, proof.checkSat());
+			Assert.assertNull(SolverTestHelpers.getStatistic(proof, "Explanations"));
+			proof.exit();
+
+			if (result == LBool.SAT) {
+				sat++;
+			} else if (result == LBool.UNSAT) {
+				unsat++;
+			}
+		}
+		Assert.assertEquals(10, sat + unsat);
+		Assert.assertTrue(sat > 0);
+		Assert.assertTrue(unsat > 0);
+		Assert.assertTrue(hits > 0);
+	}
+
+	@Test
+	public void incrementalProblems() {
+		for (long seed = 0; seed < 5; seed++) {
+			final SMTInterpol solver = createSolver(false);
+			final Random rnd = new Random(seed);
+			assertRandom(solver, rnd, NUM_CLAUSES / 2);
+			for (int round = 0; round < 4; round++) {
+				final long roundSeed = rnd.nextLong();
+				solver.push(1);
+				assertRandom(solver, new Random(roundSeed), NUM_CLAUSES / 2);
+				final LBool result = solver.checkSat();
+				solver.pop(1);
+
+				final SMTInterpol fresh = createSolver(true);
+				assertRandom(fresh, new Random(seed), NUM_CLAUSES / 2);
+				assertRandom(fresh, new Random(roundSeed), NUM_CLAUSES / 2);
+				Assert.assertSame(fresh.checkSat(), result);
+				fresh.exit();
+			}
+			solver.exit();
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.cclosure;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.SolverTestHelpers;
+
+/**
+ * Checks the array theory when the weak equivalence graph is kept across merges of select values. The random problems
+ * are binary clauses of store, select, index, and value equalities. The models and proofs are checked by the
+ * model-check-mode and the proof-check-mode.
+ */
+@RunWith(JUnit4.class)
+public class WeakEquivalenceTest {
+
+	private static final int NUM_TERMS = 4;
+	private static final int NUM_CLAUSES = 20;
+
+	private SMTInterpol createSolver() {
+		final SMTInterpol solver = SolverTestHelpers.createSolver(true);
+		solver.setLogic(Logics.QF_AX);
+		solver.declareSort("U", 0);
+		final Sort sort = solver.sort("U");
+		final Sort arraySort = solver.sort("Array", sort, sort);
+		for (int i = 0; i < NUM_TERMS; i++) {
+			solver.declareFun("a" + i, Script.EMPTY_SORT_ARRAY, arraySort);
+			solver.declareFun("i" + i, Script.EMPTY_SORT_ARRAY, sort);
+			solver.declareFun("v" + i, Script.EMPTY_SORT_ARRAY, sort);
+		}
+		return solver;
+	}
+
+	private Term pick(final SMTInterpol solver, final String prefix, final Random rnd) {
+		return solver.term(prefix + rnd.nextInt(NUM_TERMS));
+	}
+
+	private Term createLiteral(final SMTInterpol solver, final Random rnd) {
+		final Term atom;
+		switch (rnd.nextInt(4)) {
+		case 0:
+			atom = solver.term("=", pick(solver, "a", rnd),
+					solver.term("store", pick(solver, "a", rnd), pick(solver, "i", rnd), pick(solver, "v", rnd)));
+			break;
+		case 1:
+			atom = solver.term("=", solver.term("select", pick(solver, "a", rnd), pick(solver, "i", rnd)),
+					pick(solver, "v", rnd));
+			break;
+		case 2:
+			atom = solver.term("=", pick(solver, "i", rnd), pick(solver, "i", rnd));
+			break;
+		default:
+			atom = solver.term("=", pick(solver, "v", rnd), pick(solver, "v", rnd));
+			break;
+		}
+		return rnd.nextInt(3) == 0 ? solver.term("not", atom) : atom;
+	}
+
+	private void assertRandom(final SMTInterpol solver, final Random rnd, final int numClauses) {
+		for (int c = 0; c < numClauses; c++) {
+			solver.assertTerm(solver.term("or", createLiteral(solver, rnd), createLiteral(solver, rnd)));
+		}
+	}
+
+	@Test
+	public void randomProblems() {
+		int sat = 0;
+		int unsat = 0;
+		long keepWeakEQ = 0;
+		for (long seed = 0; seed < 10; seed++) {
+			final SMTInterpol solver = createSolver();
+			assertRandom(solver, new Random(seed), NUM_CLAUSES);
+			final LBool result = solver.checkSat();
+			if (result == LBool.SAT) {
+				sat++;
+			} else if (result == LBool.UNSAT) {
+				unsat++;
+			}
+			keepWeakEQ += SolverTestHelpers.getCount(solver.getInfo(":all-statistics"), "KeepWeakEQ");
+			solver.exit();
+		}
+		Assert.assertEquals(10, sat + unsat);
+		Assert.assertTrue(sat > 0);
+		Assert.assertTrue(unsat > 0);
+		Assert.assertTrue(keepWeakEQ > 0);
+	}
+
+	@Test
+	public void incrementalProblems() {
+		for (long seed = 0; seed < 5; seed++) {
+			final SMTInterpol solver = createSolver();
+			final Random rnd = new Random(seed);
+			assertRandom(solver, rnd, NUM_CLAUSES / 2);
+			for (int round = 0; round < 4; round++) {
+				final long roundSeed = rnd.nextLong();
+				solver.push(1);
+				assertRandom(solver, new Random(roundSeed), NUM_CLAUSES / 2);
+				final LBool result = solver.checkSat();
+				solver.pop(1);
+
+				final SMTInterpol fresh = createSolver();
+				final Random freshRnd = new Random(seed);
+				assertRandom(fresh, freshRnd, NUM_CLAUSES / 2);
+				assertRandom(fresh, new Random(roundSeed), NUM_CLAUSES / 2);
+				Assert.assertSame(fresh.checkSat(), result);
+				fresh.exit();
+			}
+			solver.exit();
+		}
+	}
+}
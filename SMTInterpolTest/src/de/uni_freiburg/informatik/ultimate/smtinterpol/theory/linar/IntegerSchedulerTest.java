@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.BranchPolicy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.CutPolicy;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.SolverTestHelpers;
+
+/**
+ * Checks that all cut and branch policies give the same results. The models are checked by the model-check-mode.
+ */
+@RunWith(JUnit4.class)
+public class IntegerSchedulerTest {
+
+	private static final int NUM_VARS = 8;
+	private static final int NUM_CONSTRAINTS = 10;
+	private static final int BOUND = 20;
+
+	private LBool solveRandom(final long seed, final CutPolicy cutPolicy, final BranchPolicy branchPolicy) {
+		final SMTInterpol solver = SolverTestHelpers.createSolver(false);
+		solver.setOption(SMTInterpolConstants.CUT_POLICY, cutPolicy);
+		solver.setOption(SMTInterpolConstants.BRANCH_POLICY, branchPolicy);
+		solver.setLogic(Logics.QF_LIA);
+		final Term[] vars = SolverTestHelpers.declareVars(solver, solver.sort("Int"), NUM_VARS);
+		final Random rnd = new Random(seed);
+		for (int c = 0; c < NUM_CONSTRAINTS; c++) {
+			final Term sum = SolverTestHelpers.createSum(solver, vars, rnd, 3, 9);
+			final Term bound = solver.numeral(String.valueOf(rnd.nextInt(40)));
+			solver.assertTerm(rnd.nextInt(4) == 0 ? solver.term("=", sum, bound) : solver.term("<=", sum, bound));
+		}
+		SolverTestHelpers.assertBox(solver, vars, BOUND);
+		final LBool result = solver.checkSat();
+		solver.exit();
+		return result;
+	}
+
+	@Test
+	public void randomProblems() {
+		for (long seed = 0; seed < 10; seed++) {
+			final LBool expected = solveRandom(seed, CutPolicy.CUTS_FROM_PROOFS, BranchPolicy.MOST_FRACTIONAL);
+			for (final CutPolicy cutPolicy : CutPolicy.values()) {
+				for (final BranchPolicy branchPolicy : BranchPolicy.values()) {
+					Assert.assertSame(cutPolicy + "/" + branchPolicy, expected,
+							solveRandom(seed, cutPolicy, branchPolicy));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.SolverTestHelpers;
+
+/**
+ * Checks the cached explanations and the throttled bound propagation of the linear arithmetic solver. The random
+ * problems are clauses of bounds on few variables, so many bound constraints are propagated. The models and proofs are
+ * checked by the model-check-mode and the proof-check-mode.
+ */
+@RunWith(JUnit4.class)
+public class LazyExplanationTest {
+
+	private static final int NUM_VARS = 8;
+	private static final int NUM_CLAUSES = 120;
+	private static final int MAX_BOUND = 30;
+
+	private int mSat, mUnsat;
+	private long mExplanationHits, mThrottledProps;
+
+	private void solveRandom(final long seed) {
+		final SMTInterpol solver = SolverTestHelpers.createSolver(true);
+		solver.setLogic(Logics.QF_LRA);
+		final Term[] vars = SolverTestHelpers.declareVars(solver, solver.sort("Real"), NUM_VARS);
+		final Random rnd = new Random(seed);
+		for (int c = 0; c < NUM_CLAUSES; c++) {
+			final Term[] lits = new Term[3];
+			for (int i = 0; i < lits.length; i++) {
+				final Term var = vars[rnd.nextInt(NUM_VARS)];
+				final Term lhs = rnd.nextInt(3) == 0 ? solver.term("+", var, vars[rnd.nextInt(NUM_VARS)]) : var;
+				final Term bound = solver.numeral(String.valueOf(rnd.nextInt(MAX_BOUND)));
+				lits[i] = solver.term(rnd.nextBoolean() ? "<=" : ">=", lhs, bound);
+			}
+			solver.assertTerm(solver.term("or", lits));
+		}
+		final LBool result = solver.checkSat();
+		if (result == LBool.SAT) {
+			mSat++;
+		} else if (result == LBool.UNSAT) {
+			mUnsat++;
+		}
+		final Object stats = solver.getInfo(":all-statistics");
+		mExplanationHits += SolverTestHelpers.getCount(stats, "ExplanationHits");
+		mThrottledProps += SolverTestHelpers.getCount(stats, "ThrottledProps");
+		solver.exit();
+	}
+
+	@Test
+	public void randomProblems() {
+		for (long seed = 0; seed < 10; seed++) {
+			solveRandom(seed);
+		}
+		Assert.assertEquals(10, mSat + mUnsat);
+		Assert.assertTrue(mSat > 0);
+		Assert.assertTrue(mUnsat > 0);
+		Assert.assertTrue(mExplanationHits > 0);
+		Assert.assertTrue(mThrottledProps > 0);
+	}
+}
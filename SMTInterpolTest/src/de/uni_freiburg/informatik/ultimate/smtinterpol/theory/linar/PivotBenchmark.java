@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.uni_freiburg.informatik.ultimate.logic.SMTLIBException;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.OptionMap;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.ParseEnvironment;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+
+/**
+ * Measures the pivot throughput of the linear arithmetic solver. This runs all smt2 files in the given directories
+ * (default: the lia and lira test directories) and reports the number of pivot steps per second of solving time.
+ */
+public final class PivotBenchmark {
+
+	private static final String[] DEFAULT_DIRS = { "SMTInterpolTest/test/lia", "SMTInterpolTest/test/lira" };
+	private static final int TIMEOUT = 10000;
+	private static final int ROUNDS = 3;
+
+	/**
+	 * A parse environment that does not exit the JVM and that records the pivot count before the solver is reset.
+	 */
+	private static class BenchmarkEnvironment extends ParseEnvironment {
+		private final SMTInterpol mSolver;
+		private long mPivots;
+		private boolean mExited;
+
+		public BenchmarkEnvironment(final SMTInterpol solver, final OptionMap options) {
+			super(solver, options);
+			mSolver = solver;
+		}
+
+		@Override
+		public void printResponse(final Object response) {
+			// ignore the output of the script
+		}
+
+		@Override
+		public void exitWithStatus(final int statusCode) {
+			// keep running the next benchmark
+		}
+
+		@Override
+		public void exit() {
+			collectPivots();
+			mExited = true;
+			super.exit();
+		}
+
+		private void collectPivots() {
+			final Object stats = findStatistic(mSolver.getInfo(":all-statistics"), ":LA");
+			final Object pivots = findStatistic(stats, "Pivot");
+			if (pivots instanceof Number) {
+				mPivots += ((Number) pivots).longValue();
+			}
+		}
+
+		private static Object findStatistic(final Object stats, final String key) {
+			if (stats instanceof Object[]) {
+				final Object[] array = (Object[]) stats;
+				if (array.length == 2 && key.equals(array[0])) {
+					return array[1];
+				}
+				for (final Object child : array) {
+					final Object result = findStatistic(child, key);
+					if (result != null) {
+						return result;
+					}
+				}
+			}
+			return null;
+		}
+	}
+
+	private PivotBenchmark() {
+		// Hide constructor
+	}
+
+	private static void collectFiles(final File file, final List<File> files) {
+		if (file.isDirectory()) {
+			final File[] children = file.listFiles();
+			Arrays.sort(children);
+			for (final File child : children) {
+				collectFiles(child, files);
+			}
+		} else if (file.getName().endsWith(".smt2")) {
+			files.add(file);
+		}
+	}
+
+	private static long[] run(final File file) throws FileNotFoundException {
+		final DefaultLogger logger = new DefaultLogger();
+		logger.setLoglevel(DefaultLogger.LOGLEVEL_OFF);
+		final OptionMap options = new OptionMap(logger, true);
+		final SMTInterpol solver = new SMTInterpol(options);
+		solver.setOption(":timeout", TIMEOUT);
+		final BenchmarkEnvironment env = new BenchmarkEnvironment(solver, options);
+		final long start = System.nanoTime();
+		try {
+			env.parseStream(new FileReader(file), file.getName());
+		} catch (final SMTLIBException ex) {
+			System.err.println(file + ": " + ex.getMessage());
+		}
+		if (!env.mExited) {
+			env.collectPivots();
+		}
+		return new long[] { env.mPivots, System.nanoTime() - start };
+	}
+
+	public static void main(final String[] args) throws FileNotFoundException {
+		final List<File> files = new ArrayList<>();
+		for (final String dir : args.length == 0 ? DEFAULT_DIRS : args) {
+			collectFiles(new File(dir), files);
+		}
+		long totalPivots = 0;
+		long totalTime = 0;
+		for (int round = 0; round <= ROUNDS; round++) {
+			// round 0 is for warm-up
+			long roundPivots = 0;
+			long roundTime = 0;
+			for (final File file : files) {
+				final long[] result = run(file);
+				roundPivots += result[0];
+				roundTime += result[1];
+				if (round == ROUNDS) {
+					System.out.printf("%-60s %10d pivots %8d ms%n", file.getPath(), result[0], result[1] / 1000000);
+				}
+			}
+			if (round > 0) {
+				totalPivots += roundPivots;
+				totalTime += roundTime;
+			}
+		}
+		System.out.printf("Total: %d pivots in %d ms, %.1f pivots/s%n", totalPivots / ROUNDS,
+				totalTime / ROUNDS / 1000000, totalPivots * 1e9 / totalTime);
+	}
+}
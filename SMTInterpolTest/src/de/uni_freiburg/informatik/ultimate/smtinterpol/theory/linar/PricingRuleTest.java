@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar.LinArSolve.PricingRule;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.SolverTestHelpers;
+
+/**
+ * Checks that the pricing rules do not change the results of the sum of infeasibility pivoter. The models are checked
+ * by the model-check-mode. The incremental problems add and remove rows, which resets the steepest edge weights.
+ */
+@RunWith(JUnit4.class)
+public class PricingRuleTest {
+
+	private static final int NUM_VARS = 15;
+	private static final int NUM_CONSTRAINTS = 40;
+
+	private long mFixOobs;
+
+	private static SMTInterpol createSolver(final PricingRule rule) {
+		final SMTInterpol solver = SolverTestHelpers.createSolver(false);
+		solver.setOption(SMTInterpolConstants.PRICING_RULE, rule.name());
+		solver.setLogic(Logics.QF_LRA);
+		return solver;
+	}
+
+	private static Term[] declareVars(final SMTInterpol solver) {
+		final Term[] vars = SolverTestHelpers.declareVars(solver, solver.sort("Real"), NUM_VARS);
+		SolverTestHelpers.assertBox(solver, vars, 10);
+		return vars;
+	}
+
+	private static void assertRandom(final SMTInterpol solver, final Term[] vars, final Random rnd) {
+		final Term sum = SolverTestHelpers.createSum(solver, vars, rnd, 3, 9);
+		solver.assertTerm(SolverTestHelpers.createViolatedBound(solver, sum, rnd, 50));
+	}
+
+	private void checkStatistics(final SMTInterpol solver, final PricingRule rule) {
+		final Object stats = SolverTestHelpers.getStatistic(solver, "Pricing");
+		Assert.assertEquals(rule != PricingRule.SOI, stats != null);
+		if (stats != null) {
+			Assert.assertEquals(rule.name(), SolverTestHelpers.getStatistic(stats, "Rule"));
+			mFixOobs += SolverTestHelpers.getCount(stats, "FixOobs");
+		}
+	}
+
+	private LBool solveRandom(final long seed, final PricingRule rule) {
+		final SMTInterpol solver = createSolver(rule);
+		final Term[] vars = declareVars(solver);
+		final Random rnd = new Random(seed);
+		for (int c = 0; c < NUM_CONSTRAINTS; c++) {
+			assertRandom(solver, vars, rnd);
+		}
+		final LBool result = solver.checkSat();
+		checkStatistics(solver, rule);
+		solver.exit();
+		return result;
+	}
+
+	private LBool[] solveIncremental(final long seed, final PricingRule rule) {
+		final SMTInterpol solver = createSolver(rule);
+		final Term[] vars = declareVars(solver);
+		final Random rnd = new Random(seed);
+		final LBool[] results = new LBool[NUM_CONSTRAINTS / 10];
+		for (int round = 0; round < results.length; round++) {
+			solver.push(1);
+			for (int c = 0; c < 2 * round + 10; c++) {
+				assertRandom(solver, vars, rnd);
+			}
+			results[round] = solver.checkSat();
+			solver.pop(1);
+		}
+		checkStatistics(solver, rule);
+		solver.exit();
+		return results;
+	}
+
+	private void checkRandom(final PricingRule rule) {
+		for (long seed = 0; seed < 10; seed++) {
+			Assert.assertSame(solveRandom(seed, PricingRule.SOI), solveRandom(seed, rule));
+		}
+		Assert.assertTrue(mFixOobs > 0);
+	}
+
+	private void checkIncremental(final PricingRule rule) {
+		for (long seed = 0; seed < 5; seed++) {
+			Assert.assertArrayEquals(solveIncremental(seed, PricingRule.SOI), solveIncremental(seed, rule));
+		}
+		Assert.assertTrue(mFixOobs > 0);
+	}
+
+	@Test
+	public void steepestEdgeRandom() {
+		checkRandom(PricingRule.STEEPEST_EDGE);
+	}
+
+	@Test
+	public void steepestEdgeIncremental() {
+		checkIncremental(PricingRule.STEEPEST_EDGE);
+	}
+
+	@Test
+	public void devexRandom() {
+		checkRandom(PricingRule.DEVEX);
+	}
+
+	@Test
+	public void devexIncremental() {
+		checkIncremental(PricingRule.DEVEX);
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.SolverTestHelpers;
+
+/**
+ * Checks that the revised simplex does not change the results of the tableaux simplex. The models are checked by the
+ * model-check-mode. The random problems have more rows than {@link Config#REVISED_SIMPLEX_MIN_ROWS} and the initial
+ * assignment violates many of them, so the revised simplex has to pivot.
+ */
+@RunWith(JUnit4.class)
+public class RevisedSimplexTest {
+
+	private static final int NUM_VARS = 20;
+	private static final int NUM_CONSTRAINTS = 60;
+
+	private long mRuns, mFeasible, mPivots, mExactPivots;
+
+	private static SMTInterpol createSolver(final boolean revisedSimplex) {
+		final SMTInterpol solver = SolverTestHelpers.createSolver(false);
+		solver.setOption(SMTInterpolConstants.REVISED_SIMPLEX, revisedSimplex);
+		solver.setLogic(Logics.QF_LRA);
+		return solver;
+	}
+
+	private LBool solveRandom(final long seed, final boolean revisedSimplex) {
+		final SMTInterpol solver = createSolver(revisedSimplex);
+		final Term[] vars = SolverTestHelpers.declareVars(solver, solver.sort("Real"), NUM_VARS);
+		final Random rnd = new Random(seed);
+		for (int c = 0; c < NUM_CONSTRAINTS; c++) {
+			final Term sum = SolverTestHelpers.createSum(solver, vars, rnd, 4, 19);
+			solver.assertTerm(SolverTestHelpers.createViolatedBound(solver, sum, rnd, 100));
+		}
+		SolverTestHelpers.assertBox(solver, vars, 10);
+		final LBool result = solver.checkSat();
+		final Object stats = SolverTestHelpers.getStatistic(solver, "RevisedSimplex");
+		Assert.assertEquals(revisedSimplex, stats != null);
+		mRuns += SolverTestHelpers.getCount(stats, "Runs");
+		mFeasible += SolverTestHelpers.getCount(stats, "Feasible");
+		mPivots += SolverTestHelpers.getCount(stats, "Pivots");
+		mExactPivots += SolverTestHelpers.getCount(stats, "ExactPivots");
+		solver.exit();
+		return result;
+	}
+
+	private static LBool[] solveIncremental(final long seed, final boolean revisedSimplex) {
+		final SMTInterpol solver = createSolver(revisedSimplex);
+		final Term[] vars = SolverTestHelpers.declareVars(solver, solver.sort("Real"), NUM_VARS);
+		final Random rnd = new Random(seed);
+		final LBool[] results = new LBool[NUM_CONSTRAINTS / 10];
+		for (int round = 0; round < results.length; round++) {
+			solver.push(1);
+			for (int c = 0; c < 2 * round + 10; c++) {
+				final Term sum = SolverTestHelpers.createSum(solver, vars, rnd, 3, 9);
+				final Term bound = solver.decimal(String.valueOf(rnd.nextInt(50)));
+				solver.assertTerm(solver.term("<=", sum, bound));
+			}
+			results[round] = solver.checkSat();
+			solver.pop(1);
+		}
+		solver.exit();
+		return results;
+	}
+
+	@Test
+	public void incrementalProblems() {
+		for (long seed = 0; seed < 5; seed++) {
+			Assert.assertArrayEquals(solveIncremental(seed, false), solveIncremental(seed, true));
+		}
+	}
+
+	@Test
+	public void randomProblems() {
+		for (long seed = 0; seed < 10; seed++) {
+			Assert.assertSame(solveRandom(seed, false), solveRandom(seed, true));
+		}
+		Assert.assertEquals(10, mRuns);
+		Assert.assertTrue(mPivots > 0);
+		Assert.assertTrue(mFeasible > 0);
+		Assert.assertTrue(mExactPivots > 0);
+	}
+
+	@Test
+	public void exclusiveWithFloatSimplex() {
+		final SMTInterpol solver = new SMTInterpol(new DefaultLogger());
+		solver.setOption(SMTInterpolConstants.FLOAT_SIMPLEX, true);
+		solver.setOption(SMTInterpolConstants.REVISED_SIMPLEX, true);
+		solver.setLogic(Logics.QF_LRA);
+		solver.declareFun("x", Script.EMPTY_SORT_ARRAY, solver.sort("Real"));
+		solver.assertTerm(solver.term(">", solver.term("x"), solver.numeral(BigInteger.ONE)));
+		Assert.assertSame(LBool.SAT, solver.checkSat());
+		final Object stats = solver.getInfo(":all-statistics");
+		Assert.assertNotNull(SolverTestHelpers.getStatistic(stats, "RevisedSimplex"));
+		Assert.assertNull(SolverTestHelpers.getStatistic(stats, "FloatSimplex"));
+		solver.exit();
+	}
+}
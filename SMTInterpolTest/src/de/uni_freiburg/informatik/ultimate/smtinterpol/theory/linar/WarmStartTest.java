@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.theory.linar;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import de.uni_freiburg.informatik.ultimate.logic.Logics;
+import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.Config;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.util.SolverTestHelpers;
+
+/**
+ * Checks that restoring the simplex basis of the push on pop does not change the results. Every round pushes random
+ * constraints on top of a satisfiable base problem and pops them again. The results are compared with a solver that
+ * gets the same constraints without push and pop. The models are checked by the model-check-mode.
+ */
+@RunWith(JUnit4.class)
+public class WarmStartTest {
+
+	private static final int NUM_VARS = 12;
+	private static final int NUM_BASE = 20;
+	private static final int NUM_ROUNDS = 8;
+	private static final int NUM_PUSHED = 8;
+
+	private static SMTInterpol createSolver() {
+		final SMTInterpol solver = SolverTestHelpers.createSolver(false);
+		solver.setLogic(Logics.QF_LRA);
+		return solver;
+	}
+
+	/**
+	 * Create a random constraint. The base constraints are satisfied by the values 0.
+	 */
+	private static Term createConstraint(final SMTInterpol solver, final Term[] vars, final Random rnd,
+			final boolean base) {
+		final Term sum = SolverTestHelpers.createSum(solver, vars, rnd, 3, 9);
+		final Term bound = solver.decimal(String.valueOf(rnd.nextInt(30) + (base ? 0 : 1)));
+		return solver.term(base ? "<=" : ">=", sum, bound);
+	}
+
+	private static void assertBase(final SMTInterpol solver, final Term[] vars, final long seed) {
+		final Random rnd = new Random(seed);
+		for (int c = 0; c < NUM_BASE; c++) {
+			solver.assertTerm(createConstraint(solver, vars, rnd, true));
+		}
+	}
+
+	private static LBool solveRound(final long seed, final int round) {
+		final SMTInterpol solver = createSolver();
+		final Term[] vars = SolverTestHelpers.declareVars(solver, solver.sort("Real"), NUM_VARS);
+		assertBase(solver, vars, seed);
+		final Random rnd = new Random(seed * NUM_ROUNDS + round);
+		for (int c = 0; c < NUM_PUSHED; c++) {
+			solver.assertTerm(createConstraint(solver, vars, rnd, false));
+		}
+		final LBool result = solver.checkSat();
+		solver.exit();
+		return result;
+	}
+
+	@Test
+	public void pushPopRounds() {
+		int warmStartPivots = 0;
+		for (long seed = 0; seed < 5; seed++) {
+			final SMTInterpol solver = createSolver();
+			final Term[] vars = SolverTestHelpers.declareVars(solver, solver.sort("Real"), NUM_VARS);
+			assertBase(solver, vars, seed);
+			Assert.assertSame(LBool.SAT, solver.checkSat());
+			for (int round = 0; round < NUM_ROUNDS; round++) {
+				solver.push(1);
+				final Random rnd = new Random(seed * NUM_ROUNDS + round);
+				for (int c = 0; c < NUM_PUSHED; c++) {
+					solver.assertTerm(createConstraint(solver, vars, rnd, false));
+				}
+				Assert.assertSame(solveRound(seed, round), solver.checkSat());
+				solver.pop(1);
+				Assert.assertSame(LBool.SAT, solver.checkSat());
+			}
+			final Object pivots = SolverTestHelpers.getStatistic(solver, "WarmStartPivots");
+			Assert.assertEquals(Config.LA_WARM_START, pivots != null);
+			if (pivots != null) {
+				warmStartPivots += (Integer) pivots;
+			}
+			solver.exit();
+		}
+		Assert.assertEquals(Config.LA_WARM_START, warmStartPivots > 0);
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 University of Freiburg
+ *
+ * This file is part of SMTInterpol.
+ *
+ * SMTInterpol is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * SMTInterpol is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with SMTInterpol.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.uni_freiburg.informatik.ultimate.smtinterpol.util;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import de.uni_freiburg.informatik.ultimate.logic.Script;
+import de.uni_freiburg.informatik.ultimate.logic.Sort;
+import de.uni_freiburg.informatik.ultimate.logic.Term;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.DefaultLogger;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.option.SMTInterpolConstants;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol;
+import de.uni_freiburg.informatik.ultimate.smtinterpol.smtlib2.SMTInterpol.ProofMode;
+
+/**
+ * Helpers for the tests that solve random problems and inspect the statistics of the solver.
+ */
+public class SolverTestHelpers {
+
+	/**
+	 * Find a statistic in the nested key-value arrays of {@code :all-statistics}.
+	 *
+	 * @return the value of the first entry with this key, or null if there is none.
+	 */
+	public static Object getStatistic(final Object stats, final String key) {
+		if (!(stats instanceof Object[])) {
+			return null;
+		}
+		final Object[] array = (Object[]) stats;
+		if (array.length == 2 && key.equals(array[0])) {
+			return array[1];
+		}
+		for (final Object child : array) {
+			final Object result = getStatistic(child, key);
+			if (result != null) {
+				return result;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find a statistic of a solver.
+	 *
+	 * @return the value of the first entry with this key, or null if there is none.
+	 */
+	public static Object getStatistic(final Script solver, final String key) {
+		return getStatistic(solver.getInfo(":all-statistics"), key);
+	}
+
+	/**
+	 * Find a counter in the statistics. Counters that are not reported count as 0.
+	 */
+	public static long getCount(final Object stats, final String key) {
+		final Object count = getStatistic(stats, key);
+		return count == null ? 0 : ((Number) count).longValue();
+	}
+
+	/**
+	 * Create a solver that checks its models and, optionally, its low level proofs. The logic is not set yet, so the
+	 * caller can still set the options that must be set before the logic.
+	 */
+	public static SMTInterpol createSolver(final boolean checkProofs) {
+		final SMTInterpol solver = new SMTInterpol(new DefaultLogger());
+		solver.setOption(SMTInterpolConstants.MODEL_CHECK_MODE, true);
+		if (checkProofs) {
+			solver.setOption(SMTInterpolConstants.PROOF_CHECK_MODE, true);
+			solver.setOption(SMTInterpolConstants.PROOF_LEVEL, ProofMode.LOWLEVEL);
+		}
+		solver.setOption(":produce-models", true);
+		return solver;
+	}
+
+	/**
+	 * Declare the constants x0, x1, ... of a sort.
+	 */
+	public static Term[] declareVars(final Script solver, final Sort sort, final int numVars) {
+		final Term[] vars = new Term[numVars];
+		for (int i = 0; i < numVars; i++) {
+			solver.declareFun("x" + i, Script.EMPTY_SORT_ARRAY, sort);
+			vars[i] = solver.term("x" + i);
+		}
+		return vars;
+	}
+
+	/**
+	 * Create a random sum of variables with non-zero coefficients between -maxCoeff and maxCoeff.
+	 */
+	public static Term createSum(final Script solver, final Term[] vars, final Random rnd, final int numSummands,
+			final int maxCoeff) {
+		final boolean isInt = vars[0].getSort().getName().equals("Int");
+		final Term[] summands = new Term[numSummands];
+		for (int i = 0; i < summands.length; i++) {
+			final String value = String.valueOf(rnd.nextInt(maxCoeff) + 1);
+			final Term coeff = isInt ? solver.numeral(value) : solver.decimal(value);
+			final Term factor = rnd.nextBoolean() ? coeff : solver.term("-", coeff);
+			summands[i] = solver.term("*", factor, vars[rnd.nextInt(vars.length)]);
+		}
+		return solver.term("+", summands);
+	}
+
+	/**
+	 * Create a random bound on a real sum. Half of the bounds are lower bounds that are violated by the initial
+	 * assignment, so the simplex has to pivot.
+	 *
+	 * @param maxUpper
+	 *            the upper bounds are between 0 and maxUpper - 1.
+	 */
+	public static Term createViolatedBound(final Script solver, final Term sum, final Random rnd,
+			final int maxUpper) {
+		final boolean lower = rnd.nextBoolean();
+		final Term bound = solver.decimal(String.valueOf(lower ? rnd.nextInt(20) + 1 : rnd.nextInt(maxUpper)));
+		final String rel = lower ? ">=" : rnd.nextInt(4) == 0 ? "<" : "<=";
+		return solver.term(rel, sum, bound);
+	}
+
+	/**
+	 * Bound every variable between -bound and bound.
+	 */
+	public static void assertBox(final Script solver, final Term[] vars, final int bound) {
+		final Term upper = solver.numeral(BigInteger.valueOf(bound));
+		final Term lower = solver.term("-", upper);
+		for (final Term var : vars) {
+			solver.assertTerm(solver.term(">=", var, lower));
+			solver.assertTerm(solver.term("<=", var, upper));
+		}
+	}
+}
@@ -0,0 +1,52 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_DT)
+
+(set-info :category "crafted")
+
+(declare-datatypes ( (List 0) (Nat 0) ) (
+ ( (nil) (cons (car Nat) (cdr List) ))
+ ( (zero) (succ (pred Nat)) )
+))
+
+(declare-const u List)
+(declare-const v List)
+(declare-const w List)
+(declare-const x List)
+
+(assert (= u (cons zero v)))
+(assert (= (cdr v) w))
+(assert (or ((_ is cons) v) (= v x)))
+
+(set-info :status sat)
+(check-sat)
+
+(push 1)
+(assert (= w u))
+(set-info :status sat)
+(check-sat)
+(assert (not ((_ is nil) v)))
+(set-info :status unsat)
+(check-sat)
+(pop 1)
+
+(push 1)
+(assert (= x u))
+(assert (or (= w x) (= w nil)))
+(set-info :status sat)
+(check-sat)
+(assert (not (= w nil)))
+(set-info :status unsat)
+(check-sat)
+(pop 1)
+
+(push 1)
+(assert (= w (cons (succ zero) x)))
+(assert (= x (cons zero (cons zero v))))
+(set-info :status unsat)
+(check-sat)
+(pop 1)
+
+(assert (= w (cons zero x)))
+(set-info :status sat)
+(check-sat)
+(exit)
@@ -0,0 +1,63 @@
+(set-info :smt-lib-version 2.6)
+(set-logic QF_DT)
+
+(set-info :category "crafted")
+
+(declare-datatypes ((Tree 0)) (((nil) (cons (car Tree) (cdr Tree)))))
+
+(declare-const x0 Tree)
+(declare-const x1 Tree)
+(declare-const x2 Tree)
+(declare-const x3 Tree)
+(declare-const x4 Tree)
+
+; the cycle search reaches a class with true testers for both constructors
+(assert (= (cdr x1) x3))
+(set-info :status sat)
+(check-sat)
+(push 1)
+(assert ((_ is cons) x2))
+(assert (= x1 x2))
+(assert ((_ is nil) x1))
+(assert (= x3 (cons x1 x4)))
+(set-info :status unsat)
+(check-sat)
+(pop 1)
+
+(push 1)
+(assert (or ((_ is nil) x4) (= x4 (cons x4 x2))))
+(assert (or ((_ is nil) x2) (= x2 (cons x1 x2))))
+(assert (or ((_ is cons) x1) ((_ is cons) (cdr x2))))
+(set-info :status sat)
+(check-sat)
+(assert (not ((_ is nil) x2)))
+(set-info :status unsat)
+(check-sat)
+(pop 1)
+
+; undoing merges moves classes in the topological order
+(assert (or ((_ is cons) (car x2)) ((_ is nil) x0)))
+(assert (or ((_ is nil) x3) (not (= x3 (cdr x0)))))
+(push 1)
+(assert (= x0 x3))
+(assert (or (= x2 (cons x3 x0)) (= x1 (cons x3 x2)) ((_ is nil) (cdr x2))))
+(assert (or (not (= x2 (cons x1 x3))) (not (= x1 x4))))
+(set-info :status sat)
+(check-sat)
+(assert ((_ is cons) (cdr x1)))
+(assert (or (= x0 (car x0)) (= x1 (cons x3 x4))))
+(set-info :status sat)
+(check-sat)
+(pop 1)
+(assert (= x1 (cdr x3)))
+(assert (or (= x3 x1) ((_ is cons) x4)))
+(set-info :status sat)
+(check-sat)
+(assert (or ((_ is nil) x4) (not (= x2 (cdr x0))) (= x3 (cons x1 x0))))
+(assert (= x1 (cdr x0)))
+(push 1)
+(assert ((_ is nil) x3))
+(set-info :status sat)
+(check-sat)
+(pop 1)
+(exit)
@@ -0,0 +1,124 @@
+(set-option :produce-models true)
+(set-option :model-check-mode true)
+(set-option :proof-check-mode true)
+(set-option :inprocessing true)
+(set-logic QF_UF)
+(declare-const p0h0 Bool)
+(declare-const p0h1 Bool)
+(declare-const p0h2 Bool)
+(declare-const p0h3 Bool)
+(declare-const p0h4 Bool)
+(declare-const p1h0 Bool)
+(declare-const p1h1 Bool)
+(declare-const p1h2 Bool)
+(declare-const p1h3 Bool)
+(declare-const p1h4 Bool)
+(declare-const p2h0 Bool)
+(declare-const p2h1 Bool)
+(declare-const p2h2 Bool)
+(declare-const p2h3 Bool)
+(declare-const p2h4 Bool)
+(declare-const p3h0 Bool)
+(declare-const p3h1 Bool)
+(declare-const p3h2 Bool)
+(declare-const p3h3 Bool)
+(declare-const p3h4 Bool)
+(declare-const p4h0 Bool)
+(declare-const p4h1 Bool)
+(declare-const p4h2 Bool)
+(declare-const p4h3 Bool)
+(declare-const p4h4 Bool)
+(declare-const p5h0 Bool)
+(declare-const p5h1 Bool)
+(declare-const p5h2 Bool)
+(declare-const p5h3 Bool)
+(declare-const p5h4 Bool)
+; every pigeon is in some hole, with a Tseitin encoded chain of ors
+(assert (or (or (or (or p0h0 p0h1) p0h2) p0h3) p0h4))
+(assert (or (or (or (or p1h0 p1h1) p1h2) p1h3) p1h4))
+(assert (or (or (or (or p2h0 p2h1) p2h2) p2h3) p2h4))
+(assert (or (or (or (or p3h0 p3h1) p3h2) p3h3) p3h4))
+(assert (or (or (or (or p4h0 p4h1) p4h2) p4h3) p4h4))
+(assert (or (or (or (or p5h0 p5h1) p5h2) p5h3) p5h4))
+; all but the last pigeon fit into the holes
+(assert (not (and p0h0 p1h0)))
+(assert (not (and p0h0 p2h0)))
+(assert (not (and p0h0 p3h0)))
+(assert (not (and p0h0 p4h0)))
+(assert (not (and p1h0 p2h0)))
+(assert (not (and p1h0 p3h0)))
+(assert (not (and p1h0 p4h0)))
+(assert (not (and p2h0 p3h0)))
+(assert (not (and p2h0 p4h0)))
+(assert (not (and p3h0 p4h0)))
+(assert (not (and p0h1 p1h1)))
+(assert (not (and p0h1 p2h1)))
+(assert (not (and p0h1 p3h1)))
+(assert (not (and p0h1 p4h1)))
+(assert (not (and p1h1 p2h1)))
+(assert (not (and p1h1 p3h1)))
+(assert (not (and p1h1 p4h1)))
+(assert (not (and p2h1 p3h1)))
+(assert (not (and p2h1 p4h1)))
+(assert (not (and p3h1 p4h1)))
+(assert (not (and p0h2 p1h2)))
+(assert (not (and p0h2 p2h2)))
+(assert (not (and p0h2 p3h2)))
+(assert (not (and p0h2 p4h2)))
+(assert (not (and p1h2 p2h2)))
+(assert (not (and p1h2 p3h2)))
+(assert (not (and p1h2 p4h2)))
+(assert (not (and p2h2 p3h2)))
+(assert (not (and p2h2 p4h2)))
+(assert (not (and p3h2 p4h2)))
+(assert (not (and p0h3 p1h3)))
+(assert (not (and p0h3 p2h3)))
+(assert (not (and p0h3 p3h3)))
+(assert (not (and p0h3 p4h3)))
+(assert (not (and p1h3 p2h3)))
+(assert (not (and p1h3 p3h3)))
+(assert (not (and p1h3 p4h3)))
+(assert (not (and p2h3 p3h3)))
+(assert (not (and p2h3 p4h3)))
+(assert (not (and p3h3 p4h3)))
+(assert (not (and p0h4 p1h4)))
+(assert (not (and p0h4 p2h4)))
+(assert (not (and p0h4 p3h4)))
+(assert (not (and p0h4 p4h4)))
+(assert (not (and p1h4 p2h4)))
+(assert (not (and p1h4 p3h4)))
+(assert (not (and p1h4 p4h4)))
+(assert (not (and p2h4 p3h4)))
+(assert (not (and p2h4 p4h4)))
+(assert (not (and p3h4 p4h4)))
+(set-info :status sat)
+(check-sat)
+; the last pigeon does not fit
+(assert (=> p5h0 (not p0h0)))
+(assert (=> p5h0 (not p1h0)))
+(assert (=> p5h0 (not p2h0)))
+(assert (=> p5h0 (not p3h0)))
+(assert (=> p5h0 (not p4h0)))
+(assert (=> p5h1 (not p0h1)))
+(assert (=> p5h1 (not p1h1)))
+(assert (=> p5h1 (not p2h1)))
+(assert (=> p5h1 (not p3h1)))
+(assert (=> p5h1 (not p4h1)))
+(assert (=> p5h2 (not p0h2)))
+(assert (=> p5h2 (not p1h2)))
+(assert (=> p5h2 (not p2h2)))
+(assert (=> p5h2 (not p3h2)))
+(assert (=> p5h2 (not p4h2)))
+(assert (=> p5h3 (not p0h3)))
+(assert (=> p5h3 (not p1h3)))
+(assert (=> p5h3 (not p2h3)))
+(assert (=> p5h3 (not p3h3)))
+(assert (=> p5h3 (not p4h3)))
+(assert (=> p5h4 (not p0h4)))
+(assert (=> p5h4 (not p1h4)))
+(assert (=> p5h4 (not p2h4)))
+(assert (=> p5h4 (not p3h4)))
+(assert (=> p5h4 (not p4h4)))
+(set-info :status unsat)
+(check-sat)
+(get-proof)